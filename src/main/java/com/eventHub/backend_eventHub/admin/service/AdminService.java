@@ -8,9 +8,8 @@ import com.eventHub.backend_eventHub.domain.entities.State;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.RoleList;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import com.eventHub.backend_eventHub.domain.repositories.RoleRepository;
 import com.eventHub.backend_eventHub.auth.service.UserAuthService;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -25,16 +24,14 @@ import org.springframework.transaction.annotation.Transactional;
 public class AdminService {
 
     private final UserAuthService userAuthService;
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceData;
     private final PasswordEncoder passwordEncoder;
-    private final StateRepository stateRepository;
 
     @Autowired
-    public AdminService(UserAuthService userAuthService, RoleRepository roleRepository, PasswordEncoder passwordEncoder, StateRepository stateRepository) {
+    public AdminService(UserAuthService userAuthService, ReferenceDataRegistry referenceData, PasswordEncoder passwordEncoder) {
         this.userAuthService = userAuthService;
-        this.roleRepository = roleRepository;
+        this.referenceData = referenceData;
         this.passwordEncoder = passwordEncoder;
-        this.stateRepository = stateRepository;
     }
 
     /**
@@ -64,9 +61,9 @@ public class AdminService {
         } catch (IllegalArgumentException e) {
             throw new CustomException("Rol inválido: " + newAdminDto.getRole());
         }
-        Role roleAdmin = roleRepository.findByNombreRol(roleRequested)
+        Role roleAdmin = referenceData.findRole(roleRequested)
                 .orElseThrow(() -> new CustomException("Rol no encontrado en base de datos"));
-        State activeState = stateRepository.findByNameState(StateList.Active)
+        State activeState = referenceData.findState(StateList.Active)
                 .orElseThrow(() -> new CustomException("Estado 'ACTIVO' no encontrado"));
         Users user = new Users(
                 newAdminDto.getUserName(),
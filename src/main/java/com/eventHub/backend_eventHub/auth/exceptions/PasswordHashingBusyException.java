@@ -0,0 +1,11 @@
+// PasswordHashingBusyException.java
+package com.eventHub.backend_eventHub.auth.exceptions;
+
+/**
+ * El pool de hashing de contraseñas está saturado; el cliente debe reintentar más tarde.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -1,15 +1,22 @@
 package com.eventHub.backend_eventHub.auth.jwt;
 
 import com.eventHub.backend_eventHub.auth.service.UserAuthService;
+import com.eventHub.backend_eventHub.auth.service.UserRevocationRegistry;
+import com.eventHub.backend_eventHub.config.SecurityRoutes;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
@@ -18,7 +25,6 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -26,6 +32,14 @@ import java.util.List;
  *
  * Extrae el token del encabezado Authorization, lo valida y, si es correcto,
  * establece la autenticación en el contexto de Spring Security.
+ *
+ * En modo sin estado (jwt.stateless-auth, activo por defecto) la identidad se construye
+ * solo con las claims firmadas del token (usuario, rol, ID y versión de estado) y se
+ * comprueba contra UserRevocationRegistry, sin consultar Mongo. Los tokens antiguos sin
+ * esas claims siguen cargando el usuario desde la base de datos.
+ *
+ * Qué rutas se saltan el filtro y cuáles son públicas sale de SecurityRoutes, la misma
+ * tabla que usa SecurityConfig para autorizar.
  */
 @Component
 @RequiredArgsConstructor
@@ -34,30 +48,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserAuthService userAuthService;
+    private final UserRevocationRegistry revocations;
+    private final SecurityRoutes securityRoutes;
+
+    @Value("${jwt.stateless-auth:true}")
+    private boolean statelessAuth = true;
 
     private static final String AUTHORIZATION_HEADER = "Authorization";
     private static final String BEARER_PREFIX = "Bearer ";
     private static final int BEARER_PREFIX_LENGTH = 7;
 
-    // Rutas que NO deben ser procesadas por el filtro JWT
-    private static final List<String> EXCLUDED_PATHS = Arrays.asList(
-            "/auth/register",
-            "/auth/login",
-            "/password/",
-            "/actuator/",
-            "/swagger-ui/",
-            "/v3/api-docs/"
-    );
-
-    // Rutas públicas de eventos que NO requieren autenticación
-    private static final List<String> PUBLIC_EVENT_PATHS = Arrays.asList(
-            "/api/events/search",
-            "/api/events/featured",
-            "/api/events/upcoming",
-            "/api/events/recent",
-            "/api/categories"
-    );
-
     @Override
     protected void doFilterInternal(
             @NonNull HttpServletRequest request,
@@ -76,7 +76,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             // Solo procesar JWT si hay token Y no hay autenticación ya establecida
             if (jwt != null && SecurityContextHolder.getContext().getAuthentication() == null) {
                 processJwtToken(jwt, request);
-            } else if (jwt == null && isPublicPath(requestPath, method)) {
+            } else if (jwt == null && securityRoutes.isPublic(request)) {
                 log.debug(" Public path accessed without token: {} {}", method, requestPath);
                 // Para rutas públicas sin token, simplemente continuar sin autenticación
             } else if (jwt == null) {
@@ -91,43 +91,6 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
-    /**
-     * Determina si una ruta es pública y no requiere autenticación.
-     */
-    private boolean isPublicPath(String path, String method) {
-        // Rutas públicas específicas
-        if (PUBLIC_EVENT_PATHS.stream().anyMatch(path::startsWith)) {
-            return true;
-        }
-
-        // Endpoints específicos de eventos públicos
-        if ("GET".equals(method)) {
-            // GET /api/events/{id} - detalle público de evento
-            if (path.matches("/api/events/[^/]+$")) {
-                return true;
-            }
-            // GET /api/categories/** - todas las categorías públicas
-            if (path.startsWith("/api/categories")) {
-                return true;
-            }
-            // GET /api/subevents/by-event/** - sub-eventos públicos
-            if (path.startsWith("/api/subevents/by-event/")) {
-                return true;
-            }
-            // GET /api/subevents/{id} - detalle público de sub-evento
-            if (path.matches("/api/subevents/[^/]+$")) {
-                return true;
-            }
-        }
-
-        // POST /api/events/search - búsqueda pública
-        if ("POST".equals(method) && "/api/events/search".equals(path)) {
-            return true;
-        }
-
-        return false;
-    }
-
     /**
      * Extrae el token JWT del header Authorization.
      *
@@ -151,25 +114,31 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Procesa el token JWT y establece la autenticación si es válido.
+     * El token se verifica una sola vez; el resto de comprobaciones usan sus claims.
      *
      * @param jwt     Token JWT a procesar.
      * @param request Solicitud HTTP para establecer detalles de autenticación.
      */
     private void processJwtToken(String jwt, HttpServletRequest request) {
         try {
-            String userName = jwtUtil.extractUserName(jwt);
+            Claims claims = jwtUtil.verify(jwt);
+            String userName = claims.getSubject();
             log.debug("🔍 Processing JWT for user: {}", userName);
 
             if (StringUtils.hasText(userName)) {
-                UserDetails userDetails = loadUserDetails(userName);
+                UserDetails userDetails = statelessAuth && jwtUtil.hasIdentityClaims(claims)
+                        ? userDetailsFromClaims(claims)
+                        : loadUserDetails(userName);
 
-                if (userDetails != null && jwtUtil.validateToken(jwt, userDetails)) {
+                if (userDetails != null && jwtUtil.validateClaims(claims, userDetails)) {
                     setAuthenticationContext(userDetails, request);
                     log.debug(" Autenticación JWT exitosa para usuario: {}", userName);
                 } else {
                     log.warn(" Token JWT inválido para usuario: {}", userName);
                 }
             }
+        } catch (JwtException e) {
+            log.warn(" Token JWT inválido: {}", e.getMessage());
         } catch (UsernameNotFoundException e) {
             log.warn(" Usuario no encontrado en token JWT: {}", e.getMessage());
         } catch (Exception e) {
@@ -177,6 +146,21 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * Construye los detalles del usuario a partir de las claims, sin acceder a la base de datos.
+     *
+     * @param claims Claims verificadas del token.
+     * @return UserDetails del usuario o null si el usuario está bloqueado o el token fue revocado.
+     */
+    private UserDetails userDetailsFromClaims(Claims claims) {
+        if (revocations.isRevoked(jwtUtil.userIdOf(claims), jwtUtil.stateVersionOf(claims))) {
+            log.warn(" Token revocado para usuario: {}", claims.getSubject());
+            return null;
+        }
+        return new User(claims.getSubject(), "",
+                List.of(new SimpleGrantedAuthority(jwtUtil.roleOf(claims))));
+    }
+
     /**
      * Carga los detalles del usuario de forma segura.
      *
@@ -214,13 +198,10 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     /**
      * Determina si este filtro debe ejecutarse para la solicitud actual.
-     * Se puede sobrescribir para excluir ciertas rutas del procesamiento JWT.
      */
     @Override
     protected boolean shouldNotFilter(HttpServletRequest request) {
-        String path = request.getServletPath();
-
-        // Excluir rutas administrativas y de autenticación del procesamiento JWT
-        return EXCLUDED_PATHS.stream().anyMatch(path::startsWith);
+        // Solo se excluyen las rutas marcadas como ANONYMOUS en la tabla de SecurityConfig
+        return securityRoutes.skipsJwt(request);
     }
 }
\ No newline at end of file
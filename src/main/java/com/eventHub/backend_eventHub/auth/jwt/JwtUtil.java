@@ -1,8 +1,11 @@
 package com.eventHub.backend_eventHub.auth.jwt;
 
 import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.utils.cache.BoundedTtlCache;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
@@ -14,6 +17,10 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -22,6 +29,11 @@ import java.util.function.Function;
 /**
  * Utilidad mejorada para la generación y validación de tokens JWT.
  * Incluye mejor manejo de errores, logging y validaciones adicionales.
+ *
+ * La clave de firma y el parser se construyen una sola vez (de forma perezosa) y los
+ * tokens ya verificados se guardan en una cache acotada, indexada por el SHA-256 del
+ * token, hasta su expiración: las peticiones repetidas de una misma sesión no vuelven
+ * a verificar la firma ni a decodificar el JSON.
  */
 @Component
 @Slf4j
@@ -33,8 +45,19 @@ public class JwtUtil {
     @Value("${jwt.expiration}")
     private int expiration;
 
+    @Value("${jwt.claims-cache.max-size:10000}")
+    private int claimsCacheMaxSize = 10_000;
+
+    @Value("${jwt.claims-cache.ttl-seconds:300}")
+    private long claimsCacheTtlSeconds = 300;
+
+    // Clave, parser y cache de claims derivados del secreto actual
+    private volatile Verifier verifier;
+
     // Constantes para mejor mantenimiento
     private static final String ROLE_CLAIM = "role";
+    private static final String USER_ID_CLAIM = "uid";
+    private static final String STATE_VERSION_CLAIM = "sv";
     private static final String TYPE_CLAIM = "type";
     private static final String RECOVERY_TOKEN_TYPE = "recovery";
     private static final long RECOVERY_TOKEN_EXPIRATION = 15 * 60 * 1000; // 15 minutos
@@ -47,6 +70,20 @@ public class JwtUtil {
      * @return Token JWT generado.
      */
     public String generateToken(Authentication authentication, String role) {
+        return generateToken(authentication, role, null, 0);
+    }
+
+    /**
+     * Genera un token JWT que además incluye el ID del usuario y su versión de estado,
+     * suficientes para autenticar peticiones sin consultar la base de datos.
+     *
+     * @param authentication Objeto de autenticación.
+     * @param role           Rol del usuario.
+     * @param userId         ID del usuario (si es null no se añaden las claims de identidad).
+     * @param stateVersion   Versión de estado actual del usuario.
+     * @return Token JWT generado.
+     */
+    public String generateToken(Authentication authentication, String role, String userId, long stateVersion) {
         if (authentication == null || authentication.getPrincipal() == null) {
             throw new IllegalArgumentException("Authentication no puede ser null");
         }
@@ -60,6 +97,10 @@ public class JwtUtil {
             SecretKey key = getSigningKey();
             Map<String, Object> claims = new HashMap<>();
             claims.put(ROLE_CLAIM, role);
+            if (userId != null) {
+                claims.put(USER_ID_CLAIM, userId);
+                claims.put(STATE_VERSION_CLAIM, stateVersion);
+            }
 
             return Jwts.builder()
                     .setClaims(claims)
@@ -129,10 +170,7 @@ public class JwtUtil {
         }
 
         try {
-            final String userName = extractUserName(token);
-            return userName != null
-                    && userName.equals(userDetails.getUsername())
-                    && !isTokenExpired(token);
+            return validateClaims(verify(token), userDetails);
         } catch (JwtException e) {
             log.warn("Token JWT inválido: {}", e.getMessage());
             return false;
@@ -142,6 +180,23 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Valida claims ya verificadas: el subject coincide con el usuario y no han expirado.
+     *
+     * @param claims      Claims obtenidas con {@link #verify(String)}.
+     * @param userDetails Detalles del usuario.
+     * @return true si las claims corresponden al usuario y siguen vigentes.
+     */
+    public boolean validateClaims(Claims claims, UserDetails userDetails) {
+        if (claims == null || userDetails == null) {
+            return false;
+        }
+        String userName = claims.getSubject();
+        return userName != null
+                && userName.equals(userDetails.getUsername())
+                && !isExpired(claims);
+    }
+
     /**
      * Verifica si el token ha expirado.
      *
@@ -194,6 +249,35 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * ID del usuario incluido en las claims (null en tokens sin claims de identidad).
+     */
+    public String userIdOf(Claims claims) {
+        return claims.get(USER_ID_CLAIM, String.class);
+    }
+
+    /**
+     * Rol incluido en las claims.
+     */
+    public String roleOf(Claims claims) {
+        return claims.get(ROLE_CLAIM, String.class);
+    }
+
+    /**
+     * Versión de estado incluida en las claims (0 si no está).
+     */
+    public long stateVersionOf(Claims claims) {
+        Number version = claims.get(STATE_VERSION_CLAIM, Number.class);
+        return version != null ? version.longValue() : 0L;
+    }
+
+    /**
+     * Indica si las claims bastan para autenticar sin cargar el usuario (ID y rol presentes).
+     */
+    public boolean hasIdentityClaims(Claims claims) {
+        return userIdOf(claims) != null && roleOf(claims) != null;
+    }
+
     /**
      * Extrae una claim específica del token usando un resolver de función.
      *
@@ -219,12 +303,7 @@ public class JwtUtil {
         }
 
         try {
-            SecretKey key = getSigningKey();
-            return Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return verify(token);
         } catch (JwtException e) {
             log.warn("Token JWT malformado o inválido: {}", e.getMessage());
             throw e;
@@ -234,16 +313,74 @@ public class JwtUtil {
         }
     }
 
+    /**
+     * Verifica firma y expiración del token una sola vez y devuelve sus claims.
+     * Si el token ya se verificó antes y no ha expirado, las claims salen de la cache.
+     *
+     * @param token Token JWT.
+     * @return Claims verificadas.
+     * @throws JwtException si el token es inválido, está manipulado o ha expirado.
+     */
+    public Claims verify(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("Token no puede ser null o vacío");
+        }
+
+        Verifier current = verifier();
+        String digest = digest(token);
+        Claims claims = current.claims().get(digest, key -> current.parser().parseClaimsJws(token).getBody());
+
+        if (isExpired(claims)) {
+            current.claims().invalidate(digest);
+            throw new ExpiredJwtException(null, claims, "Token JWT expirado");
+        }
+        return claims;
+    }
+
     /**
      * Obtiene la clave de firma para JWT.
      *
      * @return SecretKey para firmar tokens.
      */
     private SecretKey getSigningKey() {
-        if (secret == null || secret.trim().isEmpty()) {
-            throw new IllegalStateException("JWT secret no puede estar vacío");
+        return verifier().key();
+    }
+
+    // Construye clave, parser y cache la primera vez (o si cambia el secreto)
+    private Verifier verifier() {
+        Verifier current = verifier;
+        if (current != null && current.secret().equals(secret)) {
+            return current;
+        }
+        synchronized (this) {
+            current = verifier;
+            if (current == null || !current.secret().equals(secret)) {
+                if (secret == null || secret.trim().isEmpty()) {
+                    throw new IllegalStateException("JWT secret no puede estar vacío");
+                }
+                SecretKey key = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
+                current = new Verifier(secret, key,
+                        Jwts.parserBuilder().setSigningKey(key).build(),
+                        new BoundedTtlCache<>(claimsCacheMaxSize, Duration.ofSeconds(claimsCacheTtlSeconds)));
+                verifier = current;
+            }
+            return current;
+        }
+    }
+
+    private boolean isExpired(Claims claims) {
+        Date expirationDate = claims.getExpiration();
+        return expirationDate != null && expirationDate.before(new Date());
+    }
+
+    // SHA-256 del token: la cache no retiene los tokens en claro
+    private String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 no disponible", e);
         }
-        return Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
     }
 
     /**
@@ -255,10 +392,13 @@ public class JwtUtil {
      */
     public boolean isValidToken(String token) {
         try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
+            verify(token);
+            return true;
         } catch (Exception e) {
             return false;
         }
     }
-}
\ No newline at end of file
+
+    private record Verifier(String secret, SecretKey key, JwtParser parser, BoundedTtlCache<String, Claims> claims) {
+    }
+}
@@ -0,0 +1,180 @@
+package com.eventHub.backend_eventHub.auth.ratelimit;
+
+import com.eventHub.backend_eventHub.utils.ratelimit.RateLimitDecision;
+import com.eventHub.backend_eventHub.utils.ratelimit.RateLimitRule;
+import com.eventHub.backend_eventHub.utils.ratelimit.TokenBucketStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Limita login y recuperación de contraseña con token buckets por IP y por identidad
+ * (userName del login, email de la recuperación). Va delante de JwtAuthenticationFilter,
+ * así un ataque de credential stuffing se corta antes de llegar a Mongo, BCrypt o el correo.
+ *
+ * Si se supera el límite responde 429 con Retry-After. Un cuerpo de más de 8 KB se
+ * rechaza con 413 sin llegar al controlador: de lo contrario bastaría con rellenar el
+ * JSON para que no se leyera la identidad y se saltara el límite por cuenta.
+ * Métricas: eventhub.ratelimit.requests (tags route, scope, outcome).
+ */
+@Component
+@Slf4j
+public class AuthRateLimitFilter extends OncePerRequestFilter {
+
+    // Cuerpos de login/recuperación: unos cientos de bytes
+    private static final int MAX_INSPECTED_BODY = 8 * 1024;
+
+    private final TokenBucketStore store;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+    private final boolean trustForwardedFor;
+    private final Map<String, LimitedRoute> routes = new LinkedHashMap<>();
+
+    public AuthRateLimitFilter(TokenBucketStore store,
+                               ObjectMapper objectMapper,
+                               MeterRegistry meterRegistry,
+                               @Value("${ratelimit.trust-forwarded-for:false}") boolean trustForwardedFor,
+                               @Value("${ratelimit.login.ip.capacity:20}") int loginIpCapacity,
+                               @Value("${ratelimit.login.ip.period-seconds:60}") long loginIpPeriod,
+                               @Value("${ratelimit.login.user.capacity:5}") int loginUserCapacity,
+                               @Value("${ratelimit.login.user.period-seconds:60}") long loginUserPeriod,
+                               @Value("${ratelimit.recovery.ip.capacity:5}") int recoveryIpCapacity,
+                               @Value("${ratelimit.recovery.ip.period-seconds:300}") long recoveryIpPeriod,
+                               @Value("${ratelimit.recovery.email.capacity:3}") int recoveryEmailCapacity,
+                               @Value("${ratelimit.recovery.email.period-seconds:900}") long recoveryEmailPeriod) {
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.meterRegistry = meterRegistry;
+        this.trustForwardedFor = trustForwardedFor;
+
+        routes.put("/auth/login", new LimitedRoute("login", "userName",
+                new RateLimitRule("login-ip", loginIpCapacity, Duration.ofSeconds(loginIpPeriod)),
+                new RateLimitRule("login-user", loginUserCapacity, Duration.ofSeconds(loginUserPeriod))));
+        routes.put("/password/recover-password", new LimitedRoute("recovery", "email",
+                new RateLimitRule("recovery-ip", recoveryIpCapacity, Duration.ofSeconds(recoveryIpPeriod)),
+                new RateLimitRule("recovery-email", recoveryEmailCapacity, Duration.ofSeconds(recoveryEmailPeriod))));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !"POST".equals(request.getMethod()) || !routes.containsKey(request.getServletPath());
+    }
+
+    @Override
+    protected void doFilterInternal(@NonNull HttpServletRequest request,
+                                    @NonNull HttpServletResponse response,
+                                    @NonNull FilterChain filterChain) throws ServletException, IOException {
+        LimitedRoute route = routes.get(request.getServletPath());
+
+        RateLimitDecision byIp = consume(route, "ip", route.ipRule(), clientIp(request));
+        if (!byIp.allowed()) {
+            reject(request, response, byIp);
+            return;
+        }
+
+        CachedBodyRequest cached = new CachedBodyRequest(request, MAX_INSPECTED_BODY);
+        if (cached.prefix() == null) {
+            counter(route.name(), "body", "too_large").increment();
+            writeError(request, response, HttpStatus.PAYLOAD_TOO_LARGE, "El cuerpo de la petición es demasiado grande");
+            return;
+        }
+        String identity = identityOf(cached.prefix(), route.identityField());
+        if (identity != null) {
+            RateLimitDecision byIdentity = consume(route, "identity", route.identityRule(), identity);
+            if (!byIdentity.allowed()) {
+                reject(request, response, byIdentity);
+                return;
+            }
+        }
+
+        filterChain.doFilter(cached, response);
+    }
+
+    private RateLimitDecision consume(LimitedRoute route, String scope, RateLimitRule rule, String subject) {
+        RateLimitDecision decision = store.tryConsume(rule.name() + ":" + subject, rule);
+        counter(route.name(), scope, decision.allowed() ? "allowed" : "rejected").increment();
+        return decision;
+    }
+
+    private String identityOf(byte[] body, String field) {
+        if (body == null || body.length == 0) {
+            return null;
+        }
+        try {
+            JsonNode value = objectMapper.readTree(body).get(field);
+            return value != null && value.isTextual() && StringUtils.hasText(value.asText())
+                    ? value.asText().trim().toLowerCase(Locale.ROOT)
+                    : null;
+        } catch (IOException e) {
+            // Cuerpo no JSON: lo rechazará la validación del controlador
+            return null;
+        }
+    }
+
+    private String clientIp(HttpServletRequest request) {
+        if (trustForwardedFor) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (StringUtils.hasText(forwarded)) {
+                return forwarded.split(",")[0].trim();
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response,
+                        RateLimitDecision decision) throws IOException {
+        log.warn("🚦 Límite de peticiones superado en {} desde {}", request.getServletPath(), clientIp(request));
+
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(decision.retryAfterSeconds()));
+        writeError(request, response, HttpStatus.TOO_MANY_REQUESTS,
+                "Demasiados intentos, vuelve a intentarlo en " + decision.retryAfterSeconds() + " segundos");
+    }
+
+    private void writeError(HttpServletRequest request, HttpServletResponse response,
+                            HttpStatus status, String message) throws IOException {
+        response.setStatus(status.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", LocalDateTime.now().toString());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", message);
+        body.put("path", request.getServletPath());
+        response.getWriter().write(objectMapper.writeValueAsString(body));
+    }
+
+    private Counter counter(String route, String scope, String outcome) {
+        return Counter.builder("eventhub.ratelimit.requests")
+                .tag("route", route)
+                .tag("scope", scope)
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record LimitedRoute(String name, String identityField,
+                                RateLimitRule ipRule, RateLimitRule identityRule) {
+    }
+}
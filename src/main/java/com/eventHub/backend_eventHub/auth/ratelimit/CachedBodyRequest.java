@@ -0,0 +1,97 @@
+package com.eventHub.backend_eventHub.auth.ratelimit;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Petición cuyo cuerpo se lee por adelantado (hasta {@code limit} bytes) para poder
+ * inspeccionarlo en un filtro y volver a leerlo en el controlador.
+ *
+ * Si el cuerpo es más largo, {@link #prefix()} devuelve null y el resto se sigue
+ * leyendo de la petición original.
+ */
+class CachedBodyRequest extends HttpServletRequestWrapper {
+
+    private final byte[] head;
+    private final boolean complete;
+    private final InputStream body;
+
+    CachedBodyRequest(HttpServletRequest request, int limit) throws IOException {
+        super(request);
+        InputStream original = request.getInputStream();
+        this.head = original.readNBytes(limit + 1);
+        this.complete = head.length <= limit;
+        this.body = complete
+                ? new ByteArrayInputStream(head)
+                : new SequenceInputStream(new ByteArrayInputStream(head), original);
+    }
+
+    /**
+     * Cuerpo completo, o null si supera el límite
+     */
+    byte[] prefix() {
+        return complete ? head : null;
+    }
+
+    @Override
+    public ServletInputStream getInputStream() {
+        return new ServletInputStream() {
+            @Override
+            public int read() throws IOException {
+                return body.read();
+            }
+
+            @Override
+            public int read(byte[] buffer, int offset, int length) throws IOException {
+                return body.read(buffer, offset, length);
+            }
+
+            @Override
+            public boolean isFinished() {
+                try {
+                    return body.available() == 0;
+                } catch (IOException e) {
+                    return true;
+                }
+            }
+
+            @Override
+            public boolean isReady() {
+                return true;
+            }
+
+            // El cuerpo ya está disponible: se avisa enseguida y, leído todo, se cierra
+            @Override
+            public void setReadListener(ReadListener listener) {
+                try {
+                    if (!isFinished()) {
+                        listener.onDataAvailable();
+                    }
+                    if (isFinished()) {
+                        listener.onAllDataRead();
+                    }
+                } catch (IOException e) {
+                    listener.onError(e);
+                }
+            }
+        };
+    }
+
+    @Override
+    public BufferedReader getReader() {
+        String encoding = getCharacterEncoding();
+        Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+        return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+    }
+}
@@ -4,13 +4,12 @@ package com.eventHub.backend_eventHub.auth.service;
 import com.eventHub.backend_eventHub.auth.dto.NewUserDto;
 import com.eventHub.backend_eventHub.domain.entities.State;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
 import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
 import com.eventHub.backend_eventHub.domain.entities.Role;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.RoleList;
 import com.eventHub.backend_eventHub.auth.jwt.JwtUtil;
-import com.eventHub.backend_eventHub.domain.repositories.RoleRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.utils.emails.service.EmailService;
 import com.eventHub.backend_eventHub.auth.exceptions.UserAlreadyExistsException;
 import com.eventHub.backend_eventHub.auth.exceptions.AuthenticationFailedException;
@@ -42,24 +41,21 @@ import org.springframework.transaction.annotation.Transactional;
 public class AuthService {
 
     private final UserAuthService userAuthService;
-    private final RoleRepository roleRepository;
+    private final ReferenceDataRegistry referenceData;
     private final PasswordEncoder passwordEncoder;
-    private final StateRepository stateRepository;
     private final JwtUtil jwtUtil;
     private final AuthenticationManager authenticationManager;
     private final EmailService emailService;
 
     @Autowired
     public AuthService(UserAuthService userAuthService,
-                       RoleRepository roleRepository,
+                       ReferenceDataRegistry referenceData,
                        PasswordEncoder passwordEncoder,
-                       StateRepository stateRepository,
                        JwtUtil jwtUtil,
                        EmailService emailService,
                        AuthenticationManager authenticationManager) {
         this.userAuthService = userAuthService;
-        this.roleRepository = roleRepository;
-        this.stateRepository = stateRepository;
+        this.referenceData = referenceData;
         this.passwordEncoder = passwordEncoder;
         this.emailService = emailService;
         this.jwtUtil = jwtUtil;
@@ -91,7 +87,7 @@ public class AuthService {
 
             // Generar token
             String role = user.getRole().getNombreRol().toString();
-            String token = jwtUtil.generateToken(authResult, role);
+            String token = jwtUtil.generateToken(authResult, role, user.getId(), user.getStateVersion());
 
             log.info("Authentication successful for user: {}", username);
             return token;
@@ -163,10 +159,10 @@ public class AuthService {
      * Crea una nueva instancia de usuario con roles y estados por defecto.
      */
     private Users createNewUser(NewUserDto newUserDto) {
-        Role defaultRole = roleRepository.findByNombreRol(RoleList.ROLE_USUARIO)
+        Role defaultRole = referenceData.findRole(RoleList.ROLE_USUARIO)
                 .orElseThrow(() -> new ResourceNotFoundException("Rol por defecto no encontrado"));
 
-        State activeState = stateRepository.findByNameState(StateList.Active)
+        State activeState = referenceData.findState(StateList.Active)
                 .orElseThrow(() -> new ResourceNotFoundException("Estado por defecto no encontrado"));
 
         return new Users(
@@ -185,7 +181,7 @@ public class AuthService {
         try {
             EmailDto emailDto = createWelcomeEmail(email);
             emailService.sendEmail(emailDto);
-            log.info("Welcome email sent successfully to: {}", email);
+            log.info("Welcome email queued for: {}", email);
         } catch (Exception e) {
             log.error("Failed to send welcome email to: {}. Error: {}", email, e.getMessage());
             // No lanzar excepción para no afectar el registro
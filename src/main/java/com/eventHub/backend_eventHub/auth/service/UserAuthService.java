@@ -1,10 +1,13 @@
 package com.eventHub.backend_eventHub.auth.service;
 
 
+import com.eventHub.backend_eventHub.config.CacheConfig;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
 import org.springframework.stereotype.Service;
@@ -20,13 +23,15 @@ import java.util.Optional;
  */
 @Slf4j
 @Service
-public class UserAuthService implements UserDetailsService {
+public class UserAuthService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final CacheManager cacheManager;
 
     @Autowired
-    public UserAuthService(UserRepository userRepository) {
+    public UserAuthService(UserRepository userRepository, CacheManager cacheManager) {
         this.userRepository = userRepository;
+        this.cacheManager = cacheManager;
     }
 
 
@@ -44,6 +49,32 @@ public class UserAuthService implements UserDetailsService {
         );
     }
 
+    /**
+     * Guarda el hash re-codificado tras un login (cambio de coste o de formato).
+     * Solo actualiza el campo password e invalida las dos caches del usuario
+     * (por nombre y por id).
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByUserName(user.getUsername(), newPassword);
+        evictCachedUser(user.getUsername());
+        log.info("Hash de contraseña actualizado para: {}", user.getUsername());
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
+    private void evictCachedUser(String username) {
+        Cache byUsername = cacheManager.getCache(CacheConfig.USER_BY_USERNAME_CACHE);
+        if (byUsername != null) {
+            byUsername.evict(username);
+        }
+        Cache byId = cacheManager.getCache(CacheConfig.USER_CACHE);
+        if (byId != null) {
+            userRepository.findIdByUserName(username).ifPresent(found -> byId.evict(found.getId()));
+        }
+    }
+
     public boolean existsByUserName(String username) {
         return userRepository.existsByUserName(username);
     }
@@ -0,0 +1,124 @@
+package com.eventHub.backend_eventHub.auth.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
+import com.eventHub.backend_eventHub.utils.cache.CacheInvalidationBus;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registro en memoria de usuarios bloqueados y de tokens revocados por cambio de estado.
+ *
+ * Permite autenticar solo con las claims del JWT (sin consultar Mongo) y aun así rechazar:
+ * - usuarios cuyo estado actual no es Active (se cargan al arrancar y los actualiza UserService.changeState)
+ * - tokens emitidos antes del último cambio de estado (claim de versión de estado menor a la registrada)
+ *
+ * Los cambios de estado se difunden al resto de réplicas por CacheInvalidationBus (si hay Redis).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class UserRevocationRegistry {
+
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceDataRegistry referenceData;
+    private final CacheInvalidationBus invalidationBus;
+
+    private static final String REVOCATION_TOPIC = "userRevocation";
+
+    private final Set<String> blockedUsers = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> minStateVersions = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        invalidationBus.register(REVOCATION_TOPIC, this::applyRemoteChange);
+    }
+
+    /**
+     * Carga los IDs de los usuarios que no están activos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadBlockedUsers() {
+        try {
+            // Solo los estados no activos explícitos: un usuario sin estado no queda bloqueado
+            List<Object> inactiveRefs = new ArrayList<>();
+            for (StateList state : StateList.values()) {
+                if (state != StateList.Active) {
+                    referenceData.findState(state).ifPresent(found -> inactiveRefs.add(
+                            ObjectId.isValid(found.getId()) ? new ObjectId(found.getId()) : found.getId()));
+                }
+            }
+
+            Set<String> loaded = new HashSet<>();
+            if (!inactiveRefs.isEmpty()) {
+                Query query = new Query(Criteria.where("state.$id").in(inactiveRefs));
+                query.fields().include("_id");
+                mongoTemplate.find(query, Users.class).forEach(user -> loaded.add(user.getId()));
+            }
+            blockedUsers.retainAll(loaded);
+            blockedUsers.addAll(loaded);
+            log.info("Usuarios no activos cargados en el registro de revocación: {}", blockedUsers.size());
+        } catch (DataAccessException | IllegalArgumentException e) {
+            log.error("No se pudieron cargar los usuarios bloqueados: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Registra un cambio de estado: invalida los tokens con versión anterior y
+     * marca o desmarca al usuario como bloqueado.
+     *
+     * @param userId       ID del usuario.
+     * @param stateVersion Nueva versión de estado del usuario.
+     * @param active       true si el nuevo estado es Active.
+     */
+    public void stateChanged(String userId, long stateVersion, boolean active) {
+        apply(userId, stateVersion, active);
+        invalidationBus.publish(REVOCATION_TOPIC, userId + ":" + stateVersion + ":" + active);
+    }
+
+    /**
+     * Indica si un token con la versión de estado dada ya no es válido para el usuario
+     */
+    public boolean isRevoked(String userId, long stateVersion) {
+        return blockedUsers.contains(userId)
+                || stateVersion < minStateVersions.getOrDefault(userId, 0L);
+    }
+
+    // Mensaje "userId:versión:activo" de otra réplica; la reconexión ("*") recarga los bloqueados
+    private void applyRemoteChange(String message) {
+        if (CacheInvalidationBus.ALL_KEYS.equals(message)) {
+            loadBlockedUsers();
+            return;
+        }
+        String[] parts = message.split(":");
+        if (parts.length == 3) {
+            apply(parts[0], Long.parseLong(parts[1]), Boolean.parseBoolean(parts[2]));
+        }
+    }
+
+    private void apply(String userId, long stateVersion, boolean active) {
+        minStateVersions.merge(userId, stateVersion, Math::max);
+        if (active) {
+            blockedUsers.remove(userId);
+        } else {
+            blockedUsers.add(userId);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.eventHub.backend_eventHub.config;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.utils.cache.BoundedTtlCache;
+import com.eventHub.backend_eventHub.utils.cache.BoundedTtlCacheMetrics;
+import com.eventHub.backend_eventHub.utils.cache.BoundedTtlSpringCache;
+import com.eventHub.backend_eventHub.utils.cache.CacheInvalidationBus;
+import com.eventHub.backend_eventHub.utils.cache.JedisCacheTier;
+import com.eventHub.backend_eventHub.utils.cache.RemoteCacheTier;
+import com.eventHub.backend_eventHub.utils.cache.TwoLevelCache;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.geo.GeoJsonModule;
+import redis.clients.jedis.JedisPooled;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Configuración de la cache de Spring (@Cacheable / @CacheEvict).
+ *
+ * Cada cache es una {@link BoundedTtlCache} en memoria acotada por tamaño y TTL; Actuator
+ * publica sus métricas (cache.gets, cache.puts, cache.evictions, cache.size) con el tag cache.
+ *
+ * Con cache.redis.enabled=true cada cache pasa a ser de dos niveles ({@link TwoLevelCache}):
+ * la copia local queda delante de Redis y las invalidaciones se difunden al resto de réplicas.
+ * El hash de la contraseña de Users nunca se serializa hacia Redis.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String USER_CACHE = "user";
+    public static final String USER_BY_USERNAME_CACHE = "userByUsername";
+    public static final String EVENT_DETAIL_CACHE = "eventDetail";
+    public static final String ADMIN_DASHBOARD_CACHE = "adminDashboard";
+
+    @Value("${cache.users.max-size:5000}")
+    private int usersMaxSize;
+
+    @Value("${cache.users.ttl-seconds:600}")
+    private long usersTtlSeconds;
+
+    @Value("${cache.event-detail.max-size:2000}")
+    private int eventDetailMaxSize;
+
+    @Value("${cache.event-detail.ttl-seconds:60}")
+    private long eventDetailTtlSeconds;
+
+    @Value("${cache.admin-dashboard.ttl-seconds:30}")
+    private long adminDashboardTtlSeconds;
+
+    /**
+     * Único pool de conexiones a Redis, compartido por la cache y el rate limit de login
+     */
+    @Bean(destroyMethod = "close")
+    @ConditionalOnExpression("${cache.redis.enabled:false} or ${ratelimit.redis.enabled:false}")
+    public JedisPooled jedisPooled(@Value("${cache.redis.host:localhost}") String host,
+                                   @Value("${cache.redis.port:6379}") int port) {
+        return new JedisPooled(host, port);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "cache.redis.enabled", havingValue = "true")
+    public RemoteCacheTier redisCacheTier(JedisPooled jedisPooled) {
+        return new JedisCacheTier(jedisPooled);
+    }
+
+    @Bean
+    public CacheManager cacheManager(ObjectProvider<RemoteCacheTier> remoteTier,
+                                     CacheInvalidationBus invalidationBus,
+                                     ObjectMapper objectMapper) {
+        CacheFactory factory = new CacheFactory(remoteTier.getIfAvailable(), invalidationBus,
+                cacheObjectMapper(objectMapper));
+
+        SimpleCacheManager cacheManager = new SimpleCacheManager();
+        cacheManager.setCaches(List.of(
+                factory.create(USER_CACHE, Users.class, usersMaxSize, usersTtlSeconds),
+                factory.create(USER_BY_USERNAME_CACHE, Users.class, usersMaxSize, usersTtlSeconds),
+                factory.create(EVENT_DETAIL_CACHE, Event.class, eventDetailMaxSize, eventDetailTtlSeconds),
+                // Una entrada por rango de días pedido
+                factory.create(ADMIN_DASHBOARD_CACHE, Map.class, 32, adminDashboardTtlSeconds)
+        ));
+        return cacheManager;
+    }
+
+    /**
+     * ObjectMapper con el que se serializan los valores hacia el nivel remoto
+     */
+    public static ObjectMapper cacheObjectMapper(ObjectMapper objectMapper) {
+        return objectMapper.copy()
+                .registerModule(GeoJsonModule.geoJsonModule())
+                .addMixIn(Users.class, CachedUserMixin.class);
+    }
+
+    @Bean
+    public CacheMeterBinderProvider<BoundedTtlSpringCache> boundedTtlCacheMeterBinderProvider() {
+        return (cache, tags) -> new BoundedTtlCacheMetrics(cache.getNativeCache(), cache.getName(), tags);
+    }
+
+    // Credenciales fuera de la cache compartida (también en el creador anidado de Event)
+    @JsonIgnoreProperties("password")
+    private abstract static class CachedUserMixin {
+    }
+
+    // Crea caches locales o de dos niveles según haya nivel remoto configurado
+    private record CacheFactory(RemoteCacheTier remoteTier,
+                                CacheInvalidationBus invalidationBus,
+                                ObjectMapper objectMapper) {
+
+        Cache create(String name, Class<?> valueType, int maxSize, long ttlSeconds) {
+            Duration ttl = Duration.ofSeconds(ttlSeconds);
+            BoundedTtlCache<Object, Object> nearCache = new BoundedTtlCache<>(maxSize, ttl);
+            if (remoteTier == null) {
+                return new BoundedTtlSpringCache(name, nearCache);
+            }
+            return new TwoLevelCache(name, nearCache, ttl, remoteTier, invalidationBus,
+                    objectMapper, objectMapper.constructType(valueType));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.eventHub.backend_eventHub.config;
+
+import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.SubEvent;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Crea al arrancar los índices declarados en las entidades (@Indexed, @CompoundIndex).
+ *
+ * Spring Boot no crea índices automáticamente (auto-index-creation = false),
+ * así que las colecciones con consultas en caliente se registran aquí.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MongoIndexInitializer {
+
+    // Entidades cuyos índices deben existir antes de atender tráfico
+    private static final List<Class<?>> INDEXED_ENTITIES = List.of(
+            Inscription.class,
+            Event.class,
+            SubEvent.class,
+            EventRole.class,
+            AttendeeInvitation.class,
+            EventSummary.class,
+            EventHistoryEntry.class,
+            DeletionJob.class,
+            EmailOutboxMessage.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoMappingContext mappingContext;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(mappingContext);
+
+        for (Class<?> entityType : INDEXED_ENTITIES) {
+            try {
+                IndexOperations indexOps = mongoTemplate.indexOps(entityType);
+                resolver.resolveIndexFor(entityType).forEach(indexOps::ensureIndex);
+                log.info("Índices verificados para {}", entityType.getSimpleName());
+            } catch (DataAccessException e) {
+                log.error("No se pudieron crear los índices de {}: {}", entityType.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.eventHub.backend_eventHub.config;
+
+import com.eventHub.backend_eventHub.utils.ratelimit.InMemoryTokenBucketStore;
+import com.eventHub.backend_eventHub.utils.ratelimit.RedisTokenBucketStore;
+import com.eventHub.backend_eventHub.utils.ratelimit.TokenBucketStore;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import redis.clients.jedis.JedisPooled;
+
+/**
+ * Almacén de token buckets para AuthRateLimitFilter.
+ *
+ * Por defecto los buckets viven en memoria (límite por réplica); con
+ * ratelimit.redis.enabled=true se comparten en Redis (con el pool JedisPooled de
+ * CacheConfig) y la memoria queda como respaldo.
+ */
+@Configuration
+public class RateLimitConfig {
+
+    @Value("${ratelimit.max-keys:100000}")
+    private int maxKeys;
+
+    @Bean
+    public TokenBucketStore tokenBucketStore(@Value("${ratelimit.redis.enabled:false}") boolean redisEnabled,
+                                             ObjectProvider<JedisPooled> jedisPooled) {
+        InMemoryTokenBucketStore local = new InMemoryTokenBucketStore(maxKeys);
+        if (!redisEnabled) {
+            return local;
+        }
+        return new RedisTokenBucketStore(jedisPooled.getObject(), local);
+    }
+}
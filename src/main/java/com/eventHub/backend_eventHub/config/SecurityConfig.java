@@ -2,11 +2,14 @@ package com.eventHub.backend_eventHub.config;
 
 import com.eventHub.backend_eventHub.auth.jwt.JwtAuthenticationFilter;
 import com.eventHub.backend_eventHub.auth.jwt.JwtEntryPoint;
+import com.eventHub.backend_eventHub.auth.ratelimit.AuthRateLimitFilter;
+import com.eventHub.backend_eventHub.auth.service.BoundedPasswordEncoder;
 import com.eventHub.backend_eventHub.auth.service.UserAuthService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.HttpMethod;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
@@ -14,6 +17,7 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
@@ -21,7 +25,9 @@ import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Map;
 
 @Configuration
 @EnableMethodSecurity
@@ -36,6 +42,25 @@ public class SecurityConfig {
     @Autowired
     private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    @Autowired
+    private AuthRateLimitFilter authRateLimitFilter;
+
+    @Autowired
+    private SecurityRoutes securityRoutes;
+
+    // Coste de BCrypt para hashes nuevos; los existentes con otro coste se re-hashean al hacer login
+    @Value("${security.password.bcrypt-strength:10}")
+    private int bcryptStrength;
+
+    @Value("${security.password.hash-threads:0}")
+    private int hashThreads;
+
+    @Value("${security.password.hash-queue-capacity:256}")
+    private int hashQueueCapacity;
+
+    @Value("${security.password.hash-timeout-millis:5000}")
+    private long hashTimeoutMillis;
+
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
@@ -43,105 +68,21 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(jwtEntryPoint))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .authorizeHttpRequests(auth -> auth
-                        // Permitir preflights CORS
-                        .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
-
-                        // ========== ENDPOINTS PÚBLICOS ==========
-                        .requestMatchers("/auth/register", "/auth/login").permitAll()
-                        .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
-                        .requestMatchers("/password/**", "/actuator/health", "/actuator/info").permitAll()
-
-                        // ========== CATEGORÍAS ==========
-                        // Endpoints públicos de categorías (lectura)
-                        .requestMatchers(HttpMethod.GET, "/api/categories").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/categories/{id}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/categories/search").permitAll()
-
-                        // Endpoints administrativos de categorías (requieren ROLE_ADMIN)
-                        .requestMatchers(HttpMethod.POST, "/api/categories").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PUT, "/api/categories/{id}").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.PATCH, "/api/categories/{id}/toggle-status").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/categories/admin/all").hasRole("ADMIN")
-
-                        // ========== EVENTOS PÚBLICOS ==========
-                        // Endpoints públicos de eventos (sin autenticación)
-                        .requestMatchers(HttpMethod.POST, "/api/events/search").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/events/featured").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/events/upcoming").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/events/recent").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/events/{id}").permitAll()
-
-                        // ========== SUB-EVENTOS PÚBLICOS ==========
-                        .requestMatchers(HttpMethod.GET, "/api/subevents/by-event/{eventId}").permitAll()
-                        .requestMatchers(HttpMethod.GET, "/api/subevents/{id}").permitAll()
-
-                        // ========== EVENTOS AUTENTICADOS ==========
-                        // Endpoints que requieren ROLE_USUARIO
-                        .requestMatchers(HttpMethod.POST, "/api/events/search-authenticated").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/events/{id}/authenticated").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.POST, "/api/events").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/events/my-created").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/events/as-subcreator").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.PUT, "/api/events/{id}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.DELETE, "/api/events/{id}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.POST, "/api/events/{id}/invite-subcreator").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.POST, "/api/events/accept-invitation/{invitationId}").hasRole("USUARIO")
-
-                        // ========== SUB-EVENTOS AUTENTICADOS ==========
-                        .requestMatchers(HttpMethod.POST, "/api/subevents").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.PUT, "/api/subevents/{id}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.DELETE, "/api/subevents/{id}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/subevents/my-created").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/subevents/{id}/registrations").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/subevents/{id}/stats").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.PATCH, "/api/subevents/{id}/status").hasRole("USUARIO")
-
-                        // ========== INSCRIPCIONES ==========
-                        .requestMatchers(HttpMethod.POST, "/api/inscriptions/register").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.POST, "/api/inscriptions/register-subevent").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.DELETE, "/api/inscriptions/cancel/{eventoId}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.DELETE, "/api/inscriptions/cancel-subevent/{subeventoId}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/inscriptions/my-registrations").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/inscriptions/my-subevent-registrations").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/inscriptions/check/{eventoId}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/inscriptions/event/{eventoId}").hasRole("USUARIO")
-
-                        // ========== INVITACIONES ==========
-                        .requestMatchers(HttpMethod.GET, "/api/invitations/pending").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/invitations/all").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.DELETE, "/api/invitations/reject/{invitationId}").hasRole("USUARIO")
-                        .requestMatchers(HttpMethod.GET, "/api/invitations/count").hasRole("USUARIO")
-
-                        // ========== ADMINISTRACIÓN DE EVENTOS ==========
-                        // Endpoints administrativos de eventos (requieren ADMIN o SUBADMIN)
-                        .requestMatchers(HttpMethod.GET, "/api/admin/events").hasAnyRole("ADMIN", "SUBADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/admin/events/by-block-status").hasAnyRole("ADMIN", "SUBADMIN")
-                        .requestMatchers(HttpMethod.PATCH, "/api/admin/events/{id}/toggle-block").hasAnyRole("ADMIN", "SUBADMIN")
-                        .requestMatchers(HttpMethod.PATCH, "/api/admin/events/{id}/status").hasRole("ADMIN")
-                        .requestMatchers(HttpMethod.GET, "/api/admin/events/statistics").hasAnyRole("ADMIN", "SUBADMIN")
-
-                        // ========== ENDPOINTS ADMINISTRATIVOS GENERALES ==========
-                        .requestMatchers("/admin/**").hasRole("ADMIN")
-
-                        // ========== USUARIOS AUTENTICADOS ==========
-                        .requestMatchers("/auth/check-auth").authenticated()
-                        .requestMatchers(HttpMethod.GET, "/users/me", "/users/me/**").authenticated()
-                        .requestMatchers(HttpMethod.PUT, "/users/me", "/users/me/**").authenticated()
-                        .requestMatchers("/users/**").hasRole("ADMIN")
-
-                        // Por defecto, todo lo demás requiere autenticación
-                        .anyRequest().authenticated()
-                )
-                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+                // Tabla de rutas compartida con JwtAuthenticationFilter (ver SecurityRoutes)
+                .authorizeHttpRequests(auth -> auth.anyRequest().access(securityRoutes))
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+                // Límite de intentos en login y recuperación antes de cualquier otra comprobación
+                .addFilterBefore(authRateLimitFilter, JwtAuthenticationFilter.class);
         return http.build();
     }
 
     @Bean
-    public DaoAuthenticationProvider authenticationProvider() {
+    public DaoAuthenticationProvider authenticationProvider(PasswordEncoder passwordEncoder) {
         DaoAuthenticationProvider authProvider = new DaoAuthenticationProvider();
         authProvider.setUserDetailsService(userAuthService);
-        authProvider.setPasswordEncoder(passwordEncoder());
+        authProvider.setPasswordEncoder(passwordEncoder);
+        // Tras un login correcto guarda el hash re-codificado si el coste o el formato cambiaron
+        authProvider.setUserDetailsPasswordService(userAuthService);
         return authProvider;
     }
 
@@ -150,9 +91,19 @@ public class SecurityConfig {
         return authenticationConfiguration.getAuthenticationManager();
     }
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    /**
+     * Encoder delegante ({bcrypt} por defecto; los hashes sin prefijo se leen como BCrypt)
+     * que corre en un pool acotado de hilos para no competir con los hilos del servlet.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(bcryptStrength);
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        int threads = hashThreads > 0 ? hashThreads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(delegating, threads, hashQueueCapacity,
+                Duration.ofMillis(hashTimeoutMillis), meterRegistry);
     }
 
     @Bean
@@ -0,0 +1,244 @@
+package com.eventHub.backend_eventHub.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.server.PathContainer;
+import org.springframework.security.authorization.AuthenticatedAuthorizationManager;
+import org.springframework.security.authorization.AuthorityAuthorizationManager;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Tabla única de rutas y permisos de la API.
+ *
+ * La consultan tanto la cadena de seguridad (como AuthorizationManager en SecurityConfig)
+ * como JwtAuthenticationFilter (para saber si debe procesar el token), así que no pueden
+ * contradecirse. Como en requestMatchers, gana la primera ruta que coincide y lo que no
+ * aparece requiere autenticación.
+ *
+ * Al arrancar cada patrón se compila a un PathPattern y las rutas se indexan por su primer
+ * segmento; cada petición solo prueba las rutas de su segmento (más las comodín).
+ */
+@Component
+public class SecurityRoutes implements AuthorizationManager<RequestAuthorizationContext> {
+
+    public enum Access {
+        ANONYMOUS,      // Pública y sin procesar JWT (login, registro, recuperación, docs, health)
+        PUBLIC,         // Pública; si llega un token se procesa igualmente
+        AUTHENTICATED,  // Cualquier usuario autenticado
+        ROLE            // Alguno de los roles indicados
+    }
+
+    public record Route(HttpMethod method, String pattern, Access access, List<String> roles) {
+
+        boolean isPublic() {
+            return access == Access.ANONYMOUS || access == Access.PUBLIC;
+        }
+    }
+
+    static final List<Route> ROUTES = List.of(
+            // Permitir preflights CORS
+            route(HttpMethod.OPTIONS, "/**", Access.PUBLIC),
+
+            // ========== ENDPOINTS PÚBLICOS ==========
+            route(null, "/auth/register", Access.ANONYMOUS),
+            route(null, "/auth/login", Access.ANONYMOUS),
+            route(null, "/swagger-ui/**", Access.ANONYMOUS),
+            route(null, "/v3/api-docs/**", Access.ANONYMOUS),
+            route(null, "/password/**", Access.ANONYMOUS),
+            route(null, "/actuator/health", Access.ANONYMOUS),
+            route(null, "/actuator/info", Access.ANONYMOUS),
+
+            // ========== CATEGORÍAS ==========
+            route(HttpMethod.GET, "/api/categories", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/categories/search", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/categories/admin/all", Access.ROLE, "ADMIN"),
+            route(HttpMethod.GET, "/api/categories/{id}", Access.PUBLIC),
+            route(HttpMethod.POST, "/api/categories", Access.ROLE, "ADMIN"),
+            route(HttpMethod.PUT, "/api/categories/{id}", Access.ROLE, "ADMIN"),
+            route(HttpMethod.PATCH, "/api/categories/{id}/toggle-status", Access.ROLE, "ADMIN"),
+
+            // ========== EVENTOS PÚBLICOS ==========
+            route(HttpMethod.POST, "/api/events/search", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/events/search/text", Access.PUBLIC),
+            route(HttpMethod.POST, "/api/events/nearby", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/events/featured", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/events/upcoming", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/events/recent", Access.PUBLIC),
+
+            // ========== EVENTOS AUTENTICADOS ==========
+            // Antes que /api/events/{id} para que my-created o as-subcreator no se tomen como ID
+            route(HttpMethod.POST, "/api/events/search-authenticated", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/my-created", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/as-subcreator", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/deletion-jobs/{jobId}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/{id}/authenticated", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/{id}", Access.PUBLIC),
+            route(HttpMethod.POST, "/api/events", Access.ROLE, "USUARIO"),
+            route(HttpMethod.PUT, "/api/events/{id}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.DELETE, "/api/events/{id}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/events/{id}/history", Access.ROLE, "USUARIO"),
+            route(HttpMethod.POST, "/api/events/{id}/invite-subcreator", Access.ROLE, "USUARIO"),
+            route(HttpMethod.POST, "/api/events/accept-invitation/{invitationId}", Access.ROLE, "USUARIO"),
+
+            // ========== SUB-EVENTOS ==========
+            route(HttpMethod.GET, "/api/subevents/by-event/{eventId}", Access.PUBLIC),
+            route(HttpMethod.GET, "/api/subevents/my-created", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/subevents/{id}", Access.PUBLIC),
+            route(HttpMethod.POST, "/api/subevents", Access.ROLE, "USUARIO"),
+            route(HttpMethod.PUT, "/api/subevents/{id}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.DELETE, "/api/subevents/{id}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/subevents/{id}/registrations", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/subevents/{id}/stats", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/subevents/{id}/history", Access.ROLE, "USUARIO"),
+            route(HttpMethod.PATCH, "/api/subevents/{id}/status", Access.ROLE, "USUARIO"),
+
+            // ========== INSCRIPCIONES ==========
+            route(HttpMethod.POST, "/api/inscriptions/register", Access.ROLE, "USUARIO"),
+            route(HttpMethod.POST, "/api/inscriptions/register-subevent", Access.ROLE, "USUARIO"),
+            route(HttpMethod.DELETE, "/api/inscriptions/cancel/{eventoId}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.DELETE, "/api/inscriptions/cancel-subevent/{subeventoId}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/inscriptions/my-registrations", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/inscriptions/my-subevent-registrations", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/inscriptions/check/{eventoId}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/inscriptions/event/{eventoId}", Access.ROLE, "USUARIO"),
+
+            // ========== INVITACIONES ==========
+            route(HttpMethod.GET, "/api/invitations/pending", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/invitations/all", Access.ROLE, "USUARIO"),
+            route(HttpMethod.DELETE, "/api/invitations/reject/{invitationId}", Access.ROLE, "USUARIO"),
+            route(HttpMethod.GET, "/api/invitations/count", Access.ROLE, "USUARIO"),
+
+            // ========== ADMINISTRACIÓN DE EVENTOS ==========
+            route(HttpMethod.GET, "/api/admin/events", Access.ROLE, "ADMIN", "SUBADMIN"),
+            route(HttpMethod.GET, "/api/admin/events/by-block-status", Access.ROLE, "ADMIN", "SUBADMIN"),
+            route(HttpMethod.PATCH, "/api/admin/events/{id}/toggle-block", Access.ROLE, "ADMIN", "SUBADMIN"),
+            route(HttpMethod.PATCH, "/api/admin/events/{id}/status", Access.ROLE, "ADMIN"),
+            route(HttpMethod.GET, "/api/admin/events/statistics", Access.ROLE, "ADMIN", "SUBADMIN"),
+            route(HttpMethod.GET, "/api/admin/events/{id}/history", Access.ROLE, "ADMIN", "SUBADMIN"),
+
+            // ========== ENDPOINTS ADMINISTRATIVOS GENERALES ==========
+            route(null, "/admin/**", Access.ROLE, "ADMIN"),
+
+            // ========== USUARIOS AUTENTICADOS ==========
+            route(null, "/auth/check-auth", Access.AUTHENTICATED),
+            route(HttpMethod.GET, "/users/me", Access.AUTHENTICATED),
+            route(HttpMethod.GET, "/users/me/**", Access.AUTHENTICATED),
+            route(HttpMethod.PUT, "/users/me", Access.AUTHENTICATED),
+            route(HttpMethod.PUT, "/users/me/**", Access.AUTHENTICATED),
+            route(null, "/users/**", Access.ROLE, "ADMIN")
+    );
+
+    private static final AuthorizationManager<RequestAuthorizationContext> AUTHENTICATED =
+            AuthenticatedAuthorizationManager.authenticated();
+
+    private final Map<String, CompiledRoute[]> bySegment = new HashMap<>();
+    private final CompiledRoute[] wildcardOnly;
+
+    public SecurityRoutes() {
+        this(ROUTES);
+    }
+
+    SecurityRoutes(List<Route> routes) {
+        PathPatternParser parser = new PathPatternParser();
+        List<CompiledRoute> compiled = new ArrayList<>(routes.size());
+        for (Route route : routes) {
+            compiled.add(new CompiledRoute(route, parser.parse(route.pattern()), firstSegment(route.pattern()),
+                    managerFor(route)));
+        }
+
+        // Cada segmento conserva el orden de declaración, incluidas las rutas comodín
+        List<CompiledRoute> wildcards = compiled.stream().filter(c -> c.segment() == null).toList();
+        for (CompiledRoute candidate : compiled) {
+            if (candidate.segment() != null && !bySegment.containsKey(candidate.segment())) {
+                bySegment.put(candidate.segment(), compiled.stream()
+                        .filter(c -> c.segment() == null || c.segment().equals(candidate.segment()))
+                        .toArray(CompiledRoute[]::new));
+            }
+        }
+        this.wildcardOnly = wildcards.toArray(CompiledRoute[]::new);
+    }
+
+    /**
+     * Primera ruta que coincide con la petición, o null si ninguna (requiere autenticación)
+     */
+    public Route match(HttpServletRequest request) {
+        CompiledRoute compiled = find(request.getMethod(), pathOf(request));
+        return compiled != null ? compiled.route() : null;
+    }
+
+    /**
+     * Rutas donde JwtAuthenticationFilter no debe procesar el token
+     */
+    public boolean skipsJwt(HttpServletRequest request) {
+        Route route = match(request);
+        return route != null && route.access() == Access.ANONYMOUS;
+    }
+
+    public boolean isPublic(HttpServletRequest request) {
+        Route route = match(request);
+        return route != null && route.isPublic();
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        HttpServletRequest request = context.getRequest();
+        CompiledRoute compiled = find(request.getMethod(), pathOf(request));
+        AuthorizationManager<RequestAuthorizationContext> manager = compiled != null ? compiled.manager() : AUTHENTICATED;
+        return manager.check(authentication, context);
+    }
+
+    private CompiledRoute find(String method, String path) {
+        PathContainer container = PathContainer.parsePath(path);
+        CompiledRoute[] candidates = bySegment.getOrDefault(firstSegment(path), wildcardOnly);
+        for (CompiledRoute candidate : candidates) {
+            if ((candidate.route().method() == null || candidate.route().method().matches(method))
+                    && candidate.pattern().matches(container)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        String contextPath = request.getContextPath();
+        return contextPath != null && !contextPath.isEmpty() && uri.startsWith(contextPath)
+                ? uri.substring(contextPath.length())
+                : uri;
+    }
+
+    // Primer segmento literal del patrón o ruta ("/api/events/{id}" → "api"); null si es comodín
+    private static String firstSegment(String path) {
+        int end = path.indexOf('/', 1);
+        String segment = end < 0 ? path.substring(1) : path.substring(1, end);
+        return segment.contains("*") || segment.contains("{") ? null : segment;
+    }
+
+    private static AuthorizationManager<RequestAuthorizationContext> managerFor(Route route) {
+        return switch (route.access()) {
+            case ANONYMOUS, PUBLIC -> (authentication, context) -> new AuthorizationDecision(true);
+            case AUTHENTICATED -> AUTHENTICATED;
+            case ROLE -> AuthorityAuthorizationManager.hasAnyRole(route.roles().toArray(String[]::new));
+        };
+    }
+
+    private static Route route(HttpMethod method, String pattern, Access access, String... roles) {
+        return new Route(method, pattern, access, List.of(roles));
+    }
+
+    private record CompiledRoute(Route route, PathPattern pattern, String segment,
+                                 AuthorizationManager<RequestAuthorizationContext> manager) {
+    }
+}
@@ -3,6 +3,7 @@ package com.eventHub.backend_eventHub.domain.entities;
 
 import com.eventHub.backend_eventHub.domain.enums.StateList;
 import lombok.AllArgsConstructor;
+import lombok.NoArgsConstructor;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.Indexed;
@@ -10,6 +11,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 @Document(collection = "estados")
 public class State {
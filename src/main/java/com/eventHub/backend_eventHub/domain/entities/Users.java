@@ -61,6 +61,11 @@ public class Users {
     @DBRef
     private State state;
 
+    /**
+     * Se incrementa en cada cambio de estado; viaja en el JWT para invalidar tokens anteriores.
+     */
+    private long stateVersion;
+
     private String photo;
 
     public Users(String userName, String email, String password, Role role) {
@@ -195,6 +200,14 @@ public class Users {
         this.state = state;
     }
 
+    public long getStateVersion() {
+        return stateVersion;
+    }
+
+    public void setStateVersion(long stateVersion) {
+        this.stateVersion = stateVersion;
+    }
+
     public String getPhoto() {
         return photo;
     }
@@ -7,6 +7,8 @@ package com.eventHub.backend_eventHub.domain.service;
 import com.eventHub.backend_eventHub.domain.dto.CategoryDto;
 import com.eventHub.backend_eventHub.domain.entities.Category;
 import com.eventHub.backend_eventHub.domain.repositories.CategoryRepository;
+import com.eventHub.backend_eventHub.utils.cache.CacheInvalidationBus;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,12 +21,28 @@ public class CategoryService {
     @Autowired
     private CategoryRepository categoryRepository;
 
+    @Autowired
+    private ReferenceDataRegistry referenceData;
+
+    @Autowired
+    private CacheInvalidationBus invalidationBus;
+
+    private static final String CATEGORIES_TOPIC = "categories";
+
+    /**
+     * Las altas/cambios de categorías hechos en otra réplica recargan las categorías activas locales
+     */
+    @PostConstruct
+    void subscribeToCategoryChanges() {
+        invalidationBus.register(CATEGORIES_TOPIC, key -> referenceData.refreshCategories());
+    }
+
     /**
      * Obtiene todas las categorías activas
      */
     @Transactional(readOnly = true)
     public List<Category> getAllActiveCategories() {
-        return categoryRepository.findByActivaTrue();
+        return List.copyOf(referenceData.activeCategories());
     }
 
     /**
@@ -68,7 +86,9 @@ public class CategoryService {
                 .activa(categoryDto.isActiva())
                 .build();
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoriesChanged();
+        return saved;
     }
 
     /**
@@ -88,7 +108,9 @@ public class CategoryService {
         category.setDescripcion(categoryDto.getDescripcion());
         category.setActiva(categoryDto.isActiva());
 
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoriesChanged();
+        return saved;
     }
 
     /**
@@ -98,6 +120,14 @@ public class CategoryService {
     public Category toggleCategoryStatus(String id) {
         Category category = getCategoryById(id);
         category.setActiva(!category.isActiva());
-        return categoryRepository.save(category);
+        Category saved = categoryRepository.save(category);
+        categoriesChanged();
+        return saved;
+    }
+
+    // Recarga local y aviso al resto de réplicas
+    private void categoriesChanged() {
+        referenceData.refreshCategories();
+        invalidationBus.publish(CATEGORIES_TOPIC, CacheInvalidationBus.ALL_KEYS);
     }
 }
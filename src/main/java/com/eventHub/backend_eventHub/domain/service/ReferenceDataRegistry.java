@@ -0,0 +1,190 @@
+package com.eventHub.backend_eventHub.domain.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Category;
+import com.eventHub.backend_eventHub.domain.entities.Role;
+import com.eventHub.backend_eventHub.domain.entities.State;
+import com.eventHub.backend_eventHub.domain.enums.RoleList;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.repositories.CategoryRepository;
+import com.eventHub.backend_eventHub.domain.repositories.RoleRepository;
+import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Registro en memoria de los datos de referencia: estados, roles y categorías activas.
+ *
+ * Se carga al arrancar (o en el primer acceso) y se publica como instantánea inmutable,
+ * así las lecturas no toman locks ni van a Mongo. Un estado o rol que no esté en la
+ * instantánea fuerza una recarga (p. ej. si DataInitializer los creó después); las
+ * categorías se recargan cuando CategoryService las crea, edita o activa/desactiva.
+ *
+ * Métricas: eventhub.reference_data.hits / misses (tag type) y eventhub.reference_data.refreshes.
+ */
+@Component
+@Slf4j
+public class ReferenceDataRegistry {
+
+    private static final String METRIC_PREFIX = "eventhub.reference_data";
+
+    private final StateRepository stateRepository;
+    private final RoleRepository roleRepository;
+    private final CategoryRepository categoryRepository;
+
+    private final Counter stateHits;
+    private final Counter stateMisses;
+    private final Counter roleHits;
+    private final Counter roleMisses;
+    private final Counter categoryHits;
+    private final Counter categoryMisses;
+    private final Counter refreshes;
+
+    private volatile Snapshot snapshot;
+
+    public ReferenceDataRegistry(StateRepository stateRepository,
+                                 RoleRepository roleRepository,
+                                 CategoryRepository categoryRepository,
+                                 MeterRegistry meterRegistry) {
+        this.stateRepository = stateRepository;
+        this.roleRepository = roleRepository;
+        this.categoryRepository = categoryRepository;
+
+        this.stateHits = counter(meterRegistry, "hits", "state");
+        this.stateMisses = counter(meterRegistry, "misses", "state");
+        this.roleHits = counter(meterRegistry, "hits", "role");
+        this.roleMisses = counter(meterRegistry, "misses", "role");
+        this.categoryHits = counter(meterRegistry, "hits", "category");
+        this.categoryMisses = counter(meterRegistry, "misses", "category");
+        this.refreshes = Counter.builder(METRIC_PREFIX + ".refreshes")
+                .description("Recargas del registro de datos de referencia")
+                .register(meterRegistry);
+        Gauge.builder(METRIC_PREFIX + ".active_categories", this, registry -> registry.current().categories.size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Recarga completa (estados, roles y categorías activas)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void refresh() {
+        reload();
+    }
+
+    // ========== ESTADOS ==========
+
+    public Optional<State> findState(StateList name) {
+        State state = current().states.get(name);
+        if (state == null) {
+            stateMisses.increment();
+            state = reload().states.get(name);
+        } else {
+            stateHits.increment();
+        }
+        return Optional.ofNullable(state);
+    }
+
+    /**
+     * ID del estado indicado; lanza IllegalArgumentException si no existe
+     */
+    public String stateId(StateList name) {
+        return findState(name)
+                .map(State::getId)
+                .orElseThrow(() -> new IllegalArgumentException("Estado " + name + " no encontrado"));
+    }
+
+    // ========== ROLES ==========
+
+    public Optional<Role> findRole(RoleList name) {
+        Role role = current().roles.get(name);
+        if (role == null) {
+            roleMisses.increment();
+            role = reload().roles.get(name);
+        } else {
+            roleHits.increment();
+        }
+        return Optional.ofNullable(role);
+    }
+
+    // ========== CATEGORÍAS ==========
+
+    public Collection<Category> activeCategories() {
+        categoryHits.increment();
+        return current().categories.values();
+    }
+
+    /**
+     * Categoría por ID: las activas salen del registro, las inactivas se leen de Mongo
+     */
+    public Optional<Category> findCategory(String id) {
+        Category category = current().categories.get(id);
+        if (category != null) {
+            categoryHits.increment();
+            return Optional.of(category);
+        }
+        categoryMisses.increment();
+        return categoryRepository.findById(id);
+    }
+
+    /**
+     * Recarga solo las categorías activas (tras crear, editar o activar/desactivar)
+     */
+    public synchronized void refreshCategories() {
+        Snapshot base = current();
+        snapshot = new Snapshot(base.states, base.roles, loadCategories());
+        refreshes.increment();
+    }
+
+    // Recarga completa del registro
+    private synchronized Snapshot reload() {
+        Map<StateList, State> states = new EnumMap<>(StateList.class);
+        stateRepository.findAll().stream()
+                .filter(state -> state.getNameState() != null)
+                .forEach(state -> states.put(state.getNameState(), state));
+
+        Map<RoleList, Role> roles = new EnumMap<>(RoleList.class);
+        roleRepository.findAll().stream()
+                .filter(role -> role.getNombreRol() != null)
+                .forEach(role -> roles.put(role.getNombreRol(), role));
+
+        snapshot = new Snapshot(Collections.unmodifiableMap(states), Collections.unmodifiableMap(roles), loadCategories());
+        refreshes.increment();
+        log.info("Datos de referencia cargados: {} estados, {} roles, {} categorías activas",
+                states.size(), roles.size(), snapshot.categories.size());
+        return snapshot;
+    }
+
+    private Snapshot current() {
+        Snapshot current = snapshot;
+        return current != null ? current : reload();
+    }
+
+    private Map<String, Category> loadCategories() {
+        Map<String, Category> categories = new LinkedHashMap<>();
+        categoryRepository.findByActivaTrue().forEach(category -> categories.put(category.getId(), category));
+        return Collections.unmodifiableMap(categories);
+    }
+
+    private Counter counter(MeterRegistry meterRegistry, String name, String type) {
+        return Counter.builder(METRIC_PREFIX + "." + name)
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    // Instantánea inmutable publicada de forma atómica
+    private record Snapshot(Map<StateList, State> states,
+                            Map<RoleList, Role> roles,
+                            Map<String, Category> categories) {
+    }
+}
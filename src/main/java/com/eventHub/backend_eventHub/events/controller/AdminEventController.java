@@ -1,8 +1,11 @@
 // Nuevo: AdminEventController
 package com.eventHub.backend_eventHub.events.controller;
 
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
 import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
 import com.eventHub.backend_eventHub.events.service.AdminEventService;
+import com.eventHub.backend_eventHub.events.service.EventDashboardStats;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,8 +15,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 
+import java.security.Principal;
+import java.time.Instant;
 import java.util.List;
 import java.util.Map;
 
@@ -59,12 +65,14 @@ public class AdminEventController {
             description = "Cambia el estado de bloqueo de un evento")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUBADMIN')")
     @PatchMapping("/{id}/toggle-block")
-    public ResponseEntity<Event> toggleEventBlock(@PathVariable String id) {
+    public ResponseEntity<Event> toggleEventBlock(@PathVariable String id, Principal principal) {
         try {
-            Event event = adminEventService.toggleEventBlock(id);
+            Event event = adminEventService.toggleEventBlock(id, principal.getName());
             return ResponseEntity.ok(event);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al cambiar estado de bloqueo: " + e.getMessage());
@@ -76,26 +84,53 @@ public class AdminEventController {
     @PreAuthorize("hasRole('ADMIN')")
     @PatchMapping("/{id}/status")
     public ResponseEntity<Event> changeEventStatus(@PathVariable String id,
-                                                   @RequestParam String newStatus) {
+                                                   @RequestParam String newStatus,
+                                                   Principal principal) {
         try {
-            Event event = adminEventService.changeEventStatus(id, newStatus);
+            Event event = adminEventService.changeEventStatus(id, newStatus, principal.getName());
             return ResponseEntity.ok(event);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al cambiar estado: " + e.getMessage());
         }
     }
 
+    @Operation(summary = "Historial de un evento",
+            description = "Cambios de cualquier evento entre 'from' (incluido) y 'to' (excluido), paginados por cursor")
+    @PreAuthorize("hasRole('ADMIN') or hasRole('SUBADMIN')")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPageDto<EventHistoryEntry>> getEventHistory(
+            @PathVariable String id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(adminEventService.getEventHistory(id, from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al obtener el historial del evento: " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Estadísticas de eventos",
-            description = "Obtiene estadísticas generales de eventos para dashboard")
+            description = "Obtiene estadísticas generales de eventos para dashboard, con series diarias "
+                    + "(eventos creados, inscripciones) de los últimos 'days' días y eventos por categoría")
     @PreAuthorize("hasRole('ADMIN') or hasRole('SUBADMIN')")
     @GetMapping("/statistics")
-    public ResponseEntity<Map<String, Object>> getEventStatistics() {
+    public ResponseEntity<Map<String, Object>> getEventStatistics(
+            @RequestParam(defaultValue = "" + EventDashboardStats.DEFAULT_DAYS) int days) {
         try {
-            Map<String, Object> stats = adminEventService.getEventStatistics();
+            Map<String, Object> stats = adminEventService.getEventStatistics(days);
             return ResponseEntity.ok(stats);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener estadísticas: " + e.getMessage());
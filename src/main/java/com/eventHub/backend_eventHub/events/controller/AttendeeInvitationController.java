@@ -6,6 +6,7 @@ package com.eventHub.backend_eventHub.events.controller;
 
 import com.eventHub.backend_eventHub.events.dto.AttendeeInvitationDto;
 import com.eventHub.backend_eventHub.events.dto.BulkAttendeeInvitationDto;
+import com.eventHub.backend_eventHub.events.dto.BulkInvitationResultDto;
 import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
 import com.eventHub.backend_eventHub.events.service.AttendeeInvitationService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -75,17 +76,20 @@ public class AttendeeInvitationController {
     public ResponseEntity<?> inviteMultipleAttendees(Principal principal,
                                                      @Valid @RequestBody BulkAttendeeInvitationDto dto) {
         try {
-            List<AttendeeInvitation> invitations = attendeeInvitationService.inviteMultipleAttendees(principal.getName(), dto);
+            BulkInvitationResultDto result = attendeeInvitationService.inviteMultipleAttendees(principal.getName(), dto);
 
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
             response.put("message", "Invitaciones procesadas");
-            response.put("invitations", invitations);
-            response.put("count", invitations.size());
+            response.put("result", result);
+            response.put("count", result.getInvitadas());
             response.put("timestamp", LocalDateTime.now());
 
             return ResponseEntity.status(HttpStatus.CREATED).body(response);
 
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> errorResponse = createErrorResponse(e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
         } catch (Exception e) {
             Map<String, Object> errorResponse = createErrorResponse("Error procesando invitaciones masivas");
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(errorResponse);
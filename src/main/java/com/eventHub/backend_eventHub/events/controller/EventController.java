@@ -5,23 +5,34 @@
 package com.eventHub.backend_eventHub.events.controller;
 
 import com.eventHub.backend_eventHub.events.dto.*;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob;
 import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
 import com.eventHub.backend_eventHub.events.entities.EventRole;
 import com.eventHub.backend_eventHub.events.service.EventService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.*;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import jakarta.validation.Valid;
 import java.security.Principal;
+import java.time.Instant;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 @Tag(name = "Eventos", description = "Gestión completa de eventos")
 @RestController
@@ -29,9 +40,15 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class EventController {
 
+    private static final String NDJSON = "application/x-ndjson";
+    private static final int NDJSON_FLUSH_EVERY = 100;
+
     @Autowired
     private EventService eventService;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
     // ====== ENDPOINTS PÚBLICOS (Sin autenticación) ======
 
     @Operation(summary = "Búsqueda de eventos públicos",
@@ -41,64 +58,142 @@ public class EventController {
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PostMapping("/search")
-    public ResponseEntity<List<EventSummaryDto>> searchEvents(@RequestBody(required = false) EventFilterDto filter) {
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> searchEvents(
+            @RequestBody(required = false) EventFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(eventService.listPublicEvents(filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al buscar eventos: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Búsqueda de eventos públicos (streaming)",
+            description = "Devuelve todos los resultados como NDJSON (una línea por evento) leyendo con cursor de Mongo")
+    @PostMapping(value = "/search", params = "stream=true", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamSearchEvents(@RequestBody(required = false) EventFilterDto filter) {
+        return ndjson(() -> eventService.streamPublicEvents(filter));
+    }
+
+    @Operation(summary = "Búsqueda de texto en eventos públicos",
+            description = "Busca en título, tags, organizador y descripción; resultados ordenados por relevancia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página de eventos ordenada por relevancia"),
+            @ApiResponse(responseCode = "400", description = "Texto de búsqueda vacío"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @GetMapping("/search/text")
+    public ResponseEntity<Page<EventSummaryDto>> searchEventsByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
         try {
-            List<EventSummaryDto> events = eventService.listPublicEvents(filter);
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.searchPublicEventsByRelevance(q, page, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al buscar eventos: " + e.getMessage());
         }
     }
 
+    @Operation(summary = "Eventos cercanos",
+            description = "Eventos públicos dentro del radio indicado (km, por defecto 10), ordenados por distancia")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lista de eventos ordenada por distancia"),
+            @ApiResponse(responseCode = "400", description = "Faltan coordenadas o filtro inválido"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PostMapping("/nearby")
+    public ResponseEntity<List<EventSummaryDto>> getNearbyEvents(
+            @RequestBody EventFilterDto filter,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(eventService.listNearbyEvents(filter, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al buscar eventos cercanos: " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Eventos destacados", description = "Lista eventos marcados como destacados")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de eventos destacados"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/featured")
-    public ResponseEntity<List<EventSummaryDto>> getFeaturedEvents() {
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> getFeaturedEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventSummaryDto> events = eventService.listFeaturedEvents();
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listFeaturedEvents(cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener eventos destacados: " + e.getMessage());
         }
     }
 
+    @GetMapping(value = "/featured", params = "stream=true", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamFeaturedEvents() {
+        return ndjson(eventService::streamFeaturedEvents);
+    }
+
     @Operation(summary = "Próximos eventos", description = "Lista eventos que están por suceder")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de próximos eventos"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/upcoming")
-    public ResponseEntity<List<EventSummaryDto>> getUpcomingEvents() {
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> getUpcomingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventSummaryDto> events = eventService.listUpcomingEvents();
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listUpcomingEvents(cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener próximos eventos: " + e.getMessage());
         }
     }
 
+    @GetMapping(value = "/upcoming", params = "stream=true", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamUpcomingEvents() {
+        return ndjson(eventService::streamUpcomingEvents);
+    }
+
     @Operation(summary = "Eventos recientes", description = "Lista eventos creados recientemente")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Lista de eventos recientes"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @GetMapping("/recent")
-    public ResponseEntity<List<EventSummaryDto>> getRecentEvents() {
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> getRecentEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventSummaryDto> events = eventService.listRecentEvents();
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listRecentEvents(cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener eventos recientes: " + e.getMessage());
         }
     }
 
+    @GetMapping(value = "/recent", params = "stream=true", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> streamRecentEvents() {
+        return ndjson(eventService::streamRecentEvents);
+    }
+
     @Operation(summary = "Detalle de evento público", description = "Obtiene información completa de un evento público")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Evento encontrado"),
@@ -129,18 +224,30 @@ public class EventController {
     })
     @PostMapping("/search-authenticated")
     @PreAuthorize("hasRole('USUARIO')")
-    public ResponseEntity<List<EventSummaryDto>> searchEventsAuthenticated(
+    public ResponseEntity<CursorPageDto<EventSummaryDto>> searchEventsAuthenticated(
             Principal principal,
-            @RequestBody(required = false) EventFilterDto filter) {
+            @RequestBody(required = false) EventFilterDto filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<EventSummaryDto> events = eventService.listAccessibleEvents(principal.getName(), filter);
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listAccessibleEvents(principal.getName(), filter, cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al buscar eventos: " + e.getMessage());
         }
     }
 
+    @PostMapping(value = "/search-authenticated", params = "stream=true", produces = NDJSON)
+    @PreAuthorize("hasRole('USUARIO')")
+    public ResponseEntity<StreamingResponseBody> streamSearchEventsAuthenticated(
+            Principal principal,
+            @RequestBody(required = false) EventFilterDto filter) {
+        String username = principal.getName();
+        return ndjson(() -> eventService.streamAccessibleEvents(username, filter));
+    }
+
     @Operation(summary = "Detalle de evento para usuario autenticado",
             description = "Obtiene información completa de un evento (incluye privados si tiene acceso)")
     @ApiResponses(value = {
@@ -194,10 +301,14 @@ public class EventController {
     })
     @PreAuthorize("hasRole('USUARIO')")
     @GetMapping("/my-created")
-    public ResponseEntity<List<Event>> getMyCreatedEvents(Principal principal) {
+    public ResponseEntity<CursorPageDto<Event>> getMyCreatedEvents(
+            Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Event> events = eventService.listMyCreatedEvents(principal.getName());
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listMyCreatedEvents(principal.getName(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener mis eventos: " + e.getMessage());
@@ -213,10 +324,14 @@ public class EventController {
     })
     @PreAuthorize("hasRole('USUARIO')")
     @GetMapping("/as-subcreator")
-    public ResponseEntity<List<Event>> getEventsAsSubcreator(Principal principal) {
+    public ResponseEntity<CursorPageDto<Event>> getEventsAsSubcreator(
+            Principal principal,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
         try {
-            List<Event> events = eventService.listEventsAsSubcreator(principal.getName());
-            return ResponseEntity.ok(events);
+            return ResponseEntity.ok(eventService.listEventsAsSubcreator(principal.getName(), cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al obtener eventos como subcreador: " + e.getMessage());
@@ -230,6 +345,7 @@ public class EventController {
             @ApiResponse(responseCode = "400", description = "Datos de actualización inválidos o sin permisos"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "404", description = "Evento no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Conflicto - Modificado a la vez por otra operación"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PreAuthorize("hasRole('USUARIO')")
@@ -242,15 +358,47 @@ public class EventController {
             return ResponseEntity.ok(event);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al actualizar evento: " + e.getMessage());
         }
     }
 
-    @Operation(summary = "Eliminar evento", description = "Elimina un evento (solo creador)")
+    @Operation(summary = "Historial del evento",
+            description = "Cambios del evento entre 'from' (incluido) y 'to' (excluido), paginados por cursor (solo creador o subcreador)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página del historial, más recientes primero"),
+            @ApiResponse(responseCode = "400", description = "Rango o cursor inválido, o sin permisos"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PreAuthorize("hasRole('USUARIO')")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPageDto<EventHistoryEntry>> getEventHistory(
+            @PathVariable String id,
+            Principal principal,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(eventService.getEventHistory(id, principal.getName(), from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al obtener el historial del evento: " + e.getMessage());
+        }
+    }
+
+    @Operation(summary = "Eliminar evento",
+            description = "Elimina un evento con sus inscripciones, roles y sub-eventos (solo creador). "
+                    + "Los eventos grandes se borran en segundo plano: se devuelve 202 con el trabajo de borrado")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Evento eliminado correctamente"),
+            @ApiResponse(responseCode = "202", description = "Borrado en curso; progreso en /api/events/deletion-jobs/{jobId}"),
             @ApiResponse(responseCode = "400", description = "Sin permisos para eliminar"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "404", description = "Evento no encontrado"),
@@ -258,10 +406,12 @@ public class EventController {
     })
     @PreAuthorize("hasRole('USUARIO')")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteEvent(@PathVariable String id, Principal principal) {
+    public ResponseEntity<DeletionJob> deleteEvent(@PathVariable String id, Principal principal) {
         try {
-            eventService.deleteEvent(id, principal.getName());
-            return ResponseEntity.noContent().build();
+            DeletionJob job = eventService.deleteEvent(id, principal.getName());
+            return job.getStatus() == DeletionJob.Status.COMPLETED
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.accepted().body(job);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
@@ -270,6 +420,27 @@ public class EventController {
         }
     }
 
+    @Operation(summary = "Progreso de un borrado",
+            description = "Paso actual y contadores de un borrado de evento o sub-evento (solo quien lo solicitó)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Estado del trabajo de borrado"),
+            @ApiResponse(responseCode = "400", description = "Trabajo no encontrado o sin permisos"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PreAuthorize("hasRole('USUARIO')")
+    @GetMapping("/deletion-jobs/{jobId}")
+    public ResponseEntity<DeletionJob> getDeletionJob(@PathVariable String jobId, Principal principal) {
+        try {
+            return ResponseEntity.ok(eventService.getDeletionJob(jobId, principal.getName()));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al consultar el borrado: " + e.getMessage());
+        }
+    }
+
     // ====== GESTIÓN DE SUBCREADORES ======
 
     @Operation(summary = "Invitar subcreador", description = "Invita a un usuario como subcreador del evento")
@@ -316,4 +487,29 @@ public class EventController {
                     "Error al aceptar invitación: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    // ====== UTILIDADES ======
+
+    /**
+     * Escribe las filas como NDJSON a medida que se leen del cursor; la memoria por petición es constante
+     */
+    private ResponseEntity<StreamingResponseBody> ndjson(Supplier<Stream<EventSummaryDto>> rows) {
+        StreamingResponseBody body = out -> {
+            try (Stream<EventSummaryDto> stream = rows.get()) {
+                Iterator<EventSummaryDto> iterator = stream.iterator();
+                int written = 0;
+                while (iterator.hasNext()) {
+                    out.write(objectMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                    if (++written % NDJSON_FLUSH_EVERY == 0) {
+                        out.flush();
+                    }
+                }
+                out.flush();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+}
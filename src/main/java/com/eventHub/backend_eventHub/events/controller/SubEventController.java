@@ -1,7 +1,10 @@
 // SubEventController limpio y completo
 package com.eventHub.backend_eventHub.events.controller;
 
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
 import com.eventHub.backend_eventHub.events.dto.SubEventDto;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
 import com.eventHub.backend_eventHub.events.entities.SubEvent;
 import com.eventHub.backend_eventHub.events.service.SubEventService;
 import com.eventHub.backend_eventHub.events.service.InscriptionService;
@@ -10,6 +13,7 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -18,6 +22,7 @@ import org.springframework.web.server.ResponseStatusException;
 
 import jakarta.validation.Valid;
 import java.security.Principal;
+import java.time.Instant;
 import java.util.List;
 
 @Tag(name = "Sub-Eventos", description = "Gestión de sub-eventos")
@@ -98,6 +103,7 @@ public class SubEventController {
             @ApiResponse(responseCode = "400", description = "Datos inválidos o sin permisos"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "404", description = "Sub-evento no encontrado"),
+            @ApiResponse(responseCode = "409", description = "Conflicto - Modificado a la vez por otra operación"),
             @ApiResponse(responseCode = "500", description = "Error interno del servidor")
     })
     @PreAuthorize("hasRole('USUARIO')")
@@ -110,6 +116,8 @@ public class SubEventController {
             return ResponseEntity.ok(subEvent);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al actualizar sub-evento: " + e.getMessage());
@@ -119,6 +127,7 @@ public class SubEventController {
     @Operation(summary = "Eliminar sub-evento", description = "Elimina un sub-evento (solo creador o subcreador del evento principal)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Sub-evento eliminado correctamente"),
+            @ApiResponse(responseCode = "202", description = "Borrado en curso; progreso en /api/events/deletion-jobs/{jobId}"),
             @ApiResponse(responseCode = "400", description = "Sin permisos para eliminar"),
             @ApiResponse(responseCode = "401", description = "No autorizado"),
             @ApiResponse(responseCode = "404", description = "Sub-evento no encontrado"),
@@ -126,10 +135,12 @@ public class SubEventController {
     })
     @PreAuthorize("hasRole('USUARIO')")
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteSubEvent(@PathVariable String id, Principal principal) {
+    public ResponseEntity<DeletionJob> deleteSubEvent(@PathVariable String id, Principal principal) {
         try {
-            subEventService.deleteSubEvent(id, principal.getName());
-            return ResponseEntity.noContent().build();
+            DeletionJob job = subEventService.deleteSubEvent(id, principal.getName());
+            return job.getStatus() == DeletionJob.Status.COMPLETED
+                    ? ResponseEntity.noContent().build()
+                    : ResponseEntity.accepted().body(job);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
         } catch (Exception e) {
@@ -206,6 +217,33 @@ public class SubEventController {
         }
     }
 
+    @Operation(summary = "Historial del sub-evento",
+            description = "Cambios del sub-evento entre 'from' (incluido) y 'to' (excluido), paginados por cursor (solo para organizadores)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página del historial, más recientes primero"),
+            @ApiResponse(responseCode = "400", description = "Rango o cursor inválido, o sin permisos"),
+            @ApiResponse(responseCode = "401", description = "No autorizado"),
+            @ApiResponse(responseCode = "500", description = "Error interno del servidor")
+    })
+    @PreAuthorize("hasRole('USUARIO')")
+    @GetMapping("/{id}/history")
+    public ResponseEntity<CursorPageDto<EventHistoryEntry>> getSubEventHistory(
+            @PathVariable String id,
+            Principal principal,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            return ResponseEntity.ok(subEventService.getSubEventHistory(id, principal.getName(), from, to, cursor, size));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
+                    "Error al obtener el historial del sub-evento: " + e.getMessage());
+        }
+    }
+
     @Operation(summary = "Cambiar estado del sub-evento",
             description = "Cambia el estado de un sub-evento (solo para organizadores)")
     @ApiResponses(value = {
@@ -225,6 +263,8 @@ public class SubEventController {
             return ResponseEntity.ok(subEvent);
         } catch (IllegalArgumentException e) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (Exception e) {
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR,
                     "Error al cambiar estado del sub-evento: " + e.getMessage());
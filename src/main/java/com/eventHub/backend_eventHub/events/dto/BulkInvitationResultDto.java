@@ -0,0 +1,35 @@
+// Resultado por email de una invitación masiva de asistentes
+package com.eventHub.backend_eventHub.events.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkInvitationResultDto {
+
+    public static final String INVITADA = "invitada";
+    public static final String YA_INVITADA = "ya_invitada";     // Ya tiene invitación pendiente o aceptada
+    public static final String DUPLICADA = "duplicada";         // Repetida en la misma solicitud
+    public static final String EMAIL_INVALIDO = "email_invalido";
+
+    private String eventoId;
+    private int solicitadas;
+    private int invitadas;
+    private int omitidas;
+    private List<Item> resultados;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Item {
+        private String email;
+        private String estado;
+        private String invitationId;      // Solo si se creó la invitación
+        private boolean usuarioRegistrado;
+    }
+}
@@ -0,0 +1,26 @@
+// Página de resultados con paginación por cursor (keyset)
+package com.eventHub.backend_eventHub.events.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageDto<T> {
+    private List<T> items;
+    private String nextCursor; // null cuando no hay más resultados
+    private boolean hasMore;
+
+    public <R> CursorPageDto<R> map(Function<T, R> mapper) {
+        return new CursorPageDto<>(
+                items.stream().map(mapper).collect(Collectors.toList()),
+                nextCursor,
+                hasMore);
+    }
+}
@@ -22,4 +22,9 @@ public class EventFilterDto {
     private Double latitude;
     private Double longitude;
     private Integer radiusKm;
+    // Bounding box del mapa (esquinas suroeste y noreste)
+    private Double minLatitude;
+    private Double minLongitude;
+    private Double maxLatitude;
+    private Double maxLongitude;
 }
\ No newline at end of file
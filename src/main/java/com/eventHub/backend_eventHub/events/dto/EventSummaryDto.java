@@ -25,4 +25,5 @@ public class EventSummaryDto {
     private boolean disponible;
     private String imagenPrincipal;
     private boolean destacado;
+    private Double distanciaKm; // Solo en búsquedas por cercanía
 }
\ No newline at end of file
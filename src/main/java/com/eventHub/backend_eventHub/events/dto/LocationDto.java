@@ -7,6 +7,12 @@ import lombok.Data;
 public class LocationDto {
     @NotBlank private String address;
     @NotBlank private String type;
-    @NotNull  private Double latitude;
-    @NotNull  private Double longitude;
+    @NotNull
+    @DecimalMin(value = "-90.0", message = "La latitud debe estar entre -90 y 90")
+    @DecimalMax(value = "90.0", message = "La latitud debe estar entre -90 y 90")
+    private Double latitude;
+    @NotNull
+    @DecimalMin(value = "-180.0", message = "La longitud debe estar entre -180 y 180")
+    @DecimalMax(value = "180.0", message = "La longitud debe estar entre -180 y 180")
+    private Double longitude;
 }
\ No newline at end of file
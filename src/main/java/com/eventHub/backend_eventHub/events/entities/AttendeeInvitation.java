@@ -10,6 +10,9 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -20,6 +23,11 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Document(collection = "attendee_invitations")
+@CompoundIndexes({
+        @CompoundIndex(name = "evento_estado_email_idx", def = "{'evento.$id': 1, 'estado': 1, 'emailInvitado': 1}"),
+        @CompoundIndex(name = "evento_estado_usuario_idx", def = "{'evento.$id': 1, 'estado': 1, 'usuarioInvitado.$id': 1}"),
+        @CompoundIndex(name = "estado_expiracion_idx", def = "{'estado': 1, 'fechaExpiracion': 1}")
+})
 public class AttendeeInvitation {
     @Id
     private String id;
@@ -51,4 +59,8 @@ public class AttendeeInvitation {
     private Instant fechaRespuesta;
     private Instant fechaUltimoEnvio;
     private int vecesEnviada = 1; // Controlar reenvíos
+
+    // Fecha en que quedó expirada o rechazada; Mongo la archiva (borra) a los 90 días
+    @Indexed(name = "cierre_ttl_idx", expireAfter = "90d")
+    private Instant fechaCierre;
 }
@@ -0,0 +1,72 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Borrado en cascada de un evento o sub-evento, ejecutado por CascadeDeletionService.
+ *
+ * El documento guarda el paso en curso y los contadores de progreso; cada paso es
+ * idempotente, así que si la instancia cae a mitad del borrado otra lo reclama al
+ * vencer lockedUntil y continúa desde el paso guardado. Los terminados se borran a los 7 días.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "deletion_jobs")
+@CompoundIndexes({
+        // Reclamo de trabajos pendientes o con bloqueo vencido
+        @CompoundIndex(name = "status_locked_idx", def = "{'status': 1, 'lockedUntil': 1}"),
+        // Trabajo activo de un evento (evita lanzar dos borrados del mismo objetivo)
+        @CompoundIndex(name = "target_status_idx", def = "{'targetType': 1, 'targetId': 1, 'status': 1}")
+})
+public class DeletionJob {
+
+    public enum TargetType { EVENT, SUBEVENT }
+
+    public enum Status { PENDING, RUNNING, COMPLETED, FAILED }
+
+    // Pasos en orden de ejecución; un trabajo reanudado empieza por el guardado
+    public enum Step { CANCEL_INSCRIPTIONS, CANCEL_SUBEVENT_INSCRIPTIONS, DEACTIVATE_ROLES, DELETE_SUBEVENTS, DELETE_TARGET, DONE }
+
+    @Id
+    private String id;
+
+    private TargetType targetType;
+    private String targetId;
+    private String parentEventId;   // Solo sub-eventos: evento del que se retira el id
+    private String requestedBy;
+
+    private Status status;
+    private Step step;
+
+    // Progreso
+    private long inscriptionsCancelled;
+    private long rolesDeactivated;
+    private long subEventsDeleted;
+
+    private int attempts;
+    private String owner;           // Ejecución que lo tiene reclamado
+    private Instant lockedUntil;    // Reclamado por una instancia hasta esta fecha
+    private String lastError;
+
+    private Instant createdAt;
+    private Instant updatedAt;
+
+    @Indexed(name = "finished_ttl_idx", expireAfter = "7d")
+    private Instant finishedAt;
+
+    public boolean isFinished() {
+        return status == Status.COMPLETED || status == Status.FAILED;
+    }
+}
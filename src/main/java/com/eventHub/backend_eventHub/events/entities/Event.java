@@ -9,6 +9,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -24,10 +26,15 @@ import java.util.*;
 @AllArgsConstructor
 @Builder
 @Document(collection = "evento")
-public class Event {
+@CompoundIndex(name = "creator_created_idx", def = "{'creator.$id': 1, 'createdAt': -1, '_id': -1}")
+public class Event implements KeysetRow, Versioned {
     @Id
     private String id;
 
+    // Control optimista: Mongo la incrementa en cada actualización (ver PartialUpdater)
+    @Version
+    private Long version;
+
     @NotBlank
     private String title;
     private String description;
@@ -68,8 +75,7 @@ public class Event {
     // Relaciones a subeventos (ahora manejados como entidad separada)
     private List<String> subeventIds;
 
-    // Historial de cambios
-    private List<HistoryRecord> history;
+    // El historial de cambios vive en event_history (ver EventHistoryService)
 
     // Estado global y creador
     @DBRef
@@ -0,0 +1,55 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Entrada del historial de cambios de un evento o sub-evento.
+ *
+ * Vive en su propia colección (solo se inserta, nunca se modifica) para que los documentos
+ * de evento no crezcan con cada edición. Se consulta por entidad y rango de fechas,
+ * más recientes primero.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "event_history")
+@CompoundIndex(name = "entity_changed_idx", def = "{'entityType': 1, 'entityId': 1, 'changedAt': -1, '_id': -1}")
+public class EventHistoryEntry implements KeysetRow {
+
+    public enum EntityType { EVENT, SUBEVENT }
+
+    @Id
+    private String id;
+
+    private EntityType entityType;
+    private String entityId;
+
+    private String field;
+    private String oldValue;
+    private String newValue;
+    private Instant changedAt;
+    private String changedBy; // Username de quien hizo el cambio (null en entradas migradas)
+
+    private Boolean migrated; // true si se extrajo del historial embebido antiguo
+
+    public static EventHistoryEntry of(EntityType entityType, String entityId, String changedBy, HistoryRecord record) {
+        return EventHistoryEntry.builder()
+                .entityType(entityType)
+                .entityId(entityId)
+                .field(record.getField())
+                .oldValue(record.getOldValue())
+                .newValue(record.getNewValue())
+                .changedAt(record.getChangedAt() != null ? record.getChangedAt() : Instant.now())
+                .changedBy(changedBy)
+                .build();
+    }
+}
@@ -7,6 +7,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 
@@ -17,6 +19,11 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Document(collection = "evento_roles")
+@CompoundIndexes({
+        @CompoundIndex(name = "usuario_evento_activo_idx", def = "{'usuario.$id': 1, 'evento.$id': 1, 'activo': 1}"),
+        // Roles de un evento (listado de subcreadores y desactivación al borrarlo)
+        @CompoundIndex(name = "evento_activo_idx", def = "{'evento.$id': 1, 'activo': 1}")
+})
 public class EventRole {
     @Id
     private String id;
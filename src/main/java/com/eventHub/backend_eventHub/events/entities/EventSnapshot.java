@@ -0,0 +1,43 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+import java.time.Instant;
+
+/**
+ * Copia embebida de los datos de un evento que se muestran junto a una referencia
+ * (se guarda como {_id, title, start, end, statusName} en lugar de un DBRef).
+ * El documento completo se obtiene con ReferenceBatchResolver cuando hace falta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventSnapshot {
+    @MongoId(FieldType.OBJECT_ID)
+    private String id;
+
+    private String title;
+    private Instant start;
+    private Instant end;
+    private String statusName;
+
+    public static EventSnapshot of(Event event) {
+        if (event == null) {
+            return null;
+        }
+        return EventSnapshot.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .start(event.getStart())
+                .end(event.getEnd())
+                .statusName(event.getStatus() != null && event.getStatus().getNameState() != null
+                        ? event.getStatus().getNameState().name() : null)
+                .build();
+    }
+}
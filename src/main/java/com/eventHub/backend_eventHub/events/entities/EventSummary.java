@@ -0,0 +1,122 @@
+// Proyección de lectura para los listados de eventos
+package com.eventHub.backend_eventHub.events.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.TextScore;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Resumen desnormalizado de un Event (mismo _id) con los campos de EventSummaryDto
+ * y las claves de filtrado. Se mantiene sincronizado desde EventSummaryProjector,
+ * así un listado es una sola consulta indexada sin resolver DBRefs.
+ *
+ * Los índices siguen el orden igualdad → orden → rango: {privacy, bloqueado, statusId}
+ * como prefijo, el filtro de igualdad más selectivo del EventFilterDto y {start, _id}
+ * como sufijo para el keyset. Combinaciones cubiertas:
+ *  - sin filtros / fechas                → public_status_start_idx
+ *  - destacado                           → public_status_destacado_idx
+ *  - categoriaId (+ fechas, + tipo ...)  → public_categoria_start_idx
+ *  - type                                → public_tipo_start_idx
+ *  - ticketType                          → public_ticket_start_idx
+ *  - ubicacionTipo                       → public_ubicacion_start_idx
+ *  - tags ($in)                          → public_tags_start_idx
+ * El resto de condiciones (conDisponibilidad, texto) se evalúan como residuo
+ * sobre el rango ya acotado por el índice elegido. Radio y bounding box usan el
+ * índice 2dsphere de coordinates, igual que la búsqueda por cercanía ($geoNear).
+ *
+ * La búsqueda de texto usa el índice de texto (único por colección) sobre title,
+ * tags, organizer y description, con pesos para ordenar por relevancia.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Document(collection = "event_summary", language = "spanish")
+@CompoundIndexes({
+        // Listado público y próximos eventos (keyset por start, _id)
+        @CompoundIndex(name = "public_status_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'start': 1, '_id': 1}"),
+        // Destacados
+        @CompoundIndex(name = "public_status_destacado_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'destacado': 1, 'start': 1, '_id': 1}"),
+        // Filtros de igualdad del EventFilterDto
+        @CompoundIndex(name = "public_categoria_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'categoriaId': 1, 'start': 1, '_id': 1}"),
+        @CompoundIndex(name = "public_tipo_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'tipo': 1, 'start': 1, '_id': 1}"),
+        @CompoundIndex(name = "public_ticket_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'ticketType': 1, 'start': 1, '_id': 1}"),
+        @CompoundIndex(name = "public_ubicacion_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'ubicacionTipo': 1, 'start': 1, '_id': 1}"),
+        @CompoundIndex(name = "public_tags_start_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'statusId': 1, 'tags': 1, 'start': 1, '_id': 1}"),
+        // Recientes (keyset por createdAt, _id)
+        @CompoundIndex(name = "public_created_idx",
+                def = "{'privacy': 1, 'bloqueado': 1, 'createdAt': -1, '_id': -1}"),
+        // Ramas privadas del listado autenticado
+        @CompoundIndex(name = "creator_start_idx", def = "{'creatorId': 1, 'start': 1, '_id': 1}"),
+        @CompoundIndex(name = "invited_start_idx", def = "{'invitedUsers': 1, 'start': 1, '_id': 1}")
+})
+public class EventSummary implements KeysetRow {
+
+    // Se incrementa al añadir campos para que el arranque reconstruya la proyección
+    public static final int CURRENT_VERSION = 5;
+
+    @Id
+    private String id;
+
+    private int version;
+
+    // Campos de EventSummaryDto
+    @TextIndexed(weight = 5)
+    private String title;
+    @TextIndexed
+    private String description;
+    private String ubicacion;
+    private Instant start;
+    private Instant end;
+    private String categoria;
+    private String tipo;
+    private boolean esPago;
+    private Double precio;
+    private String moneda;
+    private Integer maxAttendees;
+    private Integer currentAttendees;
+    private String imagenPrincipal;
+    private boolean destacado;
+
+    // Claves de filtrado
+    private String privacy;
+    private boolean bloqueado;
+    private String statusId;
+    private String categoriaId;
+    private String ticketType;
+    private String ubicacionTipo;
+    @GeoSpatialIndexed(name = "coordinates_2dsphere_idx", type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint coordinates;
+    @TextIndexed(weight = 3)
+    private List<String> tags;
+    @TextIndexed(weight = 2)
+    private String organizer;
+    private boolean permitirInscripciones;
+    private Instant createdAt;
+    private String creatorId;
+    private List<String> invitedUsers;
+
+    // Relevancia calculada por $text (no se persiste)
+    @TextScore
+    private Float score;
+}
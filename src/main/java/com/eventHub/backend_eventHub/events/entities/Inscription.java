@@ -1,13 +1,13 @@
 // Entidad Inscription
 package com.eventHub.backend_eventHub.events.entities;
 
-import com.eventHub.backend_eventHub.domain.entities.Users;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.DBRef;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.time.Instant;
@@ -17,15 +17,36 @@ import java.time.Instant;
 @AllArgsConstructor
 @Builder
 @Document(collection = "inscripciones")
+@CompoundIndexes({
+        // Inscripciones de un usuario y verificación usuario + evento
+        @CompoundIndex(name = "usuario_id_tipo_estado_evento_idx",
+                def = "{'usuario._id': 1, 'tipoInscripcion': 1, 'estado': 1, 'evento._id': 1}"),
+        // Inscripciones y contadores de un evento
+        @CompoundIndex(name = "evento_id_tipo_estado_idx",
+                def = "{'evento._id': 1, 'tipoInscripcion': 1, 'estado': 1}"),
+        // Inscripciones y contadores de un sub-evento
+        @CompoundIndex(name = "subevento_estado_usuario_id_idx",
+                def = "{'subeventoId': 1, 'estado': 1, 'usuario._id': 1}"),
+        // Inscripciones por día del dashboard de administración
+        @CompoundIndex(name = "tipo_fecha_inscripcion_idx",
+                def = "{'tipoInscripcion': 1, 'fechaInscripcion': 1}"),
+        // Una sola inscripción confirmada por usuario y evento / sub-evento: un doble envío
+        // que pase la verificación previa choca aquí y InscriptionService libera el cupo
+        @CompoundIndex(name = "unique_confirmada_evento_idx",
+                def = "{'usuario._id': 1, 'evento._id': 1, 'tipoInscripcion': 1}", unique = true,
+                partialFilter = "{'estado': 'confirmada', 'tipoInscripcion': 'evento_principal'}"),
+        @CompoundIndex(name = "unique_confirmada_subevento_idx",
+                def = "{'usuario._id': 1, 'subeventoId': 1, 'tipoInscripcion': 1}", unique = true,
+                partialFilter = "{'estado': 'confirmada', 'tipoInscripcion': 'subevento'}")
+})
 public class Inscription {
     @Id
     private String id;
 
-    @DBRef
-    private Users usuario;
+    // Referencias como id + copia embebida (sin DBRef): listar inscripciones es una sola consulta
+    private UserSnapshot usuario;
 
-    @DBRef
-    private Event evento;
+    private EventSnapshot evento;
 
     private Instant fechaInscripcion;
 
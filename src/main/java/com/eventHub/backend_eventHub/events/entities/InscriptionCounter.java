@@ -0,0 +1,43 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Contadores de inscripciones de un evento o sub-evento, mantenidos con $inc en cada
+ * inscripción y cancelación (ver InscriptionCounterService).
+ *
+ * Las estadísticas se sirven leyendo este único documento; InscriptionCounterReconciler
+ * los compara periódicamente con la colección inscripciones y corrige las desviaciones.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "inscription_counters")
+public class InscriptionCounter {
+
+    @Id
+    private String id;              // "<tipo>:<id del evento o sub-evento>"
+
+    private EntityType targetType;
+    private String targetId;
+
+    private long confirmed;
+    private long cancelled;
+
+    private long revision;          // Se incrementa en cada cambio; la reconciliación escribe solo si no cambió
+    private Instant updatedAt;
+    private Instant reconciledAt;
+
+    public static String key(EntityType type, String targetId) {
+        return type.name() + ":" + targetId;
+    }
+}
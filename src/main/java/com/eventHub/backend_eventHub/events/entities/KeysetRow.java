@@ -0,0 +1,23 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import java.time.Instant;
+
+/**
+ * Documentos que se pueden paginar por keyset (Event, EventSummary, EventHistoryEntry);
+ * cada uno implementa solo las fechas por las que se ordena
+ */
+public interface KeysetRow {
+    String getId();
+
+    default Instant getStart() {
+        return null;
+    }
+
+    default Instant getCreatedAt() {
+        return null;
+    }
+
+    default Instant getChangedAt() {
+        return null;
+    }
+}
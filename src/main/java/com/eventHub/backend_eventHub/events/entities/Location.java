@@ -2,7 +2,9 @@ package com.eventHub.backend_eventHub.events.entities;
 
 
 import lombok.*;
-import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexType;
+import org.springframework.data.mongodb.core.index.GeoSpatialIndexed;
 
 /** Detalle de ubicación geográfica */
 @Data @NoArgsConstructor @AllArgsConstructor
@@ -12,4 +14,26 @@ public class Location {
     private String type;       // "presencial", "virtual", etc.
     private Double latitude;
     private Double longitude;
-}
\ No newline at end of file
+
+    // Punto GeoJSON [longitud, latitud] para consultas $geoWithin / $geoNear
+    @GeoSpatialIndexed(type = GeoSpatialIndexType.GEO_2DSPHERE)
+    private GeoJsonPoint point;
+
+    public Location(String address, String type, Double latitude, Double longitude) {
+        this(address, type, latitude, longitude, pointOf(latitude, longitude));
+    }
+
+    /**
+     * Punto GeoJSON a partir de latitud/longitud (null si falta alguna o está fuera de rango,
+     * ya que el índice 2dsphere rechaza el documento entero)
+     */
+    public static GeoJsonPoint pointOf(Double latitude, Double longitude) {
+        return isValid(latitude, longitude) ? new GeoJsonPoint(longitude, latitude) : null;
+    }
+
+    private static boolean isValid(Double latitude, Double longitude) {
+        return latitude != null && longitude != null
+                && latitude >= -90 && latitude <= 90
+                && longitude >= -180 && longitude <= 180;
+    }
+}
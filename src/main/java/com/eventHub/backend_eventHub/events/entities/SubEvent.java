@@ -8,6 +8,8 @@ import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.DBRef;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
@@ -20,10 +22,16 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Document(collection = "subeventos")
-public class SubEvent {
+// Sub-eventos de un evento (listado público y borrado en cascada)
+@CompoundIndex(name = "evento_principal_idx", def = "{'eventoPrincipal.$id': 1}")
+public class SubEvent implements Versioned {
     @Id
     private String id;
 
+    // Control optimista: Mongo la incrementa en cada actualización (ver PartialUpdater)
+    @Version
+    private Long version;
+
     private String title;
     private String description;
 
@@ -54,8 +62,6 @@ public class SubEvent {
     @DBRef
     private Users creator;
 
-    private List<HistoryRecord> history;
-
     private Instant createdAt;
     private Instant updatedAt;
 }
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.mongodb.core.mapping.FieldType;
+import org.springframework.data.mongodb.core.mapping.MongoId;
+
+/**
+ * Copia embebida de los datos de un usuario que se muestran junto a una referencia
+ * (se guarda como {_id, userName, email, name, lastName} en lugar de un DBRef).
+ * El documento completo se obtiene con ReferenceBatchResolver cuando hace falta.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class UserSnapshot {
+    @MongoId(FieldType.OBJECT_ID)
+    private String id;
+
+    private String userName;
+    private String email;
+    private String name;
+    private String lastName;
+
+    public static UserSnapshot of(Users user) {
+        if (user == null) {
+            return null;
+        }
+        return UserSnapshot.builder()
+                .id(user.getId())
+                .userName(user.getUserName())
+                .email(user.getEmail())
+                .name(user.getName())
+                .lastName(user.getLastName())
+                .build();
+    }
+}
@@ -0,0 +1,11 @@
+package com.eventHub.backend_eventHub.events.entities;
+
+/**
+ * Documentos con control de versión (@Version) que PartialUpdater actualiza con
+ * concurrencia optimista
+ */
+public interface Versioned {
+    String getId();
+
+    Long getVersion();
+}
@@ -10,6 +10,7 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -46,6 +47,11 @@ public interface AttendeeInvitationRepository extends MongoRepository<AttendeeIn
         return !findActiveInvitationCheck(eventoId, email, estados).isEmpty();
     }
 
+    // ✅ INDEXADO - Emails con invitación activa en un evento, en una sola consulta (invitación masiva)
+    @Query(value = "{'evento.$id': ObjectId(?0), 'estado': {$in: ?2}, 'emailInvitado': {$in: ?1}}",
+            fields = "{'emailInvitado': 1}")
+    List<AttendeeInvitation> findActiveInvitationEmails(String eventoId, Collection<String> emails, List<String> estados);
+
     // ✅ OPTIMIZADO - Buscar invitaciones expiradas (para cleanup automático)
     @Query(value = "{'estado': ?0, 'fechaExpiracion': {$lt: ?1}}",
             fields = "{'id': 1, 'estado': 1, 'fechaExpiracion': 1, 'emailInvitado': 1}")
@@ -71,6 +77,11 @@ public interface AttendeeInvitationRepository extends MongoRepository<AttendeeIn
         return !findAcceptedInvitationForAccessCheck(eventoId, email).isEmpty();
     }
 
+    // ✅ INDEXADO - Invitación aceptada por email o por usuario registrado (usa evento_estado_email_idx)
+    @Query(value = "{'evento.$id': ObjectId(?0), 'estado': 'aceptada', '$or': [{'emailInvitado': ?1}, {'usuarioInvitado.$id': ObjectId(?2)}]}",
+            exists = true)
+    boolean existsAcceptedInvitation(String eventoId, String email, String usuarioId);
+
     // ✅ NUEVO - Buscar invitación específica para aceptar/rechazar (con validaciones)
     @Query(value = "{'token': ?0, 'estado': 'pendiente'}",
             fields = "{'id': 1, 'evento': 1, 'emailInvitado': 1, 'usuarioInvitado': 1, 'estado': 1, 'fechaExpiracion': 1, 'invitadoPor': 1}")
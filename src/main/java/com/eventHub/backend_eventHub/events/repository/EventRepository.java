@@ -10,6 +10,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import java.time.Instant;
@@ -110,30 +111,8 @@ public interface EventRepository extends MongoRepository<Event, String> {
     @Query("{'bloqueado': false, 'privacy': 'public', 'createdAt': {$exists: true}}")
     List<Event> findRecentPublicEvents(Pageable pageable);
 
-    // ========== BÚSQUEDA DE TEXTO EN EVENTOS PÚBLICOS ==========
+    // La búsqueda de texto usa el índice de texto de event_summary (EventService.searchPublicEventsByRelevance)
 
-    @Query("{'$and': [" +
-            "{'bloqueado': false}, " +
-            "{'privacy': 'public'}, " +
-            "{'$or': [" +
-            "  {'title': {$regex: ?0, $options: 'i'}}, " +
-            "  {'description': {$regex: ?0, $options: 'i'}}, " +
-            "  {'tags': {$regex: ?0, $options: 'i'}}" +
-            "]}" +
-            "]}")
-    List<Event> searchPublicEventsByText(String searchText);
-
-    @Query("{'$and': [" +
-            "{'bloqueado': false}, " +
-            "{'privacy': 'public'}, " +
-            "{'status.$id': ObjectId(?1)}, " +
-            "{'$or': [" +
-            "  {'title': {$regex: ?0, $options: 'i'}}, " +
-            "  {'description': {$regex: ?0, $options: 'i'}}, " +
-            "  {'tags': {$regex: ?0, $options: 'i'}}" +
-            "]}" +
-            "]}")
-    List<Event> searchPublicEventsByText(String searchText, String activeStateId);
     // ✅ CORREGIDO - Eventos públicos por categoría con estado
     @Query("{'bloqueado': false, 'privacy': 'public', 'status.$id': ObjectId(?1), 'categoria.$id': ObjectId(?0)}")
     List<Event> findPublicEventsByCategory(String categoriaId, String activeStateId);
@@ -214,13 +193,10 @@ public interface EventRepository extends MongoRepository<Event, String> {
 
     // ========== BÚSQUEDA POR UBICACIÓN ==========
 
-    @Query("{'location.address': {$regex: ?0, $options: 'i'}}")
-    List<Event> findByLocationAddressContaining(String address);
-
     @Query("{'location.type': ?0}")
     List<Event> findByLocationType(String locationType);
 
-    @Query("{'location': {$near: {$geometry: {type: 'Point', coordinates: [?0, ?1]}, $maxDistance: ?2}}}")
+    @Query("{'location.point': {$near: {$geometry: {type: 'Point', coordinates: [?0, ?1]}, $maxDistance: ?2}}}")
     List<Event> findEventsNear(Double longitude, Double latitude, Integer maxDistanceMeters);
 
     // ========== EVENTOS POR CAPACIDAD ==========
@@ -228,40 +204,15 @@ public interface EventRepository extends MongoRepository<Event, String> {
     @Query("{'maxAttendees': {$gt: ?0}}")
     List<Event> findByMaxAttendeesGreaterThan(Integer minAttendees);
 
-    // ========== BÚSQUEDA POR ORGANIZADOR ==========
-
-    @Query("{'otherData.organizer': {$regex: ?0, $options: 'i'}}")
-    List<Event> findByOrganizerContaining(String organizer);
-
-    // ========== BÚSQUEDA DE TEXTO GENERAL ==========
-
-    @Query("{'$or': [{'title': {$regex: ?0, $options: 'i'}}, {'description': {$regex: ?0, $options: 'i'}}]}")
-    List<Event> searchByTitleOrDescription(String searchText);
-
     // ========== CONTADORES ==========
 
 //    @Query(value = "{'status.nameState': {$regex: ?0, $options: 'i'}}", count = true)
 //    long countByStatusNameStateIgnoreCase(String nameState);
 
-    @Query(value = "{'bloqueado': ?0}", count = true)
-    long countByBloqueado(boolean bloqueado);
-
     @Query(value = "{'privacy': ?0, 'status.nameState': {$regex: ?1, $options: 'i'}}", count = true)
     long countByPrivacyAndStatusNameStateIgnoreCase(String privacy, String status);
 
     // Contadores por estado con ID
-    @Query(value = "{'status.$id': ObjectId(?0)}", count = true)
-    long countByStatusId(String statusId);
-
-    @Query(value = "{'status.$id': ObjectId(?0), 'privacy': 'public'}", count = true)
-    long countPublicEventsByStatusId(String statusId);
-
-    @Query(value = "{'status.$id': ObjectId(?0), 'privacy': 'private'}", count = true)
-    long countPrivateEventsByStatusId(String statusId);
-
-    @Query(value = "{'status.$id': ObjectId(?0), 'destacado': true}", count = true)
-    long countFeaturedEventsByStatusId(String statusId);
-
     @Query(value = "{'status.$id': ObjectId(?0), 'bloqueado': false}", count = true)
     long countActiveEventsByStatusId(String statusId);
 
@@ -274,6 +225,18 @@ public interface EventRepository extends MongoRepository<Event, String> {
 
     @Query(value = "{'status.$id': ObjectId(?0), 'ticketType': ?1}", count = true)
     long countEventsByStatusAndTicketType(String statusId, String ticketType);
+
+    // ========== RESERVA ATÓMICA DE CUPOS ==========
+
+    // Incrementa currentAttendees solo si queda cupo; devuelve 0 si el evento está lleno
+    @Query("{'_id': ?0, '$or': [{'maxAttendees': null}, {'$expr': {'$lt': [{'$ifNull': ['$currentAttendees', 0]}, '$maxAttendees']}}]}")
+    @Update("{'$inc': {'currentAttendees': 1}}")
+    long reserveSeat(String eventId);
+
+    // Libera un cupo sin dejar el contador en negativo
+    @Query("{'_id': ?0, 'currentAttendees': {'$gt': 0}}")
+    @Update("{'$inc': {'currentAttendees': -1}}")
+    long releaseSeat(String eventId);
 }
 
 
@@ -35,7 +35,8 @@ public interface EventRoleRepository extends MongoRepository<EventRole, String>
 
     // ========== BÚSQUEDAS COMBINADAS USUARIO + EVENTO ==========
 
-    @Query("{'usuario.$id': ObjectId(?0), 'evento.$id': ?1, 'activo': true}")      //  antas=> usuario.$id': ?0, ahora =>ObjectId(?0)
+    // Usa el índice usuario_evento_activo_idx; lo consume EventAccessService
+    @Query("{'usuario.$id': ObjectId(?0), 'evento.$id': ObjectId(?1), 'activo': true}")
     List<EventRole> findByUsuarioIdAndEventoIdAndActivoTrue(String usuarioId, String eventoId);
 
     @Query("{'usuario.userName': ?0, 'evento.$id': ?1, 'activo': true}")
@@ -0,0 +1,27 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Proyección event_summary. Los listados se paginan por cursor con KeysetPager.
+ */
+@Repository
+public interface EventSummaryRepository extends MongoRepository<EventSummary, String> {
+
+    // ========== SINCRONIZACIÓN ==========
+
+    @Query(value = "{'version': ?0}", count = true)
+    long countByVersion(int version);
+
+    @Query("{'_id': ?0}")
+    @Update("{'$inc': {'currentAttendees': ?1}}")
+    long incrementAttendees(String eventId, int delta);
+
+    @Query("{'categoriaId': ?0}")
+    @Update("{'$set': {'categoria': ?1}}")
+    long updateCategoriaName(String categoriaId, String nombreCategoria);
+}
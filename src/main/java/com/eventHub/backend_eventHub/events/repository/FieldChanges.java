@@ -0,0 +1,62 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.HistoryRecord;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Cambios de campo de una edición: los operadores ($set, $addToSet...) que se enviarán
+ * a Mongo y las entradas de historial que generan.
+ *
+ * Solo contiene lo que cambió; los campos no tocados (contadores, arrays mantenidos por
+ * otras operaciones) nunca se reescriben.
+ */
+public class FieldChanges {
+
+    private final Update update = new Update();
+    private final List<HistoryRecord> history = new ArrayList<>();
+
+    public FieldChanges set(String field, Object value) {
+        update.set(field, value);
+        return this;
+    }
+
+    /**
+     * $set del campo registrando el cambio en el historial con los textos indicados
+     */
+    public FieldChanges set(String field, Object value, String oldText, String newText) {
+        update.set(field, value);
+        return record(field, oldText, newText);
+    }
+
+    public FieldChanges addToSet(String field, Object value) {
+        update.addToSet(field, value);
+        return this;
+    }
+
+    public FieldChanges record(String field, String oldText, String newText) {
+        history.add(HistoryRecord.builder()
+                .field(field)
+                .oldValue(oldText)
+                .newValue(newText)
+                .changedAt(Instant.now())
+                .build());
+        return this;
+    }
+
+    public boolean isEmpty() {
+        return update.getUpdateObject().isEmpty();
+    }
+
+    public Update getUpdate() {
+        return update;
+    }
+
+    public List<HistoryRecord> getHistory() {
+        return Collections.unmodifiableList(history);
+    }
+}
@@ -17,29 +17,29 @@ public interface InscriptionRepository extends MongoRepository<Inscription, Stri
     @Query("{'usuario.userName': ?0}")
     List<Inscription> findByUsuarioUserName(String userName);
 
-    @Query("{'usuario.$id': ?0}")
+    @Query("{'usuario._id': ObjectId(?0)}")
     List<Inscription> findByUsuarioId(String usuarioId);
 
     @Query("{'usuario.userName': ?0, 'estado': ?1}")
     List<Inscription> findByUsuarioUserNameAndEstado(String userName, String estado);
 
-    @Query("{'usuario.$id': ?0, 'estado': ?1}")
+    @Query("{'usuario._id': ObjectId(?0), 'estado': ?1}")
     List<Inscription> findByUsuarioIdAndEstado(String usuarioId, String estado);
 
     // ========== INSCRIPCIONES POR EVENTO ==========
 
-    @Query("{'evento.$id': ?0}")
+    @Query("{'evento._id': ObjectId(?0)}")
     List<Inscription> findByEventoId(String eventoId);
 
-    @Query("{'evento.$id': ?0, 'estado': ?1}")
+    @Query("{'evento._id': ObjectId(?0), 'estado': ?1}")
     List<Inscription> findByEventoIdAndEstado(String eventoId, String estado);
 
     // ========== VERIFICAR INSCRIPCIÓN ESPECÍFICA ==========
 
-    @Query("{'usuario.userName': ?0, 'evento.$id': ?1, 'estado': ?2}")
+    @Query("{'usuario.userName': ?0, 'evento._id': ObjectId(?1), 'estado': ?2}")
     Optional<Inscription> findByUsuarioUserNameAndEventoIdAndEstado(String userName, String eventoId, String estado);
 
-    @Query("{'usuario.$id': ?0, 'evento.$id': ?1, 'estado': ?2}")
+    @Query("{'usuario._id': ObjectId(?0), 'evento._id': ObjectId(?1), 'estado': ?2}")
     Optional<Inscription> findByUsuarioIdAndEventoIdAndEstado(String usuarioId, String eventoId, String estado);
 
     // ========== INSCRIPCIONES A SUB-EVENTOS ==========
@@ -53,12 +53,12 @@ public interface InscriptionRepository extends MongoRepository<Inscription, Stri
     @Query("{'usuario.userName': ?0, 'subeventoId': ?1, 'estado': ?2}")
     Optional<Inscription> findByUsuarioUserNameAndSubeventoIdAndEstado(String userName, String subeventoId, String estado);
 
-    @Query("{'usuario.$id': ?0, 'subeventoId': ?1, 'estado': ?2}")
+    @Query("{'usuario._id': ObjectId(?0), 'subeventoId': ?1, 'estado': ?2}")
     Optional<Inscription> findByUsuarioIdAndSubeventoIdAndEstado(String usuarioId, String subeventoId, String estado);
 
     // ========== CONTADORES ==========
 
-    @Query(value = "{'evento.$id': ?0, 'estado': ?1}", count = true)
+    @Query(value = "{'evento._id': ObjectId(?0), 'estado': ?1}", count = true)
     long countByEventoIdAndEstado(String eventoId, String estado);
 
     @Query(value = "{'subeventoId': ?0, 'estado': ?1}", count = true)
@@ -69,7 +69,7 @@ public interface InscriptionRepository extends MongoRepository<Inscription, Stri
     @Query("{'usuario.userName': ?0, 'tipoInscripcion': ?1, 'estado': ?2}")
     List<Inscription> findByUsuarioUserNameAndTipoInscripcionAndEstado(String userName, String tipoInscripcion, String estado);
 
-    @Query("{'usuario.$id': ?0, 'tipoInscripcion': ?1, 'estado': ?2}")
+    @Query("{'usuario._id': ObjectId(?0), 'tipoInscripcion': ?1, 'estado': ?2}")
     List<Inscription> findByUsuarioIdAndTipoInscripcionAndEstado(String usuarioId, String tipoInscripcion, String estado);
 
     // ========== TODAS LAS INSCRIPCIONES DE UN USUARIO ==========
@@ -77,6 +77,36 @@ public interface InscriptionRepository extends MongoRepository<Inscription, Stri
     @Query("{'usuario.userName': ?0, 'estado': ?1}")
     List<Inscription> findAllByUsuarioUserNameAndEstado(String userName, String estado);
 
-    @Query("{'usuario.$id': ?0, 'estado': ?1}")
+    @Query("{'usuario._id': ObjectId(?0), 'estado': ?1}")
     List<Inscription> findAllByUsuarioIdAndEstado(String usuarioId, String estado);
+
+    // ========== CONSULTAS INDEXADAS (usuario/evento como ObjectId en la copia embebida) ==========
+    // Cubiertas por los índices compuestos declarados en Inscription
+
+    @Query(value = "{'usuario._id': ObjectId(?0), 'evento._id': ObjectId(?1), 'estado': ?2, 'tipoInscripcion': ?3}", exists = true)
+    boolean existsByUsuarioAndEvento(String usuarioId, String eventoId, String estado, String tipoInscripcion);
+
+    @Query("{'usuario._id': ObjectId(?0), 'evento._id': ObjectId(?1), 'estado': ?2, 'tipoInscripcion': ?3}")
+    List<Inscription> findByUsuarioAndEvento(String usuarioId, String eventoId, String estado, String tipoInscripcion);
+
+    @Query("{'usuario._id': ObjectId(?0), 'estado': ?1, 'tipoInscripcion': ?2}")
+    List<Inscription> findByUsuario(String usuarioId, String estado, String tipoInscripcion);
+
+    @Query("{'evento._id': ObjectId(?0), 'estado': ?1, 'tipoInscripcion': ?2}")
+    List<Inscription> findByEvento(String eventoId, String estado, String tipoInscripcion);
+
+    @Query(value = "{'evento._id': ObjectId(?0), 'estado': ?1, 'tipoInscripcion': ?2}", count = true)
+    long countByEvento(String eventoId, String estado, String tipoInscripcion);
+
+    @Query(value = "{'usuario._id': ObjectId(?0), 'subeventoId': ?1, 'estado': ?2, 'tipoInscripcion': ?3}", exists = true)
+    boolean existsByUsuarioAndSubevento(String usuarioId, String subeventoId, String estado, String tipoInscripcion);
+
+    @Query("{'usuario._id': ObjectId(?0), 'subeventoId': ?1, 'estado': ?2, 'tipoInscripcion': ?3}")
+    List<Inscription> findByUsuarioAndSubevento(String usuarioId, String subeventoId, String estado, String tipoInscripcion);
+
+    @Query("{'subeventoId': ?0, 'estado': ?1, 'tipoInscripcion': ?2}")
+    List<Inscription> findBySubevento(String subeventoId, String estado, String tipoInscripcion);
+
+    @Query(value = "{'subeventoId': ?0, 'estado': ?1, 'tipoInscripcion': ?2}", count = true)
+    long countBySubevento(String subeventoId, String estado, String tipoInscripcion);
 }
\ No newline at end of file
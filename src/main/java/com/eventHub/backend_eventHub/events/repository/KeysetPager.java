@@ -0,0 +1,126 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
+import com.eventHub.backend_eventHub.events.entities.KeysetRow;
+import lombok.RequiredArgsConstructor;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Paginación por cursor (keyset) y lectura en streaming sobre colecciones de eventos.
+ *
+ * El cursor es opaco para el cliente: codifica el valor de ordenamiento y el _id del
+ * último elemento, de modo que cada página es un rango indexado y no un skip.
+ */
+@Component
+@RequiredArgsConstructor
+public class KeysetPager {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    private static final int STREAM_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Devuelve la página que sigue al cursor (o la primera si el cursor es null)
+     */
+    public <T extends KeysetRow> CursorPageDto<T> page(Class<T> type, Criteria filter, KeysetSort sort,
+                                                                   String cursor, Integer size) {
+        int limit = normalizeSize(size);
+
+        Query query = new Query(withCursor(filter, sort, cursor))
+                .with(sort.toSort())
+                .limit(limit + 1); // uno extra para saber si hay más
+
+        List<T> rows = mongoTemplate.find(query, type);
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+
+        String nextCursor = hasMore ? encode(sort.valueOf(rows.get(limit - 1)), rows.get(limit - 1).getId()) : null;
+        return new CursorPageDto<>(rows, nextCursor, hasMore);
+    }
+
+    /**
+     * Recorre todos los resultados con un cursor de Mongo; el llamador debe cerrar el Stream
+     */
+    public <T> Stream<T> stream(Class<T> type, Criteria filter, KeysetSort sort) {
+        Query query = new Query(filter)
+                .with(sort.toSort())
+                .cursorBatchSize(STREAM_BATCH_SIZE);
+        return mongoTemplate.stream(query, type);
+    }
+
+    private Criteria withCursor(Criteria filter, KeysetSort sort, String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return filter;
+        }
+
+        String[] parts = decode(cursor);
+        Instant value = parts[0].isEmpty() ? null : Instant.ofEpochMilli(Long.parseLong(parts[0]));
+        ObjectId id = new ObjectId(parts[1]);
+        String field = sort.getField();
+
+        // Mongo ordena los null antes que cualquier fecha
+        Criteria after;
+        if (sort.getDirection() == Sort.Direction.ASC) {
+            after = value == null
+                    ? new Criteria().orOperator(
+                            Criteria.where(field).is(null).and("_id").gt(id),
+                            Criteria.where(field).ne(null))
+                    : new Criteria().orOperator(
+                            Criteria.where(field).gt(value),
+                            Criteria.where(field).is(value).and("_id").gt(id));
+        } else {
+            after = value == null
+                    ? Criteria.where(field).is(null).and("_id").lt(id)
+                    : new Criteria().orOperator(
+                            Criteria.where(field).lt(value),
+                            Criteria.where(field).is(value).and("_id").lt(id),
+                            Criteria.where(field).is(null));
+        }
+
+        return new Criteria().andOperator(filter, after);
+    }
+
+    private int normalizeSize(Integer size) {
+        if (size == null || size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    private String encode(Instant value, String id) {
+        String raw = (value != null ? String.valueOf(value.toEpochMilli()) : "") + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String[] decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 2);
+            if (parts.length != 2 || !ObjectId.isValid(parts[1])) {
+                throw new IllegalArgumentException("Cursor de paginación inválido");
+            }
+            if (!parts[0].isEmpty()) {
+                Long.parseLong(parts[0]);
+            }
+            return parts;
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Cursor de paginación inválido");
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.KeysetRow;
+import org.springframework.data.domain.Sort;
+
+import java.time.Instant;
+
+/**
+ * Ordenamientos soportados por la paginación keyset: una fecha más _id como desempate.
+ */
+public enum KeysetSort {
+    START_ASC("start", Sort.Direction.ASC),
+    CREATED_DESC("createdAt", Sort.Direction.DESC),
+    CHANGED_DESC("changedAt", Sort.Direction.DESC);
+
+    private final String field;
+    private final Sort.Direction direction;
+
+    KeysetSort(String field, Sort.Direction direction) {
+        this.field = field;
+        this.direction = direction;
+    }
+
+    public String getField() {
+        return field;
+    }
+
+    public Sort.Direction getDirection() {
+        return direction;
+    }
+
+    public Sort toSort() {
+        return Sort.by(direction, field).and(Sort.by(direction, "_id"));
+    }
+
+    public Instant valueOf(KeysetRow row) {
+        return switch (this) {
+            case START_ASC -> row.getStart();
+            case CREATED_DESC -> row.getCreatedAt();
+            case CHANGED_DESC -> row.getChangedAt();
+        };
+    }
+}
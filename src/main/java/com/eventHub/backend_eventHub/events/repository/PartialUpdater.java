@@ -0,0 +1,112 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.Versioned;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Function;
+
+/**
+ * Actualizaciones parciales de documentos de eventos: solo los campos que cambian,
+ * sin reescribir el documento completo como hace save().
+ *
+ * - updateVersioned: lee el documento, calcula el diff y lo aplica condicionado a la
+ *   versión leída (@Version). Si otra escritura se adelantó, vuelve a leer y a calcular
+ *   el diff, hasta MAX_ATTEMPTS; después lanza OptimisticLockingFailureException.
+ * - update: operaciones conmutativas ($addToSet, $pull...) que no dependen de lo leído.
+ *
+ * Mongo incrementa la versión en toda actualización de una entidad con @Version (también
+ * en las reservas de cupo con $inc), así que un diff nunca se aplica sobre datos viejos.
+ * Tras cada escritura se publica AfterSaveEvent con el documento resultante para que
+ * los listeners de save() (event_summary, caches) sigan enterándose.
+ *
+ * Métrica: eventhub.partial_update.conflicts (tag type).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PartialUpdater {
+
+    public static final int MAX_ATTEMPTS = 5;
+
+    private static final String VERSION_FIELD = "version";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Aplica el diff calculado sobre la versión actual del documento.
+     *
+     * @param diff recibe el documento leído y devuelve los cambios; si no hay ninguno no se escribe
+     * @return documento actualizado (o el leído, si no hubo cambios) y los cambios aplicados
+     * @throws IllegalArgumentException si el documento no existe
+     * @throws OptimisticLockingFailureException si tras MAX_ATTEMPTS sigue habiendo conflicto
+     */
+    public <T extends Versioned> Result<T> updateVersioned(Class<T> type, String id, Function<T, FieldChanges> diff) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            T current = mongoTemplate.findById(id, type);
+            if (current == null) {
+                throw new IllegalArgumentException("Documento no encontrado: " + id);
+            }
+
+            FieldChanges changes = diff.apply(current);
+            if (changes.isEmpty()) {
+                return new Result<>(current, changes);
+            }
+
+            Criteria expected = current.getVersion() != null
+                    ? Criteria.where(VERSION_FIELD).is(current.getVersion())
+                    : Criteria.where(VERSION_FIELD).exists(false); // documento anterior a @Version
+            Update update = changes.getUpdate().inc(VERSION_FIELD, 1);
+            T updated = findAndModify(type, Criteria.where("_id").is(id).andOperator(expected), update);
+            if (updated != null) {
+                return new Result<>(updated, changes);
+            }
+
+            conflictCounter(type).increment();
+            log.debug("Conflicto de versión en {} {} (intento {})", type.getSimpleName(), id, attempt);
+        }
+        throw new OptimisticLockingFailureException(
+                type.getSimpleName() + " " + id + " fue modificado por otra operación; inténtalo de nuevo");
+    }
+
+    /**
+     * Aplica una actualización que no depende del estado leído y devuelve el documento resultante
+     */
+    public <T> T update(Class<T> type, String id, Update update) {
+        return findAndModify(type, Criteria.where("_id").is(id), update);
+    }
+
+    private <T> T findAndModify(Class<T> type, Criteria criteria, Update update) {
+        T updated = mongoTemplate.findAndModify(new Query(criteria), update,
+                FindAndModifyOptions.options().returnNew(true), type);
+        if (updated != null) {
+            Document document = new Document();
+            mongoTemplate.getConverter().write(updated, document);
+            eventPublisher.publishEvent(new AfterSaveEvent<>(updated, document, mongoTemplate.getCollectionName(type)));
+        }
+        return updated;
+    }
+
+    private Counter conflictCounter(Class<?> type) {
+        return Counter.builder("eventhub.partial_update.conflicts")
+                .tag("type", type.getSimpleName())
+                .register(meterRegistry);
+    }
+
+    public record Result<T>(T entity, FieldChanges changes) {
+    }
+}
@@ -7,6 +7,7 @@ package com.eventHub.backend_eventHub.events.repository;
 import com.eventHub.backend_eventHub.events.entities.SubEvent;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -51,4 +52,14 @@ public interface SubEventRepository extends MongoRepository<SubEvent, String> {
 
     @Query("{'eventoPrincipal.$id': ?0, '$expr': {'$lt': ['$currentAttendees', '$maxAttendees']}}")
     List<SubEvent> findAvailableSubEventsByEventoPrincipalId(String eventoPrincipalId);
+
+    // ========== RESERVA ATÓMICA DE CUPOS ==========
+
+    @Query("{'_id': ?0, '$or': [{'maxAttendees': null}, {'$expr': {'$lt': [{'$ifNull': ['$currentAttendees', 0]}, '$maxAttendees']}}]}")
+    @Update("{'$inc': {'currentAttendees': 1}}")
+    long reserveSeat(String subEventId);
+
+    @Query("{'_id': ?0, 'currentAttendees': {'$gt': 0}}")
+    @Update("{'$inc': {'currentAttendees': -1}}")
+    long releaseSeat(String subEventId);
 }
\ No newline at end of file
@@ -1,13 +1,16 @@
 // Nuevo: AdminEventService
 package com.eventHub.backend_eventHub.events.service;
 
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
 import com.eventHub.backend_eventHub.events.entities.Event;
-import com.eventHub.backend_eventHub.events.entities.HistoryRecord;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
 import com.eventHub.backend_eventHub.events.repository.EventRepository;
+import com.eventHub.backend_eventHub.events.repository.FieldChanges;
+import com.eventHub.backend_eventHub.events.repository.PartialUpdater;
 import com.eventHub.backend_eventHub.domain.entities.State;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -15,8 +18,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
-import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -25,10 +26,10 @@ public class AdminEventService {
 
 
     @Autowired private EventRepository eventRepo;
-    @Autowired private StateRepository stateRepo;
-
-    // CACHE de IDs de estados
-    private Map<StateList, String> stateIdsCache = new HashMap<>();
+    @Autowired private ReferenceDataRegistry referenceData;
+    @Autowired private EventHistoryService eventHistoryService;
+    @Autowired private PartialUpdater partialUpdater;
+    @Autowired private EventDashboardStats dashboardStats;
 
     /**
      * Lista todos los eventos para administradores (incluye bloqueados)
@@ -53,115 +54,55 @@ public class AdminEventService {
      * Bloquea o desbloquea un evento
      */
     @Transactional
-    public Event toggleEventBlock(String eventId) {
-        Event event = eventRepo.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
-
-        event.setBloqueado(!event.isBloqueado());
-
-        // Agregar al historial
-        if (event.getHistory() == null) {
-            event.setHistory(new ArrayList<>());
-        }
-
-        String action = event.isBloqueado() ? "blocked" : "unblocked";
-        event.getHistory().add(HistoryRecord.builder()
-                .field("bloqueado")
-                .oldValue(String.valueOf(!event.isBloqueado()))
-                .newValue(String.valueOf(event.isBloqueado()))
-                .changedAt(Instant.now())
-                .build());
-
-        return eventRepo.save(event);
+    public Event toggleEventBlock(String eventId, String adminUsername) {
+        // El valor nuevo depende del leído: se aplica condicionado a su versión
+        PartialUpdater.Result<Event> result = partialUpdater.updateVersioned(Event.class, eventId, event ->
+                new FieldChanges().set("bloqueado", !event.isBloqueado(),
+                        String.valueOf(event.isBloqueado()), String.valueOf(!event.isBloqueado())));
+
+        eventHistoryService.record(EntityType.EVENT, eventId, adminUsername, result.changes().getHistory());
+        return result.entity();
     }
 
     /**
      * Cambia el estado de un evento
      */
     @Transactional
-    public Event changeEventStatus(String eventId, String newStatus) {
-        Event event = eventRepo.findById(eventId)
-                .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
+    public Event changeEventStatus(String eventId, String newStatus, String adminUsername) {
+        if (!eventRepo.existsById(eventId)) {
+            throw new IllegalArgumentException("Evento no encontrado");
+        }
 
         try {
             StateList stateEnum = StateList.valueOf(newStatus);
-            State state = stateRepo.findByNameState(stateEnum)
+            State state = referenceData.findState(stateEnum)
                     .orElseThrow(() -> new IllegalArgumentException("Estado no encontrado: " + newStatus));
 
-            String oldStatus = event.getStatus() != null ? event.getStatus().getNameState().name() : "null";
-            event.setStatus(state);
-
-            // Agregar al historial
-            if (event.getHistory() == null) {
-                event.setHistory(new ArrayList<>());
-            }
-
-            event.getHistory().add(HistoryRecord.builder()
-                    .field("status")
-                    .oldValue(oldStatus)
-                    .newValue(newStatus)
-                    .changedAt(Instant.now())
-                    .build());
+            PartialUpdater.Result<Event> result = partialUpdater.updateVersioned(Event.class, eventId, event -> {
+                String oldStatus = event.getStatus() != null ? event.getStatus().getNameState().name() : "null";
+                return new FieldChanges().set("status", state, oldStatus, newStatus);
+            });
 
-            return eventRepo.save(event);
+            eventHistoryService.record(EntityType.EVENT, eventId, adminUsername, result.changes().getHistory());
+            return result.entity();
         } catch (IllegalArgumentException e) {
             throw new IllegalArgumentException("Estado inválido: " + newStatus);
         }
     }
 
     /**
-     * Obtiene estadísticas de eventos para dashboard admin
+     * Historial de cambios de cualquier evento en un rango de fechas
      */
     @Transactional(readOnly = true)
-    public Map<String, Object> getEventStatistics() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Total de eventos
-        stats.put("total", eventRepo.count());
-
-        // Estadísticas por estado usando IDs
-        stats.put("active", eventRepo.countByStatusId(getStateId(StateList.Active)));
-        stats.put("canceled", eventRepo.countByStatusId(getStateId(StateList.Canceled)));
-        stats.put("pending", eventRepo.countByStatusId(getStateId(StateList.Pending)));
-        stats.put("inactive", eventRepo.countByStatusId(getStateId(StateList.Inactive)));
-        stats.put("blocked_state", eventRepo.countByStatusId(getStateId(StateList.Blocked)));
-
-        // Eventos bloqueados por campo directo
-        stats.put("blocked", eventRepo.countByBloqueado(true));
-
-        //  Estadísticas adicionales útiles
-        stats.put("public_events", eventRepo.countPublicEventsByStatusId(getStateId(StateList.Active)));
-        stats.put("private_events", eventRepo.countPrivateEventsByStatusId(getStateId(StateList.Active)));
-        stats.put("featured_events", eventRepo.countFeaturedEventsByStatusId(getStateId(StateList.Active)));
-        return stats;
+    public CursorPageDto<EventHistoryEntry> getEventHistory(String eventId, Instant from, Instant to,
+                                                            String cursor, Integer size) {
+        return eventHistoryService.page(EntityType.EVENT, eventId, from, to, cursor, size);
     }
 
-        /**
-         * Obtiene el ID de un estado específico (con cache)
-         */
-    private String getStateId(StateList stateEnum) {
-        if (!stateIdsCache.containsKey(stateEnum)) {
-            State state = stateRepo.findByNameState(stateEnum)
-                    .orElseThrow(() -> new RuntimeException("Estado " + stateEnum + " no encontrado"));
-            stateIdsCache.put(stateEnum, state.getId());
-            System.out.println("✅ Estado " + stateEnum + " ID cacheado: " + state.getId());
-        }
-        return stateIdsCache.get(stateEnum);
-    }
     /**
-     * Inicializa todos los IDs de estados de una vez (opcional)
+     * Obtiene estadísticas de eventos para dashboard admin (una agregación $facet, cacheada unos segundos)
      */
-    @PostConstruct
-    private void initializeStateCache() {
-        System.out.println("🚀 Inicializando cache de estados...");
-
-        // Cargar todos los estados de una vez
-        List<State> allStates = stateRepo.findAll();
-        for (State state : allStates) {
-            stateIdsCache.put(state.getNameState(), state.getId());
-            System.out.println("✅ Estado " + state.getNameState() + " cacheado: " + state.getId());
-        }
-
-        System.out.println("🎯 Cache de estados completado: " + stateIdsCache.size() + " estados");
+    public Map<String, Object> getEventStatistics(int days) {
+        return dashboardStats.get(days);
     }
-}
\ No newline at end of file
+}
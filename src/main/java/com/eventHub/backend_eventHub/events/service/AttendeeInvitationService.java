@@ -6,24 +6,31 @@ package com.eventHub.backend_eventHub.events.service;
 
 import com.eventHub.backend_eventHub.events.dto.AttendeeInvitationDto;
 import com.eventHub.backend_eventHub.events.dto.BulkAttendeeInvitationDto;
+import com.eventHub.backend_eventHub.events.dto.BulkInvitationResultDto;
 import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
 import com.eventHub.backend_eventHub.events.entities.Event;
 import com.eventHub.backend_eventHub.events.repository.AttendeeInvitationRepository;
 import com.eventHub.backend_eventHub.events.repository.EventRepository;
-import com.eventHub.backend_eventHub.events.repository.EventRoleRepository;
+import com.eventHub.backend_eventHub.events.repository.PartialUpdater;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
 import com.eventHub.backend_eventHub.utils.emails.service.EmailService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 public class AttendeeInvitationService {
@@ -38,10 +45,21 @@ public class AttendeeInvitationService {
     private UserRepository userRepo;
 
     @Autowired
-    private EventRoleRepository eventRoleRepo;
+    private EventAccessService eventAccessService;
 
     @Autowired
-    private EmailService emailService; // Asumo que existe
+    private EmailService emailService;
+
+    @Autowired
+    private PartialUpdater partialUpdater;
+
+    // Estados que bloquean una nueva invitación al mismo email
+    private static final List<String> ACTIVE_STATES = List.of("pendiente", "aceptada");
+
+    // Tamaño de lote para las consultas $in y las inserciones de la invitación masiva
+    private static final int BULK_BATCH_SIZE = 1000;
+
+    private static final Pattern EMAIL_PATTERN = Pattern.compile("^[A-Za-z0-9+_.-]+@(.+)$");
 
     /**
      * Envía invitación a un asistente para evento privado
@@ -66,7 +84,7 @@ public class AttendeeInvitationService {
         boolean hasActiveInvitation = attendeeInvitationRepo.existsByEventoIdAndEmailInvitadoAndEstadoIn(
                 dto.getEventoId(),
                 dto.getEmailInvitado(),
-                Arrays.asList("pendiente", "aceptada")
+                ACTIVE_STATES
         );
 
         if (hasActiveInvitation) {
@@ -105,28 +123,102 @@ public class AttendeeInvitationService {
     }
 
     /**
-     * Envía invitaciones masivas
+     * Envía invitaciones masivas.
+     *
+     * Valida organizador y evento una sola vez y procesa los emails por lotes: una consulta
+     * $in para las invitaciones activas, otra para los usuarios registrados, una inserción
+     * masiva y un único encolado de los correos. Devuelve el resultado de cada email.
      */
     @Transactional
-    public List<AttendeeInvitation> inviteMultipleAttendees(String organizerUsername, BulkAttendeeInvitationDto dto) {
-        List<AttendeeInvitation> invitations = new ArrayList<>();
-
-        for (String email : dto.getEmails()) {
-            try {
-                AttendeeInvitationDto singleDto = new AttendeeInvitationDto();
-                singleDto.setEventoId(dto.getEventoId());
-                singleDto.setEmailInvitado(email);
-                singleDto.setMensaje(dto.getMensaje());
-
-                AttendeeInvitation invitation = inviteAttendee(organizerUsername, singleDto);
-                invitations.add(invitation);
-            } catch (IllegalArgumentException e) {
-                // Log el error pero continuar con otros emails
-                System.err.println("Error invitando a " + email + ": " + e.getMessage());
+    public BulkInvitationResultDto inviteMultipleAttendees(String organizerUsername, BulkAttendeeInvitationDto dto) {
+        Users organizer = userRepo.findByUserName(organizerUsername)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario organizador no encontrado"));
+
+        Event event = eventRepo.findById(dto.getEventoId())
+                .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
+
+        validateOrganizerPermissions(organizer, event);
+
+        if (!"private".equals(event.getPrivacy())) {
+            throw new IllegalArgumentException("Solo se pueden enviar invitaciones para eventos privados");
+        }
+
+        List<String> emails = dto.getEmails() != null ? dto.getEmails() : List.of();
+        List<BulkInvitationResultDto.Item> results = new ArrayList<>(emails.size());
+        Map<String, BulkInvitationResultDto.Item> candidates = new LinkedHashMap<>();
+
+        // Descartar emails inválidos o repetidos dentro de la misma solicitud
+        for (String raw : emails) {
+            String email = raw != null ? raw.trim() : "";
+            BulkInvitationResultDto.Item item = new BulkInvitationResultDto.Item(email, null, null, false);
+            results.add(item);
+            if (!EMAIL_PATTERN.matcher(email).matches()) {
+                item.setEstado(BulkInvitationResultDto.EMAIL_INVALIDO);
+            } else if (candidates.putIfAbsent(email, item) != null) {
+                item.setEstado(BulkInvitationResultDto.DUPLICADA);
+            }
+        }
+
+        List<String> pending = new ArrayList<>(candidates.keySet());
+        for (int from = 0; from < pending.size(); from += BULK_BATCH_SIZE) {
+            List<String> batch = pending.subList(from, Math.min(from + BULK_BATCH_SIZE, pending.size()));
+            inviteBatch(organizer, event, dto.getMensaje(), batch, candidates);
+        }
+
+        int invited = (int) results.stream()
+                .filter(item -> BulkInvitationResultDto.INVITADA.equals(item.getEstado()))
+                .count();
+        return new BulkInvitationResultDto(event.getId(), results.size(), invited, results.size() - invited, results);
+    }
+
+    // Un lote de la invitación masiva: 2 consultas $in, 1 inserción y 1 encolado de correos
+    private void inviteBatch(Users organizer, Event event, String mensaje, List<String> batch,
+                             Map<String, BulkInvitationResultDto.Item> candidates) {
+        Set<String> alreadyInvited = attendeeInvitationRepo
+                .findActiveInvitationEmails(event.getId(), batch, ACTIVE_STATES).stream()
+                .map(AttendeeInvitation::getEmailInvitado)
+                .collect(Collectors.toSet());
+
+        Map<String, Users> registered = userRepo.findIdAndEmailByEmailIn(batch).stream()
+                .collect(Collectors.toMap(Users::getEmail, user -> user, (first, second) -> first));
+
+        Instant now = Instant.now();
+        List<AttendeeInvitation> invitations = new ArrayList<>(batch.size());
+        for (String email : batch) {
+            if (alreadyInvited.contains(email)) {
+                candidates.get(email).setEstado(BulkInvitationResultDto.YA_INVITADA);
+                continue;
             }
+            invitations.add(AttendeeInvitation.builder()
+                    .evento(event)
+                    .invitadoPor(organizer)
+                    .emailInvitado(email)
+                    .usuarioInvitado(registered.get(email))
+                    .fechaInvitacion(now)
+                    .fechaExpiracion(now.plus(7, ChronoUnit.DAYS))
+                    .estado("pendiente")
+                    .mensaje(mensaje)
+                    .token(generateUniqueToken())
+                    .fechaUltimoEnvio(now)
+                    .vecesEnviada(1)
+                    .build());
         }
+        if (invitations.isEmpty()) {
+            return;
+        }
+
+        List<EmailDto> emails = new ArrayList<>(invitations.size());
+        for (AttendeeInvitation invitation : attendeeInvitationRepo.insert(invitations)) {
+            BulkInvitationResultDto.Item item = candidates.get(invitation.getEmailInvitado());
+            item.setEstado(BulkInvitationResultDto.INVITADA);
+            item.setInvitationId(invitation.getId());
+            item.setUsuarioRegistrado(invitation.getUsuarioInvitado() != null);
+            emails.add(buildInvitationEmail(invitation));
+        }
+        eventAccessService.invalidateEvent(event.getId());
 
-        return invitations;
+        // El envío lo hace el dispatcher del outbox en segundo plano
+        emailService.sendEmails(emails);
     }
 
     /**
@@ -162,15 +254,8 @@ public class AttendeeInvitationService {
         invitation.setFechaRespuesta(Instant.now());
         invitation.setUsuarioInvitado(user);
 
-        // Agregar usuario a la lista de invitados del evento
-        Event event = invitation.getEvento();
-        if (event.getInvitedUsers() == null) {
-            event.setInvitedUsers(new ArrayList<>());
-        }
-        if (!event.getInvitedUsers().contains(username)) {
-            event.getInvitedUsers().add(username);
-            eventRepo.save(event);
-        }
+        // Agregar usuario a la lista de invitados del evento ($addToSet, sin reescribir el evento)
+        partialUpdater.update(Event.class, invitation.getEvento().getId(), new Update().addToSet("invitedUsers", username));
 
         return attendeeInvitationRepo.save(invitation);
     }
@@ -250,17 +335,7 @@ public class AttendeeInvitationService {
         }
 
         // Verificar si es subcreador activo
-        boolean isSubcreator = eventRoleRepo.findAll().stream()
-                .anyMatch(role ->
-                        role.getUsuario() != null &&
-                                role.getUsuario().getId().equals(user.getId()) &&
-                                role.getEvento() != null &&
-                                role.getEvento().getId().equals(event.getId()) &&
-                                role.isActivo() &&
-                                "SUBCREADOR".equals(role.getRol())
-                );
-
-        if (!isSubcreator) {
+        if (!eventAccessService.isSubcreator(user, event.getId())) {
             throw new IllegalArgumentException("No tienes permisos para enviar invitaciones para este evento");
         }
     }
@@ -270,7 +345,10 @@ public class AttendeeInvitationService {
     }
 
     private void sendInvitationEmail(AttendeeInvitation invitation) {
-        // Implementar envío de email con el token de invitación
+        emailService.sendEmail(buildInvitationEmail(invitation));
+    }
+
+    private EmailDto buildInvitationEmail(AttendeeInvitation invitation) {
         String invitationUrl = "https://your-app.com/accept-invitation?token=" + invitation.getToken();
 
         String subject = "Invitación a evento privado: " + invitation.getEvento().getTitle();
@@ -286,7 +364,10 @@ public class AttendeeInvitationService {
                 invitation.getFechaExpiracion()
         );
 
-        // emailService.sendEmail(invitation.getEmailInvitado(), subject, message);
-        System.out.println("Email enviado a: " + invitation.getEmailInvitado());
+        EmailDto emailDto = new EmailDto();
+        emailDto.setRecipientEmail(invitation.getEmailInvitado());
+        emailDto.setSubject(subject);
+        emailDto.setBody(message);
+        return emailDto;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,442 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.DeletionJob;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.Status;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.Step;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.TargetType;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.SubEvent;
+import com.eventHub.backend_eventHub.events.repository.PartialUpdater;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Borrado en cascada de eventos y sub-eventos como trabajo con seguimiento (deletion_jobs).
+ *
+ * Cada paso trabaja con updateMulti / remove sobre lotes de deletion.batch-size documentos
+ * en lugar de guardar inscripciones y roles uno a uno. Los borrados pequeños se ejecutan en
+ * la propia petición; los que superan deletion.inline-max inscripciones se ejecutan en
+ * segundo plano y se consultan con getJob.
+ *
+ * Los pasos son idempotentes (solo tocan inscripciones confirmadas, roles activos, etc.),
+ * así que un trabajo interrumpido se reanuda desde el paso guardado: al arrancar y cada
+ * deletion.poll-seconds se reclaman los trabajos pendientes o con bloqueo vencido, igual
+ * que hace EmailOutboxDispatcher con los correos.
+ *
+ * Métricas: eventhub.deletion.jobs (outcome), eventhub.deletion.resumed y eventhub.deletion.duration.
+ */
+@Component
+@Slf4j
+public class CascadeDeletionService {
+
+    private static final String METRIC_PREFIX = "eventhub.deletion";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final PartialUpdater partialUpdater;
+    private final EventAccessService eventAccessService;
+    private final InscriptionCounterService inscriptionCounters;
+    private final MeterRegistry meterRegistry;
+
+    private final int batchSize;
+    private final long inlineMax;
+    private final long pollSeconds;
+    private final int maxAttempts;
+    private final Duration lockDuration;
+
+    private final Counter resumed;
+
+    private ScheduledExecutorService runner;
+
+    public CascadeDeletionService(MongoTemplate mongoTemplate,
+                                  PartialUpdater partialUpdater,
+                                  EventAccessService eventAccessService,
+                                  InscriptionCounterService inscriptionCounters,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${deletion.batch-size:500}") int batchSize,
+                                  @Value("${deletion.inline-max:1000}") long inlineMax,
+                                  @Value("${deletion.poll-seconds:30}") long pollSeconds,
+                                  @Value("${deletion.max-attempts:5}") int maxAttempts,
+                                  @Value("${deletion.lock-seconds:120}") long lockSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.partialUpdater = partialUpdater;
+        this.eventAccessService = eventAccessService;
+        this.inscriptionCounters = inscriptionCounters;
+        this.meterRegistry = meterRegistry;
+        this.batchSize = Math.max(batchSize, 1);
+        this.inlineMax = inlineMax;
+        this.pollSeconds = Math.max(pollSeconds, 1);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+        this.resumed = Counter.builder(METRIC_PREFIX + ".resumed")
+                .description("Trabajos de borrado reclamados tras vencer el bloqueo de otra ejecución")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (runner != null) {
+            return;
+        }
+        AtomicInteger sequence = new AtomicInteger();
+        runner = Executors.newScheduledThreadPool(2, runnable -> {
+            Thread thread = new Thread(runnable, "deletion-job-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // El primer sondeo reanuda los trabajos que quedaron a medias al caer la instancia anterior
+        runner.scheduleWithFixedDelay(this::poll, 0, pollSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (runner != null) {
+            runner.shutdownNow();
+            runner = null;
+        }
+    }
+
+    /**
+     * Registra el borrado de un evento con sus inscripciones, roles y sub-eventos.
+     * Devuelve el trabajo ya terminado si es pequeño, o en curso si pasa a segundo plano.
+     */
+    public DeletionJob requestEventDeletion(String eventId, String username) {
+        DeletionJob active = findActive(TargetType.EVENT, eventId);
+        if (active != null) {
+            return active;
+        }
+
+        // Nadie más puede inscribirse mientras se cancelan las inscripciones existentes
+        partialUpdater.update(Event.class, eventId, new Update().set("permitirInscripciones", false));
+
+        DeletionJob job = insert(TargetType.EVENT, eventId, null, username, Step.CANCEL_INSCRIPTIONS);
+        long pending = mongoTemplate.count(
+                Query.query(eventInscriptions(eventId).and("estado").is("confirmada")), Inscription.class);
+        return dispatch(job, pending);
+    }
+
+    /**
+     * Registra el borrado de un sub-evento: cancela sus inscripciones y lo retira del evento principal
+     */
+    public DeletionJob requestSubEventDeletion(String subEventId, String parentEventId, String username) {
+        DeletionJob active = findActive(TargetType.SUBEVENT, subEventId);
+        if (active != null) {
+            return active;
+        }
+
+        DeletionJob job = insert(TargetType.SUBEVENT, subEventId, parentEventId, username,
+                Step.CANCEL_SUBEVENT_INSCRIPTIONS);
+        long pending = mongoTemplate.count(
+                Query.query(Criteria.where("subeventoId").is(subEventId).and("estado").is("confirmada")),
+                Inscription.class);
+        return dispatch(job, pending);
+    }
+
+    /**
+     * Progreso de un trabajo de borrado (solo quien lo solicitó)
+     */
+    public DeletionJob getJob(String jobId, String username) {
+        DeletionJob job = mongoTemplate.findById(jobId, DeletionJob.class);
+        if (job == null) {
+            throw new IllegalArgumentException("Trabajo de borrado no encontrado");
+        }
+        if (!job.getRequestedBy().equals(username)) {
+            throw new IllegalArgumentException("No tienes permisos para consultar este borrado");
+        }
+        return job;
+    }
+
+    private DeletionJob findActive(TargetType type, String targetId) {
+        // Dos peticiones simultáneas podrían crear dos trabajos; como los pasos son idempotentes
+        // el segundo solo repite operaciones que ya no modifican nada
+        return mongoTemplate.findOne(Query.query(Criteria.where("targetType").is(type)
+                .and("targetId").is(targetId)
+                .and("status").in(Status.PENDING, Status.RUNNING)), DeletionJob.class);
+    }
+
+    private DeletionJob insert(TargetType type, String targetId, String parentEventId, String username, Step firstStep) {
+        Instant now = Instant.now();
+        return mongoTemplate.insert(DeletionJob.builder()
+                .targetType(type)
+                .targetId(targetId)
+                .parentEventId(parentEventId)
+                .requestedBy(username)
+                .status(Status.PENDING)
+                .step(firstStep)
+                .createdAt(now)
+                .updatedAt(now)
+                .build());
+    }
+
+    private DeletionJob dispatch(DeletionJob job, long pendingInscriptions) {
+        ScheduledExecutorService current = runner;
+        if (pendingInscriptions > inlineMax && current != null && !current.isShutdown()) {
+            log.info("Borrado de {} {} en segundo plano ({} inscripciones)",
+                    job.getTargetType(), job.getTargetId(), pendingInscriptions);
+            current.execute(() -> claimAndRun(Criteria.where("_id").is(job.getId())));
+            return job;
+        }
+        DeletionJob claimed = claim(Criteria.where("_id").is(job.getId()), Instant.now());
+        if (claimed != null) {
+            run(claimed);
+        }
+        return mongoTemplate.findById(job.getId(), DeletionJob.class);
+    }
+
+    private void poll() {
+        try {
+            while (claimAndRun(new Criteria())) {
+                // Se siguen reclamando trabajos mientras haya alguno disponible
+            }
+        } catch (DataAccessException e) {
+            log.error("No se pudo consultar deletion_jobs: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error inesperado en el procesador de borrados", e);
+        }
+    }
+
+    private boolean claimAndRun(Criteria which) {
+        DeletionJob job = claim(which, Instant.now());
+        if (job == null) {
+            return false;
+        }
+        run(job);
+        return true;
+    }
+
+    /**
+     * Reclama un trabajo pendiente o cuyo bloqueo venció (la instancia que lo ejecutaba cayó)
+     */
+    DeletionJob claim(Criteria which, Instant now) {
+        Query query = Query.query(which.orOperator(
+                        Criteria.where("status").is(Status.PENDING),
+                        Criteria.where("status").is(Status.RUNNING).and("lockedUntil").lte(now)))
+                .with(Sort.by(Sort.Direction.ASC, "createdAt"));
+        Update update = new Update()
+                .set("status", Status.RUNNING)
+                .set("owner", UUID.randomUUID().toString())
+                .set("lockedUntil", now.plus(lockDuration))
+                .set("updatedAt", now)
+                .inc("attempts", 1);
+        DeletionJob job = mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), DeletionJob.class);
+        if (job != null && job.getAttempts() > 1) {
+            resumed.increment();
+            log.warn("Reanudando borrado {} de {} {} en el paso {} (intento {})",
+                    job.getId(), job.getTargetType(), job.getTargetId(), job.getStep(), job.getAttempts());
+        }
+        return job;
+    }
+
+    /**
+     * Ejecuta los pasos restantes de un trabajo reclamado
+     */
+    void run(DeletionJob job) {
+        long start = System.nanoTime();
+        try {
+            while (job.getStep() != Step.DONE) {
+                execute(job, job.getStep());
+                job.setStep(next(job.getTargetType(), job.getStep()));
+                progress(job, new Update().set("step", job.getStep()));
+            }
+            finish(job, new Update().set("status", Status.COMPLETED).unset("lastError"));
+            outcome(job, "completed").increment();
+            log.info("Borrado de {} {} completado: {} inscripciones, {} roles, {} sub-eventos",
+                    job.getTargetType(), job.getTargetId(), job.getInscriptionsCancelled(),
+                    job.getRolesDeactivated(), job.getSubEventsDeleted());
+        } catch (LeaseLostException e) {
+            log.warn("El borrado {} pasó a otra ejecución; se abandona esta", job.getId());
+        } catch (RuntimeException e) {
+            recordFailure(job, e);
+        } finally {
+            Timer.builder(METRIC_PREFIX + ".duration")
+                    .tag("target", job.getTargetType().name())
+                    .register(meterRegistry)
+                    .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void execute(DeletionJob job, Step step) {
+        String targetId = job.getTargetId();
+        switch (step) {
+            case CANCEL_INSCRIPTIONS -> cancelInscriptions(job, eventInscriptions(targetId));
+            case CANCEL_SUBEVENT_INSCRIPTIONS -> {
+                List<String> subEventIds = job.getTargetType() == TargetType.SUBEVENT
+                        ? List.of(targetId)
+                        : subEventIds(targetId);
+                if (!subEventIds.isEmpty()) {
+                    cancelInscriptions(job, Criteria.where("subeventoId").in(subEventIds));
+                }
+            }
+            case DEACTIVATE_ROLES -> {
+                long modified = mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("evento.$id").in(refIds(targetId)).and("activo").is(true)),
+                        new Update().set("activo", false), EventRole.class).getModifiedCount();
+                // updateMulti no pasa por AfterSaveEvent: se invalida la cache de accesos a mano
+                eventAccessService.invalidateEvent(targetId);
+                job.setRolesDeactivated(job.getRolesDeactivated() + modified);
+                progress(job, new Update().inc("rolesDeactivated", modified));
+            }
+            case DELETE_SUBEVENTS -> {
+                inscriptionCounters.remove(EntityType.SUBEVENT, subEventIds(targetId));
+                long deleted = mongoTemplate.remove(
+                        Query.query(Criteria.where("eventoPrincipal.$id").in(refIds(targetId))),
+                        SubEvent.class).getDeletedCount();
+                job.setSubEventsDeleted(job.getSubEventsDeleted() + deleted);
+                progress(job, new Update().inc("subEventsDeleted", deleted));
+            }
+            case DELETE_TARGET -> {
+                inscriptionCounters.remove(job.getTargetType() == TargetType.EVENT ? EntityType.EVENT : EntityType.SUBEVENT,
+                        List.of(targetId));
+                if (job.getTargetType() == TargetType.EVENT) {
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(targetId)), Event.class);
+                } else {
+                    if (job.getParentEventId() != null) {
+                        partialUpdater.update(Event.class, job.getParentEventId(),
+                                new Update().pull("subeventIds", targetId));
+                    }
+                    mongoTemplate.remove(Query.query(Criteria.where("_id").is(targetId)), SubEvent.class);
+                }
+            }
+            case DONE -> { }
+        }
+    }
+
+    /**
+     * Cancela por lotes las inscripciones confirmadas del alcance dado, guardando el progreso tras cada lote
+     */
+    private void cancelInscriptions(DeletionJob job, Criteria scope) {
+        Query batch = Query.query(scope.and("estado").is("confirmada")).limit(batchSize);
+        batch.fields().include("_id");
+        String collection = mongoTemplate.getCollectionName(Inscription.class);
+
+        List<Object> ids;
+        do {
+            ids = mongoTemplate.find(batch, Document.class, collection).stream()
+                    .map(doc -> doc.get("_id"))
+                    .toList();
+            if (ids.isEmpty()) {
+                return;
+            }
+            long modified = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("_id").in(ids).and("estado").is("confirmada")),
+                    new Update().set("estado", "cancelada"), Inscription.class).getModifiedCount();
+            job.setInscriptionsCancelled(job.getInscriptionsCancelled() + modified);
+            progress(job, new Update().inc("inscriptionsCancelled", modified));
+        } while (ids.size() == batchSize);
+    }
+
+    /**
+     * Guarda progreso y renueva el bloqueo, solo si el trabajo sigue siendo de esta ejecución
+     */
+    private void progress(DeletionJob job, Update update) {
+        Instant now = Instant.now();
+        update.set("lockedUntil", now.plus(lockDuration)).set("updatedAt", now);
+        if (mongoTemplate.updateFirst(owned(job), update, DeletionJob.class).getMatchedCount() == 0) {
+            throw new LeaseLostException();
+        }
+    }
+
+    private void finish(DeletionJob job, Update update) {
+        Instant now = Instant.now();
+        update.set("finishedAt", now).set("updatedAt", now).unset("lockedUntil").unset("owner");
+        mongoTemplate.updateFirst(owned(job), update, DeletionJob.class);
+    }
+
+    private void recordFailure(DeletionJob job, RuntimeException error) {
+        String reason = error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName();
+        if (reason.length() > MAX_ERROR_LENGTH) {
+            reason = reason.substring(0, MAX_ERROR_LENGTH);
+        }
+
+        if (job.getAttempts() >= maxAttempts) {
+            finish(job, new Update().set("status", Status.FAILED).set("lastError", reason));
+            outcome(job, "failed").increment();
+            log.error("Borrado {} de {} {} descartado tras {} intentos en el paso {}: {}",
+                    job.getId(), job.getTargetType(), job.getTargetId(), job.getAttempts(), job.getStep(), reason);
+        } else {
+            // Se libera al vencer el bloqueo: el sondeo lo reanuda desde el paso guardado tras esa espera
+            Instant now = Instant.now();
+            mongoTemplate.updateFirst(owned(job), new Update()
+                    .set("lastError", reason)
+                    .set("updatedAt", now)
+                    .set("lockedUntil", now.plus(lockDuration))
+                    .unset("owner"), DeletionJob.class);
+            log.warn("Fallo en el borrado {} (paso {}, intento {}/{}): {}",
+                    job.getId(), job.getStep(), job.getAttempts(), maxAttempts, reason);
+        }
+    }
+
+    private Query owned(DeletionJob job) {
+        return Query.query(Criteria.where("_id").is(job.getId()).and("owner").is(job.getOwner()));
+    }
+
+    private Counter outcome(DeletionJob job, String outcome) {
+        return Counter.builder(METRIC_PREFIX + ".jobs")
+                .tag("target", job.getTargetType().name())
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private List<String> subEventIds(String eventId) {
+        Query query = Query.query(Criteria.where("eventoPrincipal.$id").in(refIds(eventId)));
+        query.fields().include("_id");
+        return mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(SubEvent.class)).stream()
+                .map(doc -> doc.get("_id").toString())
+                .toList();
+    }
+
+    private static Criteria eventInscriptions(String eventId) {
+        return Criteria.where("evento._id").is(new ObjectId(eventId));
+    }
+
+    // Las referencias DBRef pueden guardar el $id como ObjectId o como String (ver EventRoleRepository)
+    private static List<Object> refIds(String id) {
+        return ObjectId.isValid(id) ? List.of(new ObjectId(id), id) : List.of(id);
+    }
+
+    private static Step next(TargetType type, Step step) {
+        if (type == TargetType.SUBEVENT) {
+            return step == Step.CANCEL_SUBEVENT_INSCRIPTIONS ? Step.DELETE_TARGET : Step.DONE;
+        }
+        return switch (step) {
+            case CANCEL_INSCRIPTIONS -> Step.CANCEL_SUBEVENT_INSCRIPTIONS;
+            case CANCEL_SUBEVENT_INSCRIPTIONS -> Step.DEACTIVATE_ROLES;
+            case DEACTIVATE_ROLES -> Step.DELETE_SUBEVENTS;
+            case DELETE_SUBEVENTS -> Step.DELETE_TARGET;
+            case DELETE_TARGET, DONE -> Step.DONE;
+        };
+    }
+
+    // Otra instancia reclamó el trabajo tras vencer nuestro bloqueo
+    private static class LeaseLostException extends RuntimeException {
+    }
+}
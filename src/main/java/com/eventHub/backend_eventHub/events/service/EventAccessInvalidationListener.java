@@ -0,0 +1,55 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalida la cache de EventAccessService cuando se guardan o eliminan
+ * documentos de EventRole o AttendeeInvitation. Las invitaciones pendientes no
+ * dan acceso, así que guardarlas no invalida nada; el alta masiva invalida una
+ * sola vez al terminar el lote (ver AttendeeInvitationService).
+ */
+@Component
+@RequiredArgsConstructor
+public class EventAccessInvalidationListener implements ApplicationListener<MongoMappingEvent<?>> {
+
+    private static final String PENDING = "pendiente";
+
+    private final EventAccessService eventAccessService;
+
+    @Override
+    public void onApplicationEvent(MongoMappingEvent<?> event) {
+        if (event instanceof AfterSaveEvent<?> saveEvent) {
+            Object source = saveEvent.getSource();
+            if (source instanceof EventRole role) {
+                invalidate(role.getEvento() != null ? role.getEvento().getId() : null);
+            } else if (source instanceof AttendeeInvitation invitation && !isPending(invitation)) {
+                invalidate(invitation.getEvento() != null ? invitation.getEvento().getId() : null);
+            }
+        } else if (event instanceof AfterDeleteEvent<?> deleteEvent) {
+            // El evento de borrado solo trae el filtro, no el documento: se limpia todo
+            Class<?> type = deleteEvent.getType();
+            if (type == EventRole.class || type == AttendeeInvitation.class) {
+                eventAccessService.invalidateAll();
+            }
+        }
+    }
+
+    private boolean isPending(AttendeeInvitation invitation) {
+        return PENDING.equals(invitation.getEstado());
+    }
+
+    private void invalidate(String eventId) {
+        if (eventId == null) {
+            eventAccessService.invalidateAll();
+        } else {
+            eventAccessService.invalidateEvent(eventId);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import com.eventHub.backend_eventHub.events.repository.AttendeeInvitationRepository;
+import com.eventHub.backend_eventHub.events.repository.EventRoleRepository;
+import com.eventHub.backend_eventHub.utils.cache.BoundedTtlCache;
+import com.eventHub.backend_eventHub.utils.cache.CacheInvalidationBus;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Resuelve los permisos de un usuario sobre un evento (ver, editar, ser dueño).
+ *
+ * Consulta EventRole y AttendeeInvitation por índice y guarda el resultado en una
+ * cache acotada con TTL por (usuario, evento). La cache se invalida por evento
+ * cuando cambian roles o invitaciones (ver EventAccessInvalidationListener), y la
+ * invalidación se difunde al resto de réplicas por CacheInvalidationBus.
+ */
+@Service
+@Slf4j
+public class EventAccessService {
+
+    public static final String ROLE_CREATOR = "CREADOR";
+    public static final String ROLE_SUBCREATOR = "SUBCREADOR";
+
+    private static final String ACCESS_TOPIC = "eventAccess";
+
+    private final EventRoleRepository eventRoleRepo;
+    private final AttendeeInvitationRepository attendeeInvitationRepo;
+    private final CacheInvalidationBus invalidationBus;
+    private final BoundedTtlCache<AccessKey, EventAccess> accessCache;
+
+    public EventAccessService(EventRoleRepository eventRoleRepo,
+                              AttendeeInvitationRepository attendeeInvitationRepo,
+                              CacheInvalidationBus invalidationBus,
+                              @Value("${eventhub.access-cache.max-size:10000}") int maxSize,
+                              @Value("${eventhub.access-cache.ttl-seconds:60}") long ttlSeconds) {
+        this.eventRoleRepo = eventRoleRepo;
+        this.attendeeInvitationRepo = attendeeInvitationRepo;
+        this.invalidationBus = invalidationBus;
+        this.accessCache = new BoundedTtlCache<>(maxSize, Duration.ofSeconds(ttlSeconds));
+    }
+
+    /**
+     * Los cambios de roles o invitaciones hechos en otra réplica descartan los permisos locales
+     */
+    @PostConstruct
+    void subscribeToRemoteChanges() {
+        invalidationBus.register(ACCESS_TOPIC, this::applyRemoteInvalidation);
+    }
+
+    /**
+     * El usuario tiene rol CREADOR activo en el evento
+     */
+    public boolean isCreator(Users user, String eventId) {
+        return ROLE_CREATOR.equals(resolve(user, eventId).role());
+    }
+
+    /**
+     * El usuario tiene rol CREADOR o SUBCREADOR activo en el evento
+     */
+    public boolean canEdit(Users user, String eventId) {
+        return resolve(user, eventId).role() != null;
+    }
+
+    /**
+     * El usuario tiene rol SUBCREADOR activo en el evento
+     */
+    public boolean isSubcreator(Users user, String eventId) {
+        return ROLE_SUBCREATOR.equals(resolve(user, eventId).role());
+    }
+
+    /**
+     * El usuario tiene acceso a un evento privado: creador, organizadores,
+     * usuarios en invitedUsers o con invitación aceptada
+     */
+    public boolean canView(Users user, Event event) {
+        // Comprobaciones sobre el propio documento, sin consultas
+        if (event.getCreator() != null && user.getId().equals(event.getCreator().getId())) {
+            return true;
+        }
+        if (event.getInvitedUsers() != null && event.getInvitedUsers().contains(user.getUserName())) {
+            return true;
+        }
+
+        EventAccess access = resolve(user, event.getId());
+        return access.role() != null || access.acceptedInvitation();
+    }
+
+    /**
+     * Descarta los permisos cacheados de un evento
+     */
+    public void invalidateEvent(String eventId) {
+        evictEvent(eventId);
+        invalidationBus.publish(ACCESS_TOPIC, eventId);
+    }
+
+    public void invalidateAll() {
+        accessCache.invalidateAll();
+        invalidationBus.publish(ACCESS_TOPIC, CacheInvalidationBus.ALL_KEYS);
+    }
+
+    private void applyRemoteInvalidation(String eventId) {
+        if (CacheInvalidationBus.ALL_KEYS.equals(eventId)) {
+            accessCache.invalidateAll();
+        } else {
+            evictEvent(eventId);
+        }
+    }
+
+    private void evictEvent(String eventId) {
+        accessCache.invalidateIf(key -> key.eventId().equals(eventId));
+    }
+
+    private EventAccess resolve(Users user, String eventId) {
+        return accessCache.get(new AccessKey(user.getId(), eventId), key -> load(user, key));
+    }
+
+    private EventAccess load(Users user, AccessKey key) {
+        List<EventRole> roles = eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue(key.userId(), key.eventId());
+
+        String role = null;
+        for (EventRole eventRole : roles) {
+            if (ROLE_CREATOR.equals(eventRole.getRol())) {
+                role = ROLE_CREATOR;
+                break;
+            }
+            if (ROLE_SUBCREATOR.equals(eventRole.getRol())) {
+                role = ROLE_SUBCREATOR;
+            }
+        }
+
+        // Con rol de organizador no hace falta consultar invitaciones
+        boolean acceptedInvitation = role == null && attendeeInvitationRepo.existsAcceptedInvitation(
+                key.eventId(), user.getEmail(), key.userId());
+
+        log.debug("Permisos resueltos para usuario {} en evento {}: rol={}, invitado={}",
+                key.userId(), key.eventId(), role, acceptedInvitation);
+        return new EventAccess(role, acceptedInvitation);
+    }
+
+    private record AccessKey(String userId, String eventId) {
+    }
+
+    private record EventAccess(String role, boolean acceptedInvitation) {
+    }
+}
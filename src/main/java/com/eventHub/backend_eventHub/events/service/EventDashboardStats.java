@@ -0,0 +1,189 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.config.CacheConfig;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.DateOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.data.mongodb.core.aggregation.Aggregation.*;
+
+/**
+ * Estadísticas del dashboard de administración de eventos.
+ *
+ * Todos los desgloses de eventos (por estado, bloqueados, públicos/privados/destacados,
+ * creados por día y por categoría) salen de una sola agregación $facet sobre event_summary;
+ * las inscripciones por día son una segunda agregación sobre inscripciones. El resultado
+ * se cachea cache.admin-dashboard.ttl-seconds y solo un hilo por réplica lo recalcula al
+ * vencer, así que muchos administradores refrescando no multiplican la carga.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventDashboardStats {
+
+    public static final int DEFAULT_DAYS = 30;
+    public static final int MAX_DAYS = 365;
+
+    private static final String DAY_FORMAT = "%Y-%m-%d";
+
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceDataRegistry referenceData;
+    private final CacheManager cacheManager;
+
+    private final Object computeLock = new Object();
+
+    /**
+     * Estadísticas con series diarias de los últimos 'days' días (incluido hoy, UTC)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> get(int days) {
+        if (days < 1 || days > MAX_DAYS) {
+            throw new IllegalArgumentException("El rango debe estar entre 1 y " + MAX_DAYS + " días");
+        }
+
+        Cache cache = cacheManager.getCache(CacheConfig.ADMIN_DASHBOARD_CACHE);
+        if (cache == null) {
+            return compute(days);
+        }
+        Map<String, Object> cached = cache.get(days, Map.class);
+        if (cached != null) {
+            return cached;
+        }
+        synchronized (computeLock) {
+            // Quien esperaba el lock encuentra el valor que acaba de calcular el anterior
+            cached = cache.get(days, Map.class);
+            if (cached == null) {
+                cached = compute(days);
+                cache.put(days, cached);
+            }
+            return cached;
+        }
+    }
+
+    Map<String, Object> compute(int days) {
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate firstDay = today.minusDays(days - 1L);
+        Instant since = firstDay.atStartOfDay(ZoneOffset.UTC).toInstant();
+
+        Document facets = mongoTemplate.aggregate(eventFacets(since), EventSummary.class, Document.class)
+                .getUniqueMappedResult();
+        List<Document> registrations = mongoTemplate.aggregate(registrationsPerDay(since), Inscription.class,
+                Document.class).getMappedResults();
+
+        Map<String, Long> byStatus = new HashMap<>();
+        long total = 0;
+        for (Document row : facetRows(facets, "byStatus")) {
+            long count = number(row.get("count"));
+            byStatus.put(row.get("_id") != null ? row.get("_id").toString() : null, count);
+            total += count;
+        }
+
+        Map<String, Long> activeByPrivacy = new HashMap<>();
+        long featured = 0;
+        for (Document row : facetRows(facets, "active")) {
+            activeByPrivacy.put(String.valueOf(row.get("_id")), number(row.get("count")));
+            featured += number(row.get("featured"));
+        }
+
+        List<Document> blocked = facetRows(facets, "blocked");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("total", total);
+        stats.put("active", byStatus.getOrDefault(referenceData.stateId(StateList.Active), 0L));
+        stats.put("canceled", byStatus.getOrDefault(referenceData.stateId(StateList.Canceled), 0L));
+        stats.put("pending", byStatus.getOrDefault(referenceData.stateId(StateList.Pending), 0L));
+        stats.put("inactive", byStatus.getOrDefault(referenceData.stateId(StateList.Inactive), 0L));
+        stats.put("blocked_state", byStatus.getOrDefault(referenceData.stateId(StateList.Blocked), 0L));
+        stats.put("blocked", blocked.isEmpty() ? 0L : number(blocked.get(0).get("count")));
+        stats.put("public_events", activeByPrivacy.getOrDefault("public", 0L));
+        stats.put("private_events", activeByPrivacy.getOrDefault("private", 0L));
+        stats.put("featured_events", featured);
+
+        stats.put("days", days);
+        stats.put("events_created_per_day", dailySeries(facetRows(facets, "createdPerDay"), firstDay, today));
+        stats.put("registrations_per_day", dailySeries(registrations, firstDay, today));
+        stats.put("events_per_category", categories(facetRows(facets, "byCategory")));
+        stats.put("generatedAt", Instant.now().toString());
+        return stats;
+    }
+
+    private Aggregation eventFacets(Instant since) {
+        String activeId = referenceData.stateId(StateList.Active);
+        return newAggregation(
+                facet(group("statusId").count().as("count")).as("byStatus")
+                        .and(match(Criteria.where("bloqueado").is(true)),
+                                count().as("count")).as("blocked")
+                        .and(match(Criteria.where("statusId").is(activeId)),
+                                group("privacy").count().as("count")
+                                        .sum(ConditionalOperators.when(Criteria.where("destacado").is(true))
+                                                .then(1).otherwise(0)).as("featured")).as("active")
+                        .and(match(Criteria.where("createdAt").gte(since)),
+                                project().and(DateOperators.dateOf("createdAt").toString(DAY_FORMAT)).as("day"),
+                                group("day").count().as("count")).as("createdPerDay")
+                        .and(group("categoriaId").count().as("count").first("categoria").as("name"),
+                                sort(Sort.Direction.DESC, "count")).as("byCategory"));
+    }
+
+    private Aggregation registrationsPerDay(Instant since) {
+        // Usa tipo_fecha_inscripcion_idx: solo lee las inscripciones del rango
+        return newAggregation(
+                match(Criteria.where("tipoInscripcion").is("evento_principal").and("fechaInscripcion").gte(since)),
+                project().and(DateOperators.dateOf("fechaInscripcion").toString(DAY_FORMAT)).as("day"),
+                group("day").count().as("count"));
+    }
+
+    // Serie con un punto por día; los días sin datos valen 0
+    private static List<Map<String, Object>> dailySeries(List<Document> rows, LocalDate firstDay, LocalDate lastDay) {
+        Map<String, Long> counts = new HashMap<>();
+        rows.forEach(row -> counts.put(String.valueOf(row.get("_id")), number(row.get("count"))));
+
+        List<Map<String, Object>> series = new ArrayList<>();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            Map<String, Object> point = new LinkedHashMap<>();
+            point.put("day", day.toString());
+            point.put("count", counts.getOrDefault(day.toString(), 0L));
+            series.add(point);
+        }
+        return series;
+    }
+
+    private static List<Map<String, Object>> categories(List<Document> rows) {
+        List<Map<String, Object>> categories = new ArrayList<>(rows.size());
+        for (Document row : rows) {
+            Map<String, Object> category = new LinkedHashMap<>();
+            category.put("categoriaId", row.get("_id"));
+            category.put("name", row.get("name"));
+            category.put("count", number(row.get("count")));
+            categories.add(category);
+        }
+        return categories;
+    }
+
+    private static List<Document> facetRows(Document facets, String name) {
+        return facets != null ? facets.getList(name, Document.class, List.of()) : List.of();
+    }
+
+    private static long number(Object value) {
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+}
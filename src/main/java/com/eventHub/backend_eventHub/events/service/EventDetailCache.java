@@ -0,0 +1,64 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.config.CacheConfig;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cache del documento completo de un evento para el detalle (GET /api/events/{id}).
+ *
+ * Solo cachea la carga; las comprobaciones de privacidad y acceso se siguen haciendo en
+ * EventService por petición. Se invalida al guardar o borrar el evento y tras las
+ * reservas/liberaciones atómicas de cupo, que no pasan por save().
+ */
+@Component
+@RequiredArgsConstructor
+public class EventDetailCache implements ApplicationListener<MongoMappingEvent<?>> {
+
+    private final EventRepository eventRepo;
+    private final CacheManager cacheManager;
+
+    @Cacheable(value = CacheConfig.EVENT_DETAIL_CACHE, key = "#id")
+    public Event load(String id) {
+        return eventRepo.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
+    }
+
+    public void evict(String eventId) {
+        Cache cache = cacheManager.getCache(CacheConfig.EVENT_DETAIL_CACHE);
+        if (cache != null && eventId != null) {
+            cache.evict(eventId);
+        }
+    }
+
+    public void clear() {
+        Cache cache = cacheManager.getCache(CacheConfig.EVENT_DETAIL_CACHE);
+        if (cache != null) {
+            cache.clear();
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(MongoMappingEvent<?> event) {
+        if (event instanceof AfterSaveEvent<?> saveEvent && saveEvent.getSource() instanceof Event saved) {
+            evict(saved.getId());
+        } else if (event instanceof AfterDeleteEvent<?> deleteEvent && deleteEvent.getType() == Event.class) {
+            // El evento de borrado solo trae el filtro: se usa su _id si lo tiene
+            Object id = deleteEvent.getSource().get("_id");
+            if (id != null) {
+                evict(id.toString());
+            } else {
+                clear();
+            }
+        }
+    }
+}
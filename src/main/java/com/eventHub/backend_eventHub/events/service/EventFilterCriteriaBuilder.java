@@ -0,0 +1,179 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
+import com.eventHub.backend_eventHub.events.dto.EventFilterDto;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.geo.Circle;
+import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.geo.GeoJsonPolygon;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Traduce cualquier combinación de campos de EventFilterDto a un único Criteria
+ * sobre event_summary. Todos los campos informados se combinan con AND; el orden y
+ * el límite los aplica KeysetPager en el servidor.
+ *
+ * Índices que cubren las combinaciones habituales: ver EventSummary.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventFilterCriteriaBuilder {
+
+    private static final double EARTH_RADIUS_KM = 6378.1;
+    private static final int DEFAULT_RADIUS_KM = 10;
+
+    private final ReferenceDataRegistry referenceData;
+
+    /**
+     * Filtro de los listados públicos y accesibles: siempre statusId = Active, el
+     * campo status del DTO se ignora para que no pueda ampliar el listado
+     */
+    public Criteria build(EventFilterDto filter) {
+        return withGeo(attributeCriteria(filter, StateList.Active), filter);
+    }
+
+    /**
+     * Igual que build pero sin radio ni bounding box: en la búsqueda por cercanía
+     * el radio y el orden por distancia los aplica $geoNear
+     */
+    public Criteria buildWithoutGeo(EventFilterDto filter) {
+        return combine(attributeCriteria(filter, StateList.Active));
+    }
+
+    /**
+     * Filtro para consultas de administración o acotadas al creador: aquí sí se
+     * acepta el status del DTO; si no viene se usa el estado por defecto
+     */
+    public Criteria buildScoped(EventFilterDto filter, StateList defaultStatus) {
+        StateList status = filter != null && hasText(filter.getStatus())
+                ? parseStatus(filter.getStatus())
+                : defaultStatus;
+        return withGeo(attributeCriteria(filter, status), filter);
+    }
+
+    /**
+     * Radio de búsqueda en km (por defecto 10)
+     */
+    public int radiusKm(EventFilterDto filter) {
+        return filter.getRadiusKm() != null ? filter.getRadiusKm() : DEFAULT_RADIUS_KM;
+    }
+
+    private List<Criteria> attributeCriteria(EventFilterDto filter, StateList status) {
+        List<Criteria> parts = new ArrayList<>();
+        parts.add(Criteria.where("statusId").is(referenceData.stateId(status)));
+
+        if (filter == null) {
+            return parts;
+        }
+
+        // 🔍 Texto libre: índice de texto de event_summary (title, tags, organizer, description)
+        if (hasText(filter.getSearchText())) {
+            parts.add(textSearch(filter.getSearchText()));
+        }
+
+        // 🏷️ Igualdades simples
+        if (hasText(filter.getCategoriaId())) {
+            parts.add(Criteria.where("categoriaId").is(filter.getCategoriaId()));
+        }
+        if (hasText(filter.getType())) {
+            parts.add(Criteria.where("tipo").is(filter.getType()));
+        }
+        if (hasText(filter.getTicketType())) {
+            parts.add(Criteria.where("ticketType").is(filter.getTicketType()));
+        }
+        if (hasText(filter.getPrivacy())) {
+            parts.add(Criteria.where("privacy").is(filter.getPrivacy()));
+        }
+        if (hasText(filter.getUbicacionTipo())) {
+            parts.add(Criteria.where("ubicacionTipo").is(filter.getUbicacionTipo()));
+        }
+        if (filter.getDestacado() != null) {
+            parts.add(Criteria.where("destacado").is(filter.getDestacado()));
+        }
+
+        // 📅 Rango de fechas: empieza después de startDate y termina antes de endDate
+        if (filter.getStartDate() != null) {
+            parts.add(Criteria.where("start").gte(filter.getStartDate()));
+        }
+        if (filter.getEndDate() != null) {
+            parts.add(Criteria.where("end").lte(filter.getEndDate()));
+        }
+
+        // 🎪 Con cupos: inscripciones abiertas y sin límite o currentAttendees < maxAttendees
+        if (Boolean.TRUE.equals(filter.getConDisponibilidad())) {
+            parts.add(Criteria.where("permitirInscripciones").is(true));
+            parts.add(new Criteria().orOperator(
+                    Criteria.where("maxAttendees").is(null),
+                    Criteria.expr(ComparisonOperators.Lt.valueOf("currentAttendees").lessThan("maxAttendees"))));
+        }
+
+        // 🏷️ Cualquiera de los tags indicados
+        if (filter.getTags() != null && !filter.getTags().isEmpty()) {
+            parts.add(Criteria.where("tags").in(filter.getTags()));
+        }
+
+        return parts;
+    }
+
+    private List<Criteria> geoCriteria(EventFilterDto filter) {
+        List<Criteria> parts = new ArrayList<>();
+
+        // 📍 Radio alrededor de un punto ($centerSphere sobre el índice 2dsphere)
+        if (filter.getLatitude() != null && filter.getLongitude() != null) {
+            parts.add(Criteria.where("coordinates").withinSphere(new Circle(
+                    new Point(filter.getLongitude(), filter.getLatitude()), radiusKm(filter) / EARTH_RADIUS_KM)));
+        }
+
+        // 🗺️ Bounding box del mapa como polígono GeoJSON
+        if (filter.getMinLatitude() != null && filter.getMinLongitude() != null
+                && filter.getMaxLatitude() != null && filter.getMaxLongitude() != null) {
+            Point southWest = new Point(filter.getMinLongitude(), filter.getMinLatitude());
+            Point northEast = new Point(filter.getMaxLongitude(), filter.getMaxLatitude());
+            parts.add(Criteria.where("coordinates").within(new GeoJsonPolygon(
+                    southWest,
+                    new Point(northEast.getX(), southWest.getY()),
+                    northEast,
+                    new Point(southWest.getX(), northEast.getY()),
+                    southWest)));
+        }
+        return parts;
+    }
+
+    private Criteria withGeo(List<Criteria> parts, EventFilterDto filter) {
+        if (filter != null) {
+            parts.addAll(geoCriteria(filter));
+        }
+        return combine(parts);
+    }
+
+    private Criteria combine(List<Criteria> parts) {
+        return parts.size() == 1 ? parts.get(0) : new Criteria().andOperator(parts);
+    }
+
+    /**
+     * Condición $text; el texto se pasa como términos de búsqueda, nunca como patrón
+     */
+    private Criteria textSearch(String text) {
+        return Criteria.where("$text").is(new Document("$search", text.trim()));
+    }
+
+    private StateList parseStatus(String status) {
+        for (StateList value : StateList.values()) {
+            if (value.name().equalsIgnoreCase(status.trim())) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Estado inválido: " + status);
+    }
+
+    private boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,138 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.SubEvent;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Migración: extrae el historial embebido (campo history) de eventos y sub-eventos a la
+ * colección event_history y lo elimina del documento.
+ *
+ * Recorre solo los documentos que aún tienen history, en lotes: por lote borra las
+ * entradas migradas de un intento anterior interrumpido, inserta las nuevas con un
+ * insertMany y hace un $unset de history. Es idempotente, y solo la ejecuta la réplica
+ * que obtiene el lock "event-history-migration" para no duplicar entradas al arrancar
+ * varias a la vez.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventHistoryMigration {
+
+    static final String LOCK_NAME = "event-history-migration";
+
+    private static final int BATCH_SIZE = 500;
+    // Si la réplica cae a mitad de la migración, otra la retoma al vencer el lock
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoJobLock jobLock;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        if (!jobLock.tryAcquire(LOCK_NAME, LOCK_TTL)) {
+            log.info("Otra réplica está migrando el historial embebido; se omite");
+            return;
+        }
+        try {
+            migrateAll();
+        } finally {
+            jobLock.release(LOCK_NAME);
+        }
+    }
+
+    private void migrateAll() {
+        for (Map.Entry<Class<?>, EntityType> source : Map.<Class<?>, EntityType>of(
+                Event.class, EntityType.EVENT, SubEvent.class, EntityType.SUBEVENT).entrySet()) {
+            try {
+                long migrated = migrate(source.getKey(), source.getValue());
+                if (migrated > 0) {
+                    log.info("Historial embebido migrado a event_history: {} entradas de {}",
+                            migrated, source.getKey().getSimpleName());
+                }
+            } catch (DataAccessException e) {
+                log.error("No se pudo migrar el historial de {}: {}", source.getKey().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    long migrate(Class<?> entityClass, EntityType entityType) {
+        Query pending = new Query(Criteria.where("history").exists(true));
+        pending.fields().include("_id").include("history");
+        pending.cursorBatchSize(BATCH_SIZE);
+
+        long migrated = 0;
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        String collection = mongoTemplate.getCollectionName(entityClass);
+        try (Stream<Document> documents = mongoTemplate.stream(pending, Document.class, collection)) {
+            for (Document document : (Iterable<Document>) documents::iterator) {
+                batch.add(document);
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += migrateBatch(batch, entityType, collection);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(batch, entityType, collection);
+        }
+        return migrated;
+    }
+
+    private int migrateBatch(List<Document> batch, EntityType entityType, String collection) {
+        List<Object> ids = new ArrayList<>(batch.size());
+        List<String> entityIds = new ArrayList<>(batch.size());
+        List<EventHistoryEntry> entries = new ArrayList<>();
+        for (Document document : batch) {
+            Object id = document.get("_id");
+            ids.add(id);
+            entityIds.add(id.toString());
+            for (Document record : document.getList("history", Document.class, List.of())) {
+                entries.add(EventHistoryEntry.builder()
+                        .entityType(entityType)
+                        .entityId(id.toString())
+                        .field(record.getString("field"))
+                        .oldValue(record.getString("oldValue"))
+                        .newValue(record.getString("newValue"))
+                        .changedAt(toInstant(record.get("changedAt")))
+                        .migrated(true)
+                        .build());
+            }
+        }
+
+        // Restos de un intento anterior que se cortó antes del $unset
+        mongoTemplate.remove(Query.query(Criteria.where("entityType").is(entityType)
+                .and("entityId").in(entityIds)
+                .and("migrated").is(true)), EventHistoryEntry.class);
+        if (!entries.isEmpty()) {
+            mongoTemplate.insert(entries, EventHistoryEntry.class);
+        }
+        mongoTemplate.updateMulti(Query.query(Criteria.where("_id").in(ids)), new Update().unset("history"), collection);
+        return entries.size();
+    }
+
+    private Instant toInstant(Object value) {
+        return value instanceof Date date ? date.toInstant() : null;
+    }
+}
@@ -0,0 +1,73 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.HistoryRecord;
+import com.eventHub.backend_eventHub.events.repository.KeysetPager;
+import com.eventHub.backend_eventHub.events.repository.KeysetSort;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Historial de cambios de eventos y sub-eventos en la colección event_history.
+ *
+ * Los cambios de una misma operación se escriben con un solo insertMany; nada se
+ * actualiza ni se borra. La lectura es por rango de fechas [from, to) con paginación
+ * por cursor, más recientes primero.
+ */
+@Service
+@RequiredArgsConstructor
+public class EventHistoryService {
+
+    private final MongoTemplate mongoTemplate;
+    private final KeysetPager keysetPager;
+
+    /**
+     * Registra los cambios de una operación en un único insert
+     */
+    public void record(EntityType entityType, String entityId, String changedBy, List<HistoryRecord> changes) {
+        if (changes == null || changes.isEmpty()) {
+            return;
+        }
+        List<EventHistoryEntry> entries = changes.stream()
+                .map(change -> EventHistoryEntry.of(entityType, entityId, changedBy, change))
+                .toList();
+        mongoTemplate.insert(entries, EventHistoryEntry.class);
+    }
+
+    public void record(EntityType entityType, String entityId, String changedBy,
+                       String field, String oldValue, String newValue) {
+        record(entityType, entityId, changedBy, List.of(HistoryRecord.builder()
+                .field(field)
+                .oldValue(oldValue)
+                .newValue(newValue)
+                .changedAt(Instant.now())
+                .build()));
+    }
+
+    /**
+     * Página del historial de una entidad entre from (incluido) y to (excluido); ambos opcionales
+     */
+    public CursorPageDto<EventHistoryEntry> page(EntityType entityType, String entityId,
+                                                 Instant from, Instant to, String cursor, Integer size) {
+        if (from != null && to != null && !from.isBefore(to)) {
+            throw new IllegalArgumentException("El rango de fechas es inválido: 'from' debe ser anterior a 'to'");
+        }
+
+        Criteria filter = Criteria.where("entityType").is(entityType).and("entityId").is(entityId);
+        if (from != null && to != null) {
+            filter.and("changedAt").gte(from).lt(to);
+        } else if (from != null) {
+            filter.and("changedAt").gte(from);
+        } else if (to != null) {
+            filter.and("changedAt").lt(to);
+        }
+        return keysetPager.page(EventHistoryEntry.class, filter, KeysetSort.CHANGED_DESC, cursor, size);
+    }
+}
@@ -4,16 +4,27 @@ package com.eventHub.backend_eventHub.events.service;
 
 import com.eventHub.backend_eventHub.events.dto.*;
 import com.eventHub.backend_eventHub.events.entities.*;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
 import com.eventHub.backend_eventHub.events.repository.*;
 import com.eventHub.backend_eventHub.domain.entities.*;
-import com.eventHub.backend_eventHub.domain.repositories.*;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
+import org.bson.types.ObjectId;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.Metrics;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.NearQuery;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -21,111 +32,140 @@ import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 
 @Service
 public class EventService {
 
-    private String activeStateId = null; // Cache simple
     @Autowired private EventRepository eventRepo;
     @Autowired private UserRepository userRepo;
-    @Autowired private StateRepository stateRepo;
-    @Autowired private CategoryRepository categoryRepo;
-    @Autowired private InscriptionRepository inscriptionRepo;
+    @Autowired private ReferenceDataRegistry referenceData;
     @Autowired private EventRoleRepository eventRoleRepo;
-    @Autowired private SubEventRepository subEventRepo;
     @Autowired private InvitationService invitationService;
-    @Autowired private AttendeeInvitationRepository attendeeInvitationRepo;
+    @Autowired private EventAccessService eventAccessService;
+    @Autowired private KeysetPager keysetPager;
+    @Autowired private MongoTemplate mongoTemplate;
+    @Autowired private EventFilterCriteriaBuilder filterCriteriaBuilder;
+    @Autowired private EventDetailCache eventDetailCache;
+    @Autowired private EventHistoryService eventHistoryService;
+    @Autowired private PartialUpdater partialUpdater;
+    @Autowired private CascadeDeletionService cascadeDeletionService;
 
     /**
-     * Lista eventos públicos y no bloqueados para usuarios NO AUTENTICADOS
+     * Lista eventos públicos y no bloqueados para usuarios NO AUTENTICADOS (paginado por cursor)
      */
     @Transactional(readOnly = true)
-    public List<EventSummaryDto> listPublicEvents(EventFilterDto filter) {
-        String activeStateId = getActiveStateId(); // 🚀 Usar cache
-        List<Event> events;
+    public CursorPageDto<EventSummaryDto> listPublicEvents(EventFilterDto filter, String cursor, Integer size) {
+        return pageSummaries(publicListingCriteria(filter), KeysetSort.START_ASC, cursor, size);
+    }
 
-        if (filter == null || isFilterEmpty(filter)) {
-            events = eventRepo.findPublicEventsForUsers(activeStateId);
-        } else {
-            events = applyPublicFilters(filter, activeStateId);
+    public Stream<EventSummaryDto> streamPublicEvents(EventFilterDto filter) {
+        return streamSummaries(publicListingCriteria(filter), KeysetSort.START_ASC);
+    }
+
+    /**
+     * Búsqueda de texto en eventos públicos ordenada por relevancia ($text + textScore)
+     */
+    @Transactional(readOnly = true)
+    public Page<EventSummaryDto> searchPublicEventsByRelevance(String text, int page, int size) {
+        if (text == null || text.trim().isEmpty()) {
+            throw new IllegalArgumentException("El texto de búsqueda es obligatorio");
         }
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), KeysetPager.MAX_PAGE_SIZE));
+
+        // TextQuery proyecta el textScore en EventSummary.score y ordena por él (desempate por _id)
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text.trim()))
+                .sortByScore()
+                .addCriteria(publicListingCriteria(null))
+                .with(Sort.by("_id"))
+                .with(pageable);
 
-        return events.stream()
+        List<EventSummaryDto> content = mongoTemplate.find(query, EventSummary.class).stream()
                 .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+                .toList();
+        return PageableExecutionUtils.getPage(content, pageable,
+                () -> mongoTemplate.count(Query.of(query).limit(-1).skip(-1), EventSummary.class));
     }
 
     /**
-     * Lista eventos accesibles para usuario AUTENTICADO (públicos + privados donde tiene acceso)
+     * Eventos públicos cercanos a un punto, ordenados por distancia ($geoNear sobre event_summary)
      */
     @Transactional(readOnly = true)
-    public List<EventSummaryDto> listAccessibleEvents(String username, EventFilterDto filter) {
-        List<Event> events;
-
-        if (filter == null || isFilterEmpty(filter)) {
-            events = eventRepo.findAccessibleEventsForUser(username, "Active");
-        } else {
-            events = applyAuthenticatedFilters(username, filter);
+    public List<EventSummaryDto> listNearbyEvents(EventFilterDto filter, Integer size) {
+        if (filter == null || filter.getLatitude() == null || filter.getLongitude() == null) {
+            throw new IllegalArgumentException("Latitud y longitud son obligatorias");
         }
-
-        return events.stream()
-                .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+        if (filter.getSearchText() != null && !filter.getSearchText().trim().isEmpty()) {
+            // $geoNear no se puede combinar con $text
+            throw new IllegalArgumentException("La búsqueda por cercanía no admite texto libre");
+        }
+        int limit = size == null || size <= 0 ? KeysetPager.DEFAULT_PAGE_SIZE : Math.min(size, KeysetPager.MAX_PAGE_SIZE);
+
+        Criteria criteria = new Criteria().andOperator(
+                Criteria.where("privacy").is("public").and("bloqueado").is(false),
+                filterCriteriaBuilder.buildWithoutGeo(filter));
+        NearQuery near = NearQuery.near(new GeoJsonPoint(filter.getLongitude(), filter.getLatitude()), Metrics.KILOMETERS)
+                .maxDistance(filterCriteriaBuilder.radiusKm(filter), Metrics.KILOMETERS)
+                .query(new Query(criteria))
+                .limit(limit);
+
+        return mongoTemplate.geoNear(near, EventSummary.class).getContent().stream()
+                .map(result -> {
+                    EventSummaryDto dto = mapToSummaryDto(result.getContent());
+                    dto.setDistanciaKm(result.getDistance().getValue());
+                    return dto;
+                })
+                .toList();
     }
 
     /**
-     * Lista eventos destacados PÚBLICOS para promoción
+     * Lista eventos accesibles para usuario AUTENTICADO (públicos + privados donde tiene acceso)
      */
     @Transactional(readOnly = true)
-    public List<EventSummaryDto> listFeaturedEvents() {
-        List<Event> events = eventRepo.findFeaturedPublicEvents("Active");
-        return events.stream()
-                .filter(event -> isEventActive(event)) // Filtrar por estado activo
-                .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<EventSummaryDto> listAccessibleEvents(String username, EventFilterDto filter,
+                                                               String cursor, Integer size) {
+        return pageSummaries(accessibleSearchCriteria(username, filter), KeysetSort.START_ASC, cursor, size);
     }
 
-    private boolean isEventActive(Event event) {
-        return event.getStatus() != null &&
-                "Active".equals(event.getStatus().getNameState().name());
+    public Stream<EventSummaryDto> streamAccessibleEvents(String username, EventFilterDto filter) {
+        return streamSummaries(accessibleSearchCriteria(username, filter), KeysetSort.START_ASC);
     }
 
     /**
-     * Lista próximos eventos PÚBLICOS
+     * Lista eventos destacados PÚBLICOS para promoción
      */
     @Transactional(readOnly = true)
-    public List<EventSummaryDto> listUpcomingEvents() {
-        String activeStateId = getActiveStateId(); // 🚀 Una sola consulta
-        List<Event> events = eventRepo.findUpcomingPublicActiveEvents(activeStateId, Instant.now());
+    public CursorPageDto<EventSummaryDto> listFeaturedEvents(String cursor, Integer size) {
+        return pageSummaries(featuredCriteria(), KeysetSort.START_ASC, cursor, size);
+    }
 
-        return events.stream()
-                .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+    public Stream<EventSummaryDto> streamFeaturedEvents() {
+        return streamSummaries(featuredCriteria(), KeysetSort.START_ASC);
     }
+
     /**
-     * Obtiene el ID del estado Active (se cachea para evitar consultas repetidas)
+     * Lista próximos eventos PÚBLICOS
      */
-    private String getActiveStateId() {
-        if (activeStateId == null) {
-            State activeState = stateRepo.findByNameState(StateList.Active)
-                    .orElseThrow(() -> new RuntimeException("Estado Active no encontrado"));
-            activeStateId = activeState.getId();
-            System.out.println("✅ Estado Active ID obtenido: " + activeStateId);
-        }
-        return activeStateId;
+    @Transactional(readOnly = true)
+    public CursorPageDto<EventSummaryDto> listUpcomingEvents(String cursor, Integer size) {
+        return pageSummaries(upcomingCriteria(), KeysetSort.START_ASC, cursor, size);
+    }
+
+    public Stream<EventSummaryDto> streamUpcomingEvents() {
+        return streamSummaries(upcomingCriteria(), KeysetSort.START_ASC);
     }
 
     /**
      * Lista eventos recientes PÚBLICOS
      */
     @Transactional(readOnly = true)
-    public List<EventSummaryDto> listRecentEvents() {
-        Pageable pageable = PageRequest.of(0, 10, Sort.by(Sort.Direction.DESC, "createdAt"));
-        List<Event> events = eventRepo.findRecentPublicEvents(pageable);
-        return events.stream()
-                .map(this::mapToSummaryDto)
-                .collect(Collectors.toList());
+    public CursorPageDto<EventSummaryDto> listRecentEvents(String cursor, Integer size) {
+        return pageSummaries(recentCriteria(), KeysetSort.CREATED_DESC, cursor, size);
+    }
+
+    public Stream<EventSummaryDto> streamRecentEvents() {
+        return streamSummaries(recentCriteria(), KeysetSort.CREATED_DESC);
     }
 
     /**
@@ -142,8 +182,7 @@ public class EventService {
      */
     @Transactional(readOnly = true)
     public Event getEventDetails(String id, String username) {
-        Event event = eventRepo.findById(id)
-                .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
+        Event event = eventDetailCache.load(id);
 
         if (username != null) {
             //  Usuario autenticado - verificar acceso según privacidad
@@ -174,9 +213,6 @@ public class EventService {
             throw new IllegalArgumentException("Este evento no está activo");
         }
 
-        // Cargar subeventos
-        List<SubEvent> subEvents = subEventRepo.findByEventoPrincipalId(id);
-
         return event;
     }
 
@@ -188,21 +224,18 @@ public class EventService {
         Users creator = userRepo.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no existe: " + username));
 
-        State activeState = stateRepo.findByNameState(StateList.Active)
+        State activeState = referenceData.findState(StateList.Active)
                 .orElseThrow(() -> new IllegalArgumentException("Estado Active no encontrado"));
 
-        Category category = categoryRepo.findById(dto.getCategoriaId())
+        Category category = referenceData.findCategory(dto.getCategoriaId())
                 .orElseThrow(() -> new IllegalArgumentException("Categoría no encontrada"));
 
         Event event = mapDtoToEvent(dto, creator, activeState, category);
         event.setCreatedAt(Instant.now());
         event.setUpdatedAt(Instant.now());
 
-        // Inicializar historial
-        event.setHistory(new ArrayList<>());
-        addHistoryRecord(event.getHistory(), "creation", null, "Event created");
-
         event = eventRepo.save(event);
+        eventHistoryService.record(EntityType.EVENT, event.getId(), username, "creation", null, "Event created");
 
         // Crear rol de CREADOR
         EventRole creatorRole = EventRole.builder()
@@ -218,92 +251,85 @@ public class EventService {
     }
 
     /**
-     * Lista eventos creados por un usuario
+     * Lista eventos creados por un usuario (más recientes primero)
      */
     @Transactional(readOnly = true)
-    public List<Event> listMyCreatedEvents(String username) {
+    public CursorPageDto<Event> listMyCreatedEvents(String username, String cursor, Integer size) {
         // Buscar el usuario por username
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
 
-        // Usar el método que funciona: findByCreatorId
-        return eventRepo.findByCreatorId(user.getId());
+        Criteria byCreator = Criteria.where("creator.$id").is(new ObjectId(user.getId()));
+        return keysetPager.page(Event.class, byCreator, KeysetSort.CREATED_DESC, cursor, size);
     }
 
     /**
-     * Lista eventos donde el usuario es subcreador
+     * Lista eventos donde el usuario es subcreador (más recientes primero)
      */
     @Transactional(readOnly = true)
-    public List<Event> listEventsAsSubcreator(String username) {
+    public CursorPageDto<Event> listEventsAsSubcreator(String username, String cursor, Integer size) {
         // Buscar el usuario por username
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new RuntimeException("Usuario no encontrado: " + username));
 
-        // Usar findByUsuarioIdAndRolAndActivoTrue en lugar de findByUsuarioUserNameAndRolAndActivoTrue
-        List<EventRole> roles = eventRoleRepo.findByUsuarioIdAndRolAndActivoTrue(user.getId(), "SUBCREADOR");
+        // Solo los IDs de evento de los roles, sin resolver cada DBRef
+        Query rolesQuery = new Query(Criteria.where("usuario.$id").is(new ObjectId(user.getId()))
+                .and("rol").is("SUBCREADOR")
+                .and("activo").is(true));
+        List<ObjectId> eventIds = mongoTemplate.findDistinct(rolesQuery, "evento.$id", EventRole.class, ObjectId.class);
 
-        return roles.stream()
-                .map(role -> role.getEvento())
-                .collect(Collectors.toList());
+        return keysetPager.page(Event.class, Criteria.where("_id").in(eventIds), KeysetSort.CREATED_DESC, cursor, size);
     }
 
     /**
-     * Actualiza un evento (solo creador o subcreador)
+     * Actualiza un evento (solo creador o subcreador).
+     * Solo se escriben con $set los campos que cambian, condicionado a la versión leída
      */
     @Transactional
     public Event updateEvent(String eventId, String username, UpdateEventDto dto) {
-        Event event = getById(eventId);
+        getById(eventId);
 
         if (!canUserEditEvent(username, eventId)) {
             throw new IllegalArgumentException("No tienes permisos para editar este evento");
         }
 
-        List<HistoryRecord> changes = new ArrayList<>();
-
-        // Aplicar cambios y registrar historial
-        updateEventFields(event, dto, changes);
+        PartialUpdater.Result<Event> result = partialUpdater.updateVersioned(Event.class, eventId,
+                event -> eventFieldChanges(event, dto));
+        eventHistoryService.record(EntityType.EVENT, eventId, username, result.changes().getHistory());
+        return result.entity();
+    }
 
-        if (!changes.isEmpty()) {
-            if (event.getHistory() == null) {
-                event.setHistory(new ArrayList<>());
-            }
-            event.getHistory().addAll(changes);
+    /**
+     * Historial de cambios del evento en un rango de fechas (solo creador o subcreador)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<EventHistoryEntry> getEventHistory(String eventId, String username, Instant from, Instant to,
+                                                            String cursor, Integer size) {
+        if (!canUserEditEvent(username, eventId)) {
+            throw new IllegalArgumentException("No tienes permisos para ver el historial de este evento");
         }
-
-        event.setUpdatedAt(Instant.now());
-        return eventRepo.save(event);
+        return eventHistoryService.page(EntityType.EVENT, eventId, from, to, cursor, size);
     }
 
     /**
-     * Elimina un evento (solo creador)
+     * Elimina un evento (solo creador). La cascada (inscripciones, roles y sub-eventos) se
+     * ejecuta como trabajo de borrado: en la petición si es pequeño, en segundo plano si no.
      */
-    @Transactional
-    public void deleteEvent(String eventId, String username) {
-        Event event = getById(eventId);
+    public DeletionJob deleteEvent(String eventId, String username) {
+        getById(eventId);
 
         if (!isEventCreator(username, eventId)) {
             throw new IllegalArgumentException("Solo el creador puede eliminar este evento");
         }
 
-        // Cancelar inscripciones activas
-        List<Inscription> inscriptions = inscriptionRepo.findByEventoIdAndEstado(eventId, "confirmada");
-        inscriptions.forEach(inscription -> {
-            inscription.setEstado("cancelada");
-            inscriptionRepo.save(inscription);
-        });
-
-        // Eliminar subeventos
-        List<SubEvent> subEvents = subEventRepo.findByEventoPrincipalId(eventId);
-        subEventRepo.deleteAll(subEvents);
-
-        // Desactivar roles
-        List<EventRole> roles = eventRoleRepo.findByEventoIdAndActivoTrue(eventId);
-        roles.forEach(role -> {
-            role.setActivo(false);
-            eventRoleRepo.save(role);
-        });
+        return cascadeDeletionService.requestEventDeletion(eventId, username);
+    }
 
-        eventRepo.delete(event);
+    /**
+     * Progreso de un borrado solicitado por el usuario
+     */
+    public DeletionJob getDeletionJob(String jobId, String username) {
+        return cascadeDeletionService.getJob(jobId, username);
     }
 
     /**
@@ -381,25 +407,12 @@ public class EventService {
 
     private boolean isEventCreator(String username, String eventId) {
         try {
-            // Obtener el usuario primero
             Users user = userRepo.findByUserName(username).orElse(null);
             if (user == null) {
                 return false;
             }
 
-            // Buscar todos los roles activos del usuario
-            List<EventRole> roles = eventRoleRepo.findAll(); // Temporal - obtener todos
-
-            // Filtrar manualmente por usuario, evento y rol CREADOR
-            return roles.stream()
-                    .anyMatch(role ->
-                            role.getUsuario() != null &&
-                                    role.getUsuario().getId().equals(user.getId()) &&
-                                    role.getEvento() != null &&
-                                    role.getEvento().getId().equals(eventId) &&
-                                    role.isActivo() &&
-                                    role.getRol().equals("CREADOR")
-                    );
+            return eventAccessService.isCreator(user, eventId);
 
         } catch (Exception e) {
             System.err.println("Error en isEventCreator: " + e.getMessage());
@@ -407,25 +420,6 @@ public class EventService {
         }
     }
 
-// el mismo que el de arriba pero verifica directamente en la bd el otro lo hace manualmente
-/*    private boolean isEventCreator(String username, String eventId) {
-        try {
-            Users user = userRepo.findByUserName(username).orElse(null);
-            if (user == null) {
-                return false;
-            }
-
-            //  CORREGIDO - usar findByUsuarioIdAndEventoIdAndRolAndActivoTrue
-            Optional<EventRole> role = eventRoleRepo.findByUsuarioIdAndEventoIdAndRolAndActivoTrue(
-                    user.getId(), eventId, "CREADOR");
-
-            return role.isPresent() && role.get().isActivo();
-
-        } catch (Exception e) {
-            System.err.println("Error en isEventCreator: " + e.getMessage());
-            return false;
-        }*/
-
     /**
      * Verifica si un usuario tiene acceso a un evento privado
      */
@@ -436,39 +430,7 @@ public class EventService {
                 return false;
             }
 
-            // 1. Verificar si es el creador del evento
-            if (event.getCreator() != null && event.getCreator().getUserName().equals(username)) {
-                return true;
-            }
-
-            // 2. Verificar si es subcreador activo
-            boolean isSubcreator = eventRoleRepo.findAll().stream()
-                    .anyMatch(role ->
-                            role.getUsuario() != null &&
-                                    role.getUsuario().getId().equals(user.getId()) &&
-                                    role.getEvento() != null &&
-                                    role.getEvento().getId().equals(event.getId()) &&
-                                    role.isActivo() &&
-                                    ("CREADOR".equals(role.getRol()) || "SUBCREADOR".equals(role.getRol()))
-                    );
-
-            if (isSubcreator) {
-                return true;
-            }
-
-            // 3. NUEVA VALIDACIÓN - Verificar si está en la lista de invitados
-            if (event.getInvitedUsers() != null && event.getInvitedUsers().contains(username)) {
-                return true;
-            }
-
-            // 4.  NUEVA VALIDACIÓN - Verificar si tiene invitación aceptada
-            return attendeeInvitationRepo.findAll().stream()
-                    .anyMatch(invitation ->
-                            invitation.getEvento() != null &&
-                                    invitation.getEvento().getId().equals(event.getId()) &&
-                                    invitation.getEmailInvitado().equals(user.getEmail()) &&
-                                    "aceptada".equals(invitation.getEstado())
-                    );
+            return eventAccessService.canView(user, event);
 
         } catch (Exception e) {
             System.err.println("Error verificando acceso a evento privado: " + e.getMessage());
@@ -483,19 +445,7 @@ public class EventService {
                 return false;
             }
 
-            // Buscar todos los roles activos del usuario
-            List<EventRole> roles = eventRoleRepo.findAll();
-
-            // Filtrar por usuario, evento y roles permitidos
-            return roles.stream()
-                    .anyMatch(role ->
-                            role.getUsuario() != null &&
-                                    role.getUsuario().getId().equals(user.getId()) &&
-                                    role.getEvento() != null &&
-                                    role.getEvento().getId().equals(eventId) &&
-                                    role.isActivo() &&
-                                    (role.getRol().equals("CREADOR") || role.getRol().equals("SUBCREADOR"))
-                    );
+            return eventAccessService.canEdit(user, eventId);
 
         } catch (Exception e) {
             System.err.println("Error en canUserEditEvent: " + e.getMessage());
@@ -503,166 +453,75 @@ public class EventService {
         }
     }
 
+    // ================ CRITERIOS DE LISTADO (event_summary) ================
 
-    // igual al anterior pendiente para probar. mas eficente
- /*   private boolean canUserEditEvent(String username, String eventId) {
-        try {
-            Users user = userRepo.findByUserName(username).orElse(null);
-            if (user == null) {
-                return false;
-            }
-
-            //  CORREGIDO - buscar por ID de usuario
-            List<EventRole> roles = eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue(user.getId(), eventId);
-
-            return roles.stream()
-                    .anyMatch(role ->
-                            role.isActivo() &&
-                                    (role.getRol().equals("CREADOR") || role.getRol().equals("SUBCREADOR"))
-                    );
-
-        } catch (Exception e) {
-            System.err.println("Error en canUserEditEvent: " + e.getMessage());
-            return false;
-        }
-    }*/
-
-    private boolean isFilterEmpty(EventFilterDto filter) {
-        return (filter.getStatus() == null || filter.getStatus().trim().isEmpty()) &&
-                (filter.getCategoriaId() == null || filter.getCategoriaId().trim().isEmpty()) &&
-                (filter.getType() == null || filter.getType().trim().isEmpty()) &&
-                (filter.getPrivacy() == null || filter.getPrivacy().trim().isEmpty()) &&
-                (filter.getTicketType() == null || filter.getTicketType().trim().isEmpty()) &&
-                (filter.getSearchText() == null || filter.getSearchText().trim().isEmpty()) &&
-                filter.getStartDate() == null &&
-                filter.getEndDate() == null &&
-                filter.getDestacado() == null &&
-                filter.getConDisponibilidad() == null &&
-                (filter.getTags() == null || filter.getTags().isEmpty()) &&
-                (filter.getUbicacionTipo() == null || filter.getUbicacionTipo().trim().isEmpty()) &&
-                filter.getLatitude() == null &&
-                filter.getLongitude() == null &&
-                filter.getRadiusKm() == null;
-    }
-
-    private List<Event> applyPublicFilters(EventFilterDto filter, String activeStateId) {
-
-        // 🔍 Filtro por texto de búsqueda
-        if (filter.getSearchText() != null && !filter.getSearchText().trim().isEmpty()) {
-            return eventRepo.searchPublicEventsByText(filter.getSearchText().trim(), activeStateId);
-        }
-
-        // 🏷️ Filtro por categoría
-        if (filter.getCategoriaId() != null && !filter.getCategoriaId().trim().isEmpty()) {
-            return eventRepo.findPublicEventsByCategory(filter.getCategoriaId(), activeStateId);
-        }
-
-        // 🎯 Filtro por tipo de evento
-        if (filter.getType() != null && !filter.getType().trim().isEmpty()) {
-            return eventRepo.findPublicEventsByType(filter.getType(), activeStateId);
-        }
-
-        // 🎫 Filtro por tipo de ticket
-        if (filter.getTicketType() != null && !filter.getTicketType().trim().isEmpty()) {
-            return eventRepo.findPublicEventsByTicketType(filter.getTicketType(), activeStateId);
-        }
-
-        // ⭐ Filtro por eventos destacados
-        if (filter.getDestacado() != null && filter.getDestacado()) {
-            return eventRepo.findPublicFeaturedEvents(activeStateId);
-        }
-
-        // 📅 Filtro por fechas (aplicado en Java por flexibilidad)
-        if (filter.getStartDate() != null || filter.getEndDate() != null) {
-            return eventRepo.findPublicEventsForUsers(activeStateId)
-                    .stream()
-                    .filter(event -> {
-                        if (filter.getStartDate() != null && event.getStart().isBefore(filter.getStartDate())) {
-                            return false;
-                        }
-                        if (filter.getEndDate() != null && event.getEnd().isAfter(filter.getEndDate())) {
-                            return false;
-                        }
-                        return true;
-                    })
-                    .collect(Collectors.toList());
-        }
+    private Criteria publicListingCriteria(EventFilterDto filter) {
+        return new Criteria().andOperator(
+                Criteria.where("privacy").is("public").and("bloqueado").is(false),
+                filterCriteriaBuilder.build(filter));
+    }
 
-        // 🎪 Filtro por disponibilidad
-        if (filter.getConDisponibilidad() != null && filter.getConDisponibilidad()) {
-            return eventRepo.findPublicEventsForUsers(activeStateId)
-                    .stream()
-                    .filter(event -> event.getCurrentAttendees() < event.getMaxAttendees() &&
-                            event.isPermitirInscripciones())
-                    .collect(Collectors.toList());
-        }
+    private Criteria featuredCriteria() {
+        return new Criteria().andOperator(publicListingCriteria(null), Criteria.where("destacado").is(true));
+    }
 
-        // 🏷️ Filtro por tags
-        if (filter.getTags() != null && !filter.getTags().isEmpty()) {
-            return eventRepo.findPublicEventsForUsers(activeStateId)
-                    .stream()
-                    .filter(event -> event.getTags() != null &&
-                            event.getTags().stream().anyMatch(filter.getTags()::contains))
-                    .collect(Collectors.toList());
-        }
+    private Criteria upcomingCriteria() {
+        return new Criteria().andOperator(publicListingCriteria(null), Criteria.where("start").gte(Instant.now()));
+    }
 
-        // 🌍 Filtro por tipo de ubicación
-        if (filter.getUbicacionTipo() != null && !filter.getUbicacionTipo().trim().isEmpty()) {
-            return eventRepo.findPublicEventsForUsers(activeStateId)
-                    .stream()
-                    .filter(event -> event.getLocation() != null &&
-                            filter.getUbicacionTipo().equals(event.getLocation().getType()))
-                    .collect(Collectors.toList());
-        }
+    private Criteria recentCriteria() {
+        return Criteria.where("privacy").is("public")
+                .and("bloqueado").is(false)
+                .and("createdAt").exists(true);
+    }
 
-        // Si no hay filtros específicos, retornar todos los públicos
-        return eventRepo.findPublicEventsForUsers(activeStateId);
+    private Criteria accessibleSearchCriteria(String username, EventFilterDto filter) {
+        Users user = userRepo.findByUserName(username)
+                .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado: " + username));
+
+        // Públicos + privados donde es creador o invitado
+        Criteria access = new Criteria().orOperator(
+                Criteria.where("privacy").is("public"),
+                Criteria.where("creatorId").is(user.getId()),
+                Criteria.where("invitedUsers").is(username));
+
+        return new Criteria().andOperator(
+                Criteria.where("bloqueado").is(false),
+                access,
+                filterCriteriaBuilder.build(filter));
     }
 
-    private List<Event> applyAuthenticatedFilters(String username, EventFilterDto filter) {
-        // Implementar lógica de filtros para usuarios autenticados
-        if (filter.getSearchText() != null) {
-            // Para usuarios autenticados, incluir búsqueda en eventos privados accesibles
-            return eventRepo.findAccessibleEventsForUser(username, "Active")
-                    .stream()
-                    .filter(event -> event.getTitle().toLowerCase().contains(filter.getSearchText().toLowerCase()) ||
-                            (event.getDescription() != null && event.getDescription().toLowerCase().contains(filter.getSearchText().toLowerCase())))
-                    .collect(Collectors.toList());
-        }
-        if (filter.getCategoriaId() != null) {
-            return eventRepo.findAccessibleEventsForUser(username, "Active")
-                    .stream()
-                    .filter(event -> event.getCategoria() != null &&
-                            event.getCategoria().getId().equals(filter.getCategoriaId()))
-                    .collect(Collectors.toList());
-        }
-        return eventRepo.findAccessibleEventsForUser(username, "Active");
+    private CursorPageDto<EventSummaryDto> pageSummaries(Criteria criteria, KeysetSort sort, String cursor, Integer size) {
+        return keysetPager.page(EventSummary.class, criteria, sort, cursor, size)
+                .map(this::mapToSummaryDto);
     }
 
-    private List<Event> applyFilters(EventFilterDto filter) {
-        // Método de compatibilidad - delegar a filtros públicos
-        return applyPublicFilters(filter, activeStateId);
+    private Stream<EventSummaryDto> streamSummaries(Criteria criteria, KeysetSort sort) {
+        return keysetPager.stream(EventSummary.class, criteria, sort)
+                .map(this::mapToSummaryDto);
     }
 
-    private EventSummaryDto mapToSummaryDto(Event event) {
+    private EventSummaryDto mapToSummaryDto(EventSummary summary) {
+        int current = summary.getCurrentAttendees() != null ? summary.getCurrentAttendees() : 0;
+        boolean hasSeats = summary.getMaxAttendees() == null || current < summary.getMaxAttendees();
+
         EventSummaryDto dto = new EventSummaryDto();
-        dto.setId(event.getId());
-        dto.setTitle(event.getTitle());
-        dto.setDescription(event.getDescription());
-        dto.setUbicacion(event.getLocation() != null ? event.getLocation().getAddress() : "");
-        dto.setFechaInicio(event.getStart().toString());
-        dto.setFechaFin(event.getEnd().toString());
-        dto.setCategoria(event.getCategoria() != null ? event.getCategoria().getNombreCategoria() : "");
-        dto.setTipo(event.getType());
-        dto.setEsPago("paid".equals(event.getTicketType()));
-        dto.setPrecio(event.getPrice() != null ? event.getPrice().getAmount() : 0.0);
-        dto.setMoneda(event.getPrice() != null ? event.getPrice().getCurrency() : "");
-        dto.setMaxAttendees(event.getMaxAttendees());
-        dto.setCurrentAttendees(event.getCurrentAttendees());
-        dto.setDisponible(event.getCurrentAttendees() < event.getMaxAttendees() && event.isPermitirInscripciones());
-        dto.setImagenPrincipal(event.getMainImages() != null && !event.getMainImages().isEmpty() ?
-                event.getMainImages().get(0).getUrl() : "");
-        dto.setDestacado(event.isDestacado());
+        dto.setId(summary.getId());
+        dto.setTitle(summary.getTitle());
+        dto.setDescription(summary.getDescription());
+        dto.setUbicacion(summary.getUbicacion());
+        dto.setFechaInicio(summary.getStart() != null ? summary.getStart().toString() : null);
+        dto.setFechaFin(summary.getEnd() != null ? summary.getEnd().toString() : null);
+        dto.setCategoria(summary.getCategoria());
+        dto.setTipo(summary.getTipo());
+        dto.setEsPago(summary.isEsPago());
+        dto.setPrecio(summary.getPrecio());
+        dto.setMoneda(summary.getMoneda());
+        dto.setMaxAttendees(summary.getMaxAttendees());
+        dto.setCurrentAttendees(summary.getCurrentAttendees());
+        dto.setDisponible(hasSeats && summary.isPermitirInscripciones());
+        dto.setImagenPrincipal(summary.getImagenPrincipal());
+        dto.setDestacado(summary.isDestacado());
         return dto;
     }
 
@@ -712,70 +571,58 @@ public class EventService {
                 .collect(Collectors.toList());
     }
 
-    private void addHistoryRecord(List<HistoryRecord> history, String field, String oldValue, String newValue) {
-        history.add(HistoryRecord.builder()
-                .field(field)
-                .oldValue(oldValue)
-                .newValue(newValue)
-                .changedAt(Instant.now())
-                .build());
-    }
+    // Diff entre el evento leído y el DTO: solo los campos que cambian, con su historial
+    private FieldChanges eventFieldChanges(Event event, UpdateEventDto dto) {
+        FieldChanges changes = new FieldChanges();
 
-    private void updateEventFields(Event event, UpdateEventDto dto, List<HistoryRecord> changes) {
         if (dto.getTitle() != null && !dto.getTitle().equals(event.getTitle())) {
-            addHistoryRecord(changes, "title", event.getTitle(), dto.getTitle());
-            event.setTitle(dto.getTitle());
+            changes.set("title", dto.getTitle(), event.getTitle(), dto.getTitle());
         }
 
         if (dto.getDescription() != null && !dto.getDescription().equals(event.getDescription())) {
-            addHistoryRecord(changes, "description", event.getDescription(), dto.getDescription());
-            event.setDescription(dto.getDescription());
+            changes.set("description", dto.getDescription(), event.getDescription(), dto.getDescription());
         }
 
         if (dto.getStart() != null && !dto.getStart().equals(event.getStart())) {
-            addHistoryRecord(changes, "start", event.getStart().toString(), dto.getStart().toString());
-            event.setStart(dto.getStart());
+            changes.set("start", dto.getStart(), String.valueOf(event.getStart()), dto.getStart().toString());
         }
 
         if (dto.getEnd() != null && !dto.getEnd().equals(event.getEnd())) {
-            addHistoryRecord(changes, "end", event.getEnd().toString(), dto.getEnd().toString());
-            event.setEnd(dto.getEnd());
+            changes.set("end", dto.getEnd(), String.valueOf(event.getEnd()), dto.getEnd().toString());
         }
 
         if (dto.getPrice() != null) {
             String oldValue = event.getPrice() != null ?
                     event.getPrice().getAmount() + " " + event.getPrice().getCurrency() : "none";
-            event.setPrice(new Price(dto.getPrice().getAmount(), dto.getPrice().getCurrency()));
-            addHistoryRecord(changes, "price", oldValue,
-                    dto.getPrice().getAmount() + " " + dto.getPrice().getCurrency());
+            changes.set("price", new Price(dto.getPrice().getAmount(), dto.getPrice().getCurrency()),
+                    oldValue, dto.getPrice().getAmount() + " " + dto.getPrice().getCurrency());
         }
 
         if (dto.getMaxAttendees() != null && !dto.getMaxAttendees().equals(event.getMaxAttendees())) {
-            addHistoryRecord(changes, "maxAttendees",
+            changes.set("maxAttendees", dto.getMaxAttendees(),
                     event.getMaxAttendees() != null ? event.getMaxAttendees().toString() : "none",
                     dto.getMaxAttendees().toString());
-            event.setMaxAttendees(dto.getMaxAttendees());
         }
 
         // Actualizar multimedia
         if (dto.getMainImages() != null) {
-            event.setMainImages(mapMediaDtosToMedia(dto.getMainImages()));
-            addHistoryRecord(changes, "mainImages", "Updated", "New images: " + dto.getMainImages().size());
+            changes.set("mainImages", mapMediaDtosToMedia(dto.getMainImages()),
+                    "Updated", "New images: " + dto.getMainImages().size());
         }
 
         if (dto.getGalleryImages() != null) {
-            event.setGalleryImages(mapMediaDtosToMedia(dto.getGalleryImages()));
-            addHistoryRecord(changes, "galleryImages", "Updated", "New images: " + dto.getGalleryImages().size());
+            changes.set("galleryImages", mapMediaDtosToMedia(dto.getGalleryImages()),
+                    "Updated", "New images: " + dto.getGalleryImages().size());
         }
 
         if (dto.getVideos() != null) {
-            event.setVideos(mapMediaDtosToMedia(dto.getVideos()));
-            addHistoryRecord(changes, "videos", "Updated", "New videos: " + dto.getVideos().size());
+            changes.set("videos", mapMediaDtosToMedia(dto.getVideos()),
+                    "Updated", "New videos: " + dto.getVideos().size());
         }
 
         if (dto.getDocuments() != null) {
-            event.setDocuments(mapMediaDtosToMedia(dto.getDocuments()));
-            addHistoryRecord(changes, "documents", "Updated", "New documents: " + dto.getDocuments().size());
+            changes.set("documents", mapMediaDtosToMedia(dto.getDocuments()),
+                    "Updated", "New documents: " + dto.getDocuments().size());
         }
 
         if (dto.getOtherData() != null) {
@@ -786,12 +633,17 @@ public class EventService {
                     dto.getOtherData().getNotes());
 
             if (oldData == null || !newData.getOrganizer().equals(oldData.getOrganizer())) {
-                addHistoryRecord(changes, "organizer",
+                changes.record("organizer",
                         oldData != null ? oldData.getOrganizer() : "none",
                         newData.getOrganizer());
             }
 
-            event.setOtherData(newData);
+            changes.set("otherData", newData);
+        }
+
+        if (!changes.isEmpty()) {
+            changes.set("updatedAt", Instant.now());
         }
+        return changes;
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Category;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.eventHub.backend_eventHub.events.entities.Location;
+import com.eventHub.backend_eventHub.events.repository.EventSummaryRepository;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Mantiene la colección event_summary sincronizada con evento.
+ *
+ * Cada guardado de un Event (creación, edición, bloqueo, cambio de estado...) hace un
+ * upsert de su resumen; los borrados lo eliminan. currentAttendees solo se escribe al
+ * crear el resumen ($setOnInsert): después lo mueve InscriptionService con $inc, y un
+ * $set desde la instantánea del Event pisaría las inscripciones concurrentes.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EventSummaryProjector implements ApplicationListener<MongoMappingEvent<?>> {
+
+    static final String LOCK_NAME = "event-summary-rebuild";
+
+    private static final int BATCH_SIZE = 500;
+    // Si la réplica cae a mitad de la reconstrucción, otra la retoma al vencer el lock
+    private static final Duration LOCK_TTL = Duration.ofMinutes(30);
+
+    private final EventSummaryRepository summaryRepo;
+    private final MongoTemplate mongoTemplate;
+    private final MongoJobLock jobLock;
+
+    @Override
+    public void onApplicationEvent(MongoMappingEvent<?> event) {
+        try {
+            if (event instanceof AfterSaveEvent<?> saveEvent) {
+                Object source = saveEvent.getSource();
+                if (source instanceof Event saved) {
+                    mongoTemplate.upsert(byId(saved.getId()), projection(toSummary(saved)), EventSummary.class);
+                } else if (source instanceof Category category) {
+                    summaryRepo.updateCategoriaName(category.getId(), category.getNombreCategoria());
+                }
+            } else if (event instanceof AfterDeleteEvent<?> deleteEvent && deleteEvent.getType() == Event.class) {
+                Object id = deleteEvent.getSource().get("_id");
+                if (id != null && !(id instanceof Document)) {
+                    summaryRepo.deleteById(id.toString());
+                } else {
+                    // Borrado por filtro: se reconstruye para no dejar resúmenes huérfanos
+                    rebuild();
+                }
+            }
+        } catch (DataAccessException e) {
+            log.error("No se pudo sincronizar event_summary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye la proyección al arrancar si no está alineada con la colección de eventos
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfOutOfSync() {
+        try {
+            long events = mongoTemplate.count(new Query(), Event.class);
+            long summaries = summaryRepo.countByVersion(EventSummary.CURRENT_VERSION);
+            if (events != summaries) {
+                log.info("event_summary desalineada ({} eventos, {} resúmenes), reconstruyendo", events, summaries);
+                rebuild();
+            }
+        } catch (DataAccessException e) {
+            log.error("No se pudo verificar event_summary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Reconstruye la proyección sin vaciarla: upsert por _id de todos los eventos en lotes
+     * y después borra los resúmenes de otra versión o de eventos que ya no existen, así
+     * los listados siguen respondiendo mientras tanto. Solo la ejecuta la réplica que
+     * obtiene el lock "event-summary-rebuild".
+     */
+    public void rebuild() {
+        if (!jobLock.tryAcquire(LOCK_NAME, LOCK_TTL)) {
+            log.info("Otra réplica está reconstruyendo event_summary; se omite");
+            return;
+        }
+        try {
+            Set<String> eventIds = new HashSet<>();
+            List<EventSummary> batch = new ArrayList<>(BATCH_SIZE);
+            try (Stream<Event> events = mongoTemplate.stream(new Query(), Event.class)) {
+                for (Event event : (Iterable<Event>) events::iterator) {
+                    eventIds.add(event.getId());
+                    batch.add(toSummary(event));
+                    if (batch.size() == BATCH_SIZE) {
+                        upsertBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                upsertBatch(batch);
+            }
+            long removed = removeStale(eventIds);
+            log.info("event_summary reconstruida: {} resúmenes, {} obsoletos eliminados", eventIds.size(), removed);
+        } finally {
+            jobLock.release(LOCK_NAME);
+        }
+    }
+
+    private void upsertBatch(List<EventSummary> batch) {
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, EventSummary.class);
+        for (EventSummary summary : batch) {
+            bulk.upsert(byId(summary.getId()), projection(summary));
+        }
+        bulk.execute();
+    }
+
+    private long removeStale(Set<String> eventIds) {
+        long removed = mongoTemplate.remove(
+                Query.query(Criteria.where("version").ne(EventSummary.CURRENT_VERSION)), EventSummary.class)
+                .getDeletedCount();
+
+        Query idsOnly = new Query();
+        idsOnly.fields().include("_id");
+        List<String> orphans = new ArrayList<>();
+        try (Stream<Document> summaries = mongoTemplate.stream(idsOnly, Document.class, "event_summary")) {
+            summaries.map(summary -> String.valueOf(summary.get("_id")))
+                    .filter(id -> !eventIds.contains(id))
+                    .forEach(orphans::add);
+        }
+        for (int from = 0; from < orphans.size(); from += BATCH_SIZE) {
+            List<String> ids = orphans.subList(from, Math.min(from + BATCH_SIZE, orphans.size()));
+            removed += mongoTemplate.remove(Query.query(Criteria.where("_id").in(ids)), EventSummary.class)
+                    .getDeletedCount();
+        }
+        return removed;
+    }
+
+    private Query byId(String id) {
+        return Query.query(Criteria.where("_id").is(id));
+    }
+
+    /**
+     * $set de todos los campos del resumen salvo currentAttendees, que solo se fija al insertar
+     */
+    Update projection(EventSummary summary) {
+        return new Update()
+                .set("version", summary.getVersion())
+                .set("title", summary.getTitle())
+                .set("description", summary.getDescription())
+                .set("ubicacion", summary.getUbicacion())
+                .set("start", summary.getStart())
+                .set("end", summary.getEnd())
+                .set("categoria", summary.getCategoria())
+                .set("tipo", summary.getTipo())
+                .set("esPago", summary.isEsPago())
+                .set("precio", summary.getPrecio())
+                .set("moneda", summary.getMoneda())
+                .set("maxAttendees", summary.getMaxAttendees())
+                .set("imagenPrincipal", summary.getImagenPrincipal())
+                .set("destacado", summary.isDestacado())
+                .set("privacy", summary.getPrivacy())
+                .set("bloqueado", summary.isBloqueado())
+                .set("statusId", summary.getStatusId())
+                .set("categoriaId", summary.getCategoriaId())
+                .set("ticketType", summary.getTicketType())
+                .set("ubicacionTipo", summary.getUbicacionTipo())
+                .set("coordinates", summary.getCoordinates())
+                .set("tags", summary.getTags())
+                .set("organizer", summary.getOrganizer())
+                .set("permitirInscripciones", summary.isPermitirInscripciones())
+                .set("createdAt", summary.getCreatedAt())
+                .set("creatorId", summary.getCreatorId())
+                .set("invitedUsers", summary.getInvitedUsers())
+                .setOnInsert("currentAttendees", summary.getCurrentAttendees());
+    }
+
+    public EventSummary toSummary(Event event) {
+        return EventSummary.builder()
+                .id(event.getId())
+                .version(EventSummary.CURRENT_VERSION)
+                .title(event.getTitle())
+                .description(event.getDescription())
+                .ubicacion(event.getLocation() != null ? event.getLocation().getAddress() : "")
+                .start(event.getStart())
+                .end(event.getEnd())
+                .categoria(event.getCategoria() != null ? event.getCategoria().getNombreCategoria() : "")
+                .tipo(event.getType())
+                .esPago("paid".equals(event.getTicketType()))
+                .precio(event.getPrice() != null ? event.getPrice().getAmount() : 0.0)
+                .moneda(event.getPrice() != null ? event.getPrice().getCurrency() : "")
+                .maxAttendees(event.getMaxAttendees())
+                .currentAttendees(event.getCurrentAttendees())
+                .imagenPrincipal(event.getMainImages() != null && !event.getMainImages().isEmpty() ?
+                        event.getMainImages().get(0).getUrl() : "")
+                .destacado(event.isDestacado())
+                .privacy(event.getPrivacy())
+                .bloqueado(event.isBloqueado())
+                .statusId(event.getStatus() != null ? event.getStatus().getId() : null)
+                .categoriaId(event.getCategoria() != null ? event.getCategoria().getId() : null)
+                .ticketType(event.getTicketType())
+                .ubicacionTipo(event.getLocation() != null ? event.getLocation().getType() : null)
+                .coordinates(coordinatesOf(event.getLocation()))
+                .tags(event.getTags())
+                .organizer(event.getOtherData() != null ? event.getOtherData().getOrganizer() : null)
+                .permitirInscripciones(event.isPermitirInscripciones())
+                .createdAt(event.getCreatedAt())
+                .creatorId(event.getCreator() != null ? event.getCreator().getId() : null)
+                .invitedUsers(event.getInvitedUsers())
+                .build();
+    }
+
+    private GeoJsonPoint coordinatesOf(Location location) {
+        if (location == null) {
+            return null;
+        }
+        // Eventos anteriores al punto GeoJSON solo tienen latitud/longitud
+        return location.getPoint() != null
+                ? location.getPoint()
+                : Location.pointOf(location.getLatitude(), location.getLongitude());
+    }
+}
@@ -0,0 +1,95 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.InscriptionCounter;
+import com.eventHub.backend_eventHub.utils.lock.LeaderScheduledJob;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Job periódico que recorre inscription_counters por lotes y corrige los contadores
+ * que se desviaron de la colección inscripciones (fallos de $inc, carreras al crearlos,
+ * cambios de estado hechos fuera de InscriptionService).
+ *
+ * Cada contador se recalcula con dos count sobre índices; solo corre en la réplica
+ * que tiene el lock "inscription-counters" (ver LeaderScheduledJob).
+ */
+@Component
+@Slf4j
+public class InscriptionCounterReconciler extends LeaderScheduledJob<InscriptionCounterReconciler.ReconcileResult> {
+
+    static final String LOCK_NAME = "inscription-counters";
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final InscriptionCounterService counterService;
+
+    @Value("${inscriptions.counters.reconcile-interval-seconds:3600}")
+    private long intervalSeconds = 3600;
+
+    public InscriptionCounterReconciler(MongoTemplate mongoTemplate, MongoJobLock jobLock,
+                                        InscriptionCounterService counterService) {
+        super(LOCK_NAME, jobLock);
+        this.mongoTemplate = mongoTemplate;
+        this.counterService = counterService;
+    }
+
+    @Override
+    protected Duration interval() {
+        return Duration.ofSeconds(intervalSeconds);
+    }
+
+    // No reconcilia al arrancar: la primera pasada llega tras un intervalo completo
+    @Override
+    protected Duration initialDelay() {
+        return interval();
+    }
+
+    @Override
+    protected ReconcileResult runOnce() {
+        return reconcileAll();
+    }
+
+    /**
+     * Recorre todos los contadores en orden de _id y corrige los desviados
+     */
+    ReconcileResult reconcileAll() {
+        long checked = 0;
+        long repaired = 0;
+        String lastId = null;
+
+        List<InscriptionCounter> batch;
+        do {
+            Query query = new Query().with(Sort.by(Sort.Direction.ASC, "_id")).limit(BATCH_SIZE);
+            if (lastId != null) {
+                query.addCriteria(Criteria.where("_id").gt(lastId));
+            }
+            batch = mongoTemplate.find(query, InscriptionCounter.class);
+            for (InscriptionCounter counter : batch) {
+                checked++;
+                if (counterService.reconcile(counter)) {
+                    repaired++;
+                }
+            }
+            if (!batch.isEmpty()) {
+                lastId = batch.get(batch.size() - 1).getId();
+            }
+        } while (batch.size() == BATCH_SIZE);
+
+        if (repaired > 0) {
+            log.info("Contadores de inscripciones revisados: {}, corregidos: {}", checked, repaired);
+        }
+        return new ReconcileResult(checked, repaired);
+    }
+
+    public record ReconcileResult(long checked, long repaired) {
+    }
+}
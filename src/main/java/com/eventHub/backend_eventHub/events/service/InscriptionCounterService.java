@@ -0,0 +1,153 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.InscriptionCounter;
+import com.eventHub.backend_eventHub.events.repository.InscriptionRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.Collection;
+
+/**
+ * Contadores de inscripciones confirmadas y canceladas por evento y sub-evento.
+ *
+ * Cada inscripción y cancelación aplica un $inc sobre el documento del objetivo, así que
+ * las estadísticas son una lectura por _id. El contador se crea la primera vez que se
+ * consulta, contando las inscripciones existentes; hasta entonces los $inc no hacen nada.
+ *
+ * Un fallo al actualizar el contador no deshace la inscripción: la desviación la corrige
+ * InscriptionCounterReconciler en su siguiente pasada.
+ *
+ * Métricas: eventhub.inscription_counters.built y eventhub.inscription_counters.drift (type).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InscriptionCounterService {
+
+    private static final String CONFIRMED = "confirmada";
+    private static final String CANCELLED = "cancelada";
+
+    private final MongoTemplate mongoTemplate;
+    private final InscriptionRepository inscriptionRepo;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Nueva inscripción confirmada
+     */
+    public void registered(EntityType type, String targetId) {
+        apply(type, targetId, new Update().inc("confirmed", 1));
+    }
+
+    /**
+     * Inscripciones confirmadas que pasan a canceladas
+     */
+    public void cancelled(EntityType type, String targetId, long count) {
+        if (count > 0) {
+            apply(type, targetId, new Update().inc("confirmed", -count).inc("cancelled", count));
+        }
+    }
+
+    /**
+     * Contadores del objetivo; si aún no existen se construyen contando las inscripciones
+     */
+    public InscriptionCounter get(EntityType type, String targetId) {
+        String key = InscriptionCounter.key(type, targetId);
+        InscriptionCounter counter = mongoTemplate.findById(key, InscriptionCounter.class);
+        if (counter != null) {
+            return counter;
+        }
+
+        Instant now = Instant.now();
+        InscriptionCounter built = InscriptionCounter.builder()
+                .id(key)
+                .targetType(type)
+                .targetId(targetId)
+                .confirmed(count(type, targetId, CONFIRMED))
+                .cancelled(count(type, targetId, CANCELLED))
+                .updatedAt(now)
+                .reconciledAt(now)
+                .build();
+        try {
+            counter = mongoTemplate.insert(built);
+            metric("built", type).increment();
+            return counter;
+        } catch (DuplicateKeyException e) {
+            // Otra petición lo construyó a la vez
+            return mongoTemplate.findById(key, InscriptionCounter.class);
+        }
+    }
+
+    /**
+     * Recalcula un contador y lo corrige si se desvió; no escribe si cambió mientras se contaba
+     *
+     * @return true si había desviación y se corrigió
+     */
+    public boolean reconcile(InscriptionCounter counter) {
+        EntityType type = counter.getTargetType();
+        long confirmed = count(type, counter.getTargetId(), CONFIRMED);
+        long cancelled = count(type, counter.getTargetId(), CANCELLED);
+        if (confirmed == counter.getConfirmed() && cancelled == counter.getCancelled()) {
+            return false;
+        }
+
+        long modified = mongoTemplate.updateFirst(
+                Query.query(Criteria.where("_id").is(counter.getId()).and("revision").is(counter.getRevision())),
+                new Update()
+                        .set("confirmed", confirmed)
+                        .set("cancelled", cancelled)
+                        .set("reconciledAt", Instant.now())
+                        .inc("revision", 1),
+                InscriptionCounter.class).getModifiedCount();
+        if (modified == 0) {
+            return false;
+        }
+        metric("drift", type).increment();
+        log.warn("Contador de inscripciones {} corregido: confirmadas {} -> {}, canceladas {} -> {}",
+                counter.getId(), counter.getConfirmed(), confirmed, counter.getCancelled(), cancelled);
+        return true;
+    }
+
+    /**
+     * Elimina los contadores de objetivos borrados
+     */
+    public void remove(EntityType type, Collection<String> targetIds) {
+        if (targetIds.isEmpty()) {
+            return;
+        }
+        mongoTemplate.remove(Query.query(Criteria.where("_id").in(
+                targetIds.stream().map(id -> InscriptionCounter.key(type, id)).toList())), InscriptionCounter.class);
+    }
+
+    private void apply(EntityType type, String targetId, Update update) {
+        update.inc("revision", 1).set("updatedAt", Instant.now());
+        try {
+            mongoTemplate.updateFirst(Query.query(Criteria.where("_id").is(InscriptionCounter.key(type, targetId))),
+                    update, InscriptionCounter.class);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo actualizar el contador de inscripciones de {} {}: {}", type, targetId, e.getMessage());
+        }
+    }
+
+    private long count(EntityType type, String targetId, String estado) {
+        return type == EntityType.EVENT
+                ? inscriptionRepo.countByEvento(targetId, estado, "evento_principal")
+                : inscriptionRepo.countBySubevento(targetId, estado, "subevento");
+    }
+
+    private Counter metric(String name, EntityType type) {
+        return Counter.builder("eventhub.inscription_counters." + name)
+                .tag("type", type.name())
+                .register(meterRegistry);
+    }
+}
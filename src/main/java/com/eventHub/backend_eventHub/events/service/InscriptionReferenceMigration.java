@@ -0,0 +1,143 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.EventSnapshot;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.UserSnapshot;
+import com.mongodb.DBRef;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexInfo;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Migración: convierte los DBRef usuario/evento de las inscripciones en id + copia
+ * embebida (UserSnapshot / EventSnapshot).
+ *
+ * Recorre solo las inscripciones que aún tienen DBRef, en lotes: por lote hace un $in
+ * de usuarios, otro de eventos y un bulk update. Es idempotente y al terminar elimina
+ * los índices antiguos sobre usuario.$id / evento.$id.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InscriptionReferenceMigration {
+
+    private static final int BATCH_SIZE = 500;
+    private static final List<String> LEGACY_INDEXES = List.of(
+            "usuario_tipo_estado_evento_idx", "evento_tipo_estado_idx", "subevento_estado_usuario_idx");
+
+    private final MongoTemplate mongoTemplate;
+    private final ReferenceBatchResolver referenceResolver;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrate() {
+        try {
+            Query legacy = new Query(new Criteria().orOperator(
+                    Criteria.where("usuario.$ref").exists(true),
+                    Criteria.where("evento.$ref").exists(true)));
+            legacy.cursorBatchSize(BATCH_SIZE);
+
+            long migrated = 0;
+            List<Document> batch = new ArrayList<>(BATCH_SIZE);
+            String collection = mongoTemplate.getCollectionName(Inscription.class);
+            try (Stream<Document> documents = mongoTemplate.stream(legacy, Document.class, collection)) {
+                for (Document document : (Iterable<Document>) documents::iterator) {
+                    batch.add(document);
+                    if (batch.size() == BATCH_SIZE) {
+                        migrated += migrateBatch(batch);
+                        batch.clear();
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                migrated += migrateBatch(batch);
+            }
+            if (migrated > 0) {
+                log.info("Inscripciones migradas a referencias embebidas: {}", migrated);
+            }
+
+            dropLegacyIndexes();
+        } catch (DataAccessException e) {
+            log.error("No se pudo migrar las referencias de inscripciones: {}", e.getMessage());
+        }
+    }
+
+    private int migrateBatch(List<Document> batch) {
+        Set<String> userIds = new HashSet<>();
+        Set<String> eventIds = new HashSet<>();
+        for (Document document : batch) {
+            addRefId(document.get("usuario"), userIds);
+            addRefId(document.get("evento"), eventIds);
+        }
+
+        Map<String, UserSnapshot> users = referenceResolver.userSnapshots(userIds);
+        Map<String, EventSnapshot> events = referenceResolver.eventSnapshots(eventIds);
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Inscription.class);
+        int updates = 0;
+        for (Document document : batch) {
+            Update update = new Update();
+            String userId = refId(document.get("usuario"));
+            if (userId != null) {
+                update.set("usuario", users.getOrDefault(userId, UserSnapshot.builder().id(userId).build()));
+            }
+            String eventId = refId(document.get("evento"));
+            if (eventId != null) {
+                update.set("evento", events.getOrDefault(eventId, EventSnapshot.builder().id(eventId).build()));
+            }
+            if (!update.getUpdateObject().isEmpty()) {
+                bulk.updateOne(Query.query(Criteria.where("_id").is(document.get("_id"))), update);
+                updates++;
+            }
+        }
+        if (updates > 0) {
+            bulk.execute();
+        }
+        return updates;
+    }
+
+    private void addRefId(Object reference, Set<String> ids) {
+        String id = refId(reference);
+        if (id != null) {
+            ids.add(id);
+        }
+    }
+
+    // Solo devuelve id para DBRef pendientes; las copias ya migradas se ignoran
+    private String refId(Object reference) {
+        if (reference instanceof DBRef dbRef) {
+            return dbRef.getId().toString();
+        }
+        if (reference instanceof Document document && document.containsKey("$ref")) {
+            return String.valueOf(document.get("$id"));
+        }
+        return null;
+    }
+
+    private void dropLegacyIndexes() {
+        IndexOperations indexOps = mongoTemplate.indexOps(Inscription.class);
+        for (IndexInfo index : indexOps.getIndexInfo()) {
+            if (LEGACY_INDEXES.contains(index.getName())) {
+                indexOps.dropIndex(index.getName());
+                log.info("Índice antiguo eliminado de inscripciones: {}", index.getName());
+            }
+        }
+    }
+}
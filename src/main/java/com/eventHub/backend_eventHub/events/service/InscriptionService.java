@@ -3,17 +3,18 @@ package com.eventHub.backend_eventHub.events.service;
 
 import com.eventHub.backend_eventHub.events.dto.InscriptionDto;
 import com.eventHub.backend_eventHub.events.entities.*;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
 import com.eventHub.backend_eventHub.events.repository.*;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Service
 public class InscriptionService {
@@ -22,6 +23,9 @@ public class InscriptionService {
     @Autowired private SubEventRepository subEventRepo;
     @Autowired private UserRepository userRepo;
     @Autowired private EventService eventService;
+    @Autowired private EventSummaryRepository eventSummaryRepo;
+    @Autowired private EventDetailCache eventDetailCache;
+    @Autowired private InscriptionCounterService inscriptionCounters;
 
     /**
      * Inscribe un usuario a un evento principal CON VALIDACIONES MEJORADAS
@@ -37,15 +41,8 @@ public class InscriptionService {
                 .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado con ID: " + dto.getEventoId()));
 
         // 3. ✅ VALIDACIÓN MEJORADA - Verificar si ya está inscrito (MÁS ESPECÍFICA)
-        boolean yaEstaInscrito = inscriptionRepo.findAll().stream()
-                .anyMatch(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(event.getId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                );
+        boolean yaEstaInscrito = inscriptionRepo.existsByUsuarioAndEvento(
+                user.getId(), event.getId(), "confirmada", "evento_principal");
 
         if (yaEstaInscrito) {
             throw new IllegalArgumentException("Ya estás inscrito en este evento");
@@ -56,17 +53,32 @@ public class InscriptionService {
 
         // 5. Crear inscripción
         Inscription inscription = Inscription.builder()
-                .usuario(user)
-                .evento(event)
+                .usuario(UserSnapshot.of(user))
+                .evento(EventSnapshot.of(event))
                 .fechaInscripcion(Instant.now())
                 .estado("confirmada")
                 .tipoInscripcion("evento_principal")
                 .build();
 
-        // 6. Guardar y actualizar contador
-        inscription = inscriptionRepo.save(inscription);
-        updateEventAttendeeCount(event);
+        // 6. Reservar cupo de forma atómica y guardar; si falla el guardado se libera el cupo
+        if (eventRepo.reserveSeat(event.getId()) == 0) {
+            throw new IllegalArgumentException("Este evento ya alcanzó su capacidad máxima");
+        }
+
+        try {
+            inscription = inscriptionRepo.save(inscription);
+        } catch (DuplicateKeyException e) {
+            // Doble envío concurrente: la otra petición ya guardó la inscripción
+            eventRepo.releaseSeat(event.getId());
+            throw new IllegalArgumentException("Ya estás inscrito en este evento");
+        } catch (RuntimeException e) {
+            eventRepo.releaseSeat(event.getId());
+            throw e;
+        }
 
+        eventSummaryRepo.incrementAttendees(event.getId(), 1);
+        eventDetailCache.evict(event.getId());
+        inscriptionCounters.registered(EntityType.EVENT, event.getId());
         return inscription;
     }
 
@@ -134,29 +146,16 @@ public class InscriptionService {
         Event mainEvent = subEvent.getEventoPrincipal();
 
         // ✅ VALIDACIÓN MEJORADA - Verificar si ya está inscrito al sub-evento
-        boolean yaEstaInscritoSubEvento = inscriptionRepo.findAll().stream()
-                .anyMatch(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                dto.getSubeventoId().equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                );
+        boolean yaEstaInscritoSubEvento = inscriptionRepo.existsByUsuarioAndSubevento(
+                user.getId(), dto.getSubeventoId(), "confirmada", "subevento");
 
         if (yaEstaInscritoSubEvento) {
             throw new IllegalArgumentException("Ya estás inscrito en este sub-evento");
         }
 
         // Verificar que esté inscrito al evento principal
-        boolean estaInscritoEventoPrincipal = inscriptionRepo.findAll().stream()
-                .anyMatch(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(mainEvent.getId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                );
+        boolean estaInscritoEventoPrincipal = inscriptionRepo.existsByUsuarioAndEvento(
+                user.getId(), mainEvent.getId(), "confirmada", "evento_principal");
 
         if (!estaInscritoEventoPrincipal) {
             throw new IllegalArgumentException("Debes estar inscrito al evento principal para inscribirte a sus sub-eventos");
@@ -167,17 +166,29 @@ public class InscriptionService {
 
         // Crear inscripción al sub-evento
         Inscription inscription = Inscription.builder()
-                .usuario(user)
-                .evento(mainEvent)
+                .usuario(UserSnapshot.of(user))
+                .evento(EventSnapshot.of(mainEvent))
                 .subeventoId(dto.getSubeventoId())
                 .fechaInscripcion(Instant.now())
                 .estado("confirmada")
                 .tipoInscripcion("subevento")
                 .build();
 
-        inscription = inscriptionRepo.save(inscription);
-        updateSubEventAttendeeCount(subEvent);
+        if (subEventRepo.reserveSeat(subEvent.getId()) == 0) {
+            throw new IllegalArgumentException("Este sub-evento ya alcanzó su capacidad máxima");
+        }
+
+        try {
+            inscription = inscriptionRepo.save(inscription);
+        } catch (DuplicateKeyException e) {
+            subEventRepo.releaseSeat(subEvent.getId());
+            throw new IllegalArgumentException("Ya estás inscrito en este sub-evento");
+        } catch (RuntimeException e) {
+            subEventRepo.releaseSeat(subEvent.getId());
+            throw e;
+        }
 
+        inscriptionCounters.registered(EntityType.SUBEVENT, subEvent.getId());
         return inscription;
     }
 
@@ -211,15 +222,9 @@ public class InscriptionService {
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
         // ✅ BÚSQUEDA MEJORADA de la inscripción
-        Optional<Inscription> inscriptionOpt = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
+        Optional<Inscription> inscriptionOpt = inscriptionRepo.findByUsuarioAndEvento(
+                        user.getId(), eventoId, "confirmada", "evento_principal")
+                .stream()
                 .findFirst();
 
         if (inscriptionOpt.isEmpty()) {
@@ -227,7 +232,7 @@ public class InscriptionService {
         }
 
         Inscription inscription = inscriptionOpt.get();
-        Event event = inscription.getEvento();
+        EventSnapshot event = inscription.getEvento();
 
         // Validar que se puede cancelar (con margen de tiempo)
         if (event.getStart() != null) {
@@ -240,9 +245,13 @@ public class InscriptionService {
         // Cancelar inscripción
         inscription.setEstado("cancelada");
         inscriptionRepo.save(inscription);
+        inscriptionCounters.cancelled(EntityType.EVENT, eventoId, 1);
 
-        // Actualizar contador de asistentes
-        updateEventAttendeeCount(event);
+        // Liberar el cupo
+        if (eventRepo.releaseSeat(event.getId()) > 0) {
+            eventSummaryRepo.incrementAttendees(event.getId(), -1);
+            eventDetailCache.evict(event.getId());
+        }
 
         // ✅ Cancelar automáticamente las inscripciones a sub-eventos
         cancelUserSubEventRegistrations(user.getId(), eventoId);
@@ -252,25 +261,17 @@ public class InscriptionService {
      * ✅ MÉTODO AUXILIAR - Cancela inscripciones a sub-eventos cuando se cancela el evento principal
      */
     private void cancelUserSubEventRegistrations(String userId, String eventoId) {
-        List<Inscription> subEventInscriptions = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(userId) &&
-                                inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .collect(Collectors.toList());
+        List<Inscription> subEventInscriptions = inscriptionRepo.findByUsuarioAndEvento(
+                userId, eventoId, "confirmada", "subevento");
 
         for (Inscription subInscription : subEventInscriptions) {
             subInscription.setEstado("cancelada");
             inscriptionRepo.save(subInscription);
 
-            // Actualizar contador del sub-evento
+            // Liberar el cupo del sub-evento
             if (subInscription.getSubeventoId() != null) {
-                subEventRepo.findById(subInscription.getSubeventoId())
-                        .ifPresent(this::updateSubEventAttendeeCount);
+                subEventRepo.releaseSeat(subInscription.getSubeventoId());
+                inscriptionCounters.cancelled(EntityType.SUBEVENT, subInscription.getSubeventoId(), 1);
             }
         }
     }
@@ -284,14 +285,9 @@ public class InscriptionService {
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
         // ✅ BÚSQUEDA MEJORADA de la inscripción al sub-evento
-        Optional<Inscription> inscriptionOpt = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                subeventoId.equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
+        Optional<Inscription> inscriptionOpt = inscriptionRepo.findByUsuarioAndSubevento(
+                        user.getId(), subeventoId, "confirmada", "subevento")
+                .stream()
                 .findFirst();
 
         if (inscriptionOpt.isEmpty()) {
@@ -313,42 +309,10 @@ public class InscriptionService {
         // Cancelar inscripción
         inscription.setEstado("cancelada");
         inscriptionRepo.save(inscription);
+        inscriptionCounters.cancelled(EntityType.SUBEVENT, subeventoId, 1);
 
-        // Actualizar contador del sub-evento
-        updateSubEventAttendeeCount(subEvent);
-    }
-
-    /**
-     * ✅ ACTUALIZA CONTADOR DE ASISTENTES DEL EVENTO
-     */
-    private void updateEventAttendeeCount(Event event) {
-        long confirmedCount = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(event.getId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        event.setCurrentAttendees((int) confirmedCount);
-        eventRepo.save(event);
-    }
-
-    /**
-     * ✅ ACTUALIZA CONTADOR DE ASISTENTES DEL SUB-EVENTO
-     */
-    private void updateSubEventAttendeeCount(SubEvent subEvent) {
-        long confirmedCount = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        subEvent.getId().equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        subEvent.setCurrentAttendees((int) confirmedCount);
-        subEventRepo.save(subEvent);
+        // Liberar el cupo del sub-evento
+        subEventRepo.releaseSeat(subEvent.getId());
     }
 
     // ================ MÉTODOS DE CONSULTA MEJORADOS ================
@@ -361,14 +325,7 @@ public class InscriptionService {
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        return inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
-                .collect(Collectors.toList());
+        return inscriptionRepo.findByUsuario(user.getId(), "confirmada", "evento_principal");
     }
 
     /**
@@ -379,14 +336,7 @@ public class InscriptionService {
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        return inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .collect(Collectors.toList());
+        return inscriptionRepo.findByUsuario(user.getId(), "confirmada", "subevento");
     }
 
     /**
@@ -394,14 +344,7 @@ public class InscriptionService {
      */
     @Transactional(readOnly = true)
     public List<Inscription> getEventRegistrations(String eventoId) {
-        return inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
-                .collect(Collectors.toList());
+        return inscriptionRepo.findByEvento(eventoId, "confirmada", "evento_principal");
     }
 
     /**
@@ -409,13 +352,7 @@ public class InscriptionService {
      */
     @Transactional(readOnly = true)
     public List<Inscription> getSubEventRegistrations(String subeventoId) {
-        return inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        subeventoId.equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .collect(Collectors.toList());
+        return inscriptionRepo.findBySubevento(subeventoId, "confirmada", "subevento");
     }
 
     /**
@@ -426,15 +363,7 @@ public class InscriptionService {
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        return inscriptionRepo.findAll().stream()
-                .anyMatch(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                );
+        return inscriptionRepo.existsByUsuarioAndEvento(user.getId(), eventoId, "confirmada", "evento_principal");
     }
 
     /**
@@ -445,84 +374,43 @@ public class InscriptionService {
         Users user = userRepo.findByUserName(username)
                 .orElseThrow(() -> new IllegalArgumentException("Usuario no encontrado"));
 
-        return inscriptionRepo.findAll().stream()
-                .anyMatch(inscription ->
-                        inscription.getUsuario() != null &&
-                                inscription.getUsuario().getId().equals(user.getId()) &&
-                                subeventoId.equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                );
+        return inscriptionRepo.existsByUsuarioAndSubevento(user.getId(), subeventoId, "confirmada", "subevento");
     }
 
-    // ================ ESTADÍSTICAS (MANTENIDAS) ================
+    // ================ ESTADÍSTICAS (CONTADORES PRE-AGREGADOS) ================
 
+    /**
+     * Estadísticas de un evento: lectura del evento y de su documento de contadores
+     */
     @Transactional(readOnly = true)
     public InscriptionStatsDto getEventInscriptionStats(String eventoId) {
         Event event = eventRepo.findById(eventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Evento no encontrado"));
 
-        long confirmed = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        long canceled = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        inscription.getEvento() != null &&
-                                inscription.getEvento().getId().equals(eventoId) &&
-                                "cancelada".equals(inscription.getEstado()) &&
-                                "evento_principal".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        long available = Math.max(0, event.getMaxAttendees() - confirmed);
-        double occupancyRate = event.getMaxAttendees() > 0 ?
-                (double) confirmed / event.getMaxAttendees() * 100 : 0;
-
-        return new InscriptionStatsDto(
-                (int) confirmed,
-                (int) canceled,
-                (int) available,
-                event.getMaxAttendees(),
-                occupancyRate
-        );
+        return toStats(inscriptionCounters.get(EntityType.EVENT, eventoId), event.getMaxAttendees());
     }
 
+    /**
+     * Estadísticas de un sub-evento: lectura del sub-evento y de su documento de contadores
+     */
     @Transactional(readOnly = true)
     public InscriptionStatsDto getSubEventInscriptionStats(String subeventoId) {
         SubEvent subEvent = subEventRepo.findById(subeventoId)
                 .orElseThrow(() -> new IllegalArgumentException("Sub-evento no encontrado"));
 
-        long confirmed = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        subeventoId.equals(inscription.getSubeventoId()) &&
-                                "confirmada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        long canceled = inscriptionRepo.findAll().stream()
-                .filter(inscription ->
-                        subeventoId.equals(inscription.getSubeventoId()) &&
-                                "cancelada".equals(inscription.getEstado()) &&
-                                "subevento".equals(inscription.getTipoInscripcion())
-                )
-                .count();
-
-        long available = Math.max(0, subEvent.getMaxAttendees() - confirmed);
-        double occupancyRate = subEvent.getMaxAttendees() > 0 ?
-                (double) confirmed / subEvent.getMaxAttendees() * 100 : 0;
+        return toStats(inscriptionCounters.get(EntityType.SUBEVENT, subeventoId), subEvent.getMaxAttendees());
+    }
+
+    private InscriptionStatsDto toStats(InscriptionCounter counter, int maxAttendees) {
+        long confirmed = Math.max(0, counter.getConfirmed());
+        long available = Math.max(0, maxAttendees - confirmed);
+        double occupancyRate = maxAttendees > 0 ? (double) confirmed / maxAttendees * 100 : 0;
 
         return new InscriptionStatsDto(
                 (int) confirmed,
-                (int) canceled,
+                (int) Math.max(0, counter.getCancelled()),
                 (int) available,
-                subEvent.getMaxAttendees(),
+                maxAttendees,
                 occupancyRate
         );
     }
@@ -0,0 +1,109 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
+import com.eventHub.backend_eventHub.utils.lock.LeaderScheduledJob;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Job periódico que pasa a "expirada" las invitaciones de asistentes pendientes cuya
+ * fechaExpiracion ya pasó, con un solo updateMany (usa estado_expiracion_idx).
+ *
+ * Si invitations.expiry.archive-closed está activo, también marca fechaCierre en las
+ * expiradas y rechazadas para que el índice TTL las archive a los 90 días.
+ *
+ * Solo corre en la réplica que tiene el lock "invitation-expiry" (ver LeaderScheduledJob).
+ * Métricas: eventhub.invitations.expired y eventhub.invitations.archive_marked.
+ */
+@Component
+@Slf4j
+public class InvitationExpirySweeper extends LeaderScheduledJob<InvitationExpirySweeper.SweepResult> {
+
+    static final String LOCK_NAME = "invitation-expiry";
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+
+    private final Counter expiredCounter;
+    private final Counter archiveMarkedCounter;
+
+    @Value("${invitations.expiry.interval-seconds:300}")
+    private long intervalSeconds = 300;
+
+    @Value("${invitations.expiry.archive-closed:true}")
+    private boolean archiveClosed = true;
+
+    @Autowired
+    public InvitationExpirySweeper(MongoTemplate mongoTemplate, MongoJobLock jobLock, MeterRegistry meterRegistry) {
+        this(mongoTemplate, jobLock, meterRegistry, Clock.systemUTC());
+    }
+
+    public InvitationExpirySweeper(MongoTemplate mongoTemplate, MongoJobLock jobLock,
+                                   MeterRegistry meterRegistry, Clock clock) {
+        super(LOCK_NAME, jobLock);
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+        this.expiredCounter = Counter.builder("eventhub.invitations.expired")
+                .description("Invitaciones de asistentes pasadas a expirada por el job")
+                .register(meterRegistry);
+        this.archiveMarkedCounter = Counter.builder("eventhub.invitations.archive_marked")
+                .description("Invitaciones cerradas marcadas para archivado TTL")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Duration interval() {
+        return Duration.ofSeconds(intervalSeconds);
+    }
+
+    @Override
+    protected SweepResult runOnce() {
+        return sweep();
+    }
+
+    /**
+     * Pasa a expirada las pendientes vencidas y marca las cerradas para archivado
+     */
+    SweepResult sweep() {
+        Instant now = clock.instant();
+
+        Update expire = new Update().set("estado", "expirada");
+        if (archiveClosed) {
+            expire.set("fechaCierre", now);
+        }
+        long expired = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("estado").is("pendiente").and("fechaExpiracion").lt(now)),
+                expire, AttendeeInvitation.class).getModifiedCount();
+
+        long archiveMarked = 0;
+        if (archiveClosed) {
+            // Rechazadas y expiradas por otros caminos (aceptación tardía, datos previos)
+            archiveMarked = mongoTemplate.updateMulti(
+                    Query.query(Criteria.where("estado").in("expirada", "rechazada").and("fechaCierre").exists(false)),
+                    new Update().set("fechaCierre", now), AttendeeInvitation.class).getModifiedCount();
+        }
+
+        expiredCounter.increment(expired);
+        archiveMarkedCounter.increment(archiveMarked);
+        if (expired > 0 || archiveMarked > 0) {
+            log.info("Invitaciones expiradas: {}, marcadas para archivado: {}", expired, archiveMarked);
+        }
+        return new SweepResult(expired, archiveMarked);
+    }
+
+    public record SweepResult(long expired, long archiveMarked) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.SubEvent;
+import com.mongodb.client.result.UpdateResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Migración: rellena location.point (GeoJSON) en eventos y sub-eventos que solo
+ * tienen latitude/longitude.
+ *
+ * Es idempotente (solo toca documentos sin punto) y se resuelve en el servidor con un
+ * updateMany de pipeline por colección, sin cargar los documentos en memoria. Las
+ * coordenadas fuera de rango se dejan sin punto: el índice 2dsphere las rechazaría y
+ * cortaría el updateMany en el primer documento inválido.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LocationPointBackfill {
+
+    private static final Document PENDING = new Document("location.point", new Document("$exists", false))
+            .append("location.latitude", new Document("$type", "number").append("$gte", -90).append("$lte", 90))
+            .append("location.longitude", new Document("$type", "number").append("$gte", -180).append("$lte", 180));
+
+    private static final List<Document> SET_POINT = List.of(new Document("$set",
+            new Document("location.point", new Document("type", "Point")
+                    .append("coordinates", List.of("$location.longitude", "$location.latitude")))));
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        for (Class<?> entityType : List.of(Event.class, SubEvent.class)) {
+            try {
+                UpdateResult result = mongoTemplate.execute(entityType,
+                        collection -> collection.updateMany(PENDING, SET_POINT));
+                if (result.getModifiedCount() > 0) {
+                    log.info("location.point rellenado en {} documentos de {}",
+                            result.getModifiedCount(), entityType.getSimpleName());
+                }
+            } catch (DataAccessException e) {
+                log.error("No se pudo rellenar location.point en {}: {}", entityType.getSimpleName(), e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventSnapshot;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.UserSnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Resuelve en lote las referencias guardadas como id + copia embebida.
+ *
+ * Cuando se necesita el documento completo (no solo la copia), se hace una única
+ * consulta $in por tipo en lugar de una ida a la base por cada referencia.
+ */
+@Component
+@RequiredArgsConstructor
+public class ReferenceBatchResolver {
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Usuarios completos de las inscripciones indicadas, por id
+     */
+    public Map<String, Users> resolveUsers(Collection<Inscription> inscriptions) {
+        return findAllById(Users.class, idsOf(inscriptions, inscription ->
+                inscription.getUsuario() != null ? inscription.getUsuario().getId() : null));
+    }
+
+    /**
+     * Eventos completos de las inscripciones indicadas, por id
+     */
+    public Map<String, Event> resolveEvents(Collection<Inscription> inscriptions) {
+        return findAllById(Event.class, idsOf(inscriptions, inscription ->
+                inscription.getEvento() != null ? inscription.getEvento().getId() : null));
+    }
+
+    /**
+     * Carga con un solo $in los documentos del tipo indicado; si se pasan campos solo
+     * se leen esos (útil para construir copias sin resolver los DBRef del documento)
+     */
+    public <T> Map<String, T> findAllById(Class<T> type, Collection<String> ids, String... fields) {
+        if (ids == null || ids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Query query = new Query(Criteria.where("_id").in(ids));
+        for (String field : fields) {
+            query.fields().include(field);
+        }
+
+        MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext =
+                mongoTemplate.getConverter().getMappingContext();
+        MongoPersistentEntity<?> entity = mappingContext.getRequiredPersistentEntity(type);
+
+        Map<String, T> byId = new HashMap<>();
+        for (T document : mongoTemplate.find(query, type)) {
+            Object id = entity.getIdentifierAccessor(document).getIdentifier();
+            byId.put(String.valueOf(id), document);
+        }
+        return byId;
+    }
+
+    /**
+     * Copias de usuario construidas con un solo $in (sin cargar rol ni estado)
+     */
+    public Map<String, UserSnapshot> userSnapshots(Collection<String> userIds) {
+        return findAllById(Users.class, userIds, "userName", "email", "name", "lastName").entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> UserSnapshot.of(entry.getValue())));
+    }
+
+    /**
+     * Copias de evento construidas con un solo $in (solo título, fechas y estado)
+     */
+    public Map<String, EventSnapshot> eventSnapshots(Collection<String> eventIds) {
+        return findAllById(Event.class, eventIds, "title", "start", "end", "status").entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> EventSnapshot.of(entry.getValue())));
+    }
+
+    private Set<String> idsOf(Collection<Inscription> inscriptions, Function<Inscription, String> id) {
+        return inscriptions.stream()
+                .map(id)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+    }
+}
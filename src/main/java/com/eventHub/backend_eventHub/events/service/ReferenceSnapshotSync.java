@@ -0,0 +1,52 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventSnapshot;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.UserSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * Mantiene al día las copias embebidas de usuario y evento en las inscripciones.
+ *
+ * Al guardar un Users o un Event se reescribe su copia en todas las inscripciones que
+ * lo referencian (updateMulti sobre los índices usuario._id / evento._id).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceSnapshotSync implements ApplicationListener<AfterSaveEvent<?>> {
+
+    private final MongoTemplate mongoTemplate;
+
+    @Override
+    public void onApplicationEvent(AfterSaveEvent<?> event) {
+        try {
+            Object source = event.getSource();
+            if (source instanceof Users user && ObjectId.isValid(user.getId())) {
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("usuario._id").is(new ObjectId(user.getId()))),
+                        new Update().set("usuario", UserSnapshot.of(user)),
+                        Inscription.class);
+            } else if (source instanceof Event saved && ObjectId.isValid(saved.getId())) {
+                mongoTemplate.updateMulti(
+                        Query.query(Criteria.where("evento._id").is(new ObjectId(saved.getId()))),
+                        new Update().set("evento", EventSnapshot.of(saved)),
+                        Inscription.class);
+            }
+        } catch (DataAccessException e) {
+            log.error("No se pudieron actualizar las copias embebidas: {}", e.getMessage());
+        }
+    }
+}
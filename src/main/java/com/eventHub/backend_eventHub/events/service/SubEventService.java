@@ -2,14 +2,17 @@
 // SubEventService
 package com.eventHub.backend_eventHub.events.service;
 
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
 import com.eventHub.backend_eventHub.events.dto.SubEventDto;
 import com.eventHub.backend_eventHub.events.entities.*;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
 import com.eventHub.backend_eventHub.events.repository.*;
 import com.eventHub.backend_eventHub.domain.entities.*;
-import com.eventHub.backend_eventHub.domain.repositories.*;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -22,10 +25,12 @@ import java.util.stream.Collectors;
 public class SubEventService {
     @Autowired private SubEventRepository subEventRepo;
     @Autowired private EventRepository eventRepo;
-    @Autowired private EventRoleRepository eventRoleRepo;
+    @Autowired private EventAccessService eventAccessService;
     @Autowired private UserRepository userRepo;
-    @Autowired private StateRepository stateRepo;
-    @Autowired private InscriptionRepository inscriptionRepo;
+    @Autowired private ReferenceDataRegistry referenceData;
+    @Autowired private EventHistoryService eventHistoryService;
+    @Autowired private PartialUpdater partialUpdater;
+    @Autowired private CascadeDeletionService cascadeDeletionService;
 
     /**
      * Crea un nuevo sub-evento
@@ -47,7 +52,7 @@ public class SubEventService {
             throw new IllegalArgumentException("No se pueden crear sub-eventos en un evento bloqueado");
         }
 
-        State activeState = stateRepo.findByNameState(StateList.Active)
+        State activeState = referenceData.findState(StateList.Active)
                 .orElseThrow(() -> new IllegalArgumentException("Estado Active no encontrado"));
 
         // Validar fechas
@@ -84,28 +89,15 @@ public class SubEventService {
                         new OtherData(null, null, null))
                 .status(activeState)
                 .creator(creator)
-                .history(new ArrayList<>())
                 .createdAt(Instant.now())
                 .updatedAt(Instant.now())
                 .build();
 
-        // Inicializar historial
-        HistoryRecord initialRecord = HistoryRecord.builder()
-                .field("creation")
-                .oldValue(null)
-                .newValue("SubEvent created")
-                .changedAt(Instant.now())
-                .build();
-        subEvent.getHistory().add(initialRecord);
-
         subEvent = subEventRepo.save(subEvent);
+        eventHistoryService.record(EntityType.SUBEVENT, subEvent.getId(), username, "creation", null, "SubEvent created");
 
-        // Agregar el ID del sub-evento al evento principal
-        if (eventoPrincipal.getSubeventIds() == null) {
-            eventoPrincipal.setSubeventIds(new ArrayList<>());
-        }
-        eventoPrincipal.getSubeventIds().add(subEvent.getId());
-        eventRepo.save(eventoPrincipal);
+        // Agregar el ID del sub-evento al evento principal sin reescribir el resto del documento
+        partialUpdater.update(Event.class, eventoPrincipal.getId(), new Update().addToSet("subeventIds", subEvent.getId()));
 
         return subEvent;
     }
@@ -144,7 +136,8 @@ public class SubEventService {
     }
 
     /**
-     * Actualiza un sub-evento
+     * Actualiza un sub-evento.
+     * Solo se escriben con $set los campos que cambian, condicionado a la versión leída
      */
     @Transactional
     public SubEvent updateSubEvent(String id, String username, SubEventDto dto) {
@@ -154,17 +147,94 @@ public class SubEventService {
             throw new IllegalArgumentException("No tienes permisos para editar este sub-evento");
         }
 
-        List<HistoryRecord> changes = new ArrayList<>();
+        PartialUpdater.Result<SubEvent> result = partialUpdater.updateVersioned(SubEvent.class, id,
+                current -> subEventFieldChanges(current, dto));
+        eventHistoryService.record(EntityType.SUBEVENT, id, username, result.changes().getHistory());
+        return result.entity();
+    }
+
+    /**
+     * Historial de cambios del sub-evento en un rango de fechas (solo organizadores del evento principal)
+     */
+    @Transactional(readOnly = true)
+    public CursorPageDto<EventHistoryEntry> getSubEventHistory(String id, String username, Instant from, Instant to,
+                                                               String cursor, Integer size) {
+        SubEvent subEvent = getSubEventById(id);
+
+        if (!canUserManageEvent(username, subEvent.getEventoPrincipal().getId())) {
+            throw new IllegalArgumentException("No tienes permisos para ver el historial de este sub-evento");
+        }
+        return eventHistoryService.page(EntityType.SUBEVENT, id, from, to, cursor, size);
+    }
+
+    /**
+     * Elimina un sub-evento
+     */
+    public DeletionJob deleteSubEvent(String id, String username) {
+        SubEvent subEvent = getSubEventById(id);
+        String eventoPrincipalId = subEvent.getEventoPrincipal().getId();
+
+        if (!canUserManageEvent(username, eventoPrincipalId)) {
+            throw new IllegalArgumentException("No tienes permisos para eliminar este sub-evento");
+        }
+
+        // Cancela las inscripciones por lotes, retira el id del evento principal y borra el sub-evento
+        return cascadeDeletionService.requestSubEventDeletion(id, eventoPrincipalId, username);
+    }
+
+    /**
+     * Lista sub-eventos creados por un usuario
+     */
+    @Transactional(readOnly = true)
+    public List<SubEvent> getSubEventsByCreator(String username) {
+        return subEventRepo.findByCreatorUserName(username);
+    }
+
+    /**
+     * Cambia el estado de un sub-evento
+     */
+    @Transactional
+    public SubEvent changeSubEventStatus(String id, String newStatus, String username) {
+        SubEvent subEvent = getSubEventById(id);
+
+        if (!canUserManageEvent(username, subEvent.getEventoPrincipal().getId())) {
+            throw new IllegalArgumentException("No tienes permisos para cambiar el estado de este sub-evento");
+        }
+
+        try {
+            com.eventHub.backend_eventHub.domain.enums.StateList stateEnum =
+                    com.eventHub.backend_eventHub.domain.enums.StateList.valueOf(newStatus);
+
+            State newState = referenceData.findState(stateEnum)
+                    .orElseThrow(() -> new IllegalArgumentException("Estado no encontrado: " + newStatus));
+
+            PartialUpdater.Result<SubEvent> result = partialUpdater.updateVersioned(SubEvent.class, id, current -> {
+                String oldStatus = current.getStatus() != null ?
+                        current.getStatus().getNameState().name() : "null";
+                return new FieldChanges()
+                        .set("status", newState, oldStatus, newStatus)
+                        .set("updatedAt", Instant.now());
+            });
+            eventHistoryService.record(EntityType.SUBEVENT, id, username, result.changes().getHistory());
+            return result.entity();
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Estado inválido: " + newStatus +
+                    ". Valores permitidos: " + java.util.Arrays.toString(
+                    com.eventHub.backend_eventHub.domain.enums.StateList.values()));
+        }
+    }
+
+    // Diff entre el sub-evento leído y el DTO: solo los campos que cambian, con su historial
+    private FieldChanges subEventFieldChanges(SubEvent subEvent, SubEventDto dto) {
+        FieldChanges changes = new FieldChanges();
 
         // Actualizar campos básicos
         if (dto.getTitle() != null && !dto.getTitle().equals(subEvent.getTitle())) {
-            addHistoryRecord(changes, "title", subEvent.getTitle(), dto.getTitle());
-            subEvent.setTitle(dto.getTitle());
+            changes.set("title", dto.getTitle(), subEvent.getTitle(), dto.getTitle());
         }
 
         if (dto.getDescription() != null && !dto.getDescription().equals(subEvent.getDescription())) {
-            addHistoryRecord(changes, "description", subEvent.getDescription(), dto.getDescription());
-            subEvent.setDescription(dto.getDescription());
+            changes.set("description", dto.getDescription(), subEvent.getDescription(), dto.getDescription());
         }
 
         if (dto.getStart() != null && !dto.getStart().equals(subEvent.getStart())) {
@@ -173,8 +243,7 @@ public class SubEventService {
                     dto.getStart().isAfter(subEvent.getEventoPrincipal().getEnd())) {
                 throw new IllegalArgumentException("La fecha de inicio debe estar dentro del rango del evento principal");
             }
-            addHistoryRecord(changes, "start", subEvent.getStart().toString(), dto.getStart().toString());
-            subEvent.setStart(dto.getStart());
+            changes.set("start", dto.getStart(), String.valueOf(subEvent.getStart()), dto.getStart().toString());
         }
 
         if (dto.getEnd() != null && !dto.getEnd().equals(subEvent.getEnd())) {
@@ -183,18 +252,17 @@ public class SubEventService {
                     dto.getEnd().isAfter(subEvent.getEventoPrincipal().getEnd())) {
                 throw new IllegalArgumentException("La fecha de fin debe estar dentro del rango del evento principal");
             }
-            addHistoryRecord(changes, "end", subEvent.getEnd().toString(), dto.getEnd().toString());
-            subEvent.setEnd(dto.getEnd());
+            changes.set("end", dto.getEnd(), String.valueOf(subEvent.getEnd()), dto.getEnd().toString());
         }
 
         if (dto.getMaxAttendees() != null && !dto.getMaxAttendees().equals(subEvent.getMaxAttendees())) {
-            // Verificar que no sea menor que los asistentes actuales
-            if (dto.getMaxAttendees() < subEvent.getCurrentAttendees()) {
+            // Verificar que no sea menor que los asistentes actuales (leídos en esta misma versión)
+            int current = subEvent.getCurrentAttendees() != null ? subEvent.getCurrentAttendees() : 0;
+            if (dto.getMaxAttendees() < current) {
                 throw new IllegalArgumentException("El máximo de asistentes no puede ser menor a los inscritos actuales");
             }
-            addHistoryRecord(changes, "maxAttendees",
-                    subEvent.getMaxAttendees().toString(), dto.getMaxAttendees().toString());
-            subEvent.setMaxAttendees(dto.getMaxAttendees());
+            changes.set("maxAttendees", dto.getMaxAttendees(),
+                    String.valueOf(subEvent.getMaxAttendees()), dto.getMaxAttendees().toString());
         }
 
         if (dto.getLocation() != null) {
@@ -203,22 +271,19 @@ public class SubEventService {
                     dto.getLocation().getType(),
                     dto.getLocation().getLatitude(),
                     dto.getLocation().getLongitude());
-            addHistoryRecord(changes, "location", "Updated", dto.getLocation().getAddress());
-            subEvent.setLocation(newLocation);
+            changes.set("location", newLocation, "Updated", dto.getLocation().getAddress());
         }
 
         if (dto.getPrice() != null) {
-            Price newPrice = new Price(dto.getPrice().getAmount(), dto.getPrice().getCurrency());
             String oldValue = subEvent.getPrice() != null ?
                     subEvent.getPrice().getAmount() + " " + subEvent.getPrice().getCurrency() : "none";
-            addHistoryRecord(changes, "price", oldValue,
-                    dto.getPrice().getAmount() + " " + dto.getPrice().getCurrency());
-            subEvent.setPrice(newPrice);
+            changes.set("price", new Price(dto.getPrice().getAmount(), dto.getPrice().getCurrency()),
+                    oldValue, dto.getPrice().getAmount() + " " + dto.getPrice().getCurrency());
         }
 
         if (dto.getMainImages() != null) {
-            subEvent.setMainImages(mapMediaDtosToMedia(dto.getMainImages()));
-            addHistoryRecord(changes, "mainImages", "Updated", "New images: " + dto.getMainImages().size());
+            changes.set("mainImages", mapMediaDtosToMedia(dto.getMainImages()),
+                    "Updated", "New images: " + dto.getMainImages().size());
         }
 
         if (dto.getOtherData() != null) {
@@ -226,148 +291,35 @@ public class SubEventService {
                     dto.getOtherData().getOrganizer(),
                     dto.getOtherData().getContact(),
                     dto.getOtherData().getNotes());
-            addHistoryRecord(changes, "otherData", "Updated", "Data updated");
-            subEvent.setOtherData(newData);
+            changes.set("otherData", newData, "Updated", "Data updated");
         }
 
-        // Agregar cambios al historial
         if (!changes.isEmpty()) {
-            if (subEvent.getHistory() == null) {
-                subEvent.setHistory(new ArrayList<>());
-            }
-            subEvent.getHistory().addAll(changes);
-        }
-
-        subEvent.setUpdatedAt(Instant.now());
-        return subEventRepo.save(subEvent);
-    }
-
-    /**
-     * Elimina un sub-evento
-     */
-    @Transactional
-    public void deleteSubEvent(String id, String username) {
-        SubEvent subEvent = getSubEventById(id);
-
-        if (!canUserManageEvent(username, subEvent.getEventoPrincipal().getId())) {
-            throw new IllegalArgumentException("No tienes permisos para eliminar este sub-evento");
-        }
-
-        // Cancelar inscripciones activas al sub-evento
-        List<Inscription> inscriptions = inscriptionRepo.findBySubeventoIdAndEstado(id, "confirmada");
-        inscriptions.forEach(inscription -> {
-            inscription.setEstado("cancelada");
-            inscriptionRepo.save(inscription);
-        });
-
-        // Remover el ID del sub-evento del evento principal
-        Event eventoPrincipal = subEvent.getEventoPrincipal();
-        if (eventoPrincipal.getSubeventIds() != null) {
-            eventoPrincipal.getSubeventIds().remove(id);
-            eventRepo.save(eventoPrincipal);
-        }
-
-        subEventRepo.delete(subEvent);
-    }
-
-    /**
-     * Lista sub-eventos creados por un usuario
-     */
-    @Transactional(readOnly = true)
-    public List<SubEvent> getSubEventsByCreator(String username) {
-        return subEventRepo.findByCreatorUserName(username);
-    }
-
-    /**
-     * Cambia el estado de un sub-evento
-     */
-    @Transactional
-    public SubEvent changeSubEventStatus(String id, String newStatus, String username) {
-        SubEvent subEvent = getSubEventById(id);
-
-        if (!canUserManageEvent(username, subEvent.getEventoPrincipal().getId())) {
-            throw new IllegalArgumentException("No tienes permisos para cambiar el estado de este sub-evento");
-        }
-
-        try {
-            com.eventHub.backend_eventHub.domain.enums.StateList stateEnum =
-                    com.eventHub.backend_eventHub.domain.enums.StateList.valueOf(newStatus);
-
-            State newState = stateRepo.findByNameState(stateEnum)
-                    .orElseThrow(() -> new IllegalArgumentException("Estado no encontrado: " + newStatus));
-
-            String oldStatus = subEvent.getStatus() != null ?
-                    subEvent.getStatus().getNameState().name() : "null";
-
-            subEvent.setStatus(newState);
-
-            // Agregar al historial
-            if (subEvent.getHistory() == null) {
-                subEvent.setHistory(new ArrayList<>());
-            }
-
-            addHistoryRecord(subEvent.getHistory(), "status", oldStatus, newStatus);
-            subEvent.setUpdatedAt(Instant.now());
-
-            return subEventRepo.save(subEvent);
-        } catch (IllegalArgumentException e) {
-            throw new IllegalArgumentException("Estado inválido: " + newStatus +
-                    ". Valores permitidos: " + java.util.Arrays.toString(
-                    com.eventHub.backend_eventHub.domain.enums.StateList.values()));
+            changes.set("updatedAt", Instant.now());
         }
+        return changes;
     }
 
     // ================ MÉTODOS DE UTILIDAD ================
     private boolean canUserManageEvent(String username, String eventoId) {
         try {
-            System.out.println("🔍 Verificando permisos para: " + username + " en evento: " + eventoId);
-
-            // Buscar directamente todos los roles del usuario
             Users user = userRepo.findByUserName(username).orElse(null);
             if (user == null) {
-                System.out.println("Usuario no encontrado");
                 return false;
             }
 
-            // Buscar roles usando una consulta que SÍ funciona
-            List<EventRole> allRoles = eventRoleRepo.findAll(); // Temporal - obtener todos
-
-            // Filtrar manualmente
-            boolean hasPermission = allRoles.stream()
-                    .anyMatch(role ->
-                            role.getUsuario() != null &&
-                                    role.getUsuario().getId().equals(user.getId()) &&
-                                    role.getEvento() != null &&
-                                    role.getEvento().getId().equals(eventoId) &&
-                                    role.isActivo() &&
-                                    (role.getRol().equals("CREADOR") || role.getRol().equals("SUBCREADOR"))
-                    );
-
-            System.out.println("Permisos encontrados: " + hasPermission);
-            return hasPermission;
+            return eventAccessService.canEdit(user, eventoId);
 
         } catch (Exception e) {
             System.err.println(" Error: " + e.getMessage());
-            e.printStackTrace();
             return false;
         }
     }
 
-
-
     private List<Media> mapMediaDtosToMedia(List<com.eventHub.backend_eventHub.events.dto.MediaDto> dtos) {
         if (dtos == null) return new ArrayList<>();
         return dtos.stream()
                 .map(m -> new Media(m.getUrl(), m.getDescription(), m.getUploadedAt(), m.getMediaType()))
                 .collect(java.util.stream.Collectors.toList());
     }
-
-    private void addHistoryRecord(List<HistoryRecord> history, String field, String oldValue, String newValue) {
-        history.add(HistoryRecord.builder()
-                .field(field)
-                .oldValue(oldValue)
-                .newValue(newValue)
-                .changedAt(Instant.now())
-                .build());
-    }
 }
\ No newline at end of file
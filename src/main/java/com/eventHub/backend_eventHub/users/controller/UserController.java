@@ -16,6 +16,7 @@ import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotBlank;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -96,7 +97,7 @@ public class UserController {
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(
             summary = "Listar usuarios",
-            description = "Obtiene todos los usuarios del sistema, opcionalmente filtrados por estado"
+            description = "Obtiene los usuarios del sistema paginados, opcionalmente filtrados por estado"
     )
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Usuarios obtenidos exitosamente"),
@@ -105,18 +106,24 @@ public class UserController {
     })
     public ResponseEntity<StandardListResponse<UserProfileDto>> list(
             @Parameter(description = "Estado para filtrar usuarios (opcional)")
-            @RequestParam Optional<String> state) {
+            @RequestParam Optional<String> state,
+            @Parameter(description = "Número de página (desde 0)")
+            @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Tamaño de página (máximo 100)")
+            @RequestParam(defaultValue = "20") int size) {
 
         log.debug("Listando usuarios con filtro de estado: {}", state.orElse("ninguno"));
 
-        List<Users> users = userService.getAll(state);
+        Page<Users> users = userService.getAll(state, page, size);
         List<UserProfileDto> dtos = users.stream()
                 .map(this::mapToDto)
                 .toList();
 
         StandardListResponse<UserProfileDto> response = StandardListResponse.<UserProfileDto>builder()
                 .data(dtos)
-                .total(dtos.size())
+                .total((int) users.getTotalElements())
+                .page(users.getNumber())
+                .totalPages(users.getTotalPages())
                 .filtered(state.isPresent())
                 .filter(state.orElse(null))
                 .build();
@@ -332,6 +339,8 @@ public class UserController {
     public static class StandardListResponse<T> {
         private List<T> data;
         private int total;
+        private Integer page;
+        private Integer totalPages;
         private boolean filtered;
         private String filter;
         private String timestamp = java.time.LocalDateTime.now().toString();
@@ -2,10 +2,14 @@ package com.eventHub.backend_eventHub.users.repository;
 
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
+import org.springframework.data.mongodb.repository.Update;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,6 +27,25 @@ public interface UserRepository extends MongoRepository<Users, String> {
     Optional<Users> findByEmail(String email);
     boolean existsByEmail(String email);
 
+    /**
+     * Usuarios con alguno de los emails indicados (solo id y email)
+     */
+    @Query(value = "{'email': {$in: ?0}}", fields = "{'_id': 1, 'email': 1}")
+    List<Users> findIdAndEmailByEmailIn(Collection<String> emails);
+
+    /**
+     * Reemplaza solo el hash de la contraseña (re-hash tras el login)
+     */
+    @Query("{'userName': ?0}")
+    @Update("{'$set': {'password': ?1}}")
+    long updatePasswordByUserName(String userName, String encodedPassword);
+
+    /**
+     * Solo el _id del usuario, para invalidar la cache por id
+     */
+    @Query(value = "{'userName': ?0}", fields = "{'_id': 1}")
+    Optional<Users> findIdByUserName(String userName);
+
     @Query("{'userName': {$regex: ?0, $options: 'i'}}")
     List<Users> findByUserNameIsContainingIgnoreCase(String userName);
 
@@ -34,6 +57,12 @@ public interface UserRepository extends MongoRepository<Users, String> {
     @Query("{'state.nameState': ?0}")
     List<Users> findByState_NameState(StateList state);
 
+    /**
+     * Usuarios cuyo estado (DBRef) tiene el ID indicado, paginados
+     */
+    @Query("{'state.$id': ObjectId(?0)}")
+    Page<Users> findByStateId(String stateId, Pageable pageable);
+
     // ========== BÚSQUEDAS POR ROL ==========
 
     @Query("{'role.nombreRol': ?0}")
@@ -1,9 +1,10 @@
 package com.eventHub.backend_eventHub.users.service;
 
+import com.eventHub.backend_eventHub.auth.service.UserRevocationRegistry;
 import com.eventHub.backend_eventHub.domain.entities.State;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.users.dto.ChangeStatusDto;
 import com.eventHub.backend_eventHub.users.dto.UpdateUserDto;
 import com.eventHub.backend_eventHub.users.exception.UserNotFoundException;
@@ -13,7 +14,12 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -32,7 +38,10 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
-    private final StateRepository stateRepository;
+    private final ReferenceDataRegistry referenceData;
+    private final UserRevocationRegistry revocations;
+
+    public static final int MAX_PAGE_SIZE = 100;
 
     // Mapeo de estados del frontend a enum
     private static final Map<String, StateList> STATE_MAPPING = Map.of(
@@ -61,7 +70,7 @@ public class UserService {
 
         if (user.getState() == null) {
             try {
-                State activeState = stateRepository.findByNameState(StateList.Active)
+                State activeState = referenceData.findState(StateList.Active)
                         .orElseThrow(() -> {
                             log.error("Estado 'Active' no encontrado en la base de datos");
                             return new UserServiceException(
@@ -83,30 +92,30 @@ public class UserService {
     }
 
     /**
-     * Recupera todos los usuarios o filtra por estado.
-     * Incluye caché para mejorar rendimiento.
+     * Recupera una página de usuarios, opcionalmente filtrada por estado.
      *
      * @param stateName Nombre del estado opcional
-     * @return Lista de usuarios filtrada
+     * @param page      Número de página (desde 0)
+     * @param size      Tamaño de página (máximo MAX_PAGE_SIZE)
+     * @return Página de usuarios ordenada por ID
      */
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#stateName.orElse('all')")
-    public List<Users> getAll(Optional<String> stateName) {
+    public Page<Users> getAll(Optional<String> stateName, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_PAGE_SIZE),
+                Sort.by("_id"));
         try {
-            List<Users> users;
+            Page<Users> users;
 
             if (stateName.isPresent() && StringUtils.hasText(stateName.get())) {
-                String stateValue = stateName.get().trim();
-                users = userRepository.findByStateNameStateIgnoreCase(stateValue);
-                log.debug("Encontrados {} usuarios con estado: {}", users.size(), stateValue);
+                StateList state = mapStateFromDto(stateName.get().trim());
+                users = userRepository.findByStateId(referenceData.stateId(state), pageable);
+                log.debug("Encontrados {} usuarios con estado: {}", users.getTotalElements(), state);
             } else {
-                users = userRepository.findAll();
-                log.debug("Encontrados {} usuarios en total", users.size());
+                users = userRepository.findAll(pageable);
+                log.debug("Encontrados {} usuarios en total", users.getTotalElements());
             }
 
-            return users.stream()
-                    .map(this::ensureUserHasState)
-                    .toList();
+            return users.map(this::ensureUserHasState);
 
         } catch (DataAccessException e) {
             log.error("Error accediendo a la base de datos al obtener usuarios", e);
@@ -211,7 +220,10 @@ public class UserService {
      * @throws UserServiceException si hay error en la actualización
      */
     @Transactional
-    @CacheEvict(value = {"user", "userByUsername", "users"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "user", key = "#id"),
+            @CacheEvict(value = "userByUsername", key = "#result.userName")
+    })
     public Users updateUser(String id, UpdateUserDto dto) {
         if (!StringUtils.hasText(id)) {
             throw new IllegalArgumentException("ID de usuario no puede estar vacío");
@@ -251,7 +263,10 @@ public class UserService {
      * @return Usuario actualizado
      */
     @Transactional
-    @CacheEvict(value = {"user", "userByUsername", "users"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "userByUsername", key = "#principal.name"),
+            @CacheEvict(value = "user", key = "#result.id")
+    })
     public Users updateMe(Principal principal, UpdateUserDto dto) {
         Users me = getMe(principal);
         return updateUser(me.getId(), dto);
@@ -268,7 +283,10 @@ public class UserService {
      * @throws UserServiceException si el estado no es válido
      */
     @Transactional
-    @CacheEvict(value = {"user", "userByUsername", "users"}, allEntries = true)
+    @Caching(evict = {
+            @CacheEvict(value = "user", key = "#id"),
+            @CacheEvict(value = "userByUsername", key = "#result.userName")
+    })
     public Users changeState(String id, ChangeStatusDto dto) {
         if (!StringUtils.hasText(id)) {
             throw new IllegalArgumentException("ID de usuario no puede estar vacío");
@@ -285,7 +303,7 @@ public class UserService {
             StateList stateEnum = mapStateFromDto(dto.getState().trim());
 
             // Buscar el estado en la base de datos
-            State newState = stateRepository.findByNameState(stateEnum)
+            State newState = referenceData.findState(stateEnum)
                     .orElseThrow(() -> {
                         log.error("Estado '{}' no encontrado en la base de datos", stateEnum.name());
                         return new UserServiceException(
@@ -295,8 +313,13 @@ public class UserService {
                     });
 
             existing.setState(newState);
+            existing.setStateVersion(existing.getStateVersion() + 1);
             Users updatedUser = userRepository.save(existing);
 
+            // Los tokens emitidos antes del cambio dejan de ser válidos
+            revocations.stateChanged(updatedUser.getId(), updatedUser.getStateVersion(),
+                    StateList.Active.equals(newState.getNameState()));
+
             log.info("Estado del usuario {} cambiado de {} a {}",
                     existing.getId(),
                     existing.getState() != null ? existing.getState().getNameState() : "null",
@@ -0,0 +1,147 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Cache en memoria acotada por tamaño (LRU) y con expiración por tiempo (TTL).
+ *
+ * Pensada para resultados de consultas pequeños y muy repetidos; es segura
+ * para uso concurrente (acceso sincronizado sobre un LinkedHashMap en orden de acceso).
+ * Lleva contadores de aciertos, fallos, escrituras y expulsiones para exponerlos como métricas.
+ */
+public class BoundedTtlCache<K, V> {
+
+    private final int maxSize;
+    private final long ttlMillis;
+    private final Clock clock;
+    private final LinkedHashMap<K, Entry<V>> entries;
+
+    // Se incrementa en cada invalidación para descartar cargas que empezaron antes
+    private long generation;
+
+    private long hits;
+    private long misses;
+    private long puts;
+    private long evictions;
+
+    public BoundedTtlCache(int maxSize, Duration ttl) {
+        this(maxSize, ttl, Clock.systemUTC());
+    }
+
+    public BoundedTtlCache(int maxSize, Duration ttl, Clock clock) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("El tamaño máximo de la cache debe ser positivo");
+        }
+        this.maxSize = maxSize;
+        this.ttlMillis = ttl.toMillis();
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, Entry<V>> eldest) {
+                if (size() > BoundedTtlCache.this.maxSize) {
+                    evictions++;
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Devuelve el valor cacheado o lo calcula con el loader si no existe o expiró.
+     * El loader se ejecuta fuera del bloqueo para no serializar consultas a la BD.
+     */
+    public V get(K key, Function<K, V> loader) {
+        long now = clock.millis();
+        long loadGeneration;
+        synchronized (this) {
+            Entry<V> entry = lookup(key, now);
+            if (entry != null) {
+                return entry.value;
+            }
+            loadGeneration = generation;
+        }
+
+        V value = loader.apply(key);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Devuelve el valor cacheado o null si no existe o expiró (sin cargarlo)
+     */
+    public synchronized V getIfPresent(K key) {
+        Entry<V> entry = lookup(key, clock.millis());
+        return entry != null ? entry.value : null;
+    }
+
+    public synchronized void put(K key, V value) {
+        puts++;
+        entries.put(key, new Entry<>(value, clock.millis() + ttlMillis));
+    }
+
+    public synchronized void invalidate(K key) {
+        generation++;
+        entries.remove(key);
+    }
+
+    public synchronized void invalidateIf(Predicate<K> predicate) {
+        generation++;
+        entries.keySet().removeIf(predicate);
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long hitCount() {
+        return hits;
+    }
+
+    public synchronized long missCount() {
+        return misses;
+    }
+
+    public synchronized long putCount() {
+        return puts;
+    }
+
+    /**
+     * Entradas expulsadas por tamaño o por expiración (no cuenta las invalidaciones explícitas)
+     */
+    public synchronized long evictionCount() {
+        return evictions;
+    }
+
+    // Busca una entrada vigente y actualiza los contadores; las expiradas se descartan
+    private Entry<V> lookup(K key, long now) {
+        Entry<V> entry = entries.get(key);
+        if (entry != null && entry.expiresAt > now) {
+            hits++;
+            return entry;
+        }
+        if (entry != null) {
+            entries.remove(key);
+            evictions++;
+        }
+        misses++;
+        return null;
+    }
+
+    private record Entry<V>(V value, long expiresAt) {
+    }
+}
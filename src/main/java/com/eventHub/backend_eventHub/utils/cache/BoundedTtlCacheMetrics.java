@@ -0,0 +1,46 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.binder.cache.CacheMeterBinder;
+
+/**
+ * Métricas estándar de cache (cache.gets hit/miss, cache.puts, cache.evictions, cache.size)
+ * para una {@link BoundedTtlCache}.
+ */
+public class BoundedTtlCacheMetrics extends CacheMeterBinder<BoundedTtlCache<?, ?>> {
+
+    public BoundedTtlCacheMetrics(BoundedTtlCache<?, ?> cache, String cacheName, Iterable<Tag> tags) {
+        super(cache, cacheName, tags);
+    }
+
+    @Override
+    protected Long size() {
+        return (long) getCache().size();
+    }
+
+    @Override
+    protected long hitCount() {
+        return getCache().hitCount();
+    }
+
+    @Override
+    protected Long missCount() {
+        return getCache().missCount();
+    }
+
+    @Override
+    protected Long evictionCount() {
+        return getCache().evictionCount();
+    }
+
+    @Override
+    protected long putCount() {
+        return getCache().putCount();
+    }
+
+    @Override
+    protected void bindImplementationSpecificMetrics(MeterRegistry registry) {
+        // Sin métricas adicionales
+    }
+}
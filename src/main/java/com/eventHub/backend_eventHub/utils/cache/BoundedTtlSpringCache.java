@@ -0,0 +1,63 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Adaptador de {@link BoundedTtlCache} a la abstracción de cache de Spring
+ * (@Cacheable / @CacheEvict). No admite valores null.
+ */
+public class BoundedTtlSpringCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final BoundedTtlCache<Object, Object> store;
+
+    public BoundedTtlSpringCache(String name, BoundedTtlCache<Object, Object> store) {
+        super(false);
+        this.name = name;
+        this.store = store;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public BoundedTtlCache<Object, Object> getNativeCache() {
+        return store;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        return store.getIfPresent(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return (T) fromStoreValue(store.get(key, k -> {
+            try {
+                return toStoreValue(valueLoader.call());
+            } catch (Exception e) {
+                throw new ValueRetrievalException(key, valueLoader, e);
+            }
+        }));
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        store.put(key, toStoreValue(value));
+    }
+
+    @Override
+    public void evict(Object key) {
+        store.invalidate(key);
+    }
+
+    @Override
+    public void clear() {
+        store.invalidateAll();
+    }
+}
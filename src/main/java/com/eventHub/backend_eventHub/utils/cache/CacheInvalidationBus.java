@@ -0,0 +1,98 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Difunde invalidaciones de cache entre réplicas por el canal pub/sub del nivel remoto.
+ *
+ * Cada cache (o dato en memoria, como las categorías) registra un handler por tema; al
+ * recibir una invalidación de otra réplica se invoca con la clave afectada, o con
+ * {@link #ALL_KEYS} para vaciarla. Tras cada (re)conexión se vacía todo, porque los
+ * mensajes publicados sin conexión se pierden. Sin Redis configurado no difunde nada.
+ */
+@Component
+@Slf4j
+public class CacheInvalidationBus {
+
+    public static final String CHANNEL = "eventhub:cache:invalidation";
+    public static final String ALL_KEYS = "*";
+
+    private static final String SEPARATOR = "|";
+
+    private final RemoteCacheTier remoteTier;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Map<String, List<Consumer<String>>> handlers = new ConcurrentHashMap<>();
+
+    public CacheInvalidationBus(ObjectProvider<RemoteCacheTier> remoteTier) {
+        this(remoteTier.getIfAvailable());
+    }
+
+    public CacheInvalidationBus(RemoteCacheTier remoteTier) {
+        this.remoteTier = remoteTier;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (remoteTier != null) {
+            remoteTier.subscribe(CHANNEL, this::onMessage, this::onConnected);
+        }
+    }
+
+    public boolean isDistributed() {
+        return remoteTier != null;
+    }
+
+    /**
+     * Registra el handler que invalida la copia local de un tema
+     */
+    public void register(String topic, Consumer<String> handler) {
+        handlers.computeIfAbsent(topic, t -> new CopyOnWriteArrayList<>()).add(handler);
+    }
+
+    /**
+     * Notifica al resto de réplicas que la clave del tema cambió
+     */
+    public void publish(String topic, String key) {
+        if (remoteTier == null) {
+            return;
+        }
+        try {
+            remoteTier.publish(CHANNEL, nodeId + SEPARATOR + topic + SEPARATOR + key);
+        } catch (RuntimeException e) {
+            log.warn("No se pudo publicar la invalidación {}:{}: {}", topic, key, e.getMessage());
+        }
+    }
+
+    private void onMessage(String message) {
+        String[] parts = message.split("\\" + SEPARATOR, 3);
+        if (parts.length != 3 || nodeId.equals(parts[0])) {
+            return;
+        }
+        dispatch(parts[1], parts[2]);
+    }
+
+    private void onConnected() {
+        handlers.keySet().forEach(topic -> dispatch(topic, ALL_KEYS));
+    }
+
+    private void dispatch(String topic, String key) {
+        for (Consumer<String> handler : handlers.getOrDefault(topic, List.of())) {
+            try {
+                handler.accept(key);
+            } catch (RuntimeException e) {
+                log.error("Error invalidando {}:{}: {}", topic, key, e.getMessage());
+            }
+        }
+    }
+}
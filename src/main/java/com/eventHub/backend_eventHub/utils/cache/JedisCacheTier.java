@@ -0,0 +1,120 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.JedisPubSub;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisException;
+import redis.clients.jedis.params.ScanParams;
+import redis.clients.jedis.resps.ScanResult;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * {@link RemoteCacheTier} sobre Redis con Jedis.
+ *
+ * La suscripción corre en un hilo daemon que se reconecta con espera creciente
+ * (hasta 30 s) si se pierde la conexión. El pool de conexiones no es suyo: lo cierra
+ * el bean JedisPooled compartido.
+ */
+@Slf4j
+public class JedisCacheTier implements RemoteCacheTier {
+
+    private static final int SCAN_BATCH = 500;
+    private static final long MAX_BACKOFF_MILLIS = 30_000;
+
+    private final UnifiedJedis jedis;
+
+    private volatile boolean running = true;
+    private volatile JedisPubSub subscription;
+
+    public JedisCacheTier(UnifiedJedis jedis) {
+        this.jedis = jedis;
+    }
+
+    @Override
+    public String get(String key) {
+        return jedis.get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        jedis.setex(key, Math.max(ttl.toSeconds(), 1), value);
+    }
+
+    @Override
+    public void delete(String key) {
+        jedis.del(key);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        ScanParams params = new ScanParams().match(prefix + "*").count(SCAN_BATCH);
+        String cursor = ScanParams.SCAN_POINTER_START;
+        do {
+            ScanResult<String> page = jedis.scan(cursor, params);
+            if (!page.getResult().isEmpty()) {
+                jedis.del(page.getResult().toArray(String[]::new));
+            }
+            cursor = page.getCursor();
+        } while (!ScanParams.SCAN_POINTER_START.equals(cursor));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        jedis.publish(channel, message);
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> onMessage, Runnable onConnected) {
+        Thread thread = new Thread(() -> {
+            long backoff = 500;
+            while (running) {
+                try {
+                    subscription = new JedisPubSub() {
+                        @Override
+                        public void onSubscribe(String subscribed, int subscribedChannels) {
+                            log.info("Suscrito al canal de invalidación de cache: {}", subscribed);
+                            onConnected.run();
+                        }
+
+                        @Override
+                        public void onMessage(String from, String message) {
+                            onMessage.accept(message);
+                        }
+                    };
+                    // Bloquea hasta que se cierre la suscripción o caiga la conexión
+                    jedis.subscribe(subscription, channel);
+                    backoff = 500;
+                } catch (JedisException e) {
+                    if (!running) {
+                        break;
+                    }
+                    log.warn("Suscripción a {} interrumpida, reintentando en {} ms: {}", channel, backoff, e.getMessage());
+                    sleep(backoff);
+                    backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+                }
+            }
+        }, "cache-invalidation-subscriber");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    @Override
+    public void close() {
+        running = false;
+        JedisPubSub current = subscription;
+        if (current != null && current.isSubscribed()) {
+            current.unsubscribe();
+        }
+    }
+
+    private void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+/**
+ * Nivel remoto compartido por todas las réplicas (Redis): almacén clave/valor con TTL
+ * y canal pub/sub para difundir invalidaciones.
+ */
+public interface RemoteCacheTier extends AutoCloseable {
+
+    /**
+     * Valor guardado o null si no existe
+     */
+    String get(String key);
+
+    void set(String key, String value, Duration ttl);
+
+    void delete(String key);
+
+    /**
+     * Elimina todas las claves que empiezan por el prefijo indicado
+     */
+    void deleteByPrefix(String prefix);
+
+    void publish(String channel, String message);
+
+    /**
+     * Se suscribe al canal en segundo plano. onConnected se invoca en cada (re)conexión,
+     * ya que los mensajes publicados mientras no había conexión se pierden.
+     */
+    void subscribe(String channel, Consumer<String> onMessage, Runnable onConnected);
+
+    @Override
+    void close();
+}
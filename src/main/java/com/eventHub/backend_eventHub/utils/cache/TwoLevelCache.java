@@ -0,0 +1,138 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache de dos niveles: una {@link BoundedTtlCache} local (near-cache) delante del
+ * nivel remoto compartido ({@link RemoteCacheTier}), con los valores en JSON.
+ *
+ * - Lectura: local, después remoto (y se copia en local), después el loader.
+ * - Evicción: local, remoto y difusión por {@link CacheInvalidationBus} para que el
+ *   resto de réplicas descarten su copia local.
+ *
+ * Si el nivel remoto falla se sigue sirviendo solo desde la copia local.
+ */
+@Slf4j
+public class TwoLevelCache extends BoundedTtlSpringCache {
+
+    private static final String KEY_PREFIX = "eventhub:cache:";
+
+    private final RemoteCacheTier remoteTier;
+    private final CacheInvalidationBus invalidationBus;
+    private final ObjectMapper objectMapper;
+    private final JavaType valueType;
+    private final Duration ttl;
+
+    public TwoLevelCache(String name,
+                         BoundedTtlCache<Object, Object> nearCache,
+                         Duration ttl,
+                         RemoteCacheTier remoteTier,
+                         CacheInvalidationBus invalidationBus,
+                         ObjectMapper objectMapper,
+                         JavaType valueType) {
+        super(name, nearCache);
+        this.remoteTier = remoteTier;
+        this.invalidationBus = invalidationBus;
+        this.objectMapper = objectMapper;
+        this.valueType = valueType;
+        this.ttl = ttl;
+
+        // Invalidaciones llegadas de otras réplicas: solo afectan a la copia local
+        invalidationBus.register(name, key -> {
+            if (CacheInvalidationBus.ALL_KEYS.equals(key)) {
+                nearCache.invalidateAll();
+            } else {
+                nearCache.invalidate(key);
+            }
+        });
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object local = super.lookup(key);
+        if (local != null) {
+            return local;
+        }
+
+        Object remote = readRemote(key);
+        if (remote != null) {
+            getNativeCache().put(key, remote);
+        }
+        return remote;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = get(key);
+        if (cached != null) {
+            return (T) cached.get();
+        }
+
+        T value;
+        try {
+            value = valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        put(key, value);
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        super.put(key, value);
+        try {
+            remoteTier.set(remoteKey(key), objectMapper.writeValueAsString(value), ttl);
+        } catch (JsonProcessingException e) {
+            log.warn("No se pudo serializar {}:{} para la cache remota: {}", getName(), key, e.getMessage());
+        } catch (RuntimeException e) {
+            log.warn("Cache remota no disponible al guardar {}:{}: {}", getName(), key, e.getMessage());
+        }
+    }
+
+    @Override
+    public void evict(Object key) {
+        super.evict(key);
+        try {
+            remoteTier.delete(remoteKey(key));
+        } catch (RuntimeException e) {
+            log.warn("Cache remota no disponible al invalidar {}:{}: {}", getName(), key, e.getMessage());
+        }
+        invalidationBus.publish(getName(), String.valueOf(key));
+    }
+
+    @Override
+    public void clear() {
+        super.clear();
+        try {
+            remoteTier.deleteByPrefix(KEY_PREFIX + getName() + ":");
+        } catch (RuntimeException e) {
+            log.warn("Cache remota no disponible al vaciar {}: {}", getName(), e.getMessage());
+        }
+        invalidationBus.publish(getName(), CacheInvalidationBus.ALL_KEYS);
+    }
+
+    private Object readRemote(Object key) {
+        try {
+            String json = remoteTier.get(remoteKey(key));
+            return json != null ? objectMapper.readValue(json, valueType) : null;
+        } catch (JsonProcessingException e) {
+            log.warn("Valor remoto ilegible para {}:{}, se ignora: {}", getName(), key, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            log.warn("Cache remota no disponible al leer {}:{}: {}", getName(), key, e.getMessage());
+            return null;
+        }
+    }
+
+    private String remoteKey(Object key) {
+        return KEY_PREFIX + getName() + ":" + key;
+    }
+}
@@ -0,0 +1,48 @@
+package com.eventHub.backend_eventHub.utils.emails.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Correo pendiente de envío (patrón outbox).
+ *
+ * Las peticiones HTTP solo insertan el documento; EmailOutboxDispatcher lo reclama,
+ * lo envía y reintenta con espera creciente. Los enviados se borran a los 7 días.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "email_outbox")
+@CompoundIndex(name = "status_next_attempt_idx", def = "{'status': 1, 'nextAttemptAt': 1}")
+public class EmailOutboxMessage {
+
+    public enum Status { PENDING, SENDING, SENT, FAILED }
+
+    @Id
+    private String id;
+
+    private String recipientEmail;
+    private String subject;
+    private String body;            // Se elimina al enviarse
+
+    private Status status;
+    private int attempts;
+    private Instant nextAttemptAt;
+    private Instant lockedUntil;    // Reclamado por un worker hasta esta fecha
+    private String owner;           // Reclamo vigente; solo su worker registra el resultado
+    private String lastError;
+
+    private Instant createdAt;
+
+    @Indexed(name = "sent_ttl_idx", expireAfter = "7d")
+    private Instant sentAt;
+}
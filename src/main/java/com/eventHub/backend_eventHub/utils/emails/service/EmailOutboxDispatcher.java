@@ -0,0 +1,273 @@
+package com.eventHub.backend_eventHub.utils.emails.service;
+
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage.Status;
+import com.eventHub.backend_eventHub.utils.emails.transport.EmailTransport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Despacha en segundo plano los correos de la colección email_outbox.
+ *
+ * Un hilo de sondeo reclama lotes de mensajes pendientes (tantos como workers libres)
+ * con findAndModify, de modo que varias instancias pueden compartir la cola sin enviar
+ * dos veces el mismo correo. Cada reclamo bloquea el mensaje durante email.outbox.lock-seconds;
+ * si la instancia cae a mitad de envío, el mensaje vuelve a quedar disponible al vencer el bloqueo.
+ * Cada reclamo lleva un token owner y el resultado solo se registra si sigue siendo el vigente,
+ * así un envío lento que otro worker reclamó no pisa el estado ni los intentos del nuevo.
+ *
+ * Los fallos se reintentan con espera exponencial con jitter hasta email.outbox.max-attempts,
+ * tras lo cual el mensaje queda en FAILED.
+ *
+ * Métricas: eventhub.email.outbox.depth, eventhub.email.sent / failed / retries,
+ * eventhub.email.delivery.latency (encolado → enviado) y eventhub.email.send.duration.
+ */
+@Component
+@Slf4j
+public class EmailOutboxDispatcher {
+
+    private static final String METRIC_PREFIX = "eventhub.email";
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final EmailTransport transport;
+
+    private final int workers;
+    private final long pollMillis;
+    private final int maxAttempts;
+    private final Duration baseBackoff;
+    private final Duration maxBackoff;
+    private final Duration lockDuration;
+
+    private final AtomicLong depth = new AtomicLong();
+    private final Counter sent;
+    private final Counter failed;
+    private final Counter retries;
+    private final Timer deliveryLatency;
+    private final Timer sendDuration;
+
+    private Semaphore freeWorkers;
+    private ScheduledExecutorService poller;
+    private ExecutorService workerPool;
+
+    public EmailOutboxDispatcher(MongoTemplate mongoTemplate,
+                                 EmailTransport transport,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${email.outbox.workers:4}") int workers,
+                                 @Value("${email.outbox.poll-millis:2000}") long pollMillis,
+                                 @Value("${email.outbox.max-attempts:5}") int maxAttempts,
+                                 @Value("${email.outbox.backoff-seconds:30}") long backoffSeconds,
+                                 @Value("${email.outbox.max-backoff-seconds:3600}") long maxBackoffSeconds,
+                                 @Value("${email.outbox.lock-seconds:300}") long lockSeconds) {
+        this.mongoTemplate = mongoTemplate;
+        this.transport = transport;
+        this.workers = Math.max(workers, 1);
+        this.pollMillis = pollMillis;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.baseBackoff = Duration.ofSeconds(backoffSeconds);
+        this.maxBackoff = Duration.ofSeconds(maxBackoffSeconds);
+        this.lockDuration = Duration.ofSeconds(lockSeconds);
+
+        Gauge.builder(METRIC_PREFIX + ".outbox.depth", depth, AtomicLong::get)
+                .description("Correos pendientes de envío en email_outbox")
+                .register(meterRegistry);
+        this.sent = Counter.builder(METRIC_PREFIX + ".sent").register(meterRegistry);
+        this.failed = Counter.builder(METRIC_PREFIX + ".failed").register(meterRegistry);
+        this.retries = Counter.builder(METRIC_PREFIX + ".retries").register(meterRegistry);
+        this.deliveryLatency = Timer.builder(METRIC_PREFIX + ".delivery.latency")
+                .description("Tiempo desde que se encola un correo hasta que se envía")
+                .register(meterRegistry);
+        this.sendDuration = Timer.builder(METRIC_PREFIX + ".send.duration")
+                .description("Duración de cada llamada al transporte de correo")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (poller != null) {
+            return;
+        }
+        freeWorkers = new Semaphore(workers);
+        workerPool = Executors.newFixedThreadPool(workers, daemonThreads("email-outbox-worker"));
+        poller = Executors.newSingleThreadScheduledExecutor(daemonThreads("email-outbox-poller"));
+        poller.scheduleWithFixedDelay(this::poll, 0, pollMillis, TimeUnit.MILLISECONDS);
+        log.info("Dispatcher de correo iniciado con {} workers", workers);
+    }
+
+    /**
+     * Adelanta el siguiente sondeo (tras encolar un correo) sin esperar al intervalo
+     */
+    public void wakeUp() {
+        ScheduledExecutorService current = poller;
+        if (current != null && !current.isShutdown()) {
+            current.execute(this::poll);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (poller == null) {
+            return;
+        }
+        poller.shutdownNow();
+        workerPool.shutdown();
+        try {
+            if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+                workerPool.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            workerPool.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        poller = null;
+    }
+
+    // Reclama un lote del tamaño de los workers libres y lo reparte entre ellos
+    private void poll() {
+        try {
+            depth.set(mongoTemplate.count(
+                    Query.query(Criteria.where("status").is(Status.PENDING)), EmailOutboxMessage.class));
+
+            while (freeWorkers.tryAcquire()) {
+                EmailOutboxMessage message = claimNext(Instant.now());
+                if (message == null) {
+                    freeWorkers.release();
+                    return;
+                }
+                workerPool.execute(() -> {
+                    try {
+                        deliver(message);
+                    } finally {
+                        freeWorkers.release();
+                    }
+                });
+            }
+        } catch (DataAccessException e) {
+            log.error("No se pudo consultar email_outbox: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Error inesperado en el dispatcher de correo", e);
+        }
+    }
+
+    /**
+     * Marca como SENDING el mensaje vencido más antiguo (pendiente o con bloqueo expirado)
+     */
+    EmailOutboxMessage claimNext(Instant now) {
+        Query query = Query.query(new Criteria().orOperator(
+                        Criteria.where("status").is(Status.PENDING).and("nextAttemptAt").lte(now),
+                        Criteria.where("status").is(Status.SENDING).and("lockedUntil").lte(now)))
+                .with(Sort.by(Sort.Direction.ASC, "nextAttemptAt"));
+        Update update = new Update()
+                .set("status", Status.SENDING)
+                .set("lockedUntil", now.plus(lockDuration))
+                .set("owner", UUID.randomUUID().toString())
+                .inc("attempts", 1);
+        return mongoTemplate.findAndModify(query, update,
+                FindAndModifyOptions.options().returnNew(true), EmailOutboxMessage.class);
+    }
+
+    /**
+     * Envía un mensaje reclamado y registra el resultado (SENT, reintento o FAILED)
+     */
+    void deliver(EmailOutboxMessage message) {
+        EmailDto email = new EmailDto();
+        email.setRecipientEmail(message.getRecipientEmail());
+        email.setSubject(message.getSubject());
+        email.setBody(message.getBody());
+
+        Query claimed = Query.query(Criteria.where("_id").is(message.getId()).and("owner").is(message.getOwner()));
+        long start = System.nanoTime();
+        try {
+            transport.send(email);
+            sendDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+            Instant now = Instant.now();
+            // El cuerpo puede llevar tokens de recuperación: no se conserva tras el envío
+            mongoTemplate.updateFirst(claimed, new Update()
+                    .set("status", Status.SENT)
+                    .set("sentAt", now)
+                    .unset("body")
+                    .unset("lockedUntil")
+                    .unset("owner")
+                    .unset("lastError"), EmailOutboxMessage.class);
+            sent.increment();
+            if (message.getCreatedAt() != null) {
+                deliveryLatency.record(Duration.between(message.getCreatedAt(), now));
+            }
+        } catch (RuntimeException e) {
+            sendDuration.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            recordFailure(claimed, message, e);
+        }
+    }
+
+    private void recordFailure(Query claimed, EmailOutboxMessage message, RuntimeException error) {
+        String reason = truncate(error.getMessage() != null ? error.getMessage() : error.getClass().getSimpleName());
+        Update update = new Update().set("lastError", reason).unset("lockedUntil").unset("owner");
+
+        if (message.getAttempts() >= maxAttempts) {
+            update.set("status", Status.FAILED);
+            failed.increment();
+            log.error("Correo {} para {} descartado tras {} intentos: {}",
+                    message.getId(), message.getRecipientEmail(), message.getAttempts(), reason);
+        } else {
+            update.set("status", Status.PENDING)
+                    .set("nextAttemptAt", Instant.now().plus(backoff(message.getAttempts())));
+            retries.increment();
+            log.warn("Fallo al enviar el correo {} (intento {}/{}): {}",
+                    message.getId(), message.getAttempts(), maxAttempts, reason);
+        }
+        mongoTemplate.updateFirst(claimed, update, EmailOutboxMessage.class);
+    }
+
+    /**
+     * Espera antes del siguiente intento: base·2^(n-1) acotada, con jitter entre el 50 % y el 100 %
+     */
+    Duration backoff(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 20);
+        long millis = Math.min(baseBackoff.toMillis() << exponent, maxBackoff.toMillis());
+        long half = millis / 2;
+        return Duration.ofMillis(half + ThreadLocalRandom.current().nextLong(half + 1));
+    }
+
+    private static String truncate(String value) {
+        return value.length() > MAX_ERROR_LENGTH ? value.substring(0, MAX_ERROR_LENGTH) : value;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
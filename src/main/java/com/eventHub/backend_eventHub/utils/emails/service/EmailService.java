@@ -1,68 +1,77 @@
 package com.eventHub.backend_eventHub.utils.emails.service;
 
-
-
-import com.azure.communication.email.EmailClient;
-import com.azure.communication.email.EmailClientBuilder;
-import com.azure.communication.email.models.EmailAddress;
-import com.azure.communication.email.models.EmailMessage;
-import com.azure.communication.email.models.EmailSendResult;
-import com.azure.communication.email.models.EmailSendStatus;
-import com.azure.core.util.polling.PollResponse;
-import com.azure.core.util.polling.SyncPoller;
 import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
-import org.springframework.beans.factory.annotation.Value;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Punto de entrada para enviar correos.
+ *
+ * Solo encola el mensaje en email_outbox; el envío real lo hace EmailOutboxDispatcher
+ * en segundo plano, así las peticiones no esperan al proveedor de correo.
+ */
 @Service
+@RequiredArgsConstructor
+@Slf4j
 public class EmailService {
 
-    private final EmailClient emailClient;
-
-    public EmailService(@Value("${azure.communication.connection-string}") String connectionString) {
-        this.emailClient = new EmailClientBuilder()
-                .connectionString(connectionString)
-                .buildClient();
-    }
+    private final MongoTemplate mongoTemplate;
+    private final EmailOutboxDispatcher dispatcher;
 
     public void sendEmail(EmailDto emailDto) {
         // Validar que el destinatario tenga formato de correo válido
         if (!isValidEmail(emailDto.getRecipientEmail())) {
-            System.err.println("Correo inválido: " + emailDto.getRecipientEmail());
+            log.warn("Correo inválido: {}", emailDto.getRecipientEmail());
             return;
         }
 
-        EmailAddress toAddress = new EmailAddress(emailDto.getRecipientEmail());
-
-        // Estructura del cuerpo del correo utilizando `String.format()` para mejor legibilidad
-        String emailBody = String.format("""
-            <html>
-                <body>
-                    <h1>%s</h1>
-                    <p>%s</p>
-                </body>
-            </html>
-        """, emailDto.getSubject(), emailDto.getBody());
+        try {
+            mongoTemplate.insert(toOutboxMessage(emailDto, Instant.now()));
+        } catch (DataAccessException e) {
+            log.error("No se pudo encolar el correo para {}: {}", emailDto.getRecipientEmail(), e.getMessage());
+            return;
+        }
+        dispatcher.wakeUp();
+    }
 
-        EmailMessage emailMessage = new EmailMessage()
-                .setSenderAddress("DoNotReply@cde1ce14-e182-4267-989e-7190980d4b40.azurecomm.net")
-                .setToRecipients(toAddress)
-                .setSubject(emailDto.getSubject())
-                .setBodyHtml(emailBody);
+    /**
+     * Encola varios correos con una sola inserción masiva (los destinatarios inválidos se descartan)
+     */
+    public void sendEmails(List<EmailDto> emails) {
+        Instant now = Instant.now();
+        List<EmailOutboxMessage> messages = emails.stream()
+                .filter(email -> isValidEmail(email.getRecipientEmail()))
+                .map(email -> toOutboxMessage(email, now))
+                .toList();
+        if (messages.isEmpty()) {
+            return;
+        }
 
         try {
-            SyncPoller<EmailSendResult, EmailSendResult> poller = emailClient.beginSend(emailMessage, null);
-            PollResponse<EmailSendResult> result = poller.waitForCompletion();
-
-            // Manejo correcto del resultado usando el Enum `EmailSendStatus`
-            if (result.getValue().getStatus() == EmailSendStatus.SUCCEEDED) {
-                System.out.println("✅ Correo enviado exitosamente a: " + emailDto.getRecipientEmail());
-            } else {
-                System.err.println("❌ Error al enviar el correo: " + result.getValue().getError().getMessage());
-            }
-        } catch (Exception e) {
-            System.err.println("⚠️ Excepción al enviar el correo: " + e.getMessage());
+            mongoTemplate.insertAll(messages);
+        } catch (DataAccessException e) {
+            log.error("No se pudieron encolar {} correos: {}", messages.size(), e.getMessage());
+            return;
         }
+        dispatcher.wakeUp();
+    }
+
+    private EmailOutboxMessage toOutboxMessage(EmailDto emailDto, Instant now) {
+        return EmailOutboxMessage.builder()
+                .recipientEmail(emailDto.getRecipientEmail())
+                .subject(emailDto.getSubject())
+                .body(emailDto.getBody())
+                .status(EmailOutboxMessage.Status.PENDING)
+                .nextAttemptAt(now)
+                .createdAt(now)
+                .build();
     }
 
     // Método auxiliar para validar que el email sea válido
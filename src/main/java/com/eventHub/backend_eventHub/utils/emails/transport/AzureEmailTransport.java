@@ -0,0 +1,61 @@
+package com.eventHub.backend_eventHub.utils.emails.transport;
+
+import com.azure.communication.email.EmailClient;
+import com.azure.communication.email.EmailClientBuilder;
+import com.azure.communication.email.models.EmailAddress;
+import com.azure.communication.email.models.EmailMessage;
+import com.azure.communication.email.models.EmailSendResult;
+import com.azure.communication.email.models.EmailSendStatus;
+import com.azure.core.util.polling.PollResponse;
+import com.azure.core.util.polling.SyncPoller;
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Envío con Azure Communication Services (espera a que termine el sondeo del envío).
+ */
+@Component
+@ConditionalOnProperty(name = "email.transport", havingValue = "azure", matchIfMissing = true)
+public class AzureEmailTransport implements EmailTransport {
+
+    private static final String SENDER = "DoNotReply@cde1ce14-e182-4267-989e-7190980d4b40.azurecomm.net";
+
+    private final EmailClient emailClient;
+
+    public AzureEmailTransport(@Value("${azure.communication.connection-string}") String connectionString) {
+        this.emailClient = new EmailClientBuilder()
+                .connectionString(connectionString)
+                .buildClient();
+    }
+
+    @Override
+    public void send(EmailDto email) {
+        // Estructura del cuerpo del correo utilizando `String.format()` para mejor legibilidad
+        String emailBody = String.format("""
+            <html>
+                <body>
+                    <h1>%s</h1>
+                    <p>%s</p>
+                </body>
+            </html>
+        """, email.getSubject(), email.getBody());
+
+        EmailMessage emailMessage = new EmailMessage()
+                .setSenderAddress(SENDER)
+                .setToRecipients(new EmailAddress(email.getRecipientEmail()))
+                .setSubject(email.getSubject())
+                .setBodyHtml(emailBody);
+
+        SyncPoller<EmailSendResult, EmailSendResult> poller = emailClient.beginSend(emailMessage, null);
+        PollResponse<EmailSendResult> result = poller.waitForCompletion();
+
+        if (result.getValue().getStatus() != EmailSendStatus.SUCCEEDED) {
+            String error = result.getValue().getError() != null
+                    ? result.getValue().getError().getMessage()
+                    : String.valueOf(result.getValue().getStatus());
+            throw new IllegalStateException("Azure no entregó el correo: " + error);
+        }
+    }
+}
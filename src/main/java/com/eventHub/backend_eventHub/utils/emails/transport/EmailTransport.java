@@ -0,0 +1,17 @@
+package com.eventHub.backend_eventHub.utils.emails.transport;
+
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+
+/**
+ * Canal de entrega de correos usado por EmailOutboxDispatcher.
+ *
+ * Se elige con email.transport: "azure" (por defecto) o "log" para entornos locales.
+ */
+public interface EmailTransport {
+
+    /**
+     * Envía el correo de forma síncrona; lanza una excepción si no se pudo entregar
+     * (el dispatcher lo reintenta).
+     */
+    void send(EmailDto email);
+}
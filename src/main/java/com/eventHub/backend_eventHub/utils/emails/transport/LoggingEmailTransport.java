@@ -0,0 +1,20 @@
+package com.eventHub.backend_eventHub.utils.emails.transport;
+
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Transporte para desarrollo local (email.transport=log): solo registra el correo.
+ */
+@Component
+@ConditionalOnProperty(name = "email.transport", havingValue = "log")
+@Slf4j
+public class LoggingEmailTransport implements EmailTransport {
+
+    @Override
+    public void send(EmailDto email) {
+        log.info("📧 Correo para {}: {}", email.getRecipientEmail(), email.getSubject());
+    }
+}
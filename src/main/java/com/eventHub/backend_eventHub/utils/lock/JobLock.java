@@ -0,0 +1,27 @@
+package com.eventHub.backend_eventHub.utils.lock;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.time.Instant;
+
+/**
+ * Lock de un job en segundo plano: un documento por job, con la réplica que lo tiene
+ * y hasta cuándo.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "job_locks")
+public class JobLock {
+
+    @Id
+    private String name;
+
+    private String owner;
+    private Instant acquiredAt;
+    private Instant lockedUntil;
+}
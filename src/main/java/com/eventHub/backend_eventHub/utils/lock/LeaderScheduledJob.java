@@ -0,0 +1,96 @@
+package com.eventHub.backend_eventHub.utils.lock;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base de los jobs periódicos que solo deben correr en una réplica.
+ *
+ * Programa {@link #runIfLeader()} cada {@link #interval()} en un hilo daemon con el nombre
+ * del lock. En cada pasada toma el lock de job_locks por 4/5 del intervalo y no lo libera
+ * al terminar: así ninguna otra réplica repite la pasada dentro del mismo intervalo, y si
+ * la réplica cae el lock vence solo.
+ *
+ * @param <T> Resultado de una pasada.
+ */
+@Slf4j
+public abstract class LeaderScheduledJob<T> {
+
+    private final String lockName;
+    private final MongoJobLock jobLock;
+
+    private ScheduledExecutorService scheduler;
+
+    protected LeaderScheduledJob(String lockName, MongoJobLock jobLock) {
+        this.lockName = lockName;
+        this.jobLock = jobLock;
+    }
+
+    /**
+     * Tiempo entre el fin de una pasada y el inicio de la siguiente
+     */
+    protected abstract Duration interval();
+
+    /**
+     * Espera antes de la primera pasada (por defecto ninguna)
+     */
+    protected Duration initialDelay() {
+        return Duration.ZERO;
+    }
+
+    /**
+     * Una pasada del job; solo se llama con el lock tomado
+     */
+    protected abstract T runOnce();
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, lockName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runIfLeader, initialDelay().toSeconds(), interval().toSeconds(),
+                TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Ejecuta una pasada si esta réplica obtiene el lock; null si lo tiene otra o si falla.
+     * Nunca lanza: scheduleWithFixedDelay dejaría de programar el job
+     */
+    public T runIfLeader() {
+        Duration lockTtl = Duration.ofSeconds(Math.max(interval().toSeconds() * 4 / 5, 1));
+        if (!jobLock.tryAcquire(lockName, lockTtl)) {
+            return null;
+        }
+        try {
+            return runOnce();
+        } catch (DataAccessException e) {
+            log.error("Falló el job {}: {}", lockName, e.getMessage());
+            return null;
+        } catch (RuntimeException e) {
+            // Una excepción que escape cancela en silencio todas las pasadas siguientes
+            log.error("Error inesperado en el job {}", lockName, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventHub.backend_eventHub.utils.lock;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Lock distribuido sobre la colección job_locks para que un job periódico corra en
+ * una sola réplica a la vez.
+ *
+ * Se adquiere con un upsert condicionado a que el lock esté libre, vencido o ya sea
+ * nuestro; si otra réplica lo tiene, el upsert choca con el _id y se devuelve false.
+ * El lock vence solo, así que una réplica caída no lo bloquea para siempre.
+ */
+@Component
+@Slf4j
+public class MongoJobLock {
+
+    private final MongoTemplate mongoTemplate;
+    private final Clock clock;
+    private final String owner = UUID.randomUUID().toString();
+
+    @Autowired
+    public MongoJobLock(MongoTemplate mongoTemplate) {
+        this(mongoTemplate, Clock.systemUTC());
+    }
+
+    public MongoJobLock(MongoTemplate mongoTemplate, Clock clock) {
+        this.mongoTemplate = mongoTemplate;
+        this.clock = clock;
+    }
+
+    /**
+     * Intenta tomar el lock durante {@code ttl}; false si lo tiene otra réplica
+     */
+    public boolean tryAcquire(String name, Duration ttl) {
+        Instant now = clock.instant();
+        Query query = Query.query(Criteria.where("_id").is(name).orOperator(
+                Criteria.where("lockedUntil").lte(now),
+                Criteria.where("owner").is(owner)));
+        Update update = new Update()
+                .set("owner", owner)
+                .set("acquiredAt", now)
+                .set("lockedUntil", now.plus(ttl));
+        try {
+            mongoTemplate.upsert(query, update, JobLock.class);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        } catch (DataAccessException e) {
+            log.error("No se pudo adquirir el lock {}: {}", name, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Libera el lock si sigue siendo nuestro
+     */
+    public void release(String name) {
+        try {
+            mongoTemplate.remove(Query.query(Criteria.where("_id").is(name).and("owner").is(owner)), JobLock.class);
+        } catch (DataAccessException e) {
+            log.warn("No se pudo liberar el lock {} (vencerá solo): {}", name, e.getMessage());
+        }
+    }
+}
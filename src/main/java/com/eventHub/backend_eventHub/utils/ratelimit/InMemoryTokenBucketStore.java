@@ -0,0 +1,99 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Token buckets en memoria, sin locks.
+ *
+ * Cada bucket guarda un estado inmutable (tokens, instante de la última recarga) en un
+ * AtomicReference y se actualiza con compareAndSet; los rechazos no escriben nada.
+ * Si hay más de {@code maxKeys} buckets se descartan los que ya están llenos (inactivos),
+ * que equivalen a un bucket nuevo. Ese recorrido es O(n), así que se hace como mucho una
+ * vez por segundo aunque el mapa siga por encima del límite.
+ */
+public class InMemoryTokenBucketStore implements TokenBucketStore {
+
+    private static final long PRUNE_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final AtomicLong nextPruneAt;
+    private final int maxKeys;
+    private final LongSupplier nanoTime;
+
+    public InMemoryTokenBucketStore(int maxKeys) {
+        this(maxKeys, System::nanoTime);
+    }
+
+    public InMemoryTokenBucketStore(int maxKeys, LongSupplier nanoTime) {
+        this.maxKeys = maxKeys;
+        this.nanoTime = nanoTime;
+        this.nextPruneAt = new AtomicLong(nanoTime.getAsLong());
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitRule rule) {
+        long now = nanoTime.getAsLong();
+        if (buckets.size() > maxKeys) {
+            pruneIdle(now);
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(rule, now)).tryConsume(now);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private void pruneIdle(long now) {
+        // Un solo hilo por intervalo gana el CAS y hace el recorrido
+        long next = nextPruneAt.get();
+        if (now - next < 0 || !nextPruneAt.compareAndSet(next, now + PRUNE_INTERVAL_NANOS)) {
+            return;
+        }
+        buckets.values().removeIf(bucket -> bucket.isFull(now));
+    }
+
+    private static final class Bucket {
+
+        private final RateLimitRule rule;
+        private final double tokensPerNano;
+        private final AtomicReference<State> state;
+
+        Bucket(RateLimitRule rule, long now) {
+            this.rule = rule;
+            this.tokensPerNano = rule.tokensPerNano();
+            this.state = new AtomicReference<>(new State(rule.capacity(), now));
+        }
+
+        RateLimitDecision tryConsume(long now) {
+            while (true) {
+                State current = state.get();
+                double tokens = available(current, now);
+                if (tokens < 1) {
+                    long waitNanos = (long) Math.ceil((1 - tokens) / tokensPerNano);
+                    return RateLimitDecision.reject(Duration.ofNanos(waitNanos));
+                }
+                if (state.compareAndSet(current, new State(tokens - 1, now))) {
+                    return RateLimitDecision.allow();
+                }
+            }
+        }
+
+        boolean isFull(long now) {
+            return available(state.get(), now) >= rule.capacity();
+        }
+
+        private double available(State current, long now) {
+            long elapsed = Math.max(0, now - current.refilledAt());
+            return Math.min(rule.capacity(), current.tokens() + elapsed * tokensPerNano);
+        }
+    }
+
+    private record State(double tokens, long refilledAt) {
+    }
+}
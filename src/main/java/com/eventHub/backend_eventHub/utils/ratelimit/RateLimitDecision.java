@@ -0,0 +1,26 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Resultado de consumir un token: si se permite y, si no, cuánto esperar.
+ */
+public record RateLimitDecision(boolean allowed, Duration retryAfter) {
+
+    private static final RateLimitDecision ALLOWED = new RateLimitDecision(true, Duration.ZERO);
+
+    public static RateLimitDecision allow() {
+        return ALLOWED;
+    }
+
+    public static RateLimitDecision reject(Duration retryAfter) {
+        return new RateLimitDecision(false, retryAfter);
+    }
+
+    /**
+     * Segundos para la cabecera Retry-After (mínimo 1)
+     */
+    public long retryAfterSeconds() {
+        return Math.max(1, (retryAfter.toMillis() + 999) / 1000);
+    }
+}
@@ -0,0 +1,23 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+import java.time.Duration;
+
+/**
+ * Límite de un token bucket: hasta {@code capacity} peticiones de golpe, recargando
+ * {@code capacity} tokens cada {@code period}.
+ */
+public record RateLimitRule(String name, int capacity, Duration period) {
+
+    public RateLimitRule {
+        if (capacity < 1 || period.isZero() || period.isNegative()) {
+            throw new IllegalArgumentException("Límite inválido para " + name);
+        }
+    }
+
+    /**
+     * Tokens recargados por nanosegundo
+     */
+    public double tokensPerNano() {
+        return capacity / (double) period.toNanos();
+    }
+}
@@ -0,0 +1,80 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+import lombok.extern.slf4j.Slf4j;
+import redis.clients.jedis.UnifiedJedis;
+import redis.clients.jedis.exceptions.JedisException;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Token buckets compartidos en Redis: un hash por clave actualizado con un script Lua
+ * atómico que usa el reloj de Redis, así todas las réplicas ven el mismo bucket.
+ *
+ * Si Redis no responde se limita con el almacén local para no dejar el login sin control
+ * ni tumbarlo por la caída de Redis.
+ */
+@Slf4j
+public class RedisTokenBucketStore implements TokenBucketStore {
+
+    private static final String KEY_PREFIX = "eventhub:ratelimit:";
+
+    // KEYS[1] bucket; ARGV: capacidad, tokens por ms, TTL en ms. Devuelve {permitido, espera en ms}
+    private static final String SCRIPT = """
+            local now = redis.call('TIME')
+            local nowMs = now[1] * 1000 + math.floor(now[2] / 1000)
+            local capacity = tonumber(ARGV[1])
+            local rate = tonumber(ARGV[2])
+            local state = redis.call('HMGET', KEYS[1], 't', 'ts')
+            local tokens = tonumber(state[1]) or capacity
+            local ts = tonumber(state[2]) or nowMs
+            tokens = math.min(capacity, tokens + math.max(0, nowMs - ts) * rate)
+            local allowed = 0
+            local wait = 0
+            if tokens >= 1 then
+              tokens = tokens - 1
+              allowed = 1
+            else
+              wait = math.ceil((1 - tokens) / rate)
+            end
+            redis.call('HSET', KEYS[1], 't', tostring(tokens), 'ts', nowMs)
+            redis.call('PEXPIRE', KEYS[1], ARGV[3])
+            return {allowed, wait}
+            """;
+
+    private final UnifiedJedis jedis;
+    private final TokenBucketStore fallback;
+
+    private volatile boolean degraded;
+
+    public RedisTokenBucketStore(UnifiedJedis jedis, TokenBucketStore fallback) {
+        this.jedis = jedis;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public RateLimitDecision tryConsume(String key, RateLimitRule rule) {
+        double tokensPerMilli = rule.capacity() / (double) rule.period().toMillis();
+        try {
+            Object result = jedis.eval(SCRIPT, List.of(KEY_PREFIX + key), List.of(
+                    String.valueOf(rule.capacity()),
+                    String.valueOf(tokensPerMilli),
+                    String.valueOf(rule.period().toMillis())));
+            if (degraded) {
+                degraded = false;
+                log.info("Rate limit en Redis disponible de nuevo");
+            }
+            List<?> values = (List<?>) result;
+            if (((Number) values.get(0)).longValue() == 1) {
+                return RateLimitDecision.allow();
+            }
+            return RateLimitDecision.reject(Duration.ofMillis(((Number) values.get(1)).longValue()));
+        } catch (JedisException e) {
+            if (!degraded) {
+                degraded = true;
+                log.warn("Rate limit en Redis no disponible, usando buckets locales: {}", e.getMessage());
+            }
+            return fallback.tryConsume(key, rule);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+/**
+ * Almacén de token buckets por clave.
+ *
+ * {@link InMemoryTokenBucketStore} limita por réplica; {@link RedisTokenBucketStore}
+ * comparte los buckets entre réplicas (ratelimit.redis.enabled=true).
+ */
+public interface TokenBucketStore {
+
+    /**
+     * Consume un token del bucket {@code key} con el límite indicado
+     */
+    RateLimitDecision tryConsume(String key, RateLimitRule rule);
+}
@@ -0,0 +1,104 @@
+package com.eventHub.backend_eventHub.auth.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de la verificación JWT por petición: el camino anterior (extractUserName +
+ * validateToken, tres parseos con clave y parser recreados cada vez) frente a verify()
+ * una sola vez con clave precalculada y cache de claims.
+ *
+ * Se ejecuta con: mvn test -Dbenchmark=true -Dtest=JwtUtilBenchmarkTest
+ */
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class JwtUtilBenchmarkTest {
+
+    private static final String SECRET = "mySecretKeyForTesting123456789012345678901234567890";
+    private static final int SESSIONS = 200;
+    private static final int WARMUP = 5_000;
+    private static final int ITERATIONS = 50_000;
+
+    private JwtUtil jwtUtil;
+    private UserDetails userDetails;
+    private List<String> tokens;
+
+    @BeforeEach
+    void setUp() {
+        jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 3600);
+
+        userDetails = new User("testuser", "password", List.of(new SimpleGrantedAuthority("ROLE_USUARIO")));
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+        tokens = IntStream.range(0, SESSIONS)
+                .mapToObj(i -> jwtUtil.generateToken(authentication, "ROLE_USUARIO" + i))
+                .toList();
+    }
+
+    @Test
+    @DisplayName("Should parse faster with a single cached parse than with repeated parsing")
+    void shouldParseFasterWithSingleCachedParse() {
+        double before = opsPerSecond(this::legacyValidate);
+        double after = opsPerSecond(() -> jwtUtil.validateClaims(jwtUtil.verify(next()), userDetails));
+
+        System.out.printf("sesiones=%d antes=%,.0f ops/s después=%,.0f ops/s (x%.1f)%n",
+                SESSIONS, before, after, after / before);
+        assertThat(after).isGreaterThan(before);
+    }
+
+    private int cursor;
+
+    private String next() {
+        cursor = (cursor + 1) % SESSIONS;
+        return tokens.get(cursor);
+    }
+
+    // Reproduce el camino anterior del filtro: tres parseos completos y la clave recreada en cada uno
+    private boolean legacyValidate() {
+        String token = next();
+        String userName = legacyParse(token).getSubject();
+        return userName.equals(userDetails.getUsername())
+                && legacyParse(token).getSubject().equals(userDetails.getUsername())
+                && !legacyParse(token).getExpiration().before(new Date());
+    }
+
+    private Claims legacyParse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8)))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+
+    private double opsPerSecond(Supplier<Boolean> operation) {
+        for (int i = 0; i < WARMUP; i++) {
+            assertThat(operation.get()).isTrue();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            operation.get();
+        }
+        return ITERATIONS / ((System.nanoTime() - start) / 1e9);
+    }
+}
@@ -239,4 +239,61 @@ class JwtUtilTest {
         assertThat(claims.getIssuedAt()).isNotNull();
         assertThat(claims.getExpiration()).isNotNull();
     }
-}
\ No newline at end of file
+
+    @Test
+    void shouldServeRepeatedVerificationFromCache() {
+        // Given
+        UserDetails userDetails = new User("testuser", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USUARIO")));
+
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        String token = jwtUtil.generateToken(authentication, "ROLE_USUARIO");
+
+        // When
+        Claims first = jwtUtil.verify(token);
+        Claims second = jwtUtil.verify(token);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(jwtUtil.validateClaims(first, userDetails)).isTrue();
+    }
+
+    @Test
+    void shouldRejectTamperedTokenEvenAfterOriginalWasCached() {
+        // Given
+        UserDetails userDetails = new User("testuser", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USUARIO")));
+
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+        String token = jwtUtil.generateToken(authentication, "ROLE_USUARIO");
+        jwtUtil.verify(token);
+
+        String signature = token.substring(token.lastIndexOf('.') + 1);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1)
+                + (signature.charAt(0) == 'A' ? 'B' : 'A') + signature.substring(1);
+
+        // When & Then
+        assertThat(jwtUtil.isValidToken(tampered)).isFalse();
+        assertThat(jwtUtil.isValidToken(token)).isTrue();
+    }
+
+    @Test
+    void shouldIncludeIdentityClaimsForStatelessAuthentication() {
+        // Given
+        UserDetails userDetails = new User("testuser", "password",
+                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USUARIO")));
+
+        when(authentication.getPrincipal()).thenReturn(userDetails);
+
+        // When
+        Claims claims = jwtUtil.verify(jwtUtil.generateToken(authentication, "ROLE_USUARIO", "user123", 7));
+        Claims legacyClaims = jwtUtil.verify(jwtUtil.generateToken(authentication, "ROLE_USUARIO"));
+
+        // Then
+        assertThat(jwtUtil.hasIdentityClaims(claims)).isTrue();
+        assertThat(jwtUtil.userIdOf(claims)).isEqualTo("user123");
+        assertThat(jwtUtil.roleOf(claims)).isEqualTo("ROLE_USUARIO");
+        assertThat(jwtUtil.stateVersionOf(claims)).isEqualTo(7);
+        assertThat(jwtUtil.hasIdentityClaims(legacyClaims)).isFalse();
+    }
+}
@@ -0,0 +1,105 @@
+package com.eventHub.backend_eventHub.auth.ratelimit;
+
+import com.eventHub.backend_eventHub.utils.ratelimit.InMemoryTokenBucketStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DisplayName("AuthRateLimitFilter Tests")
+class AuthRateLimitFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AuthRateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new AuthRateLimitFilter(new InMemoryTokenBucketStore(1000), new ObjectMapper(), meterRegistry,
+                false, 3, 60, 2, 60, 5, 300, 3, 900);
+    }
+
+    @Test
+    @DisplayName("Should limit by user across IPs and keep the body for the controller")
+    void shouldLimitLoginByUserAcrossIps() throws Exception {
+        // Given
+        MockFilterChain first = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse ok = run(login("Ana", "10.0.0.1"), first);
+        run(login("ana", "10.0.0.2"), new MockFilterChain());
+        MockHttpServletResponse limited = run(login("ANA", "10.0.0.3"), new MockFilterChain());
+
+        // Then
+        assertThat(ok.getStatus()).isEqualTo(200);
+        assertThat(new String(first.getRequest().getInputStream().readAllBytes(), StandardCharsets.UTF_8))
+                .contains("\"userName\":\"Ana\"");
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(limited.getHeader("Retry-After")).isEqualTo("30");
+        assertThat(limited.getContentAsString()).contains("Too Many Requests");
+        assertThat(meterRegistry.get("eventhub.ratelimit.requests")
+                .tags("route", "login", "scope", "identity", "outcome", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should limit by IP before reading the body and leave other routes alone")
+    void shouldLimitLoginByIpBeforeReadingBody() throws Exception {
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(run(login("user" + i, "10.0.0.9"), new MockFilterChain()).getStatus()).isEqualTo(200);
+        }
+        MockHttpServletResponse limited = run(login("otro", "10.0.0.9"), new MockFilterChain());
+
+        MockHttpServletRequest other = new MockHttpServletRequest("POST", "/api/events/search");
+        other.setServletPath("/api/events/search");
+        other.setRemoteAddr("10.0.0.9");
+
+        // Then
+        assertThat(limited.getStatus()).isEqualTo(429);
+        assertThat(run(other, new MockFilterChain()).getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    @DisplayName("Should reject padded login bodies with 413 instead of skipping the per-user limit")
+    void shouldRejectOversizedLoginBody() throws Exception {
+        // Given
+        MockHttpServletRequest padded = login("ana", "10.0.0.5");
+        String json = "{\"userName\":\"ana\"," + " ".repeat(9 * 1024) + "\"password\":\"x\"}";
+        padded.setContent(json.getBytes(StandardCharsets.UTF_8));
+        MockFilterChain chain = new MockFilterChain();
+
+        // When
+        MockHttpServletResponse response = run(padded, chain);
+
+        // Then
+        assertThat(response.getStatus()).isEqualTo(413);
+        assertThat(chain.getRequest()).isNull();
+        assertThat(meterRegistry.get("eventhub.ratelimit.requests")
+                .tags("route", "login", "scope", "body", "outcome", "too_large").counter().count()).isEqualTo(1);
+    }
+
+    private MockHttpServletResponse run(MockHttpServletRequest request, MockFilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, chain);
+        return response;
+    }
+
+    private MockHttpServletRequest login(String userName, String ip) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"userName\":\"" + userName + "\",\"password\":\"x\"}").getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
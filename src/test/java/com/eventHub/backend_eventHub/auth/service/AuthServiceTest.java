@@ -12,8 +12,7 @@ import com.eventHub.backend_eventHub.domain.entities.State;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.RoleList;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import com.eventHub.backend_eventHub.domain.repositories.RoleRepository;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.users.repository.UserRepository;
 import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
 import com.eventHub.backend_eventHub.utils.emails.service.EmailService;
@@ -23,10 +22,13 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 
@@ -44,10 +46,7 @@ class AuthServiceTest {
     private UserAuthService userAuthService;
 
     @Mock
-    private RoleRepository roleRepository;
-
-    @Mock
-    private StateRepository stateRepository;
+    private ReferenceDataRegistry referenceData;
 
     @Mock
     private PasswordEncoder passwordEncoder;
@@ -101,7 +100,7 @@ class AuthServiceTest {
         when(userAuthService.findByUserName(username)).thenReturn(Optional.of(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO")).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO", "1", 0L)).thenReturn(expectedToken);
 
         // When
         String result = authService.authenticate(username, password);
@@ -110,7 +109,7 @@ class AuthServiceTest {
         assertThat(result).isEqualTo(expectedToken);
         verify(userAuthService).findByUserName(username);
         verify(authenticationManager).authenticate(any(UsernamePasswordAuthenticationToken.class));
-        verify(jwtUtil).generateToken(authentication, "ROLE_USUARIO");
+        verify(jwtUtil).generateToken(authentication, "ROLE_USUARIO", "1", 0L);
     }
 
     @Test
@@ -176,13 +175,13 @@ class AuthServiceTest {
         String encodedPassword = "encodedPassword123";
 
         when(userAuthService.existsByUserName(newUserDto.getUserName())).thenReturn(false);
-        when(roleRepository.findByNombreRol(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
-        when(stateRepository.findByNameState(StateList.Active)).thenReturn(Optional.of(testState));
+        when(referenceData.findRole(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
+        when(referenceData.findState(StateList.Active)).thenReturn(Optional.of(testState));
         when(passwordEncoder.encode(newUserDto.getPassword())).thenReturn(encodedPassword);
         when(userAuthService.findByUserName(newUserDto.getUserName())).thenReturn(Optional.of(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO")).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO", "1", 0L)).thenReturn(expectedToken);
 
         // When
         String result = authService.registerUser(newUserDto);
@@ -190,8 +189,8 @@ class AuthServiceTest {
         // Then
         assertThat(result).isEqualTo(expectedToken);
         verify(userAuthService).existsByUserName(newUserDto.getUserName());
-        verify(roleRepository).findByNombreRol(RoleList.ROLE_USUARIO);
-        verify(stateRepository).findByNameState(StateList.Active);
+        verify(referenceData).findRole(RoleList.ROLE_USUARIO);
+        verify(referenceData).findState(StateList.Active);
         verify(passwordEncoder).encode(newUserDto.getPassword());
         verify(userAuthService).save(any(Users.class));
         verify(emailService).sendEmail(any(EmailDto.class));
@@ -208,8 +207,7 @@ class AuthServiceTest {
                 .hasMessage("El nombre de usuario ya existe");
 
         verify(userAuthService).existsByUserName(newUserDto.getUserName());
-        verifyNoInteractions(roleRepository);
-        verifyNoInteractions(stateRepository);
+        verifyNoInteractions(referenceData);
         verifyNoInteractions(passwordEncoder);
     }
 
@@ -217,30 +215,30 @@ class AuthServiceTest {
     void shouldThrowExceptionWhenDefaultRoleNotFound() {
         // Given
         when(userAuthService.existsByUserName(newUserDto.getUserName())).thenReturn(false);
-        when(roleRepository.findByNombreRol(RoleList.ROLE_USUARIO)).thenReturn(Optional.empty());
+        when(referenceData.findRole(RoleList.ROLE_USUARIO)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> authService.registerUser(newUserDto))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Rol por defecto no encontrado");
 
-        verify(roleRepository).findByNombreRol(RoleList.ROLE_USUARIO);
-        verifyNoInteractions(stateRepository);
+        verify(referenceData).findRole(RoleList.ROLE_USUARIO);
+        verify(referenceData, never()).findState(any());
     }
 
     @Test
     void shouldThrowExceptionWhenDefaultStateNotFound() {
         // Given
         when(userAuthService.existsByUserName(newUserDto.getUserName())).thenReturn(false);
-        when(roleRepository.findByNombreRol(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
-        when(stateRepository.findByNameState(StateList.Active)).thenReturn(Optional.empty());
+        when(referenceData.findRole(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
+        when(referenceData.findState(StateList.Active)).thenReturn(Optional.empty());
 
         // When & Then
         assertThatThrownBy(() -> authService.registerUser(newUserDto))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage("Estado por defecto no encontrado");
 
-        verify(stateRepository).findByNameState(StateList.Active);
+        verify(referenceData).findState(StateList.Active);
     }
 
     @Test
@@ -250,13 +248,13 @@ class AuthServiceTest {
         String encodedPassword = "encodedPassword123";
 
         when(userAuthService.existsByUserName(newUserDto.getUserName())).thenReturn(false);
-        when(roleRepository.findByNombreRol(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
-        when(stateRepository.findByNameState(StateList.Active)).thenReturn(Optional.of(testState));
+        when(referenceData.findRole(RoleList.ROLE_USUARIO)).thenReturn(Optional.of(testRole));
+        when(referenceData.findState(StateList.Active)).thenReturn(Optional.of(testState));
         when(passwordEncoder.encode(newUserDto.getPassword())).thenReturn(encodedPassword);
         when(userAuthService.findByUserName(newUserDto.getUserName())).thenReturn(Optional.of(testUser));
         when(authenticationManager.authenticate(any(UsernamePasswordAuthenticationToken.class)))
                 .thenReturn(authentication);
-        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO")).thenReturn(expectedToken);
+        when(jwtUtil.generateToken(authentication, "ROLE_USUARIO", "1", 0L)).thenReturn(expectedToken);
         doThrow(new RuntimeException("Email service error")).when(emailService).sendEmail(any(EmailDto.class));
 
         // When
@@ -275,6 +273,9 @@ class UserAuthServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private CacheManager cacheManager;
+
     @InjectMocks
     private UserAuthService userAuthService;
 
@@ -310,6 +311,26 @@ class UserAuthServiceTest {
         verify(userRepository).findByUserName("testuser");
     }
 
+    @Test
+    void shouldEvictBothUserCachesWhenPasswordIsRehashed() {
+        // Given
+        Cache byUsername = mock(Cache.class);
+        Cache byId = mock(Cache.class);
+        when(cacheManager.getCache("userByUsername")).thenReturn(byUsername);
+        when(cacheManager.getCache("user")).thenReturn(byId);
+        when(userRepository.findIdByUserName("testuser")).thenReturn(Optional.of(testUser));
+
+        // When
+        var updated = userAuthService.updatePassword(
+                User.withUsername("testuser").password("oldHash").authorities("ROLE_USUARIO").build(), "newHash");
+
+        // Then
+        assertThat(updated.getPassword()).isEqualTo("newHash");
+        verify(userRepository).updatePasswordByUserName("testuser", "newHash");
+        verify(byUsername).evict("testuser");
+        verify(byId).evict("1");
+    }
+
     @Test
     void shouldThrowExceptionWhenUserNotFound() {
         // Given
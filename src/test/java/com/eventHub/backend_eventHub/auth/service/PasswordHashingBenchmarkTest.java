@@ -0,0 +1,75 @@
+package com.eventHub.backend_eventHub.auth.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Throughput de login (verificación BCrypt) por coste, a través del pool acotado.
+ *
+ * Lanza el doble de "peticiones" concurrentes que núcleos durante unos segundos por coste
+ * y reporta logins/s totales y por núcleo, para elegir security.password.bcrypt-strength.
+ *
+ * Se ejecuta con: mvn test -Dbenchmark=true -Dtest=PasswordHashingBenchmarkTest
+ */
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PasswordHashingBenchmarkTest {
+
+    private static final int[] COSTS = {8, 10, 12};
+    private static final Duration RUN_TIME = Duration.ofSeconds(5);
+
+    @Test
+    @DisplayName("Should measure login throughput per cost factor")
+    void shouldMeasureLoginThroughputPerCostFactor() throws Exception {
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int cost : COSTS) {
+            BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+            String hash = bcrypt.encode("secreto");
+            BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(bcrypt, cores, cores * 4,
+                    Duration.ofSeconds(30), new SimpleMeterRegistry());
+            ExecutorService callers = Executors.newFixedThreadPool(cores * 2);
+            AtomicLong logins = new AtomicLong();
+            long deadline = System.nanoTime() + RUN_TIME.toNanos();
+
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                for (int i = 0; i < cores * 2; i++) {
+                    futures.add(callers.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            assertThat(encoder.matches("secreto", hash)).isTrue();
+                            logins.incrementAndGet();
+                        }
+                    }));
+                }
+                for (Future<?> future : futures) {
+                    future.get();
+                }
+            } finally {
+                callers.shutdown();
+                callers.awaitTermination(10, TimeUnit.SECONDS);
+                encoder.shutdown();
+            }
+
+            double perSecond = logins.get() / (double) RUN_TIME.toSeconds();
+            System.out.printf("bcrypt cost=%d: %.1f logins/s (%d núcleos, %.1f logins/s por núcleo)%n",
+                    cost, perSecond, cores, perSecond / cores);
+            assertThat(logins.get()).isPositive();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.eventHub.backend_eventHub.config;
+
+import com.eventHub.backend_eventHub.config.SecurityRoutes.Route;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.http.server.PathContainer;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Coste por petición de resolver la ruta: índice por primer segmento de SecurityRoutes
+ * frente a recorrer todos los patrones en orden (lo que hace una cadena de requestMatchers).
+ *
+ * Se ejecuta con: mvn test -Dbenchmark=true -Dtest=SecurityRoutesBenchmarkTest
+ */
+@ActiveProfiles("test")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SecurityRoutesBenchmarkTest {
+
+    private static final int WARMUP = 200_000;
+    private static final int ITERATIONS = 2_000_000;
+
+    @Test
+    @DisplayName("Should measure the route match cost per request")
+    void shouldMeasureMatchCostPerRequest() {
+        SecurityRoutes routes = new SecurityRoutes();
+        PathPatternParser parser = new PathPatternParser();
+        List<PathPattern> linear = SecurityRoutes.ROUTES.stream().map(route -> parser.parse(route.pattern())).toList();
+
+        List<MockHttpServletRequest> requests = SecurityRoutes.ROUTES.stream()
+                .map(route -> SecurityRoutesTest.request(route.method() != null ? route.method().name() : "GET",
+                        SecurityRoutesTest.samplePath(route.pattern())))
+                .toList();
+
+        long sink = 0;
+        for (int i = 0; i < WARMUP; i++) {
+            MockHttpServletRequest request = requests.get(i % requests.size());
+            sink += routes.match(request) != null ? 1 : 0;
+            sink += linearMatch(linear, request);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += routes.match(requests.get(i % requests.size())) != null ? 1 : 0;
+        }
+        long indexed = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            sink += linearMatch(linear, requests.get(i % requests.size()));
+        }
+        long scanned = System.nanoTime() - start;
+
+        System.out.printf("SecurityRoutes indexado: %.0f ns/petición; recorrido lineal: %.0f ns/petición (%d rutas)%n",
+                indexed / (double) ITERATIONS, scanned / (double) ITERATIONS, linear.size());
+        assertThat(sink).isPositive();
+    }
+
+    private static int linearMatch(List<PathPattern> patterns, MockHttpServletRequest request) {
+        PathContainer path = PathContainer.parsePath(request.getRequestURI());
+        for (int i = 0; i < patterns.size(); i++) {
+            Route route = SecurityRoutes.ROUTES.get(i);
+            if ((route.method() == null || route.method().matches(request.getMethod()))
+                    && patterns.get(i).matches(path)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
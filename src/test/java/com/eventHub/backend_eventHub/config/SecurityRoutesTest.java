@@ -0,0 +1,114 @@
+package com.eventHub.backend_eventHub.config;
+
+import com.eventHub.backend_eventHub.config.SecurityRoutes.Access;
+import com.eventHub.backend_eventHub.config.SecurityRoutes.Route;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DisplayName("SecurityRoutes Tests")
+class SecurityRoutesTest {
+
+    private static final Authentication ANONYMOUS = new AnonymousAuthenticationToken("key", "anonymousUser",
+            AuthorityUtils.createAuthorityList("ROLE_ANONYMOUS"));
+
+    private SecurityRoutes routes;
+
+    @BeforeEach
+    void setUp() {
+        routes = new SecurityRoutes();
+    }
+
+    @Test
+    @DisplayName("Should never disagree between the JWT filter and authorization on any route")
+    void shouldAgreeBetweenFilterAndAuthorizationOnEveryRoute() {
+        for (Route route : SecurityRoutes.ROUTES) {
+            // Given
+            String method = route.method() != null ? route.method().name() : "GET";
+            MockHttpServletRequest request = request(method, samplePath(route.pattern()));
+
+            // When
+            boolean skipsJwt = routes.skipsJwt(request);
+            boolean anonymousGranted = grantedTo(ANONYMOUS, request);
+
+            // Then
+            assertThat(routes.match(request)).as(route.toString()).isNotNull();
+            if (skipsJwt) {
+                assertThat(anonymousGranted).as("%s se salta el JWT pero exige autenticación", route).isTrue();
+            }
+            if (!anonymousGranted) {
+                assertThat(skipsJwt).as("%s exige autenticación pero el filtro no la procesa", route).isFalse();
+            }
+            assertThat(routes.isPublic(request)).as(route.toString()).isEqualTo(anonymousGranted);
+        }
+    }
+
+    @Test
+    @DisplayName("Should require a token for actuator endpoints other than health and info")
+    void shouldRequireAuthenticationForActuatorMetrics() {
+        // Given
+        MockHttpServletRequest metrics = request("GET", "/actuator/metrics");
+        MockHttpServletRequest health = request("GET", "/actuator/health");
+
+        // When & Then
+        assertThat(routes.skipsJwt(metrics)).isFalse();
+        assertThat(grantedTo(ANONYMOUS, metrics)).isFalse();
+        assertThat(routes.skipsJwt(health)).isTrue();
+        assertThat(grantedTo(ANONYMOUS, health)).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should pick the first matching route and respect method, roles and context path")
+    void shouldMatchFirstRouteAndCheckRoles() {
+        // Given
+        MockHttpServletRequest myCreated = request("GET", "/api/events/my-created");
+        MockHttpServletRequest detail = request("GET", "/api/events/665f1c2a9d1e4b0012345678");
+        MockHttpServletRequest deleteEvent = request("DELETE", "/api/events/665f1c2a9d1e4b0012345678");
+        MockHttpServletRequest adminUsers = request("GET", "/users/list");
+        MockHttpServletRequest withContext = request("POST", "/app/auth/login");
+        withContext.setContextPath("/app");
+
+        Authentication usuario = user("ROLE_USUARIO");
+        Authentication admin = user("ROLE_ADMIN");
+
+        // When & Then
+        assertThat(routes.match(myCreated).access()).isEqualTo(Access.ROLE);
+        assertThat(grantedTo(ANONYMOUS, detail)).isTrue();
+        assertThat(grantedTo(ANONYMOUS, deleteEvent)).isFalse();
+        assertThat(grantedTo(usuario, deleteEvent)).isTrue();
+        assertThat(grantedTo(usuario, adminUsers)).isFalse();
+        assertThat(grantedTo(admin, adminUsers)).isTrue();
+        assertThat(routes.skipsJwt(withContext)).isTrue();
+        assertThat(grantedTo(usuario, request("GET", "/no-declarada"))).isTrue();
+        assertThat(grantedTo(ANONYMOUS, request("GET", "/no-declarada"))).isFalse();
+    }
+
+    private boolean grantedTo(Authentication authentication, MockHttpServletRequest request) {
+        return routes.check(() -> authentication, new RequestAuthorizationContext(request)).isGranted();
+    }
+
+    private static Authentication user(String role) {
+        return UsernamePasswordAuthenticationToken.authenticated("user", null, AuthorityUtils.createAuthorityList(role));
+    }
+
+    static MockHttpServletRequest request(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, path);
+        request.setServletPath(path);
+        return request;
+    }
+
+    // Ruta concreta que cumple el patrón: variables y comodines se sustituyen por segmentos de ejemplo
+    static String samplePath(String pattern) {
+        return pattern.replaceAll("\\{[^}]+}", "665f1c2a9d1e4b0012345678").replace("**", "a/b");
+    }
+}
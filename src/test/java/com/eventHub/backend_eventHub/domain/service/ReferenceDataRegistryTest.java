@@ -0,0 +1,99 @@
+package com.eventHub.backend_eventHub.domain.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Category;
+import com.eventHub.backend_eventHub.domain.entities.State;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.repositories.CategoryRepository;
+import com.eventHub.backend_eventHub.domain.repositories.RoleRepository;
+import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReferenceDataRegistry Tests")
+class ReferenceDataRegistryTest {
+
+    @Mock
+    private StateRepository stateRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private CategoryRepository categoryRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReferenceDataRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        registry = new ReferenceDataRegistry(stateRepository, roleRepository, categoryRepository, meterRegistry);
+
+        when(stateRepository.findAll()).thenReturn(List.of(new State("s1", StateList.Active)));
+        when(roleRepository.findAll()).thenReturn(List.of());
+        when(categoryRepository.findByActivaTrue()).thenReturn(List.of(category("c1", "Música")));
+    }
+
+    @Test
+    @DisplayName("Should load once and serve states from memory")
+    void shouldLoadOnceAndServeStatesFromMemory() {
+        // When
+        registry.refresh();
+        String first = registry.stateId(StateList.Active);
+        String second = registry.stateId(StateList.Active);
+
+        // Then
+        assertThat(first).isEqualTo("s1").isEqualTo(second);
+        verify(stateRepository, times(1)).findAll();
+        assertThat(meterRegistry.get("eventhub.reference_data.hits").tag("type", "state").counter().count())
+                .isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Should reload and count a miss when a state is missing")
+    void shouldReloadWhenStateIsMissing() {
+        // Given
+        registry.refresh();
+
+        // When
+        assertThat(registry.findState(StateList.Pending)).isEmpty();
+
+        // Then
+        verify(stateRepository, times(2)).findAll();
+        assertThat(meterRegistry.get("eventhub.reference_data.misses").tag("type", "state").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should publish the current active categories on refresh")
+    void shouldPublishActiveCategoriesOnRefresh() {
+        // Given
+        registry.refresh();
+        when(categoryRepository.findByActivaTrue()).thenReturn(List.of(category("c2", "Teatro")));
+
+        // When
+        registry.refreshCategories();
+
+        // Then
+        assertThat(registry.activeCategories()).extracting(Category::getId).containsExactly("c2");
+        assertThat(meterRegistry.get("eventhub.reference_data.refreshes").counter().count()).isEqualTo(2);
+        verify(stateRepository, times(1)).findAll();
+    }
+
+    private Category category(String id, String name) {
+        return Category.builder().id(id).nombreCategoria(name).activa(true).build();
+    }
+}
@@ -0,0 +1,131 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.config.MongoIndexInitializer;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de la búsqueda de texto en event_summary: índice de texto ($text) frente
+ * al antiguo $regex case-insensitive sobre title/description/tags, con 100k eventos.
+ *
+ * Requiere un MongoDB local; se ejecuta con: mvn test -Dbenchmark=true -Dtest=EventTextSearchBenchmarkTest
+ */
+@ActiveProfiles("test")
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EventTextSearchBenchmarkTest {
+
+    private static final int EVENTS = 100_000;
+    private static final int INSERT_BATCH = 10_000;
+    private static final int ITERATIONS = 200;
+    private static final String[] WORDS = {
+            "concierto", "festival", "taller", "conferencia", "feria", "teatro", "cine", "deporte",
+            "tecnologia", "arte", "gastronomia", "musica", "rock", "jazz", "danza", "poesia"
+    };
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection(EventSummary.class);
+        indexInitializer.ensureIndexes();
+        fill(mongoTemplate.getCollection("event_summary"));
+    }
+
+    @Test
+    @DisplayName("Should search faster with the text index than with a regex scan")
+    void shouldSearchFasterWithTextIndexThanRegexScan() {
+        String term = "jazz";
+        Pattern pattern = Pattern.compile(Pattern.quote(term), Pattern.CASE_INSENSITIVE);
+
+        Query regex = new Query(new Criteria().orOperator(
+                Criteria.where("title").regex(pattern),
+                Criteria.where("description").regex(pattern),
+                Criteria.where("tags").regex(pattern)))
+                .with(PageRequest.of(0, 20));
+        Query text = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(term))
+                .sortByScore()
+                .with(PageRequest.of(0, 20));
+
+        double[] regexMillis = percentiles(() -> mongoTemplate.find(regex, EventSummary.class));
+        double[] textMillis = percentiles(() -> mongoTemplate.find(text, EventSummary.class));
+
+        System.out.printf("eventos=%,d regex p50=%.3f ms p99=%.3f ms | $text p50=%.3f ms p99=%.3f ms%n",
+                EVENTS, regexMillis[0], regexMillis[1], textMillis[0], textMillis[1]);
+
+        assertThat(mongoTemplate.find(text, EventSummary.class))
+                .isNotEmpty()
+                .allSatisfy(summary -> assertThat(summary.getScore()).isPositive());
+        assertThat(textMillis[1]).isLessThan(regexMillis[1]);
+    }
+
+    private void fill(MongoCollection<Document> collection) {
+        Random random = new Random(42);
+        List<Document> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < EVENTS; i++) {
+            batch.add(new Document("title", word(random) + " " + word(random) + " " + i)
+                    .append("description", word(random) + " " + word(random) + " " + word(random))
+                    .append("tags", List.of(word(random), word(random)))
+                    .append("organizer", "org" + random.nextInt(500))
+                    .append("version", EventSummary.CURRENT_VERSION));
+            if (batch.size() == INSERT_BATCH) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+    }
+
+    private String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private double[] percentiles(Runnable query) {
+        // Calentamiento
+        for (int i = 0; i < 20; i++) {
+            query.run();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return new double[]{
+                samples[ITERATIONS / 2] / 1_000_000.0,
+                samples[(int) (ITERATIONS * 0.99)] / 1_000_000.0
+        };
+    }
+}
@@ -0,0 +1,136 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.config.MongoIndexInitializer;
+import com.mongodb.client.MongoCollection;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de regresión para las consultas indexadas de inscripciones.
+ *
+ * Mide la latencia de las consultas del flujo de inscripción mientras la colección
+ * crece de 1k a 1M documentos y verifica que se mantenga plana.
+ *
+ * Requiere un MongoDB local; se ejecuta con: mvn test -Dbenchmark=true -Dtest=InscriptionRepositoryBenchmarkTest
+ */
+@ActiveProfiles("test")
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InscriptionRepositoryBenchmarkTest {
+
+    private static final int[] COLLECTION_SIZES = {1_000, 10_000, 100_000, 1_000_000};
+    private static final int INSERT_BATCH = 10_000;
+    private static final int ITERATIONS = 200;
+
+    @Autowired
+    private InscriptionRepository inscriptionRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    private final ObjectId targetUser = new ObjectId();
+    private final ObjectId targetEvent = new ObjectId();
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection("inscripciones");
+        indexInitializer.ensureIndexes();
+    }
+
+    @Test
+    @DisplayName("Should keep registration lookups flat as the collection grows")
+    void shouldKeepRegistrationLookupsFlatAsCollectionGrows() {
+        MongoCollection<Document> collection = mongoTemplate.getCollection("inscripciones");
+        insertInscription(collection, targetUser, targetEvent, null);
+
+        Map<Integer, Double> p50ByEventSize = new LinkedHashMap<>();
+        Map<Integer, Double> p50ByUserSize = new LinkedHashMap<>();
+        long inserted = 1;
+
+        for (int size : COLLECTION_SIZES) {
+            inserted += fillUpTo(collection, inserted, size);
+
+            p50ByEventSize.put(size, p50Millis(() -> inscriptionRepository.existsByUsuarioAndEvento(
+                    targetUser.toHexString(), targetEvent.toHexString(), "confirmada", "evento_principal")));
+            p50ByUserSize.put(size, p50Millis(() -> inscriptionRepository.findByUsuario(
+                    targetUser.toHexString(), "confirmada", "evento_principal")));
+
+            System.out.printf("inscripciones=%,d exists p50=%.3f ms findByUsuario p50=%.3f ms%n",
+                    size, p50ByEventSize.get(size), p50ByUserSize.get(size));
+        }
+
+        // Con índice la latencia no debe crecer con el tamaño de la colección (margen para ruido)
+        double smallest = p50ByEventSize.get(COLLECTION_SIZES[0]);
+        double largest = p50ByEventSize.get(COLLECTION_SIZES[COLLECTION_SIZES.length - 1]);
+        assertThat(largest).isLessThan(Math.max(smallest * 5, smallest + 2.0));
+
+        assertThat(inscriptionRepository.countByEvento(targetEvent.toHexString(), "confirmada", "evento_principal"))
+                .isEqualTo(1);
+    }
+
+    private long fillUpTo(MongoCollection<Document> collection, long current, int target) {
+        long added = 0;
+        List<Document> batch = new ArrayList<>(INSERT_BATCH);
+        while (current + added < target) {
+            batch.add(inscriptionDocument(new ObjectId(), new ObjectId(), null));
+            added++;
+            if (batch.size() == INSERT_BATCH) {
+                collection.insertMany(batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            collection.insertMany(batch);
+        }
+        return added;
+    }
+
+    private void insertInscription(MongoCollection<Document> collection, ObjectId user, ObjectId event, String subeventoId) {
+        collection.insertOne(inscriptionDocument(user, event, subeventoId));
+    }
+
+    private Document inscriptionDocument(ObjectId user, ObjectId event, String subeventoId) {
+        return new Document("usuario", new Document("_id", user).append("userName", "user-" + user))
+                .append("evento", new Document("_id", event).append("title", "event-" + event))
+                .append("estado", "confirmada")
+                .append("tipoInscripcion", subeventoId == null ? "evento_principal" : "subevento")
+                .append("subeventoId", subeventoId);
+    }
+
+    private double p50Millis(Runnable query) {
+        // Calentamiento
+        for (int i = 0; i < 20; i++) {
+            query.run();
+        }
+
+        long[] samples = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            query.run();
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000_000.0;
+    }
+}
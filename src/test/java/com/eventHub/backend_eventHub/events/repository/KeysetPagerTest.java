@@ -0,0 +1,114 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("KeysetPager Tests")
+class KeysetPagerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @InjectMocks
+    private KeysetPager keysetPager;
+
+    @Test
+    @DisplayName("Should fetch one extra row to detect more results and return a cursor for the last item")
+    void shouldReturnCursorWhenMoreRowsExist() {
+        // Given
+        List<EventSummary> rows = summaries(3);
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class))).thenReturn(rows);
+
+        // When
+        CursorPageDto<EventSummary> page = keysetPager.page(EventSummary.class, new Criteria(),
+                KeysetSort.START_ASC, null, 2);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(EventSummary.class));
+        assertThat(query.getValue().getLimit()).isEqualTo(3);
+        assertThat(query.getValue().getSortObject()).isEqualTo(new Document("start", 1).append("_id", 1));
+
+        assertThat(page.getItems()).hasSize(2);
+        assertThat(page.isHasMore()).isTrue();
+        assertThat(page.getNextCursor()).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor position using sort value and _id")
+    void shouldApplyCursorOnNextPage() {
+        // Given
+        List<EventSummary> rows = summaries(3);
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class))).thenReturn(rows);
+        String cursor = keysetPager.page(EventSummary.class, new Criteria(), KeysetSort.START_ASC, null, 2)
+                .getNextCursor();
+
+        // When
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class))).thenReturn(new ArrayList<>());
+        CursorPageDto<EventSummary> next = keysetPager.page(EventSummary.class, new Criteria(),
+                KeysetSort.START_ASC, cursor, 2);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate, times(2)).find(query.capture(), eq(EventSummary.class));
+        String filter = query.getValue().getQueryObject().toString();
+        assertThat(filter).contains(rows.get(1).getId()).contains("$gt");
+        assertThat(next.isHasMore()).isFalse();
+        assertThat(next.getNextCursor()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should cap the page size and reject malformed cursors")
+    void shouldCapSizeAndRejectInvalidCursor() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(EventSummary.class))).thenReturn(new ArrayList<>());
+
+        // When
+        keysetPager.page(EventSummary.class, new Criteria(), KeysetSort.CREATED_DESC, null, 10_000);
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).find(query.capture(), eq(EventSummary.class));
+        assertThat(query.getValue().getLimit()).isEqualTo(KeysetPager.MAX_PAGE_SIZE + 1);
+
+        assertThatThrownBy(() -> keysetPager.page(EventSummary.class, new Criteria(),
+                KeysetSort.CREATED_DESC, "no-es-un-cursor", 10))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Cursor de paginación inválido");
+    }
+
+    private List<EventSummary> summaries(int count) {
+        List<EventSummary> rows = new ArrayList<>();
+        Instant start = Instant.parse("2030-01-01T10:00:00Z");
+        for (int i = 0; i < count; i++) {
+            rows.add(EventSummary.builder()
+                    .id(new ObjectId().toHexString())
+                    .start(start.plusSeconds(i * 3600L))
+                    .build());
+        }
+        return rows;
+    }
+}
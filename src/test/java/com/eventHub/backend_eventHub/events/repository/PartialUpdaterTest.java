@@ -0,0 +1,194 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PartialUpdater Tests")
+class PartialUpdaterTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoConverter converter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+    private VersionedEventStore store;
+    private PartialUpdater updater;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        store = new VersionedEventStore();
+        updater = new PartialUpdater(mongoTemplate, eventPublisher, meterRegistry);
+
+        lenient().when(mongoTemplate.findById(eq("e1"), eq(Event.class))).thenAnswer(invocation -> store.read());
+        lenient().when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class)))
+                .thenAnswer(invocation -> store.findAndModify(invocation.getArgument(0), invocation.getArgument(1)));
+        lenient().when(mongoTemplate.getConverter()).thenReturn(converter);
+        lenient().when(mongoTemplate.getCollectionName(Event.class)).thenReturn("evento");
+    }
+
+    @Test
+    @DisplayName("Should lose no updates with parallel edits and seat reservations")
+    void shouldLoseNoUpdatesWithParallelEditsAndRegistrations() throws Exception {
+        // Given
+        int editors = 8;
+        int editsPerEditor = 25;
+        int registrations = 400;
+        AtomicInteger appliedEdits = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(editors + 1);
+        CountDownLatch start = new CountDownLatch(1);
+
+        // When
+        List<Future<?>> futures = new ArrayList<>();
+        futures.add(pool.submit(() -> {
+            start.await();
+            for (int i = 0; i < registrations; i++) {
+                store.reserveSeat();
+            }
+            return null;
+        }));
+        for (int editor = 0; editor < editors; editor++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < editsPerEditor; i++) {
+                    try {
+                        // Diff que depende de lo leído: se perdería con un save() del documento completo
+                        updater.updateVersioned(Event.class, "e1", event -> new FieldChanges()
+                                .set("maxAttendees", event.getMaxAttendees() + 1,
+                                        String.valueOf(event.getMaxAttendees()),
+                                        String.valueOf(event.getMaxAttendees() + 1)));
+                        appliedEdits.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        conflicts.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(30, TimeUnit.SECONDS);
+        }
+        pool.shutdown();
+
+        // Then
+        Event result = store.read();
+        assertThat(appliedEdits.get() + conflicts.get()).isEqualTo(editors * editsPerEditor);
+        assertThat(appliedEdits.get()).isPositive();
+        assertThat(result.getMaxAttendees()).isEqualTo(100 + appliedEdits.get());
+        assertThat(result.getCurrentAttendees()).isEqualTo(registrations);
+        assertThat(result.getVersion()).isEqualTo(appliedEdits.get() + registrations);
+        verify(eventPublisher, times(appliedEdits.get())).publishEvent(any(AfterSaveEvent.class));
+    }
+
+    @Test
+    @DisplayName("Should skip writes without changes and throw OptimisticLockingFailureException on a persistent conflict")
+    void shouldSkipNoOpUpdatesAndFailOnPersistentConflict() {
+        // When: diff vacío
+        PartialUpdater.Result<Event> unchanged = updater.updateVersioned(Event.class, "e1", event -> new FieldChanges());
+
+        // Then
+        assertThat(unchanged.entity().getVersion()).isZero();
+        verify(mongoTemplate, never()).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Event.class));
+
+        // Given: otra escritura se adelanta en cada intento
+        // When & Then
+        assertThatThrownBy(() -> updater.updateVersioned(Event.class, "e1", event -> {
+            store.reserveSeat();
+            return new FieldChanges().set("title", "Nuevo");
+        })).isInstanceOf(OptimisticLockingFailureException.class);
+        assertThat(store.read().getTitle()).isEqualTo("Original");
+        assertThat(meterRegistry.get("eventhub.partial_update.conflicts").tag("type", "Event").counter().count())
+                .isEqualTo(PartialUpdater.MAX_ATTEMPTS);
+    }
+
+    /**
+     * Documento en memoria con la semántica de Mongo que usa PartialUpdater: findAndModify
+     * atómico condicionado a la versión y $inc de versión en cada actualización.
+     */
+    private static class VersionedEventStore {
+
+        private String title = "Original";
+        private int maxAttendees = 100;
+        private int currentAttendees = 0;
+        private long version = 0;
+
+        synchronized Event read() {
+            return Event.builder()
+                    .id("e1")
+                    .title(title)
+                    .maxAttendees(maxAttendees)
+                    .currentAttendees(currentAttendees)
+                    .version(version)
+                    .build();
+        }
+
+        // Equivalente a EventRepository.reserveSeat: $inc de cupo (Mongo también incrementa la versión)
+        synchronized void reserveSeat() {
+            currentAttendees++;
+            version++;
+        }
+
+        synchronized Event findAndModify(Query query, Update update) {
+            Document criteria = query.getQueryObject();
+            if (criteria.containsKey("$and")) {
+                Object expected = criteria.getList("$and", Document.class).get(0).get("version");
+                if (!(expected instanceof Long expectedVersion) || expectedVersion != version) {
+                    return null;
+                }
+            }
+
+            Document set = update.getUpdateObject().get("$set", Document.class);
+            if (set != null) {
+                if (set.containsKey("title")) {
+                    title = set.getString("title");
+                }
+                if (set.containsKey("maxAttendees")) {
+                    maxAttendees = set.getInteger("maxAttendees");
+                }
+            }
+            Document inc = update.getUpdateObject().get("$inc", Document.class);
+            if (inc != null && inc.containsKey("version")) {
+                version += ((Number) inc.get("version")).longValue();
+            }
+            return read();
+        }
+    }
+}
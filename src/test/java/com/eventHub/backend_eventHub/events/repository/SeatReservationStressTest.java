@@ -0,0 +1,180 @@
+package com.eventHub.backend_eventHub.events.repository;
+
+import com.eventHub.backend_eventHub.events.entities.Event;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ToLongFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Prueba de estrés de la reserva atómica de cupos.
+ *
+ * Lanza miles de reservas en paralelo sobre un evento y un sub-evento con cupo limitado
+ * y verifica que nunca se supere maxAttendees, midiendo el throughput obtenido. También
+ * mezcla reservas con ediciones parciales (PartialUpdater) para comprobar que ninguna
+ * de las dos pisa a la otra.
+ *
+ * Requiere un MongoDB local; se ejecuta con: mvn test -Dbenchmark=true -Dtest=SeatReservationStressTest
+ */
+@ActiveProfiles("test")
+@DataMongoTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SeatReservationStressTest {
+
+    private static final int CAPACITY = 500;
+    private static final int ATTEMPTS = 5_000;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private SubEventRepository subEventRepository;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @BeforeEach
+    void setUp() {
+        mongoTemplate.dropCollection("evento");
+        mongoTemplate.dropCollection("subeventos");
+    }
+
+    @Test
+    @DisplayName("Should never overbook event seats under concurrent reservations")
+    void shouldNeverOverbookEventSeats() throws Exception {
+        ObjectId eventId = insertWithCapacity("evento");
+
+        int reserved = burst(eventRepository::reserveSeat, eventId.toHexString(), "evento");
+
+        assertThat(reserved).isEqualTo(CAPACITY);
+        assertThat(currentAttendees("evento", eventId)).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Should never overbook sub-event seats under concurrent reservations")
+    void shouldNeverOverbookSubEventSeats() throws Exception {
+        ObjectId subEventId = insertWithCapacity("subeventos");
+
+        int reserved = burst(subEventRepository::reserveSeat, subEventId.toHexString(), "subeventos");
+
+        assertThat(reserved).isEqualTo(CAPACITY);
+        assertThat(currentAttendees("subeventos", subEventId)).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    @DisplayName("Should never release seats below zero")
+    void shouldNeverReleaseSeatsBelowZero() throws Exception {
+        ObjectId eventId = insertWithCapacity("evento");
+        eventRepository.reserveSeat(eventId.toHexString());
+
+        int released = burst(eventRepository::releaseSeat, eventId.toHexString(), "evento");
+
+        assertThat(released).isEqualTo(1);
+        assertThat(currentAttendees("evento", eventId)).isZero();
+    }
+
+    @Test
+    @DisplayName("Should lose no updates with parallel edits and reservations")
+    void shouldLoseNoUpdatesWithParallelEditsAndReservations() throws Exception {
+        ObjectId eventId = insertWithCapacity("evento");
+        mongoTemplate.getCollection("evento").updateOne(new Document("_id", eventId),
+                new Document("$set", new Document("description", "0")));
+        PartialUpdater updater = new PartialUpdater(mongoTemplate, event -> { }, new SimpleMeterRegistry());
+        AtomicInteger edits = new AtomicInteger();
+
+        // Ediciones read-modify-write (contador en description) mientras se reservan cupos
+        ExecutorService editors = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            futures.add(editors.submit(() -> {
+                for (int j = 0; j < 50; j++) {
+                    try {
+                        updater.updateVersioned(Event.class, eventId.toHexString(), event -> new FieldChanges()
+                                .set("description", String.valueOf(Integer.parseInt(event.getDescription()) + 1)));
+                        edits.incrementAndGet();
+                    } catch (OptimisticLockingFailureException e) {
+                        // Conflicto persistente: la edición se rechaza, pero no se pierde en silencio
+                    }
+                }
+                return null;
+            }));
+        }
+        int reserved = burst(eventRepository::reserveSeat, eventId.toHexString(), "evento + ediciones");
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        editors.shutdown();
+
+        Document doc = mongoTemplate.getCollection("evento").find(new Document("_id", eventId)).first();
+        System.out.printf("ediciones aplicadas: %,d de %,d%n", edits.get(), 8 * 50);
+        assertThat(reserved).isEqualTo(CAPACITY);
+        assertThat(doc.getInteger("currentAttendees")).isEqualTo(CAPACITY);
+        assertThat(doc.getString("description")).isEqualTo(String.valueOf(edits.get()));
+    }
+
+    private ObjectId insertWithCapacity(String collection) {
+        ObjectId id = new ObjectId();
+        mongoTemplate.getCollection(collection).insertOne(new Document("_id", id)
+                .append("title", "Stress")
+                .append("maxAttendees", CAPACITY)
+                .append("currentAttendees", 0));
+        return id;
+    }
+
+    private int currentAttendees(String collection, ObjectId id) {
+        Document doc = mongoTemplate.getCollection(collection).find(new Document("_id", id)).first();
+        return doc.getInteger("currentAttendees");
+    }
+
+    private int burst(ToLongFunction<String> operation, String id, String label) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList<>(ATTEMPTS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                if (operation.applyAsLong(id) > 0) {
+                    succeeded.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        pool.shutdown();
+        pool.awaitTermination(10, TimeUnit.SECONDS);
+
+        System.out.printf("%s: %,d intentos, %,d exitosos, %.0f ops/s%n",
+                label, ATTEMPTS, succeeded.get(), ATTEMPTS / seconds);
+        return succeeded.get();
+    }
+}
@@ -0,0 +1,142 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.config.MongoIndexInitializer;
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.dto.AttendeeInvitationDto;
+import com.eventHub.backend_eventHub.events.dto.BulkAttendeeInvitationDto;
+import com.eventHub.backend_eventHub.events.dto.BulkInvitationResultDto;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.repository.AttendeeInvitationRepository;
+import com.eventHub.backend_eventHub.events.repository.EventRepository;
+import com.eventHub.backend_eventHub.users.repository.UserRepository;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import com.eventHub.backend_eventHub.utils.emails.service.EmailOutboxDispatcher;
+import com.eventHub.backend_eventHub.utils.emails.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.mongo.DataMongoTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Benchmark de la invitación masiva de asistentes con 10k emails.
+ *
+ * Compara el camino por lotes con el antiguo (una invitación por email) medido sobre una
+ * muestra y extrapolado. La mitad de los emails pertenece a usuarios registrados y 1k ya
+ * tiene invitación activa.
+ *
+ * Requiere un MongoDB local; se ejecuta con: mvn test -Dbenchmark=true -Dtest=AttendeeInvitationBulkBenchmarkTest
+ */
+@ActiveProfiles("test")
+@DataMongoTest
+@Import(MongoIndexInitializer.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class AttendeeInvitationBulkBenchmarkTest {
+
+    private static final int EMAILS = 10_000;
+    private static final int ALREADY_INVITED = 1_000;
+    private static final int PER_EMAIL_SAMPLE = 300;
+
+    @Autowired
+    private AttendeeInvitationRepository attendeeInvitationRepo;
+
+    @Autowired
+    private EventRepository eventRepo;
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private MongoTemplate mongoTemplate;
+
+    @Autowired
+    private MongoIndexInitializer indexInitializer;
+
+    private AttendeeInvitationService service;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        for (String collection : List.of("attendee_invitations", "usuarios", "evento", "email_outbox")) {
+            mongoTemplate.dropCollection(collection);
+        }
+        indexInitializer.ensureIndexes();
+
+        Users organizer = userRepo.save(user("organizer"));
+        event = eventRepo.save(Event.builder().title("Convención anual").privacy("private").creator(organizer).build());
+
+        List<Users> registered = new ArrayList<>();
+        for (int i = 0; i < EMAILS; i += 2) {
+            registered.add(user("user" + i));
+        }
+        userRepo.insert(registered);
+
+        service = new AttendeeInvitationService();
+        ReflectionTestUtils.setField(service, "attendeeInvitationRepo", attendeeInvitationRepo);
+        ReflectionTestUtils.setField(service, "eventRepo", eventRepo);
+        ReflectionTestUtils.setField(service, "userRepo", userRepo);
+        ReflectionTestUtils.setField(service, "eventAccessService", mock(EventAccessService.class));
+        ReflectionTestUtils.setField(service, "emailService",
+                new EmailService(mongoTemplate, mock(EmailOutboxDispatcher.class)));
+    }
+
+    @Test
+    @DisplayName("Should invite ten thousand emails in bulk")
+    void shouldInviteTenThousandEmailsInBulk() {
+        service.inviteMultipleAttendees("organizer", bulk(IntStream.range(0, ALREADY_INVITED)));
+
+        // Camino antiguo: una invitación (con sus consultas y su save) por email
+        long perEmailStart = System.nanoTime();
+        for (int i = EMAILS; i < EMAILS + PER_EMAIL_SAMPLE; i++) {
+            AttendeeInvitationDto dto = new AttendeeInvitationDto();
+            dto.setEventoId(event.getId());
+            dto.setEmailInvitado(email(i));
+            service.inviteAttendee("organizer", dto);
+        }
+        double perEmailMillis = (System.nanoTime() - perEmailStart) / 1_000_000.0 / PER_EMAIL_SAMPLE;
+
+        long bulkStart = System.nanoTime();
+        BulkInvitationResultDto result = service.inviteMultipleAttendees("organizer", bulk(IntStream.range(0, EMAILS)));
+        double bulkMillis = (System.nanoTime() - bulkStart) / 1_000_000.0;
+
+        System.out.printf("invitación masiva %,d emails: %.0f ms (por email, extrapolado: %.0f ms)%n",
+                EMAILS, bulkMillis, perEmailMillis * EMAILS);
+
+        assertThat(result.getInvitadas()).isEqualTo(EMAILS - ALREADY_INVITED);
+        assertThat(result.getResultados()).filteredOn(item -> item.isUsuarioRegistrado()).hasSize((EMAILS - ALREADY_INVITED) / 2);
+        assertThat(mongoTemplate.count(new Query(), EmailOutboxMessage.class))
+                .isEqualTo(EMAILS + PER_EMAIL_SAMPLE);
+        assertThat(bulkMillis).isLessThan(perEmailMillis * EMAILS / 5);
+    }
+
+    private BulkAttendeeInvitationDto bulk(IntStream indexes) {
+        BulkAttendeeInvitationDto dto = new BulkAttendeeInvitationDto();
+        dto.setEventoId(event.getId());
+        dto.setEmails(indexes.mapToObj(this::email).toList());
+        return dto;
+    }
+
+    private String email(int index) {
+        return "user" + index + "@bench.test";
+    }
+
+    private Users user(String userName) {
+        Users user = new Users();
+        user.setUserName(userName);
+        user.setEmail(userName + "@bench.test");
+        return user;
+    }
+}
@@ -0,0 +1,125 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.dto.BulkAttendeeInvitationDto;
+import com.eventHub.backend_eventHub.events.dto.BulkInvitationResultDto;
+import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.repository.AttendeeInvitationRepository;
+import com.eventHub.backend_eventHub.events.repository.EventRepository;
+import com.eventHub.backend_eventHub.users.repository.UserRepository;
+import com.eventHub.backend_eventHub.utils.emails.service.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AttendeeInvitationService Tests")
+class AttendeeInvitationServiceTest {
+
+    @Mock
+    private AttendeeInvitationRepository attendeeInvitationRepo;
+
+    @Mock
+    private EventRepository eventRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private EventAccessService eventAccessService;
+
+    @Mock
+    private EmailService emailService;
+
+    @InjectMocks
+    private AttendeeInvitationService attendeeInvitationService;
+
+    private Users organizer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        organizer = new Users();
+        organizer.setId("org123");
+        organizer.setUserName("organizer");
+
+        event = Event.builder()
+                .id("event123")
+                .title("Evento privado")
+                .privacy("private")
+                .creator(organizer)
+                .build();
+
+        when(userRepo.findByUserName("organizer")).thenReturn(Optional.of(organizer));
+        when(eventRepo.findById("event123")).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    @DisplayName("Should resolve emails in batches and report each result on bulk invitation")
+    void shouldBatchBulkInvitationsAndReportPerEmail() {
+        // Given
+        Users registered = new Users();
+        registered.setId("user1");
+        registered.setEmail("ana@test.com");
+
+        AttendeeInvitation existing = AttendeeInvitation.builder().emailInvitado("luis@test.com").build();
+        when(attendeeInvitationRepo.findActiveInvitationEmails(eq("event123"), anyCollection(), anyList()))
+                .thenReturn(List.of(existing));
+        when(userRepo.findIdAndEmailByEmailIn(anyCollection())).thenReturn(List.of(registered));
+        when(attendeeInvitationRepo.insert(anyList())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        BulkAttendeeInvitationDto dto = new BulkAttendeeInvitationDto();
+        dto.setEventoId("event123");
+        dto.setEmails(List.of("ana@test.com", "luis@test.com", "ana@test.com", "no-es-correo", "eva@test.com"));
+
+        // When
+        BulkInvitationResultDto result = attendeeInvitationService.inviteMultipleAttendees("organizer", dto);
+
+        // Then
+        assertThat(result.getSolicitadas()).isEqualTo(5);
+        assertThat(result.getInvitadas()).isEqualTo(2);
+        assertThat(result.getResultados()).extracting(BulkInvitationResultDto.Item::getEstado).containsExactly(
+                BulkInvitationResultDto.INVITADA,
+                BulkInvitationResultDto.YA_INVITADA,
+                BulkInvitationResultDto.DUPLICADA,
+                BulkInvitationResultDto.EMAIL_INVALIDO,
+                BulkInvitationResultDto.INVITADA);
+        assertThat(result.getResultados().get(0).isUsuarioRegistrado()).isTrue();
+
+        verify(attendeeInvitationRepo, times(1)).insert(argThat((List<AttendeeInvitation> batch) -> batch.size() == 2));
+        verify(emailService, times(1)).sendEmails(argThat(emails -> emails.size() == 2));
+        verify(eventAccessService, times(1)).invalidateEvent("event123");
+        verify(userRepo, never()).findByEmail(anyString());
+        verify(eventRepo, times(1)).findById("event123");
+    }
+
+    @Test
+    @DisplayName("Should reject bulk invitation for public events without writing anything")
+    void shouldRejectBulkInvitationForPublicEvent() {
+        // Given
+        event.setPrivacy("public");
+        BulkAttendeeInvitationDto dto = new BulkAttendeeInvitationDto();
+        dto.setEventoId("event123");
+        dto.setEmails(List.of("ana@test.com"));
+
+        // When & Then
+        assertThatThrownBy(() -> attendeeInvitationService.inviteMultipleAttendees("organizer", dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("eventos privados");
+        verifyNoInteractions(attendeeInvitationRepo, emailService);
+    }
+}
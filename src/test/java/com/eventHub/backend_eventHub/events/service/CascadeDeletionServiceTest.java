@@ -0,0 +1,159 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.DeletionJob;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.Status;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.Step;
+import com.eventHub.backend_eventHub.events.entities.DeletionJob.TargetType;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.entities.SubEvent;
+import com.eventHub.backend_eventHub.events.repository.PartialUpdater;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CascadeDeletionService Tests")
+class CascadeDeletionServiceTest {
+
+    private static final String EVENT_ID = new ObjectId().toHexString();
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private PartialUpdater partialUpdater;
+
+    @Mock
+    private EventAccessService eventAccessService;
+
+    @Mock
+    private InscriptionCounterService inscriptionCounters;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CascadeDeletionService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new CascadeDeletionService(mongoTemplate, partialUpdater, eventAccessService, inscriptionCounters,
+                meterRegistry, 2, 1000, 30, 5, 120);
+
+        lenient().when(mongoTemplate.getCollectionName(Inscription.class)).thenReturn("inscripciones");
+        lenient().when(mongoTemplate.getCollectionName(SubEvent.class)).thenReturn("subeventos");
+        lenient().when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DeletionJob.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        lenient().when(mongoTemplate.remove(any(Query.class), any(Class.class)))
+                .thenReturn(DeleteResult.acknowledged(1));
+    }
+
+    @Test
+    @DisplayName("Should cancel inscriptions in batches with updateMulti and complete the cascade")
+    void shouldCancelInscriptionsInBatchesAndComplete() {
+        // Given
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("inscripciones")))
+                .thenReturn(List.of(new Document("_id", 1), new Document("_id", 2)))
+                .thenReturn(List.of(new Document("_id", 3)));
+        when(mongoTemplate.find(any(Query.class), eq(Document.class), eq("subeventos"))).thenReturn(List.of());
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(Inscription.class)))
+                .thenReturn(UpdateResult.acknowledged(2, 2L, null))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(EventRole.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null));
+        DeletionJob job = job(Step.CANCEL_INSCRIPTIONS);
+
+        // When
+        service.run(job);
+
+        // Then
+        verify(mongoTemplate, times(2)).updateMulti(any(Query.class), any(Update.class), eq(Inscription.class));
+        verify(mongoTemplate, never()).save(any());
+        verify(eventAccessService).invalidateEvent(EVENT_ID);
+        verify(mongoTemplate).remove(any(Query.class), eq(SubEvent.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(Event.class));
+        verify(inscriptionCounters).remove(EntityType.EVENT, List.of(EVENT_ID));
+        assertThat(job.getInscriptionsCancelled()).isEqualTo(3);
+        assertThat(job.getRolesDeactivated()).isEqualTo(3);
+        assertThat(job.getStep()).isEqualTo(Step.DONE);
+        assertThat(lastJobUpdate().toString()).contains("COMPLETED");
+        assertThat(meterRegistry.get("eventhub.deletion.jobs").tag("outcome", "completed").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should resume a job from the saved step")
+    void shouldResumeJobFromSavedStep() {
+        // Given
+        DeletionJob job = job(Step.DELETE_SUBEVENTS);
+        job.setInscriptionsCancelled(20_000);
+
+        // When
+        service.run(job);
+
+        // Then
+        verify(mongoTemplate, never()).find(any(Query.class), eq(Document.class), eq("inscripciones"));
+        verify(mongoTemplate, never()).updateMulti(any(Query.class), any(Update.class), any(Class.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(SubEvent.class));
+        verify(mongoTemplate).remove(any(Query.class), eq(Event.class));
+        assertThat(job.getInscriptionsCancelled()).isEqualTo(20_000);
+        assertThat(job.getStep()).isEqualTo(Step.DONE);
+    }
+
+    @Test
+    @DisplayName("Should stop without marking the job failed when another run claimed it")
+    void shouldStopWithoutFailingWhenLeaseIsLost() {
+        // Given
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(DeletionJob.class)))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+        DeletionJob job = job(Step.DELETE_SUBEVENTS);
+
+        // When
+        service.run(job);
+
+        // Then
+        verify(mongoTemplate, never()).remove(any(Query.class), eq(Event.class));
+        verify(mongoTemplate, times(1)).updateFirst(any(Query.class), any(Update.class), eq(DeletionJob.class));
+        assertThat(lastJobUpdate().toString()).doesNotContain("FAILED").doesNotContain("lastError");
+    }
+
+    private DeletionJob job(Step step) {
+        return DeletionJob.builder()
+                .id("job1")
+                .targetType(TargetType.EVENT)
+                .targetId(EVENT_ID)
+                .requestedBy("creator")
+                .status(Status.RUNNING)
+                .step(step)
+                .owner("owner-1")
+                .attempts(1)
+                .build();
+    }
+
+    private Update lastJobUpdate() {
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, atLeastOnce()).updateFirst(any(Query.class), captor.capture(), eq(DeletionJob.class));
+        return captor.getValue();
+    }
+}
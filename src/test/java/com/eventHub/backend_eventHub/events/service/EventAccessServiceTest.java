@@ -0,0 +1,160 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventRole;
+import com.eventHub.backend_eventHub.events.repository.AttendeeInvitationRepository;
+import com.eventHub.backend_eventHub.events.repository.EventRoleRepository;
+import com.eventHub.backend_eventHub.utils.cache.CacheInvalidationBus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventAccessService Tests")
+class EventAccessServiceTest {
+
+    @Mock
+    private EventRoleRepository eventRoleRepo;
+
+    @Mock
+    private AttendeeInvitationRepository attendeeInvitationRepo;
+
+    @Mock
+    private CacheInvalidationBus invalidationBus;
+
+    private EventAccessService eventAccessService;
+
+    private Users user;
+    private Event privateEvent;
+
+    @BeforeEach
+    void setUp() {
+        eventAccessService = new EventAccessService(eventRoleRepo, attendeeInvitationRepo, invalidationBus, 100, 60);
+
+        user = new Users();
+        user.setId("user123");
+        user.setUserName("testuser");
+        user.setEmail("test@example.com");
+
+        Users creator = new Users();
+        creator.setId("creator123");
+
+        privateEvent = Event.builder()
+                .id("event123")
+                .privacy("private")
+                .creator(creator)
+                .build();
+    }
+
+    @Test
+    @DisplayName("Should resolve roles with a single indexed query per user and event")
+    void shouldCacheResolvedRoles() {
+        // Given
+        when(eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123"))
+                .thenReturn(List.of(EventRole.builder().rol("SUBCREADOR").activo(true).build()));
+
+        // When
+        boolean canEdit = eventAccessService.canEdit(user, "event123");
+        boolean isSubcreator = eventAccessService.isSubcreator(user, "event123");
+        boolean isCreator = eventAccessService.isCreator(user, "event123");
+
+        // Then
+        assertThat(canEdit).isTrue();
+        assertThat(isSubcreator).isTrue();
+        assertThat(isCreator).isFalse();
+        verify(eventRoleRepo, times(1)).findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123");
+        verify(eventRoleRepo, never()).findAll();
+        verifyNoInteractions(attendeeInvitationRepo);
+    }
+
+    @Test
+    @DisplayName("Should grant view access through an accepted invitation")
+    void shouldGrantViewAccessWithAcceptedInvitation() {
+        // Given
+        when(eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123")).thenReturn(List.of());
+        when(attendeeInvitationRepo.existsAcceptedInvitation("event123", "test@example.com", "user123")).thenReturn(true);
+
+        // When & Then
+        assertThat(eventAccessService.canView(user, privateEvent)).isTrue();
+        assertThat(eventAccessService.canEdit(user, "event123")).isFalse();
+        verify(attendeeInvitationRepo, never()).findAll();
+    }
+
+    @Test
+    @DisplayName("Should reload permissions after the event is invalidated")
+    void shouldReloadAfterInvalidation() {
+        // Given
+        when(eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123"))
+                .thenReturn(List.of())
+                .thenReturn(List.of(EventRole.builder().rol("CREADOR").activo(true).build()));
+        when(attendeeInvitationRepo.existsAcceptedInvitation(anyString(), anyString(), anyString())).thenReturn(false);
+
+        assertThat(eventAccessService.isCreator(user, "event123")).isFalse();
+
+        // When
+        eventAccessService.invalidateEvent("event123");
+
+        // Then
+        assertThat(eventAccessService.isCreator(user, "event123")).isTrue();
+        verify(eventRoleRepo, times(2)).findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123");
+    }
+
+    @Test
+    @DisplayName("Should not query the database when the event document already grants access")
+    void shouldShortCircuitOnEventDocument() {
+        // Given
+        privateEvent.setInvitedUsers(List.of("testuser"));
+
+        // When & Then
+        assertThat(eventAccessService.canView(user, privateEvent)).isTrue();
+        verifyNoInteractions(eventRoleRepo, attendeeInvitationRepo);
+    }
+
+    @Test
+    @DisplayName("Should publish event invalidations to the other replicas")
+    void shouldPublishInvalidationOnBus() {
+        // When
+        eventAccessService.invalidateEvent("event123");
+        eventAccessService.invalidateAll();
+
+        // Then
+        verify(invalidationBus).publish("eventAccess", "event123");
+        verify(invalidationBus).publish("eventAccess", CacheInvalidationBus.ALL_KEYS);
+    }
+
+    @Test
+    @DisplayName("Should evict local permissions when another replica invalidates the event")
+    @SuppressWarnings("unchecked")
+    void shouldEvictOnRemoteInvalidation() {
+        // Given
+        ArgumentCaptor<Consumer<String>> handler = ArgumentCaptor.forClass(Consumer.class);
+        eventAccessService.subscribeToRemoteChanges();
+        verify(invalidationBus).register(eq("eventAccess"), handler.capture());
+
+        when(eventRoleRepo.findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123"))
+                .thenReturn(List.of(EventRole.builder().rol("CREADOR").activo(true).build()));
+        eventAccessService.isCreator(user, "event123");
+
+        // When
+        handler.getValue().accept("event123");
+        eventAccessService.isCreator(user, "event123");
+
+        // Then
+        verify(eventRoleRepo, times(2)).findByUsuarioIdAndEventoIdAndActivoTrue("user123", "event123");
+        verify(invalidationBus, never()).publish(anyString(), anyString());
+    }
+}
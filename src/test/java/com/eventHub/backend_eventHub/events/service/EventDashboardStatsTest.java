@@ -0,0 +1,134 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.config.CacheConfig;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventDashboardStats Tests")
+class EventDashboardStatsTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+
+    @Mock
+    private CacheManager cacheManager;
+
+    private EventDashboardStats dashboardStats;
+
+    @BeforeEach
+    void setUp() {
+        dashboardStats = new EventDashboardStats(mongoTemplate, referenceData, cacheManager);
+
+        for (StateList state : StateList.values()) {
+            lenient().when(referenceData.stateId(state)).thenReturn("s-" + state.name());
+        }
+        lenient().when(cacheManager.getCache(CacheConfig.ADMIN_DASHBOARD_CACHE))
+                .thenReturn(new ConcurrentMapCache(CacheConfig.ADMIN_DASHBOARD_CACHE));
+
+        String today = LocalDate.now(ZoneOffset.UTC).toString();
+        Document facets = new Document()
+                .append("byStatus", List.of(
+                        new Document("_id", "s-Active").append("count", 5),
+                        new Document("_id", "s-Pending").append("count", 2),
+                        new Document("_id", null).append("count", 1)))
+                .append("blocked", List.of(new Document("count", 2)))
+                .append("active", List.of(
+                        new Document("_id", "public").append("count", 4).append("featured", 1),
+                        new Document("_id", "private").append("count", 1).append("featured", 0)))
+                .append("createdPerDay", List.of(new Document("_id", today).append("count", 3)))
+                .append("byCategory", List.of(new Document("_id", "c1").append("count", 6).append("name", "Música")));
+        lenient().when(mongoTemplate.aggregate(any(Aggregation.class), eq(EventSummary.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(facets), new Document()));
+        lenient().when(mongoTemplate.aggregate(any(Aggregation.class), eq(Inscription.class), eq(Document.class)))
+                .thenReturn(new AggregationResults<>(List.of(new Document("_id", today).append("count", 7)),
+                        new Document()));
+    }
+
+    @Test
+    @DisplayName("Should build every event breakdown from a single $facet stage")
+    @SuppressWarnings("unchecked")
+    void shouldBuildDashboardFromSingleFacetStage() {
+        // When
+        Map<String, Object> stats = dashboardStats.get(7);
+
+        // Then
+        ArgumentCaptor<Aggregation> aggregation = ArgumentCaptor.forClass(Aggregation.class);
+        verify(mongoTemplate).aggregate(aggregation.capture(), eq(EventSummary.class), eq(Document.class));
+        List<Document> pipeline = aggregation.getValue().toPipeline(Aggregation.DEFAULT_CONTEXT);
+        assertThat(pipeline).hasSize(1);
+        assertThat(pipeline.get(0).get("$facet", Document.class))
+                .containsOnlyKeys("byStatus", "blocked", "active", "createdPerDay", "byCategory");
+
+        assertThat(stats)
+                .containsEntry("total", 8L)
+                .containsEntry("active", 5L)
+                .containsEntry("pending", 2L)
+                .containsEntry("canceled", 0L)
+                .containsEntry("blocked", 2L)
+                .containsEntry("public_events", 4L)
+                .containsEntry("private_events", 1L)
+                .containsEntry("featured_events", 1L);
+
+        List<Map<String, Object>> created = (List<Map<String, Object>>) stats.get("events_created_per_day");
+        List<Map<String, Object>> registrations = (List<Map<String, Object>>) stats.get("registrations_per_day");
+        assertThat(created).hasSize(7);
+        assertThat(created.get(0)).containsEntry("count", 0L);
+        assertThat(created.get(6)).containsEntry("count", 3L);
+        assertThat(registrations.get(6)).containsEntry("count", 7L);
+        assertThat((List<Map<String, Object>>) stats.get("events_per_category"))
+                .singleElement().satisfies(category -> assertThat(category).containsEntry("name", "Música"));
+    }
+
+    @Test
+    @DisplayName("Should serve refreshes within the TTL from the cache")
+    void shouldServeRefreshWithinTtlFromCache() {
+        // When
+        Map<String, Object> first = dashboardStats.get(30);
+        Map<String, Object> second = dashboardStats.get(30);
+
+        // Then
+        assertThat(second).isSameAs(first);
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(EventSummary.class), eq(Document.class));
+        verify(mongoTemplate, times(1)).aggregate(any(Aggregation.class), eq(Inscription.class), eq(Document.class));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for an out-of-bounds day range")
+    void shouldThrowExceptionWithOutOfBoundsRange() {
+        // When & Then
+        assertThatThrownBy(() -> dashboardStats.get(0))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("entre 1 y 365");
+        verifyNoInteractions(mongoTemplate);
+    }
+}
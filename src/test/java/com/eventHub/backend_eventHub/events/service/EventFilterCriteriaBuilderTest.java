@@ -0,0 +1,158 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
+import com.eventHub.backend_eventHub.events.dto.EventFilterDto;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventFilterCriteriaBuilder Tests")
+class EventFilterCriteriaBuilderTest {
+
+    @Mock
+    private ReferenceDataRegistry referenceData;
+
+    @InjectMocks
+    private EventFilterCriteriaBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(referenceData.stateId(StateList.Active)).thenReturn("state-active");
+    }
+
+    @Test
+    @DisplayName("Should apply only the Active status without a filter")
+    void shouldApplyOnlyActiveStatusWithoutFilter() {
+        // When
+        Document query = builder.build(null).getCriteriaObject();
+
+        // Then
+        assertThat(query).isEqualTo(new Document("statusId", "state-active"));
+    }
+
+    @Test
+    @DisplayName("Should combine every provided field in a single AND query")
+    void shouldCombineAllFieldsWithAnd() {
+        // Given
+        EventFilterDto filter = new EventFilterDto();
+        filter.setCategoriaId("cat1");
+        filter.setType("presencial");
+        filter.setTicketType("free");
+        filter.setStartDate(Instant.parse("2026-01-01T00:00:00Z"));
+        filter.setConDisponibilidad(true);
+        filter.setTags(List.of("musica", "rock"));
+
+        // When
+        Document query = builder.build(filter).getCriteriaObject();
+
+        // Then
+        List<?> parts = query.getList("$and", Object.class);
+        assertThat(parts).hasSize(8);
+        String json = query.toString();
+        assertThat(json)
+                .contains("statusId=state-active")
+                .contains("categoriaId=cat1")
+                .contains("tipo=presencial")
+                .contains("ticketType=free")
+                .contains("permitirInscripciones=true")
+                .contains("$expr")
+                .contains("$in=[musica, rock]");
+    }
+
+    @Test
+    @DisplayName("Should use $text for free text instead of a regex")
+    void shouldUseTextIndexForSearchText() {
+        // Given
+        EventFilterDto filter = new EventFilterDto();
+        filter.setSearchText("  rock (en vivo)* ");
+
+        // When
+        Document query = builder.build(filter).getCriteriaObject();
+
+        // Then
+        assertThat(query.toString())
+                .contains("$text=Document{{$search=rock (en vivo)*}}")
+                .doesNotContain("$regex");
+    }
+
+    @Test
+    @DisplayName("Should translate radius and bounding box to $geoWithin except for nearby search")
+    void shouldTranslateGeoFiltersToGeoWithin() {
+        // Given
+        EventFilterDto filter = new EventFilterDto();
+        filter.setLatitude(4.65);
+        filter.setLongitude(-74.05);
+        filter.setRadiusKm(5);
+        filter.setMinLatitude(4.5);
+        filter.setMinLongitude(-74.2);
+        filter.setMaxLatitude(4.8);
+        filter.setMaxLongitude(-73.9);
+
+        // When
+        String withGeo = builder.build(filter).getCriteriaObject().toString();
+        String withoutGeo = builder.buildWithoutGeo(filter).getCriteriaObject().toString();
+
+        // Then
+        assertThat(withGeo).contains("$geoWithin").contains("$geometry");
+        assertThat(withoutGeo).doesNotContain("coordinates");
+    }
+
+    @Test
+    @DisplayName("Should keep the Active status on public listings for any status filter")
+    void shouldKeepActiveStatusOnPublicListing() {
+        // Given
+        EventFilterDto filter = new EventFilterDto();
+        filter.setStatus("pending");
+
+        // When
+        Document query = builder.build(filter).getCriteriaObject();
+
+        // Then
+        assertThat(query).isEqualTo(new Document("statusId", "state-active"));
+        verify(referenceData, never()).stateId(StateList.Pending);
+    }
+
+    @Test
+    @DisplayName("Should honour the status filter case-insensitively on scoped queries")
+    void shouldHonourStatusFilterOnScopedQueries() {
+        // Given
+        when(referenceData.stateId(StateList.Pending)).thenReturn("state-pending");
+
+        EventFilterDto filter = new EventFilterDto();
+        filter.setStatus("pending");
+
+        // When
+        Document query = builder.buildScoped(filter, StateList.Active).getCriteriaObject();
+
+        // Then
+        assertThat(query).isEqualTo(new Document("statusId", "state-pending"));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for an unknown status")
+    void shouldThrowExceptionWithUnknownStatus() {
+        // Given
+        EventFilterDto filter = new EventFilterDto();
+        filter.setStatus("noexiste");
+
+        // When & Then
+        assertThatThrownBy(() -> builder.buildScoped(filter, StateList.Active))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Estado inválido");
+    }
+}
@@ -0,0 +1,98 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.dto.CursorPageDto;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.HistoryRecord;
+import com.eventHub.backend_eventHub.events.repository.KeysetPager;
+import com.eventHub.backend_eventHub.events.repository.KeysetSort;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventHistoryService Tests")
+class EventHistoryServiceTest {
+
+    private static final Instant FROM = Instant.parse("2026-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2026-02-01T00:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private KeysetPager keysetPager;
+
+    @InjectMocks
+    private EventHistoryService historyService;
+
+    @Test
+    @DisplayName("Should write the changes of one operation in a single insert")
+    @SuppressWarnings("unchecked")
+    void shouldWriteOperationChangesInSingleInsert() {
+        // Given
+        List<HistoryRecord> changes = List.of(
+                HistoryRecord.builder().field("title").oldValue("A").newValue("B").changedAt(FROM).build(),
+                HistoryRecord.builder().field("price").oldValue("10").newValue("12").build());
+
+        // When
+        historyService.record(EntityType.EVENT, "e1", "ana", changes);
+
+        // Then
+        ArgumentCaptor<Collection<EventHistoryEntry>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(mongoTemplate, times(1)).insert(captor.capture(), eq(EventHistoryEntry.class));
+        assertThat(captor.getValue())
+                .extracting(EventHistoryEntry::getEntityId, EventHistoryEntry::getField, EventHistoryEntry::getChangedBy)
+                .containsExactly(tuple("e1", "title", "ana"), tuple("e1", "price", "ana"));
+        assertThat(captor.getValue()).allSatisfy(entry -> assertThat(entry.getChangedAt()).isNotNull());
+
+        historyService.record(EntityType.EVENT, "e1", "ana", List.of());
+        verifyNoMoreInteractions(mongoTemplate);
+    }
+
+    @Test
+    @DisplayName("Should filter by entity and [from, to) range and page by changedAt")
+    void shouldPageTimeRangeByChangedAt() {
+        // Given
+        when(keysetPager.page(eq(EventHistoryEntry.class), any(Criteria.class), eq(KeysetSort.CHANGED_DESC), eq("c1"), eq(50)))
+                .thenReturn(new CursorPageDto<>(List.of(), null, false));
+
+        // When
+        historyService.page(EntityType.SUBEVENT, "s1", FROM, TO, "c1", 50);
+
+        // Then
+        ArgumentCaptor<Criteria> captor = ArgumentCaptor.forClass(Criteria.class);
+        verify(keysetPager).page(eq(EventHistoryEntry.class), captor.capture(), eq(KeysetSort.CHANGED_DESC), eq("c1"), eq(50));
+        Document query = captor.getValue().getCriteriaObject();
+        assertThat(query.get("entityType")).isEqualTo(EntityType.SUBEVENT);
+        assertThat(query.get("entityId")).isEqualTo("s1");
+        assertThat(query.get("changedAt")).isEqualTo(new Document("$gte", FROM).append("$lt", TO));
+    }
+
+    @Test
+    @DisplayName("Should throw IllegalArgumentException for an inverted range")
+    void shouldThrowExceptionWithInvertedRange() {
+        // When & Then
+        assertThatThrownBy(() -> historyService.page(EntityType.EVENT, "e1", TO, FROM, null, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("rango");
+        verifyNoInteractions(keysetPager);
+    }
+}
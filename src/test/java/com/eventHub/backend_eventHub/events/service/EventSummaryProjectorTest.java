@@ -0,0 +1,148 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.Category;
+import com.eventHub.backend_eventHub.domain.entities.State;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventSummary;
+import com.eventHub.backend_eventHub.events.entities.Location;
+import com.eventHub.backend_eventHub.events.entities.Price;
+import com.eventHub.backend_eventHub.events.repository.EventSummaryRepository;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EventSummaryProjector Tests")
+class EventSummaryProjectorTest {
+
+    @Mock
+    private EventSummaryRepository summaryRepo;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoJobLock jobLock;
+
+    @InjectMocks
+    private EventSummaryProjector projector;
+
+    @Test
+    @DisplayName("Should upsert the summary with listing fields and filter keys when an event is saved")
+    void shouldProjectSavedEvent() {
+        // Given
+        Category category = new Category();
+        category.setId("cat1");
+        category.setNombreCategoria("Música");
+
+        Event event = Event.builder()
+                .id("event123")
+                .title("Concierto")
+                .location(Location.builder().address("Calle 1").type("presencial").build())
+                .start(Instant.parse("2030-01-01T20:00:00Z"))
+                .ticketType("paid")
+                .price(new Price(50.0, "COP"))
+                .categoria(category)
+                .status(new State("state1", StateList.Active))
+                .privacy("public")
+                .maxAttendees(100)
+                .currentAttendees(10)
+                .permitirInscripciones(true)
+                .build();
+
+        // When
+        projector.onApplicationEvent(new AfterSaveEvent<>(event, new Document(), "evento"));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).upsert(query.capture(), update.capture(), eq(EventSummary.class));
+        verify(summaryRepo, never()).save(any());
+        assertThat(query.getValue().getQueryObject().get("_id")).isEqualTo("event123");
+        Document set = (Document) update.getValue().getUpdateObject().get("$set");
+        assertThat(set.get("categoria")).isEqualTo("Música");
+        assertThat(set.get("categoriaId")).isEqualTo("cat1");
+        assertThat(set.get("statusId")).isEqualTo("state1");
+        assertThat(set.get("ubicacion")).isEqualTo("Calle 1");
+        assertThat(set.get("esPago")).isEqualTo(true);
+        assertThat(set.get("precio")).isEqualTo(50.0);
+        assertThat(set).doesNotContainKey("currentAttendees");
+    }
+
+    @Test
+    @DisplayName("Should only set currentAttendees on insert so concurrent $inc updates survive an edit")
+    void shouldSetAttendeesOnlyOnInsert() {
+        // Given
+        EventSummary summary = EventSummary.builder().id("event123").currentAttendees(10).build();
+
+        // When
+        Update update = projector.projection(summary);
+
+        // Then
+        Document setOnInsert = (Document) update.getUpdateObject().get("$setOnInsert");
+        assertThat(setOnInsert).containsEntry("currentAttendees", 10);
+        assertThat((Document) update.getUpdateObject().get("$set")).doesNotContainKey("currentAttendees");
+    }
+
+    @Test
+    @DisplayName("Should skip the rebuild without touching summaries when another replica holds the lock")
+    void shouldSkipRebuildWhenLockIsHeldElsewhere() {
+        // Given
+        when(jobLock.tryAcquire(eq(EventSummaryProjector.LOCK_NAME), any())).thenReturn(false);
+
+        // When
+        projector.rebuild();
+
+        // Then
+        verifyNoInteractions(mongoTemplate, summaryRepo);
+        verify(jobLock, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should delete the summary when its event is deleted")
+    void shouldDeleteSummaryWithEvent() {
+        // Given
+        ObjectId id = new ObjectId();
+
+        // When
+        projector.onApplicationEvent(new AfterDeleteEvent<>(new Document("_id", id), Event.class, "evento"));
+
+        // Then
+        verify(summaryRepo).deleteById(id.toHexString());
+    }
+
+    @Test
+    @DisplayName("Should propagate category renames to existing summaries")
+    void shouldPropagateCategoryRename() {
+        // Given
+        Category category = new Category();
+        category.setId("cat1");
+        category.setNombreCategoria("Teatro");
+
+        // When
+        projector.onApplicationEvent(new AfterSaveEvent<>(category, new Document(), "categorias"));
+
+        // Then
+        verify(summaryRepo).updateCategoriaName("cat1", "Teatro");
+    }
+}
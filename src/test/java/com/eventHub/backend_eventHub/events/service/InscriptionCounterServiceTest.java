@@ -0,0 +1,106 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.InscriptionCounter;
+import com.eventHub.backend_eventHub.events.repository.InscriptionRepository;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InscriptionCounterService Tests")
+class InscriptionCounterServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private InscriptionRepository inscriptionRepo;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InscriptionCounterService service;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        service = new InscriptionCounterService(mongoTemplate, inscriptionRepo, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("Should serve existing stats with a single read by _id")
+    void shouldServeExistingCounterWithSingleRead() {
+        // Given
+        InscriptionCounter stored = counter(120, 7, 3);
+        when(mongoTemplate.findById("EVENT:e1", InscriptionCounter.class)).thenReturn(stored);
+
+        // When
+        InscriptionCounter result = service.get(EntityType.EVENT, "e1");
+
+        // Then
+        assertThat(result).isSameAs(stored);
+        verifyNoInteractions(inscriptionRepo);
+    }
+
+    @Test
+    @DisplayName("Should move an inscription from confirmed to cancelled with $inc")
+    void shouldMoveInscriptionFromConfirmedToCancelled() {
+        // When
+        service.cancelled(EntityType.SUBEVENT, "s1", 1);
+
+        // Then
+        ArgumentCaptor<Update> update = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), update.capture(), eq(InscriptionCounter.class));
+        assertThat(update.getValue().getUpdateObject().get("$inc", Document.class))
+                .containsEntry("confirmed", -1L)
+                .containsEntry("cancelled", 1L)
+                .containsEntry("revision", 1);
+    }
+
+    @Test
+    @DisplayName("Should fix drift only when the counter did not change while counting")
+    void shouldFixDriftOnlyWhenCounterIsUnchanged() {
+        // Given
+        when(inscriptionRepo.countByEvento("e1", "confirmada", "evento_principal")).thenReturn(118L);
+        when(inscriptionRepo.countByEvento("e1", "cancelada", "evento_principal")).thenReturn(9L);
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(InscriptionCounter.class)))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+
+        // When
+        boolean repaired = service.reconcile(counter(120, 7, 3));
+
+        // Then
+        ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(InscriptionCounter.class));
+        assertThat(repaired).isTrue();
+        assertThat(query.getValue().getQueryObject()).containsEntry("revision", 3L);
+        assertThat(meterRegistry.get("eventhub.inscription_counters.drift").tag("type", "EVENT").counter().count())
+                .isEqualTo(1);
+    }
+
+    private InscriptionCounter counter(long confirmed, long cancelled, long revision) {
+        return InscriptionCounter.builder()
+                .id("EVENT:e1")
+                .targetType(EntityType.EVENT)
+                .targetId("e1")
+                .confirmed(confirmed)
+                .cancelled(cancelled)
+                .revision(revision)
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.domain.entities.State;
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.events.dto.InscriptionDto;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.EventHistoryEntry.EntityType;
+import com.eventHub.backend_eventHub.events.entities.Inscription;
+import com.eventHub.backend_eventHub.events.repository.EventRepository;
+import com.eventHub.backend_eventHub.events.repository.EventSummaryRepository;
+import com.eventHub.backend_eventHub.events.repository.InscriptionRepository;
+import com.eventHub.backend_eventHub.events.repository.SubEventRepository;
+import com.eventHub.backend_eventHub.users.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InscriptionService Tests")
+class InscriptionServiceTest {
+
+    @Mock
+    private InscriptionRepository inscriptionRepo;
+
+    @Mock
+    private EventRepository eventRepo;
+
+    @Mock
+    private SubEventRepository subEventRepo;
+
+    @Mock
+    private UserRepository userRepo;
+
+    @Mock
+    private EventService eventService;
+
+    @Mock
+    private EventSummaryRepository eventSummaryRepo;
+
+    @Mock
+    private EventDetailCache eventDetailCache;
+
+    @Mock
+    private InscriptionCounterService inscriptionCounters;
+
+    @InjectMocks
+    private InscriptionService inscriptionService;
+
+    private Users user;
+    private Event event;
+    private InscriptionDto dto;
+
+    @BeforeEach
+    void setUp() {
+        user = new Users();
+        user.setId("user123");
+        user.setUserName("testuser");
+
+        Users creator = new Users();
+        creator.setId("creator123");
+
+        event = Event.builder()
+                .id("event123")
+                .privacy("public")
+                .status(new State("1", StateList.Active))
+                .permitirInscripciones(true)
+                .start(Instant.now().plusSeconds(86_400))
+                .maxAttendees(10)
+                .currentAttendees(9)
+                .creator(creator)
+                .build();
+
+        dto = new InscriptionDto();
+        dto.setEventoId("event123");
+
+        when(userRepo.findByUserName("testuser")).thenReturn(Optional.of(user));
+        when(eventRepo.findById("event123")).thenReturn(Optional.of(event));
+    }
+
+    @Test
+    @DisplayName("Should reserve a seat atomically and save the inscription")
+    void shouldReserveSeatAndSaveInscription() {
+        // Given
+        when(eventRepo.reserveSeat("event123")).thenReturn(1L);
+        when(inscriptionRepo.save(any(Inscription.class))).thenAnswer(inv -> inv.getArgument(0));
+
+        // When
+        Inscription result = inscriptionService.registerToEvent("testuser", dto);
+
+        // Then
+        assertThat(result.getEstado()).isEqualTo("confirmada");
+        assertThat(result.getUsuario().getUserName()).isEqualTo("testuser");
+        assertThat(result.getEvento().getId()).isEqualTo("event123");
+        assertThat(result.getEvento().getStatusName()).isEqualTo("Active");
+        verify(eventRepo).reserveSeat("event123");
+        verify(eventRepo, never()).releaseSeat(anyString());
+        verify(eventRepo, never()).save(any(Event.class));
+        verify(eventSummaryRepo).incrementAttendees("event123", 1);
+        verify(inscriptionCounters).registered(EntityType.EVENT, "event123");
+    }
+
+    @Test
+    @DisplayName("Should reject registration when the conditional increment finds no seat")
+    void shouldRejectWhenNoSeatIsReserved() {
+        // Given - otro usuario tomó el último cupo entre la lectura y la reserva
+        when(eventRepo.reserveSeat("event123")).thenReturn(0L);
+
+        // When & Then
+        assertThatThrownBy(() -> inscriptionService.registerToEvent("testuser", dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Este evento ya alcanzó su capacidad máxima");
+
+        verify(inscriptionRepo, never()).save(any(Inscription.class));
+    }
+
+    @Test
+    @DisplayName("Should release the reserved seat when saving the inscription fails")
+    void shouldReleaseSeatWhenInsertFails() {
+        // Given
+        when(eventRepo.reserveSeat("event123")).thenReturn(1L);
+        when(inscriptionRepo.save(any(Inscription.class)))
+                .thenThrow(new DataAccessResourceFailureException("Mongo no disponible"));
+
+        // When & Then
+        assertThatThrownBy(() -> inscriptionService.registerToEvent("testuser", dto))
+                .isInstanceOf(DataAccessResourceFailureException.class);
+
+        verify(eventRepo).releaseSeat("event123");
+        verify(eventSummaryRepo, never()).incrementAttendees(anyString(), anyInt());
+        verifyNoInteractions(inscriptionCounters);
+    }
+
+    @Test
+    @DisplayName("Should release the seat and reject a concurrent duplicate registration")
+    void shouldReleaseSeatOnDuplicateRegistration() {
+        // Given
+        when(eventRepo.reserveSeat("event123")).thenReturn(1L);
+        when(inscriptionRepo.save(any(Inscription.class)))
+                .thenThrow(new DuplicateKeyException("unique_confirmada_evento_idx"));
+
+        // When & Then
+        assertThatThrownBy(() -> inscriptionService.registerToEvent("testuser", dto))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Ya estás inscrito en este evento");
+
+        verify(eventRepo).releaseSeat("event123");
+        verify(eventSummaryRepo, never()).incrementAttendees(anyString(), anyInt());
+        verifyNoInteractions(inscriptionCounters);
+    }
+}
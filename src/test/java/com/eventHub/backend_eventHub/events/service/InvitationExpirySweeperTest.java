@@ -0,0 +1,108 @@
+package com.eventHub.backend_eventHub.events.service;
+
+import com.eventHub.backend_eventHub.events.entities.AttendeeInvitation;
+import com.eventHub.backend_eventHub.utils.lock.MongoJobLock;
+import com.mongodb.client.result.UpdateResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("InvitationExpirySweeper Tests")
+class InvitationExpirySweeperTest {
+
+    private static final Instant NOW = Instant.parse("2026-03-01T12:00:00Z");
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoJobLock jobLock;
+
+    private SimpleMeterRegistry meterRegistry;
+    private InvitationExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        sweeper = new InvitationExpirySweeper(mongoTemplate, jobLock, meterRegistry, Clock.fixed(NOW, ZoneOffset.UTC));
+    }
+
+    @Test
+    @DisplayName("Should expire overdue pending invitations in bulk and report the counts")
+    void shouldExpireOverduePendingInvitationsInBulk() {
+        // Given
+        when(jobLock.tryAcquire(eq(InvitationExpirySweeper.LOCK_NAME), any())).thenReturn(true);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AttendeeInvitation.class)))
+                .thenReturn(UpdateResult.acknowledged(3, 3L, null), UpdateResult.acknowledged(2, 2L, null));
+
+        // When
+        InvitationExpirySweeper.SweepResult result = sweeper.runIfLeader();
+
+        // Then
+        assertThat(result).isEqualTo(new InvitationExpirySweeper.SweepResult(3, 2));
+
+        ArgumentCaptor<Query> queries = ArgumentCaptor.forClass(Query.class);
+        ArgumentCaptor<Update> updates = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate, times(2)).updateMulti(queries.capture(), updates.capture(), eq(AttendeeInvitation.class));
+
+        Document expireQuery = queries.getAllValues().get(0).getQueryObject();
+        assertThat(expireQuery.getString("estado")).isEqualTo("pendiente");
+        assertThat(expireQuery.get("fechaExpiracion", Document.class).get("$lt")).isEqualTo(NOW);
+        assertThat(updates.getAllValues().get(0).getUpdateObject().get("$set", Document.class))
+                .containsEntry("estado", "expirada")
+                .containsEntry("fechaCierre", NOW);
+
+        assertThat(meterRegistry.get("eventhub.invitations.expired").counter().count()).isEqualTo(3);
+        verify(jobLock, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should not touch the database when another replica holds the lock")
+    void shouldSkipWhenLockIsHeldElsewhere() {
+        // Given
+        when(jobLock.tryAcquire(eq(InvitationExpirySweeper.LOCK_NAME), any())).thenReturn(false);
+
+        // When
+        InvitationExpirySweeper.SweepResult result = sweeper.runIfLeader();
+
+        // Then
+        assertThat(result).isNull();
+        verifyNoInteractions(mongoTemplate);
+        verify(jobLock, never()).release(any());
+    }
+
+    @Test
+    @DisplayName("Should swallow unexpected errors so later runs stay scheduled")
+    void shouldSwallowUnexpectedErrors() {
+        // Given
+        when(jobLock.tryAcquire(eq(InvitationExpirySweeper.LOCK_NAME), any())).thenReturn(true);
+        when(mongoTemplate.updateMulti(any(Query.class), any(Update.class), eq(AttendeeInvitation.class)))
+                .thenThrow(new IllegalStateException("Fallo inesperado"));
+
+        // When
+        InvitationExpirySweeper.SweepResult result = sweeper.runIfLeader();
+
+        // Then
+        assertThat(result).isNull();
+    }
+}
@@ -18,6 +18,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.test.context.ActiveProfiles;
@@ -153,11 +154,11 @@ class UserControllerTest {
         user2.setRole(userRole);
 
         List<Users> users = Arrays.asList(testUser, user2);
-        when(userService.getAll(Optional.empty())).thenReturn(users);
+        when(userService.getAll(Optional.empty(), 0, 20)).thenReturn(new PageImpl<>(users));
 
         // When
         ResponseEntity<UserController.StandardListResponse<UserProfileDto>> response =
-                userController.list(Optional.empty());
+                userController.list(Optional.empty(), 0, 20);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -166,18 +167,18 @@ class UserControllerTest {
         assertThat(response.getBody().getTotal()).isEqualTo(2);
         assertThat(response.getBody().isFiltered()).isFalse();
 
-        verify(userService).getAll(Optional.empty());
+        verify(userService).getAll(Optional.empty(), 0, 20);
     }
 
     @Test
     @DisplayName("Should list users filtered by state")
     void shouldListUsersFilteredByState() {
         // Given
-        when(userService.getAll(Optional.of("Active"))).thenReturn(Arrays.asList(testUser));
+        when(userService.getAll(Optional.of("Active"), 0, 20)).thenReturn(new PageImpl<>(Arrays.asList(testUser)));
 
         // When
         ResponseEntity<UserController.StandardListResponse<UserProfileDto>> response =
-                userController.list(Optional.of("Active"));
+                userController.list(Optional.of("Active"), 0, 20);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
@@ -187,7 +188,7 @@ class UserControllerTest {
         assertThat(response.getBody().isFiltered()).isTrue();
         assertThat(response.getBody().getFilter()).isEqualTo("Active");
 
-        verify(userService).getAll(Optional.of("Active"));
+        verify(userService).getAll(Optional.of("Active"), 0, 20);
     }
 
     @Test
@@ -378,18 +379,18 @@ class UserControllerTest {
     @DisplayName("Should handle null state filter gracefully")
     void shouldHandleNullStateFilterGracefully() {
         // Given
-        when(userService.getAll(Optional.empty())).thenReturn(Arrays.asList(testUser));
+        when(userService.getAll(Optional.empty(), 0, 20)).thenReturn(new PageImpl<>(Arrays.asList(testUser)));
 
         // When
         ResponseEntity<UserController.StandardListResponse<UserProfileDto>> response =
-                userController.list(Optional.empty());
+                userController.list(Optional.empty(), 0, 20);
 
         // Then
         assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
         assertThat(response.getBody().isFiltered()).isFalse();
         assertThat(response.getBody().getFilter()).isNull();
 
-        verify(userService).getAll(Optional.empty());
+        verify(userService).getAll(Optional.empty(), 0, 20);
     }
 
     @Test
@@ -463,17 +464,17 @@ class UserControllerTest {
 
         when(userService.searchByUserName(searchTerm)).thenReturn(Arrays.asList(testUser));
         when(userService.getById(userId)).thenReturn(testUser);
-        when(userService.getAll(stateFilter)).thenReturn(Arrays.asList(testUser));
+        when(userService.getAll(stateFilter, 0, 20)).thenReturn(new PageImpl<>(Arrays.asList(testUser)));
 
         // When
         userController.search(searchTerm);
         userController.getById(userId);
-        userController.list(stateFilter);
+        userController.list(stateFilter, 0, 20);
 
         // Then
         verify(userService).searchByUserName(searchTerm);
         verify(userService).getById(userId);
-        verify(userService).getAll(stateFilter);
+        verify(userService).getAll(stateFilter, 0, 20);
     }
 
     @Test
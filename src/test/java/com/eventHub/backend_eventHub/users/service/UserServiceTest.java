@@ -1,10 +1,11 @@
 // UserServiceTest.java
 package com.eventHub.backend_eventHub.users.service;
 
+import com.eventHub.backend_eventHub.auth.service.UserRevocationRegistry;
 import com.eventHub.backend_eventHub.domain.entities.State;
 import com.eventHub.backend_eventHub.domain.entities.Users;
 import com.eventHub.backend_eventHub.domain.enums.StateList;
-import com.eventHub.backend_eventHub.domain.repositories.StateRepository;
+import com.eventHub.backend_eventHub.domain.service.ReferenceDataRegistry;
 import com.eventHub.backend_eventHub.users.dto.ChangeStatusDto;
 import com.eventHub.backend_eventHub.users.dto.UpdateUserDto;
 import com.eventHub.backend_eventHub.users.exception.UserServiceException;
@@ -17,9 +18,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.security.Principal;
+import java.util.List;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.*;
@@ -35,7 +41,10 @@ class UserServiceTest {
     private UserRepository userRepository;
 
     @Mock
-    private StateRepository stateRepository;
+    private ReferenceDataRegistry referenceData;
+
+    @Mock
+    private UserRevocationRegistry revocations;
 
     @Mock
     private Principal principal;
@@ -109,7 +118,7 @@ class UserServiceTest {
         // Given
         testUser.setState(null);
         when(userRepository.findById("user123")).thenReturn(Optional.of(testUser));
-        when(stateRepository.findByNameState(StateList.Active))
+        when(referenceData.findState(StateList.Active))
                 .thenReturn(Optional.of(activeState));
         when(userRepository.save(any(Users.class))).thenReturn(testUser);
 
@@ -120,7 +129,7 @@ class UserServiceTest {
         assertThat(result.getState()).isNotNull();
         assertThat(result.getState().getNameState()).isEqualTo(StateList.Active);
 
-        verify(stateRepository).findByNameState(StateList.Active);
+        verify(referenceData).findState(StateList.Active);
         verify(userRepository).save(testUser);
     }
 
@@ -169,4 +178,42 @@ class UserServiceTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("ID de usuario no puede estar vacío");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Should bump state version and revoke tokens on state change")
+    void shouldBumpStateVersionAndRevokeTokensOnStateChange() {
+        // Given
+        State inactiveState = new State("2", StateList.Inactive);
+        testUser.setStateVersion(3);
+        when(userRepository.findById("user123")).thenReturn(Optional.of(testUser));
+        when(referenceData.findState(StateList.Inactive)).thenReturn(Optional.of(inactiveState));
+        when(userRepository.save(any(Users.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Users result = userService.changeState("user123", changeStatusDto);
+
+        // Then
+        assertThat(result.getState()).isEqualTo(inactiveState);
+        assertThat(result.getStateVersion()).isEqualTo(4);
+        verify(revocations).stateChanged("user123", 4, false);
+    }
+
+    @Test
+    @DisplayName("Should page users filtered by state id")
+    void shouldPageUsersFilteredByStateId() {
+        // Given
+        when(referenceData.stateId(StateList.Active)).thenReturn("state-active");
+        when(userRepository.findByStateId(eq("state-active"), any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(testUser), PageRequest.of(1, 100), 101));
+
+        // When
+        Page<Users> result = userService.getAll(Optional.of("Activo"), 1, 500);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(testUser);
+        assertThat(result.getTotalElements()).isEqualTo(101);
+        verify(userRepository).findByStateId(eq("state-active"),
+                argThat(pageable -> pageable.getPageNumber() == 1 && pageable.getPageSize() == UserService.MAX_PAGE_SIZE));
+        verify(userRepository, never()).findAll(any(Pageable.class));
+    }
+}
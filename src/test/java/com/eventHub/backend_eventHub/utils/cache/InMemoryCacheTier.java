@@ -0,0 +1,59 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Sustituto en memoria de Redis para tests: un almacén y un canal pub/sub compartidos
+ * por todas las "réplicas" que usen la misma instancia. Los mensajes se entregan de
+ * forma síncrona y el TTL se ignora.
+ */
+class InMemoryCacheTier implements RemoteCacheTier {
+
+    private final Map<String, String> store = new ConcurrentHashMap<>();
+    private final Map<String, List<Consumer<String>>> subscribers = new ConcurrentHashMap<>();
+
+    @Override
+    public String get(String key) {
+        return store.get(key);
+    }
+
+    @Override
+    public void set(String key, String value, Duration ttl) {
+        store.put(key, value);
+    }
+
+    @Override
+    public void delete(String key) {
+        store.remove(key);
+    }
+
+    @Override
+    public void deleteByPrefix(String prefix) {
+        store.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    @Override
+    public void publish(String channel, String message) {
+        subscribers.getOrDefault(channel, List.of()).forEach(subscriber -> subscriber.accept(message));
+    }
+
+    @Override
+    public void subscribe(String channel, Consumer<String> onMessage, Runnable onConnected) {
+        subscribers.computeIfAbsent(channel, c -> new CopyOnWriteArrayList<>()).add(onMessage);
+        onConnected.run();
+    }
+
+    @Override
+    public void close() {
+        subscribers.clear();
+    }
+
+    int size() {
+        return store.size();
+    }
+}
@@ -0,0 +1,151 @@
+package com.eventHub.backend_eventHub.utils.cache;
+
+import com.eventHub.backend_eventHub.config.CacheConfig;
+import com.eventHub.backend_eventHub.domain.entities.Role;
+import com.eventHub.backend_eventHub.domain.entities.State;
+import com.eventHub.backend_eventHub.domain.entities.Users;
+import com.eventHub.backend_eventHub.domain.enums.RoleList;
+import com.eventHub.backend_eventHub.domain.enums.StateList;
+import com.eventHub.backend_eventHub.events.entities.Event;
+import com.eventHub.backend_eventHub.events.entities.Location;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DisplayName("TwoLevelCache Tests")
+class TwoLevelCacheTest {
+
+    private final ObjectMapper objectMapper = CacheConfig.cacheObjectMapper(Jackson2ObjectMapperBuilder.json().build());
+
+    private InMemoryCacheTier redis;
+    private TwoLevelCache nodeA;
+    private TwoLevelCache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        redis = new InMemoryCacheTier();
+        nodeA = node("user", Users.class);
+        nodeB = node("user", Users.class);
+    }
+
+    @Test
+    @DisplayName("Should let a second node read from the remote tier without calling the loader")
+    void shouldReadFromRemoteTierOnSecondNode() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        nodeA.get("u1", () -> {
+            loads.incrementAndGet();
+            return user("u1", "ana");
+        });
+
+        // When
+        Users fromB = nodeB.get("u1", () -> {
+            loads.incrementAndGet();
+            return user("u1", "otra");
+        });
+
+        // Then
+        assertThat(loads).hasValue(1);
+        assertThat(fromB.getUserName()).isEqualTo("ana");
+        assertThat(fromB.getRole().getNombreRol()).isEqualTo(RoleList.ROLE_USUARIO);
+        assertThat(fromB.getState().getNameState()).isEqualTo(StateList.Active);
+    }
+
+    @Test
+    @DisplayName("Should not serialize the password hash to the remote tier")
+    void shouldNotSerializePasswordToRemoteTier() {
+        // When
+        nodeA.put("u1", user("u1", "ana"));
+
+        // Then
+        assertThat(redis.get("eventhub:cache:user:u1")).contains("ana").doesNotContain("hash").doesNotContain("password");
+        assertThat(nodeB.get("u1", Users.class).getPassword()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should drop the local copy on other nodes when one node evicts")
+    void shouldBroadcastEvictionToOtherNodes() {
+        // Given
+        nodeA.put("u1", user("u1", "ana"));
+        nodeB.get("u1", () -> user("u1", "ana"));
+        assertThat(nodeB.getNativeCache().size()).isEqualTo(1);
+
+        // When
+        nodeA.evict("u1");
+
+        // Then
+        assertThat(nodeB.getNativeCache().size()).isZero();
+        assertThat(redis.size()).isZero();
+        assertThat(nodeB.get("u1")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should keep the GeoJSON point when an event round-trips through JSON")
+    void shouldKeepGeoJsonPointOnEventRoundTrip() {
+        // Given
+        TwoLevelCache eventsA = node("eventDetail", Event.class);
+        TwoLevelCache eventsB = node("eventDetail", Event.class);
+        Event event = Event.builder()
+                .id("e1")
+                .title("Concierto")
+                .start(Instant.parse("2026-05-01T20:00:00Z"))
+                .location(new Location("Calle 1", "presencial", 4.65, -74.05))
+                .status(new State("s1", StateList.Active))
+                .build();
+        eventsA.put("e1", event);
+
+        // When
+        Event cached = eventsB.get("e1", Event.class);
+
+        // Then
+        assertThat(cached).isNotNull();
+        assertThat(cached.getStart()).isEqualTo(event.getStart());
+        assertThat(cached.getLocation().getPoint()).isEqualTo(event.getLocation().getPoint());
+    }
+
+    @Test
+    @DisplayName("Should serve from the near cache when the remote tier fails")
+    void shouldFallBackToNearCacheWhenRemoteTierFails() {
+        // Given
+        RemoteCacheTier failingRedis = new InMemoryCacheTier() {
+            @Override
+            public void set(String key, String value, Duration ttl) {
+                throw new IllegalStateException("redis caído");
+            }
+        };
+        TwoLevelCache cache = new TwoLevelCache("user", new BoundedTtlCache<>(10, Duration.ofMinutes(1)),
+                Duration.ofMinutes(1), failingRedis, new CacheInvalidationBus(failingRedis),
+                objectMapper, objectMapper.constructType(Users.class));
+
+        // When
+        cache.put("u1", user("u1", "ana"));
+
+        // Then
+        assertThat(cache.get("u1", Users.class).getUserName()).isEqualTo("ana");
+    }
+
+    private TwoLevelCache node(String name, Class<?> type) {
+        CacheInvalidationBus bus = new CacheInvalidationBus(redis);
+        TwoLevelCache cache = new TwoLevelCache(name, new BoundedTtlCache<>(100, Duration.ofMinutes(5)),
+                Duration.ofMinutes(5), redis, bus, objectMapper, objectMapper.constructType(type));
+        bus.start();
+        return cache;
+    }
+
+    private Users user(String id, String userName) {
+        Users user = new Users(userName, userName + "@example.com", "hash",
+                new Role("r1", RoleList.ROLE_USUARIO, null), new State("s1", StateList.Active));
+        user.setId(id);
+        return user;
+    }
+}
@@ -0,0 +1,151 @@
+package com.eventHub.backend_eventHub.utils.emails.service;
+
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage.Status;
+import com.eventHub.backend_eventHub.utils.emails.transport.InMemoryEmailTransport;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailOutboxDispatcher Tests")
+class EmailOutboxDispatcherTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private InMemoryEmailTransport transport;
+    private SimpleMeterRegistry meterRegistry;
+    private EmailOutboxDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        transport = new InMemoryEmailTransport();
+        meterRegistry = new SimpleMeterRegistry();
+        dispatcher = new EmailOutboxDispatcher(mongoTemplate, transport, meterRegistry, 2, 1000, 3, 30, 3600, 300);
+    }
+
+    @Test
+    @DisplayName("Should mark SENT, drop the body and record the latency on success")
+    void shouldMarkSentOnSuccessfulDelivery() {
+        // Given
+        EmailOutboxMessage message = message(1);
+
+        // When
+        dispatcher.deliver(message);
+
+        // Then
+        assertThat(transport.sent()).singleElement()
+                .satisfies(email -> assertThat(email.getRecipientEmail()).isEqualTo("ana@test.com"));
+        Document update = capturedUpdate();
+        assertThat(update.get("$set", Document.class).get("status")).isEqualTo(Status.SENT);
+        assertThat(update.get("$unset", Document.class)).containsKeys("body", "owner");
+        assertThat(meterRegistry.get("eventhub.email.sent").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("eventhub.email.delivery.latency").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return to PENDING with a backoff when attempts are left")
+    void shouldScheduleRetryWhenAttemptsAreLeft() {
+        // Given
+        transport.failNext(1);
+        Instant before = Instant.now();
+
+        // When
+        dispatcher.deliver(message(1));
+
+        // Then
+        Document set = capturedUpdate().get("$set", Document.class);
+        assertThat(set.get("status")).isEqualTo(Status.PENDING);
+        assertThat((Instant) set.get("nextAttemptAt")).isAfterOrEqualTo(before.plusSeconds(15));
+        assertThat(set.getString("lastError")).contains("Fallo simulado");
+        assertThat(meterRegistry.get("eventhub.email.retries").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should mark FAILED once attempts are exhausted")
+    void shouldMarkFailedOnLastAttempt() {
+        // Given
+        transport.failNext(1);
+
+        // When
+        dispatcher.deliver(message(3));
+
+        // Then
+        assertThat(capturedUpdate().get("$set", Document.class).get("status")).isEqualTo(Status.FAILED);
+        assertThat(meterRegistry.get("eventhub.email.failed").counter().count()).isEqualTo(1);
+        assertThat(transport.sent()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only record the result while this worker still owns the claim")
+    void shouldMatchResultUpdatesOnClaimOwner() {
+        // When
+        dispatcher.deliver(message(1));
+
+        // Then
+        ArgumentCaptor<Query> captor = ArgumentCaptor.forClass(Query.class);
+        verify(mongoTemplate).updateFirst(captor.capture(), any(Update.class), eq(EmailOutboxMessage.class));
+        assertThat(captor.getValue().getQueryObject())
+                .containsEntry("_id", "m1")
+                .containsEntry("owner", "claim-1");
+    }
+
+    @Test
+    @DisplayName("Should record a fresh owner token on every claim")
+    void shouldRecordOwnerTokenOnClaim() {
+        // When
+        dispatcher.claimNext(Instant.now());
+
+        // Then
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).findAndModify(any(Query.class), captor.capture(), any(), eq(EmailOutboxMessage.class));
+        assertThat(captor.getValue().getUpdateObject().get("$set", Document.class).getString("owner")).isNotBlank();
+    }
+
+    @Test
+    @DisplayName("Should grow the backoff exponentially with jitter and respect the cap")
+    void shouldGrowBackoffExponentiallyWithCap() {
+        assertThat(dispatcher.backoff(1)).isBetween(Duration.ofSeconds(15), Duration.ofSeconds(30));
+        assertThat(dispatcher.backoff(3)).isBetween(Duration.ofSeconds(60), Duration.ofSeconds(120));
+        assertThat(dispatcher.backoff(30)).isBetween(Duration.ofSeconds(1800), Duration.ofSeconds(3600));
+    }
+
+    private EmailOutboxMessage message(int attempts) {
+        return EmailOutboxMessage.builder()
+                .id("m1")
+                .recipientEmail("ana@test.com")
+                .subject("Bienvenida")
+                .body("Hola")
+                .status(Status.SENDING)
+                .owner("claim-1")
+                .attempts(attempts)
+                .createdAt(Instant.now().minusSeconds(5))
+                .build();
+    }
+
+    private Document capturedUpdate() {
+        ArgumentCaptor<Update> captor = ArgumentCaptor.forClass(Update.class);
+        verify(mongoTemplate).updateFirst(any(Query.class), captor.capture(), eq(EmailOutboxMessage.class));
+        return captor.getValue().getUpdateObject();
+    }
+}
@@ -0,0 +1,68 @@
+package com.eventHub.backend_eventHub.utils.emails.service;
+
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+import com.eventHub.backend_eventHub.utils.emails.entities.EmailOutboxMessage;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ActiveProfiles("test")
+@ExtendWith(MockitoExtension.class)
+@DisplayName("EmailService Tests")
+class EmailServiceTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private EmailOutboxDispatcher dispatcher;
+
+    @InjectMocks
+    private EmailService emailService;
+
+    @Test
+    @DisplayName("Should only enqueue the email and wake the dispatcher")
+    void shouldEnqueuePendingMessage() {
+        // Given
+        EmailDto email = new EmailDto();
+        email.setRecipientEmail("ana@test.com");
+        email.setSubject("Bienvenida");
+        email.setBody("Hola");
+
+        // When
+        emailService.sendEmail(email);
+
+        // Then
+        ArgumentCaptor<EmailOutboxMessage> captor = ArgumentCaptor.forClass(EmailOutboxMessage.class);
+        verify(mongoTemplate).insert(captor.capture());
+        assertThat(captor.getValue().getStatus()).isEqualTo(EmailOutboxMessage.Status.PENDING);
+        assertThat(captor.getValue().getNextAttemptAt()).isNotNull();
+        verify(dispatcher).wakeUp();
+        verifyNoMoreInteractions(dispatcher);
+    }
+
+    @Test
+    @DisplayName("Should not enqueue an invalid recipient")
+    void shouldIgnoreInvalidRecipient() {
+        // Given
+        EmailDto email = new EmailDto();
+        email.setRecipientEmail("no-es-correo");
+
+        // When
+        emailService.sendEmail(email);
+
+        // Then
+        verify(mongoTemplate, never()).insert(any(EmailOutboxMessage.class));
+        verifyNoInteractions(dispatcher);
+    }
+}
@@ -0,0 +1,33 @@
+package com.eventHub.backend_eventHub.utils.emails.transport;
+
+import com.eventHub.backend_eventHub.utils.emails.dto.EmailDto;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transporte en memoria para tests: guarda los correos enviados y puede
+ * simular fallos en los primeros N envíos.
+ */
+public class InMemoryEmailTransport implements EmailTransport {
+
+    private final List<EmailDto> sent = new CopyOnWriteArrayList<>();
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+
+    @Override
+    public void send(EmailDto email) {
+        if (failuresLeft.getAndUpdate(left -> Math.max(left - 1, 0)) > 0) {
+            throw new IllegalStateException("Fallo simulado del transporte");
+        }
+        sent.add(email);
+    }
+
+    public void failNext(int times) {
+        failuresLeft.set(times);
+    }
+
+    public List<EmailDto> sent() {
+        return sent;
+    }
+}
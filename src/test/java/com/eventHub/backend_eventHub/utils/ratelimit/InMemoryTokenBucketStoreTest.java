@@ -0,0 +1,115 @@
+package com.eventHub.backend_eventHub.utils.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.*;
+
+@ActiveProfiles("test")
+@DisplayName("InMemoryTokenBucketStore Tests")
+class InMemoryTokenBucketStoreTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final RateLimitRule rule = new RateLimitRule("login-user", 3, Duration.ofSeconds(30));
+
+    @Test
+    @DisplayName("Should allow the burst, reject with Retry-After and refill over time")
+    void shouldAllowBurstThenRefill() {
+        // Given
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(100, now::get);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.tryConsume("ana", rule).allowed()).isTrue();
+        }
+        RateLimitDecision rejected = store.tryConsume("ana", rule);
+
+        // Then
+        assertThat(rejected.allowed()).isFalse();
+        assertThat(rejected.retryAfterSeconds()).isEqualTo(10);
+        assertThat(store.tryConsume("luis", rule).allowed()).isTrue();
+
+        now.addAndGet(Duration.ofSeconds(10).toNanos());
+        assertThat(store.tryConsume("ana", rule).allowed()).isTrue();
+        assertThat(store.tryConsume("ana", rule).allowed()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should never grant more tokens than the capacity under concurrency")
+    void shouldNeverExceedCapacityUnderConcurrency() throws Exception {
+        // Given
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(100, now::get);
+        RateLimitRule burst = new RateLimitRule("login-ip", 500, Duration.ofHours(1));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger allowed = new AtomicInteger();
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                if (store.tryConsume("10.0.0.1", burst).allowed()) {
+                    allowed.incrementAndGet();
+                }
+            });
+        }
+        start.countDown();
+        pool.shutdown();
+        assertThat(pool.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+        // Then
+        assertThat(allowed.get()).isEqualTo(500);
+    }
+
+    @Test
+    @DisplayName("Should drop idle buckets when maxKeys is exceeded")
+    void shouldPruneIdleBucketsOverMaxKeys() {
+        // Given
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(2, now::get);
+        store.tryConsume("a", rule);
+        store.tryConsume("b", rule);
+        store.tryConsume("c", rule);
+
+        // When
+        now.addAndGet(Duration.ofMinutes(1).toNanos());
+        store.tryConsume("d", rule);
+
+        // Then
+        assertThat(store.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should scan buckets for pruning at most once per second")
+    void shouldPruneAtMostOncePerInterval() {
+        // Given
+        RateLimitRule fast = new RateLimitRule("login-user", 1, Duration.ofMillis(100));
+        InMemoryTokenBucketStore store = new InMemoryTokenBucketStore(2, now::get);
+        for (String key : new String[]{"a", "b", "c", "d"}) {
+            store.tryConsume(key, fast);
+        }
+
+        // When
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        store.tryConsume("e", fast);
+        int beforeInterval = store.size();
+        now.addAndGet(Duration.ofMillis(500).toNanos());
+        store.tryConsume("f", fast);
+
+        // Then
+        assertThat(beforeInterval).isEqualTo(5);
+        assertThat(store.size()).isEqualTo(1);
+    }
+}